@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.simulator.probes;
+
+/**
+ * A single slow operation, which exceeded the outlier threshold of its {@link Probe}.
+ */
+public final class Outlier {
+
+    /**
+     * Used if the caller didn't provide a partition ID or key hash for the operation.
+     */
+    public static final int NO_PARTITION_ID = -1;
+
+    private final long timestamp;
+    private final String operation;
+    private final int partitionId;
+    private final String target;
+    private final long durationNanos;
+
+    /**
+     * Creates an outlier.
+     *
+     * @param timestamp     the wall-clock time of the outlier in milliseconds
+     * @param operation     the name of the operation or of the probe which recorded the outlier
+     * @param partitionId   the partition ID or key hash of the operation or {@link #NO_PARTITION_ID}
+     * @param target        the target member of the operation or {@code null}
+     * @param durationNanos the duration of the operation in nanoseconds
+     */
+    public Outlier(long timestamp, String operation, int partitionId, String target, long durationNanos) {
+        this.timestamp = timestamp;
+        this.operation = operation;
+        this.partitionId = partitionId;
+        this.target = target;
+        this.durationNanos = durationNanos;
+    }
+
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    public String getOperation() {
+        return operation;
+    }
+
+    public int getPartitionId() {
+        return partitionId;
+    }
+
+    public String getTarget() {
+        return target;
+    }
+
+    public long getDurationNanos() {
+        return durationNanos;
+    }
+
+    @Override
+    public String toString() {
+        return "Outlier{"
+                + "timestamp=" + timestamp
+                + ", operation='" + operation + '\''
+                + ", partitionId=" + partitionId
+                + ", target='" + target + '\''
+                + ", durationNanos=" + durationNanos
+                + '}';
+    }
+}
@@ -17,6 +17,8 @@ package com.hazelcast.simulator.probes;
 
 import org.HdrHistogram.Histogram;
 
+import java.util.concurrent.TimeUnit;
+
 public interface Probe {
 
     /**
@@ -26,8 +28,55 @@ public interface Probe {
      */
     boolean isThroughputProbe();
 
+    /**
+     * Returns the {@link TimeUnit} of the values in the interval histograms of this probe.
+     *
+     * @return the latency unit of the probe
+     */
+    TimeUnit getLatencyUnit();
+
+    /**
+     * Starts a latency measurement and returns the start timestamp.
+     *
+     * The caller keeps the timestamp and passes it to {@link #recordSince(long)}, so no state has to be stored in the probe.
+     * This is the preferred way to measure latencies, since it neither allocates nor needs a thread local lookup.
+     *
+     * <pre>
+     * long started = probe.start();
+     * map.get(key);
+     * probe.recordSince(started);
+     * </pre>
+     *
+     * @return the start timestamp in nanoseconds, based on {@link System#nanoTime()}
+     */
+    long start();
+
+    /**
+     * Stops a latency measurement and records the value since the given start timestamp.
+     *
+     * @param startedNanos the start timestamp in nanoseconds, as returned by {@link #start()}
+     */
+    void recordSince(long startedNanos);
+
+    /**
+     * Stops a latency measurement and records the value since the given start timestamp.
+     *
+     * If the latency exceeds the outlier threshold of the probe, the operation is captured as {@link Outlier} with the given
+     * context, so slow operations can be attributed to a partition or member. Below the threshold this costs the same as
+     * {@link #recordSince(long)}.
+     *
+     * @param startedNanos the start timestamp in nanoseconds, as returned by {@link #start()}
+     * @param partitionId  the partition ID or key hash of the operation or {@link Outlier#NO_PARTITION_ID}
+     * @param target       the target member of the operation or {@code null}, which is just converted to a string when an
+     *                     outlier is drained, so the member can be looked up lazily
+     */
+    void recordSince(long startedNanos, int partitionId, Object target);
+
     /**
      * Starts a latency measurement in the local thread.
+     *
+     * Uses a cached timestamp handle per thread. Prefer {@link #start()} and {@link #recordSince(long)}, which don't need a
+     * thread local lookup.
      */
     void started();
 
@@ -39,13 +88,37 @@ public interface Probe {
     /**
      * Adds a latency value in nanoseconds to the probe result.
      *
-     * Can be used if {@link #started()} and {@link #done()} are not directly related, e.g. in asynchronous tests or are collected
-     * from an external source like a C++ client.
+     * Can be used if {@link #start()} and {@link #recordSince(long)} are not directly related, e.g. in asynchronous tests or are
+     * collected from an external source like a C++ client.
      *
      * @param latencyNanos latency value in nanoseconds
      */
     void recordValue(long latencyNanos);
 
+    /**
+     * Adds a latency value in nanoseconds to the probe result.
+     *
+     * If the latency exceeds the outlier threshold of the probe, the operation is captured as {@link Outlier} with the given
+     * context. Can be used by a worker which measures the latencies of different operations with the same probe.
+     *
+     * @param latencyNanos latency value in nanoseconds
+     * @param operation    the name of the operation or {@code null} to use the name of the probe
+     * @param partitionId  the partition ID or key hash of the operation or {@link Outlier#NO_PARTITION_ID}
+     * @param target       the target member of the operation or {@code null}, which is just converted to a string when an
+     *                     outlier is drained, so the member can be looked up lazily
+     */
+    void recordValue(long latencyNanos, String operation, int partitionId, Object target);
+
+    /**
+     * Adds a latency value in nanoseconds multiple times to the probe result.
+     *
+     * Can be used to record the amortized latency of the items of a batch, so each item is counted for the throughput.
+     *
+     * @param latencyNanos latency value in nanoseconds
+     * @param count        the number of times the value is recorded
+     */
+    void recordValues(long latencyNanos, long count);
+
     /**
      * Get an interval {@link Histogram}, which will include a stable, consistent view of all latency values accumulated since the
      * last interval histogram was taken.
@@ -18,6 +18,7 @@ package com.hazelcast.simulator.probes;
 import org.HdrHistogram.Histogram;
 
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
 public interface Result {
 
@@ -31,8 +32,12 @@ public interface Result {
 
     void addHistogram(String probeName, Histogram histogram);
 
+    void addHistogram(String probeName, Histogram histogram, TimeUnit latencyUnit);
+
     Histogram getHistogram(String probeName);
 
+    TimeUnit getLatencyUnit(String probeName);
+
     Set<String> probeNames();
 
     String toHumanString(String probeName);
@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.simulator.probes;
+
+/**
+ * A probe with tags, e.g. the operation, the target member or the key locality of a measured call.
+ *
+ * Each combination of tag values gets its own lazily created {@link Probe}, so the latency distribution can be analyzed per
+ * tag combination. The number of tag combinations is capped, all further combinations share a single overflow probe.
+ *
+ * The returned {@link Probe} instances are cached and can be used directly in the hot path:
+ * <pre>
+ * Probe probe = operationProbe.getProbe(operation);
+ * long started = probe.start();
+ * map.put(key, value);
+ * probe.recordSince(started);
+ * </pre>
+ */
+public interface TaggedProbe {
+
+    /**
+     * Returns the {@link Probe} for a single tag value.
+     *
+     * @param tagValue the tag value
+     * @return the {@link Probe} of the tag value
+     */
+    Probe getProbe(Object tagValue);
+
+    /**
+     * Returns the {@link Probe} for a combination of two tag values.
+     *
+     * @param tagValue1 the first tag value
+     * @param tagValue2 the second tag value
+     * @return the {@link Probe} of the tag combination
+     */
+    Probe getProbe(Object tagValue1, Object tagValue2);
+
+    /**
+     * Returns the {@link Probe} for a combination of tag values.
+     *
+     * @param tagValues the tag values
+     * @return the {@link Probe} of the tag combination
+     */
+    Probe getProbe(Object... tagValues);
+
+    /**
+     * Returns the number of tag combinations which have their own {@link Probe}.
+     *
+     * @return the number of tag combinations
+     */
+    int getCardinality();
+}
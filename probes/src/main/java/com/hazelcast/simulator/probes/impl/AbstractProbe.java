@@ -0,0 +1,196 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.simulator.probes.impl;
+
+import com.hazelcast.simulator.probes.Probe;
+
+import java.util.concurrent.TimeUnit;
+
+import static com.hazelcast.simulator.probes.Outlier.NO_PARTITION_ID;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * Base class for {@link Probe} implementations, which contains the latency measurement and the configuration of the probe.
+ *
+ * Implementations just have to provide the storage of the converted and clamped latency values.
+ *
+ * Optionally the probe captures outliers, which exceed a configured threshold, into an {@link OutlierRecorder}. The threshold is
+ * {@link Long#MAX_VALUE} if the capture is disabled, so the common path just costs a single compare.
+ */
+abstract class AbstractProbe implements Probe {
+
+    private static final long DEFAULT_MAXIMUM_LATENCY_SECONDS = 60;
+    private static final long MIN_HIGHEST_TRACKABLE_VALUE = 2;
+
+    private final ThreadLocal<StartedHandle> threadLocalStarted = new ThreadLocal<StartedHandle>() {
+        @Override
+        protected StartedHandle initialValue() {
+            return new StartedHandle();
+        }
+    };
+
+    private final boolean isThroughputProbe;
+    private final TimeUnit latencyUnit;
+    private final long highestTrackableValue;
+    private final int significantDigits;
+
+    private long outlierThresholdNanos = Long.MAX_VALUE;
+    private String outlierName;
+    private OutlierRecorder outlierRecorder;
+
+    AbstractProbe(boolean isThroughputProbe, TimeUnit latencyUnit, long highestTrackableValue, int significantDigits) {
+        if (latencyUnit == null) {
+            throw new NullPointerException("latencyUnit can't be null");
+        }
+        if (highestTrackableValue <= 0) {
+            highestTrackableValue = latencyUnit.convert(DEFAULT_MAXIMUM_LATENCY_SECONDS, TimeUnit.SECONDS);
+        }
+        this.isThroughputProbe = isThroughputProbe;
+        this.latencyUnit = latencyUnit;
+        this.highestTrackableValue = Math.max(highestTrackableValue, MIN_HIGHEST_TRACKABLE_VALUE);
+        this.significantDigits = significantDigits;
+    }
+
+    @Override
+    public boolean isThroughputProbe() {
+        return isThroughputProbe;
+    }
+
+    @Override
+    public TimeUnit getLatencyUnit() {
+        return latencyUnit;
+    }
+
+    @Override
+    public long start() {
+        return System.nanoTime();
+    }
+
+    /**
+     * Enables the capture of outliers, which exceed the given threshold.
+     *
+     * Has to be called before the probe is used, since the configuration is not published to already recording threads.
+     *
+     * @param name             the name of the probe, which is used as operation name of the outliers
+     * @param outlierThreshold the threshold in the latency unit of the probe, use zero or a negative value to disable the
+     *                         capture
+     * @param recorder         the {@link OutlierRecorder} to record the outliers to
+     */
+    public void setOutlierCapture(String name, long outlierThreshold, OutlierRecorder recorder) {
+        if (outlierThreshold <= 0 || recorder == null) {
+            this.outlierThresholdNanos = Long.MAX_VALUE;
+            this.outlierName = null;
+            this.outlierRecorder = null;
+            return;
+        }
+        this.outlierThresholdNanos = latencyUnit.toNanos(outlierThreshold);
+        this.outlierName = name;
+        this.outlierRecorder = recorder;
+    }
+
+    @Override
+    public void recordSince(long startedNanos) {
+        recordValue(System.nanoTime() - startedNanos);
+    }
+
+    @Override
+    public void recordSince(long startedNanos, int partitionId, Object target) {
+        long latencyNanos = System.nanoTime() - startedNanos;
+        if (latencyNanos > outlierThresholdNanos) {
+            outlierRecorder.record(outlierName, partitionId, target, latencyNanos);
+        }
+        recordLatencyNanos(latencyNanos);
+    }
+
+    @Override
+    public void started() {
+        long now = System.nanoTime();
+        StartedHandle handle = threadLocalStarted.get();
+        handle.startedNanos = now;
+        handle.isStarted = true;
+    }
+
+    @Override
+    public void done() {
+        long now = System.nanoTime();
+        StartedHandle handle = threadLocalStarted.get();
+        if (!handle.isStarted) {
+            throw new IllegalStateException("You have to call started() before done()");
+        }
+        recordValue(now - handle.startedNanos);
+    }
+
+    @Override
+    public void recordValue(long latencyNanos) {
+        if (latencyNanos > outlierThresholdNanos) {
+            outlierRecorder.record(outlierName, NO_PARTITION_ID, null, latencyNanos);
+        }
+        recordLatencyNanos(latencyNanos);
+    }
+
+    @Override
+    public void recordValue(long latencyNanos, String operation, int partitionId, Object target) {
+        if (latencyNanos > outlierThresholdNanos) {
+            outlierRecorder.record((operation == null) ? outlierName : operation, partitionId, target, latencyNanos);
+        }
+        recordLatencyNanos(latencyNanos);
+    }
+
+    @Override
+    public void recordValues(long latencyNanos, long count) {
+        // the latency of a batch is amortized over its items, so there is no single slow operation to capture
+        long latency = latencyUnit.convert(latencyNanos, NANOSECONDS);
+        recordLatencies(latency > highestTrackableValue ? highestTrackableValue : (latency < 0 ? 0 : latency), count);
+    }
+
+    private void recordLatencyNanos(long latencyNanos) {
+        long latency = latencyUnit.convert(latencyNanos, NANOSECONDS);
+        recordLatency(latency > highestTrackableValue ? highestTrackableValue : (latency < 0 ? 0 : latency));
+    }
+
+    long getHighestTrackableValue() {
+        return highestTrackableValue;
+    }
+
+    int getSignificantDigits() {
+        return significantDigits;
+    }
+
+    /**
+     * Records a latency value, which is already converted to the latency unit and clamped to the highest trackable value.
+     *
+     * @param latency the latency in the latency unit of the probe
+     */
+    abstract void recordLatency(long latency);
+
+    /**
+     * Records a latency value multiple times, which is already converted to the latency unit and clamped to the highest
+     * trackable value.
+     *
+     * @param latency the latency in the latency unit of the probe
+     * @param count   the number of times the value is recorded
+     */
+    abstract void recordLatencies(long latency, long count);
+
+    /**
+     * Mutable per thread handle for {@link #started()} and {@link #done()}, so the timestamp doesn't have to be boxed.
+     */
+    private static final class StartedHandle {
+
+        private long startedNanos;
+        private boolean isStarted;
+    }
+}
@@ -0,0 +1,168 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.simulator.probes.impl;
+
+import com.hazelcast.simulator.probes.Outlier;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Captures the slow operations of the probes of a test, which exceed the outlier threshold of their probe.
+ *
+ * Each recording thread writes into its own bounded ring buffer, so the recording is lock free and never blocks the thread.
+ * If a buffer is full, the outlier is dropped and counted. The buffers are emptied by a single reader via {@link #drain()},
+ * e.g. by the performance monitor of the Worker.
+ */
+public class OutlierRecorder {
+
+    public static final int DEFAULT_CAPACITY_PER_THREAD = 1024;
+
+    private final List<OutlierBuffer> buffers = new CopyOnWriteArrayList<OutlierBuffer>();
+    private final ThreadLocal<OutlierBuffer> threadLocalBuffer = new ThreadLocal<OutlierBuffer>() {
+        @Override
+        protected OutlierBuffer initialValue() {
+            OutlierBuffer buffer = new OutlierBuffer(capacityPerThread);
+            buffers.add(buffer);
+            return buffer;
+        }
+    };
+
+    private final int capacityPerThread;
+
+    public OutlierRecorder() {
+        this(DEFAULT_CAPACITY_PER_THREAD);
+    }
+
+    /**
+     * Creates an outlier recorder.
+     *
+     * @param capacityPerThread the number of outliers each recording thread can buffer until they are drained, is rounded up
+     *                          to the next power of two
+     */
+    public OutlierRecorder(int capacityPerThread) {
+        if (capacityPerThread < 1) {
+            throw new IllegalArgumentException("capacityPerThread must be positive, but was " + capacityPerThread);
+        }
+        this.capacityPerThread = capacityPerThread;
+    }
+
+    /**
+     * Records an outlier into the buffer of the calling thread.
+     *
+     * @param operation     the name of the probe which measured the operation
+     * @param partitionId   the partition ID or key hash of the operation or {@link Outlier#NO_PARTITION_ID}
+     * @param target        the target member of the operation or {@code null}
+     * @param durationNanos the duration of the operation in nanoseconds
+     */
+    public void record(String operation, int partitionId, Object target, long durationNanos) {
+        threadLocalBuffer.get().offer(System.currentTimeMillis(), operation, partitionId, target, durationNanos);
+    }
+
+    /**
+     * Removes all buffered outliers of all threads.
+     *
+     * @return the drained outliers, ordered per recording thread
+     */
+    public synchronized List<Outlier> drain() {
+        List<Outlier> outliers = new ArrayList<Outlier>();
+        for (OutlierBuffer buffer : buffers) {
+            buffer.drainTo(outliers);
+        }
+        return outliers;
+    }
+
+    /**
+     * Returns the number of outliers which have been dropped, since the buffer of their thread was full.
+     *
+     * @return the number of dropped outliers
+     */
+    public long getDroppedCount() {
+        long droppedCount = 0;
+        for (OutlierBuffer buffer : buffers) {
+            droppedCount += buffer.droppedCount.get();
+        }
+        return droppedCount;
+    }
+
+    /**
+     * A single producer, single consumer ring buffer. The producer is the owning thread, the consumer is {@link #drain()}.
+     *
+     * The slots are published by the ordered write of the tail sequence and are released by the ordered write of the head
+     * sequence, so no locks or CAS operations are needed.
+     */
+    private static final class OutlierBuffer {
+
+        private final AtomicLong head = new AtomicLong();
+        private final AtomicLong tail = new AtomicLong();
+        private final AtomicLong droppedCount = new AtomicLong();
+
+        private final int capacity;
+        private final int mask;
+        private final long[] timestamps;
+        private final String[] operations;
+        private final int[] partitionIds;
+        private final Object[] targets;
+        private final long[] durations;
+
+        private OutlierBuffer(int requestedCapacity) {
+            this.capacity = nextPowerOfTwo(requestedCapacity);
+            this.mask = capacity - 1;
+            this.timestamps = new long[capacity];
+            this.operations = new String[capacity];
+            this.partitionIds = new int[capacity];
+            this.targets = new Object[capacity];
+            this.durations = new long[capacity];
+        }
+
+        private void offer(long timestamp, String operation, int partitionId, Object target, long durationNanos) {
+            long sequence = tail.get();
+            if (sequence - head.get() >= capacity) {
+                droppedCount.lazySet(droppedCount.get() + 1);
+                return;
+            }
+            int index = (int) sequence & mask;
+            timestamps[index] = timestamp;
+            operations[index] = operation;
+            partitionIds[index] = partitionId;
+            targets[index] = target;
+            durations[index] = durationNanos;
+            tail.lazySet(sequence + 1);
+        }
+
+        private void drainTo(List<Outlier> outliers) {
+            long sequence = head.get();
+            long lastSequence = tail.get();
+            for (; sequence < lastSequence; sequence++) {
+                int index = (int) sequence & mask;
+                // the target is converted by the reader, so the recording thread doesn't pay for it
+                Object target = targets[index];
+                outliers.add(new Outlier(timestamps[index], operations[index], partitionIds[index],
+                        (target == null) ? null : target.toString(), durations[index]));
+                operations[index] = null;
+                targets[index] = null;
+            }
+            head.lazySet(sequence);
+        }
+
+        private static int nextPowerOfTwo(int value) {
+            int highestOneBit = Integer.highestOneBit(value);
+            return (highestOneBit == value) ? value : highestOneBit << 1;
+        }
+    }
+}
@@ -15,7 +15,6 @@
  */
 package com.hazelcast.simulator.probes.impl;
 
-import com.hazelcast.simulator.probes.Probe;
 import org.HdrHistogram.Histogram;
 import org.HdrHistogram.Recorder;
 
@@ -23,46 +22,47 @@ import java.util.concurrent.TimeUnit;
 
 /**
  * Measures the latency distribution of a test.
+ *
+ * The unit, the highest trackable value and the number of significant digits of the recorded latencies can be configured per
+ * probe. The default records microseconds up to 60 seconds with a precision of 4 significant digits.
+ *
+ * All threads record into a single {@link Recorder}. For probes which are shared by many threads use a
+ * {@link ThreadLocalProbeImpl}.
  */
-public class ProbeImpl implements Probe {
+public class ProbeImpl extends AbstractProbe {
 
+    public static final TimeUnit LATENCY_UNIT = TimeUnit.MICROSECONDS;
     public static final long MAXIMUM_LATENCY = TimeUnit.SECONDS.toMicros(60);
     public static final int LATENCY_PRECISION = 4;
 
-    private final Recorder recorder = new Recorder(MAXIMUM_LATENCY, LATENCY_PRECISION);
-    private final ThreadLocal<Long> threadLocalStarted = new ThreadLocal<Long>();
-
-    private final boolean isThroughputProbe;
+    private final Recorder recorder;
 
     public ProbeImpl(boolean isThroughputProbe) {
-        this.isThroughputProbe = isThroughputProbe;
+        this(isThroughputProbe, LATENCY_UNIT, MAXIMUM_LATENCY, LATENCY_PRECISION);
     }
 
-    @Override
-    public boolean isThroughputProbe() {
-        return isThroughputProbe;
-    }
-
-    @Override
-    public void started() {
-        long now = System.nanoTime();
-        threadLocalStarted.set(now);
+    /**
+     * Creates a probe with a custom resolution and range.
+     *
+     * @param isThroughputProbe     <tt>true</tt> if the probe should be considered for throughput
+     * @param latencyUnit           the {@link TimeUnit} in which the latencies are recorded
+     * @param highestTrackableValue the highest latency in <tt>latencyUnit</tt> which can be recorded, larger values are clamped;
+     *                              use zero or a negative value for 60 seconds
+     * @param significantDigits     the number of significant decimal digits of the recorded values (0 to 5)
+     */
+    public ProbeImpl(boolean isThroughputProbe, TimeUnit latencyUnit, long highestTrackableValue, int significantDigits) {
+        super(isThroughputProbe, latencyUnit, highestTrackableValue, significantDigits);
+        this.recorder = new Recorder(getHighestTrackableValue(), significantDigits);
     }
 
     @Override
-    public void done() {
-        long now = System.nanoTime();
-        Long started = threadLocalStarted.get();
-        if (started == null) {
-            throw new IllegalStateException("You have to call started() before done()");
-        }
-        recordValue(now - started);
+    void recordLatency(long latency) {
+        recorder.recordValue(latency);
     }
 
     @Override
-    public void recordValue(long latencyNanos) {
-        int latencyMicros = (int) TimeUnit.NANOSECONDS.toMicros(latencyNanos);
-        recorder.recordValue(latencyMicros > MAXIMUM_LATENCY ? MAXIMUM_LATENCY : (latencyMicros < 0 ? 0 : latencyMicros));
+    void recordLatencies(long latency, long count) {
+        recorder.recordValueWithCount(latency, count);
     }
 
     @Override
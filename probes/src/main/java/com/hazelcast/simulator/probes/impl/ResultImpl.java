@@ -23,8 +23,11 @@ import java.io.PrintStream;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
+import static com.hazelcast.simulator.probes.impl.ProbeImpl.LATENCY_UNIT;
 import static com.hazelcast.simulator.utils.CommonUtils.closeQuietly;
+import static java.lang.String.format;
 
 public class ResultImpl implements Result {
 
@@ -33,6 +36,7 @@ public class ResultImpl implements Result {
     private final double throughput;
 
     private final Map<String, Histogram> probeHistogramMap;
+    private final Map<String, TimeUnit> probeLatencyUnitMap;
 
     public ResultImpl(String testName, long invocations, double throughput) {
         this.testName = testName;
@@ -40,6 +44,7 @@ public class ResultImpl implements Result {
         this.throughput = throughput;
 
         this.probeHistogramMap = new HashMap<String, Histogram>();
+        this.probeLatencyUnitMap = new HashMap<String, TimeUnit>();
     }
 
     @Override
@@ -64,10 +69,22 @@ public class ResultImpl implements Result {
 
     @Override
     public void addHistogram(String probeName, Histogram histogram) {
+        addHistogram(probeName, histogram, LATENCY_UNIT);
+    }
+
+    @Override
+    public void addHistogram(String probeName, Histogram histogram, TimeUnit latencyUnit) {
         if (histogram == null) {
             return;
         }
 
+        TimeUnit candidateLatencyUnit = getLatencyUnit(probeName);
+        if (probeHistogramMap.containsKey(probeName) && candidateLatencyUnit != latencyUnit) {
+            throw new IllegalArgumentException(format("Histogram of probe %s has latency unit %s, but expected %s",
+                    probeName, latencyUnit, candidateLatencyUnit));
+        }
+        probeLatencyUnitMap.put(probeName, latencyUnit);
+
         Histogram candidate = probeHistogramMap.get(probeName);
         if (candidate == null) {
             probeHistogramMap.put(probeName, histogram);
@@ -82,6 +99,13 @@ public class ResultImpl implements Result {
         return probeHistogramMap.get(probeName);
     }
 
+    @Override
+    public TimeUnit getLatencyUnit(String probeName) {
+        // results which were written before the latency unit was configurable have no unit map
+        TimeUnit latencyUnit = (probeLatencyUnitMap == null) ? null : probeLatencyUnitMap.get(probeName);
+        return (latencyUnit == null) ? LATENCY_UNIT : latencyUnit;
+    }
+
     @Override
     public Set<String> probeNames() {
         return probeHistogramMap.keySet();
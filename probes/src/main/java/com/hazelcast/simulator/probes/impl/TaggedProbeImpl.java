@@ -0,0 +1,268 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.simulator.probes.impl;
+
+import com.hazelcast.simulator.probes.Probe;
+import com.hazelcast.simulator.probes.TaggedProbe;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+import static java.lang.String.format;
+
+/**
+ * Creates a {@link ProbeImpl} per combination of tag values and registers it with the name
+ * <tt>probeName[tagName1=tagValue1,tagName2=tagValue2]</tt>, so it's reported like any other probe. If the probes are shared
+ * by multiple recording threads, a {@link ThreadLocalProbeImpl} is created instead, so the recording doesn't get contended.
+ *
+ * The lookup of an existing tag combination is lock free. If the maximum cardinality is reached, all new tag combinations are
+ * recorded to the overflow probe <tt>probeName[other]</tt>, whose lookup is lock free as well once it has been created.
+ */
+public class TaggedProbeImpl implements TaggedProbe {
+
+    public static final int DEFAULT_MAX_CARDINALITY = 64;
+    public static final String OVERFLOW_TAG = "other";
+
+    private static final Object NULL_TAG_VALUE = new Object();
+
+    private final Node root = new Node();
+
+    private final String name;
+    private final String[] tagNames;
+    private final int maxCardinality;
+    private final Map<String, Probe> probeRegistry;
+
+    private final boolean isThroughputProbe;
+    private final TimeUnit latencyUnit;
+    private final long highestTrackableValue;
+    private final int significantDigits;
+    private final boolean isSharedByThreads;
+
+    private long outlierThreshold;
+    private OutlierRecorder outlierRecorder;
+
+    private volatile int cardinality;
+    private volatile Probe overflowProbe;
+
+    /**
+     * Creates a tagged probe.
+     *
+     * @param name                  the name of the probe
+     * @param tagNames              the names of the tags, use an empty array to omit the tag names in the probe names
+     * @param maxCardinality        the maximum number of tag combinations
+     * @param probeRegistry         thread safe {@link Map} in which the created probes are registered by their name
+     * @param isThroughputProbe     <tt>true</tt> if the created probes should be considered for throughput
+     * @param latencyUnit           the {@link TimeUnit} in which the latencies are recorded
+     * @param highestTrackableValue the highest latency in <tt>latencyUnit</tt> which can be recorded
+     * @param significantDigits     the number of significant decimal digits of the recorded values
+     */
+    public TaggedProbeImpl(String name, String[] tagNames, int maxCardinality, Map<String, Probe> probeRegistry,
+                           boolean isThroughputProbe, TimeUnit latencyUnit, long highestTrackableValue, int significantDigits) {
+        this(name, tagNames, maxCardinality, probeRegistry, isThroughputProbe, latencyUnit, highestTrackableValue,
+                significantDigits, false);
+    }
+
+    /**
+     * Creates a tagged probe.
+     *
+     * @param name                  the name of the probe
+     * @param tagNames              the names of the tags, use an empty array to omit the tag names in the probe names
+     * @param maxCardinality        the maximum number of tag combinations
+     * @param probeRegistry         thread safe {@link Map} in which the created probes are registered by their name
+     * @param isThroughputProbe     <tt>true</tt> if the created probes should be considered for throughput
+     * @param latencyUnit           the {@link TimeUnit} in which the latencies are recorded
+     * @param highestTrackableValue the highest latency in <tt>latencyUnit</tt> which can be recorded
+     * @param significantDigits     the number of significant decimal digits of the recorded values
+     * @param isSharedByThreads     <tt>true</tt> if the created probes are recorded by multiple threads
+     */
+    public TaggedProbeImpl(String name, String[] tagNames, int maxCardinality, Map<String, Probe> probeRegistry,
+                           boolean isThroughputProbe, TimeUnit latencyUnit, long highestTrackableValue, int significantDigits,
+                           boolean isSharedByThreads) {
+        if (maxCardinality < 1) {
+            throw new IllegalArgumentException("maxCardinality must be positive, but was " + maxCardinality);
+        }
+        this.name = name;
+        this.tagNames = tagNames.clone();
+        this.maxCardinality = maxCardinality;
+        this.probeRegistry = probeRegistry;
+
+        this.isThroughputProbe = isThroughputProbe;
+        this.latencyUnit = latencyUnit;
+        this.highestTrackableValue = highestTrackableValue;
+        this.significantDigits = significantDigits;
+        this.isSharedByThreads = isSharedByThreads;
+    }
+
+    /**
+     * Enables the capture of outliers for all probes of this tagged probe, the outliers are named like the probes.
+     *
+     * Has to be called before the first probe is created.
+     *
+     * @param outlierThreshold the threshold in <tt>latencyUnit</tt>, use zero or a negative value to disable the capture
+     * @param recorder         the {@link OutlierRecorder} to record the outliers to
+     */
+    public void setOutlierCapture(long outlierThreshold, OutlierRecorder recorder) {
+        this.outlierThreshold = outlierThreshold;
+        this.outlierRecorder = recorder;
+    }
+
+    @Override
+    public Probe getProbe(Object tagValue) {
+        Node node = root.getChild(tagValue);
+        if (node != null && node.probe != null) {
+            return node.probe;
+        }
+        return getOrCreateProbe(tagValue);
+    }
+
+    @Override
+    public Probe getProbe(Object tagValue1, Object tagValue2) {
+        Node node = root.getChild(tagValue1);
+        if (node != null) {
+            node = node.getChild(tagValue2);
+            if (node != null && node.probe != null) {
+                return node.probe;
+            }
+        }
+        return getOrCreateProbe(tagValue1, tagValue2);
+    }
+
+    @Override
+    public Probe getProbe(Object... tagValues) {
+        Node node = root;
+        for (int i = 0; i < tagValues.length && node != null; i++) {
+            node = node.getChild(tagValues[i]);
+        }
+        if (node != null && node.probe != null) {
+            return node.probe;
+        }
+        return getOrCreateProbe(tagValues);
+    }
+
+    @Override
+    public int getCardinality() {
+        return cardinality;
+    }
+
+    private Probe getOrCreateProbe(Object... tagValues) {
+        if (tagValues.length == 0 || (tagNames.length > 0 && tagValues.length != tagNames.length)) {
+            throw new IllegalArgumentException(format("Probe %s expects %d tag values, but got %d", name,
+                    Math.max(tagNames.length, 1), tagValues.length));
+        }
+        if (cardinality >= maxCardinality) {
+            // no locking and no new nodes for the tag combinations which exceed the cardinality
+            Probe probe = overflowProbe;
+            return (probe != null) ? probe : getOrCreateOverflowProbe();
+        }
+        return createProbe(tagValues);
+    }
+
+    private synchronized Probe createProbe(Object[] tagValues) {
+        Node node = root;
+        for (int i = 0; i < tagValues.length && node != null; i++) {
+            node = node.getChild(tagValues[i]);
+        }
+        if (node != null && node.probe != null) {
+            return node.probe;
+        }
+        // the cardinality is checked before the nodes are created, so overflowing tag combinations don't grow the tree
+        if (cardinality >= maxCardinality) {
+            return getOrCreateOverflowProbe();
+        }
+
+        node = root;
+        for (Object tagValue : tagValues) {
+            node = node.getOrCreateChild(tagValue);
+        }
+        node.probe = getOrRegisterProbe(getProbeName(tagValues));
+        cardinality++;
+        return node.probe;
+    }
+
+    private synchronized Probe getOrCreateOverflowProbe() {
+        if (overflowProbe == null) {
+            overflowProbe = getOrRegisterProbe(name + '[' + OVERFLOW_TAG + ']');
+        }
+        return overflowProbe;
+    }
+
+    private Probe getOrRegisterProbe(String probeName) {
+        // different tag values can end up with the same probe name, so they share the probe
+        Probe probe = probeRegistry.get(probeName);
+        if (probe == null) {
+            AbstractProbe abstractProbe = isSharedByThreads
+                    ? new ThreadLocalProbeImpl(isThroughputProbe, latencyUnit, highestTrackableValue, significantDigits)
+                    : new ProbeImpl(isThroughputProbe, latencyUnit, highestTrackableValue, significantDigits);
+            abstractProbe.setOutlierCapture(probeName, outlierThreshold, outlierRecorder);
+            probe = abstractProbe;
+            probeRegistry.put(probeName, probe);
+        }
+        return probe;
+    }
+
+    private String getProbeName(Object[] tagValues) {
+        StringBuilder sb = new StringBuilder(name).append('[');
+        for (int i = 0; i < tagValues.length; i++) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            if (tagNames.length > 0) {
+                sb.append(tagNames[i]).append('=');
+            }
+            sb.append(sanitizeTagValue(String.valueOf(tagValues[i])));
+        }
+        return sb.append(']').toString();
+    }
+
+    /**
+     * The probe name is used in file names, so we just allow a safe set of characters (e.g. an address is "/10.0.0.1:5701").
+     */
+    static String sanitizeTagValue(String tagValue) {
+        StringBuilder sb = new StringBuilder(tagValue.length());
+        for (int i = 0; i < tagValue.length(); i++) {
+            char c = tagValue.charAt(i);
+            if (Character.isLetterOrDigit(c) || c == '.' || c == '-' || c == '_') {
+                sb.append(c);
+            } else if (sb.length() > 0 && i < tagValue.length() - 1) {
+                sb.append('_');
+            }
+        }
+        return sb.toString();
+    }
+
+    private static final class Node {
+
+        private final ConcurrentMap<Object, Node> children = new ConcurrentHashMap<Object, Node>();
+
+        private volatile Probe probe;
+
+        private Node getChild(Object tagValue) {
+            return children.get(tagValue == null ? NULL_TAG_VALUE : tagValue);
+        }
+
+        private Node getOrCreateChild(Object tagValue) {
+            Object key = (tagValue == null) ? NULL_TAG_VALUE : tagValue;
+            Node child = children.get(key);
+            if (child == null) {
+                child = new Node();
+                children.put(key, child);
+            }
+            return child;
+        }
+    }
+}
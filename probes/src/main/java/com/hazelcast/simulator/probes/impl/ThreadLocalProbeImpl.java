@@ -0,0 +1,152 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.simulator.probes.impl;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.SingleWriterRecorder;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static com.hazelcast.simulator.probes.impl.ProbeImpl.LATENCY_PRECISION;
+import static com.hazelcast.simulator.probes.impl.ProbeImpl.LATENCY_UNIT;
+import static com.hazelcast.simulator.probes.impl.ProbeImpl.MAXIMUM_LATENCY;
+
+/**
+ * Measures the latency distribution of a test with a {@link SingleWriterRecorder} per recording thread.
+ *
+ * A {@link ProbeImpl} shares a single {@link org.HdrHistogram.Recorder} between all threads, so its atomic counters become
+ * contended when many threads record into the same probe. This implementation keeps the recording cost independent of the
+ * number of threads. The per thread histograms are merged when {@link #getIntervalHistogram()} is called.
+ *
+ * Each recording thread allocates its own histograms, so this probe should only be used for probes which are shared by
+ * many threads, e.g. the worker probes. The per thread histograms are auto resizing, so they just allocate the memory for the
+ * range of the actually recorded values (a histogram with 4 significant digits for 60 seconds in microseconds needs 1.7 MB).
+ * The recorder of a terminated thread is dropped after its last values have been merged.
+ *
+ * The per thread histograms are merged into a single auto resizing histogram, which is reset and reused for each interval. So
+ * the merge histogram neither allocates the full latency range nor has to grow again in each interval. The returned interval
+ * histogram is a copy of it, which is just as large as the recorded range, since the caller may keep it beyond the interval.
+ */
+public class ThreadLocalProbeImpl extends AbstractProbe {
+
+    private static final int MAX_SIGNIFICANT_DIGITS = 5;
+
+    private final List<ThreadRecorder> threadRecorders = new CopyOnWriteArrayList<ThreadRecorder>();
+    private final ThreadLocal<ThreadRecorder> threadLocalRecorder = new ThreadLocal<ThreadRecorder>() {
+        @Override
+        protected ThreadRecorder initialValue() {
+            ThreadRecorder threadRecorder = new ThreadRecorder(getSignificantDigits());
+            threadRecorders.add(threadRecorder);
+            return threadRecorder;
+        }
+    };
+
+    private Histogram mergedHistogram;
+    private long intervalStartTimeStamp = System.currentTimeMillis();
+
+    public ThreadLocalProbeImpl(boolean isThroughputProbe) {
+        this(isThroughputProbe, LATENCY_UNIT, MAXIMUM_LATENCY, LATENCY_PRECISION);
+    }
+
+    /**
+     * Creates a probe with a custom resolution and range.
+     *
+     * @param isThroughputProbe     <tt>true</tt> if the probe should be considered for throughput
+     * @param latencyUnit           the {@link TimeUnit} in which the latencies are recorded
+     * @param highestTrackableValue the highest latency in <tt>latencyUnit</tt> which can be recorded, larger values are clamped;
+     *                              use zero or a negative value for 60 seconds
+     * @param significantDigits     the number of significant decimal digits of the recorded values (0 to 5)
+     */
+    public ThreadLocalProbeImpl(boolean isThroughputProbe, TimeUnit latencyUnit, long highestTrackableValue,
+                                int significantDigits) {
+        super(isThroughputProbe, latencyUnit, highestTrackableValue, significantDigits);
+        // the recorders are created lazily by the recording threads, so we fail fast on an invalid configuration
+        if (significantDigits < 0 || significantDigits > MAX_SIGNIFICANT_DIGITS) {
+            throw new IllegalArgumentException("significantDigits must be between 0 and 5, but was " + significantDigits);
+        }
+    }
+
+    @Override
+    void recordLatency(long latency) {
+        threadLocalRecorder.get().recorder.recordValue(latency);
+    }
+
+    @Override
+    void recordLatencies(long latency, long count) {
+        threadLocalRecorder.get().recorder.recordValueWithCount(latency, count);
+    }
+
+    @Override
+    public synchronized Histogram getIntervalHistogram() {
+        if (mergedHistogram == null) {
+            // the recorded values are already clamped to the highest trackable value, so the histogram can't grow beyond it
+            mergedHistogram = new Histogram(getSignificantDigits());
+        }
+        mergedHistogram.reset();
+        List<ThreadRecorder> deadThreadRecorders = null;
+        for (ThreadRecorder threadRecorder : threadRecorders) {
+            // a thread which is dead before the harvest can't record anymore, so this is its final interval
+            boolean isAlive = threadRecorder.isThreadAlive();
+            threadRecorder.intervalHistogram = threadRecorder.recorder.getIntervalHistogram(threadRecorder.intervalHistogram);
+            mergedHistogram.add(threadRecorder.intervalHistogram);
+            if (!isAlive) {
+                if (deadThreadRecorders == null) {
+                    deadThreadRecorders = new ArrayList<ThreadRecorder>();
+                }
+                deadThreadRecorders.add(threadRecorder);
+            }
+        }
+        if (deadThreadRecorders != null) {
+            threadRecorders.removeAll(deadThreadRecorders);
+        }
+
+        Histogram intervalHistogram = mergedHistogram.copy();
+        long now = System.currentTimeMillis();
+        intervalHistogram.setStartTimeStamp(intervalStartTimeStamp);
+        intervalHistogram.setEndTimeStamp(now);
+        intervalStartTimeStamp = now;
+        return intervalHistogram;
+    }
+
+    int getThreadRecorderCount() {
+        return threadRecorders.size();
+    }
+
+    /**
+     * Holds the {@link SingleWriterRecorder} of a single thread and its last interval histogram, which is recycled.
+     */
+    private static final class ThreadRecorder {
+
+        private final WeakReference<Thread> thread = new WeakReference<Thread>(Thread.currentThread());
+        private final SingleWriterRecorder recorder;
+
+        private Histogram intervalHistogram;
+
+        private ThreadRecorder(int significantDigits) {
+            // the recorded values are already clamped to the highest trackable value, so the histograms can't grow beyond it
+            this.recorder = new SingleWriterRecorder(significantDigits);
+        }
+
+        private boolean isThreadAlive() {
+            Thread recordingThread = thread.get();
+            return recordingThread != null && recordingThread.isAlive();
+        }
+    }
+}
@@ -24,6 +24,7 @@ import com.thoughtworks.xstream.mapper.Mapper;
 import org.HdrHistogram.Histogram;
 
 import java.io.File;
+import java.util.concurrent.TimeUnit;
 
 import static com.hazelcast.simulator.utils.FileUtils.writeText;
 
@@ -51,11 +52,15 @@ public final class ResultXmlUtils {
         Mapper mapper = xStream.getMapper();
 
         xStream.registerConverter(new HistogramConverter());
-        xStream.registerConverter(new NamedMapConverter(mapper, null, "name", String.class, "data", Histogram.class));
+        xStream.registerLocalConverter(ResultImpl.class, "probeHistogramMap",
+                new NamedMapConverter(mapper, null, "name", String.class, "data", Histogram.class));
+        xStream.registerLocalConverter(ResultImpl.class, "probeLatencyUnitMap",
+                new NamedMapConverter(mapper, null, "name", String.class, "unit", TimeUnit.class));
 
         xStream.alias("probeResult", ResultImpl.class);
         xStream.alias("histogram", Histogram.class);
         xStream.aliasField("histograms", ResultImpl.class, "probeHistogramMap");
+        xStream.aliasField("latencyUnits", ResultImpl.class, "probeLatencyUnitMap");
 
         return xStream;
     }
@@ -72,6 +72,7 @@ public final class ProbeTestUtils {
             Histogram firstHistogram = firstResult.getHistogram(probeName);
             Histogram secondHistogram = secondResult.getHistogram(probeName);
             assertEquals(firstHistogram, secondHistogram);
+            assertEquals(firstResult.getLatencyUnit(probeName), secondResult.getLatencyUnit(probeName));
         }
     }
 
@@ -0,0 +1,110 @@
+package com.hazelcast.simulator.probes.impl;
+
+import com.hazelcast.simulator.probes.Outlier;
+import org.junit.Test;
+
+import java.util.List;
+
+import static com.hazelcast.simulator.probes.Outlier.NO_PARTITION_ID;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class OutlierRecorderTest {
+
+    private final OutlierRecorder recorder = new OutlierRecorder(4);
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testConstructor_invalidCapacity() {
+        new OutlierRecorder(0);
+    }
+
+    @Test
+    public void testRecord() {
+        long before = System.currentTimeMillis();
+        recorder.record("getProbe", 137, "10.0.0.3:5701", 5000);
+
+        List<Outlier> outliers = recorder.drain();
+
+        assertEquals(1, outliers.size());
+        Outlier outlier = outliers.get(0);
+        assertTrue(outlier.getTimestamp() >= before);
+        assertEquals("getProbe", outlier.getOperation());
+        assertEquals(137, outlier.getPartitionId());
+        assertEquals("10.0.0.3:5701", outlier.getTarget());
+        assertEquals(5000, outlier.getDurationNanos());
+    }
+
+    @Test
+    public void testRecord_withoutContext() {
+        recorder.record("getProbe", NO_PARTITION_ID, null, 5000);
+
+        Outlier outlier = recorder.drain().get(0);
+
+        assertEquals(NO_PARTITION_ID, outlier.getPartitionId());
+        assertNull(outlier.getTarget());
+    }
+
+    @Test
+    public void testDrain_emptiesBuffer() {
+        recorder.record("getProbe", 1, null, 5000);
+
+        assertEquals(1, recorder.drain().size());
+        assertEquals(0, recorder.drain().size());
+    }
+
+    @Test
+    public void testRecord_bufferFull() {
+        for (int i = 0; i < 6; i++) {
+            recorder.record("getProbe", i, null, 5000);
+        }
+
+        List<Outlier> outliers = recorder.drain();
+
+        // the oldest outliers are kept, the newest are dropped
+        assertEquals(4, outliers.size());
+        assertEquals(0, outliers.get(0).getPartitionId());
+        assertEquals(3, outliers.get(3).getPartitionId());
+        assertEquals(2, recorder.getDroppedCount());
+    }
+
+    @Test
+    public void testRecord_wrapsAround() {
+        for (int i = 0; i < 10; i++) {
+            recorder.record("getProbe", i, null, 5000);
+            assertEquals(i, recorder.drain().get(0).getPartitionId());
+        }
+        assertEquals(0, recorder.getDroppedCount());
+    }
+
+    @Test
+    public void testRecord_capacityRoundedUp() {
+        OutlierRecorder outlierRecorder = new OutlierRecorder(3);
+        for (int i = 0; i < 5; i++) {
+            outlierRecorder.record("getProbe", i, null, 5000);
+        }
+
+        assertEquals(4, outlierRecorder.drain().size());
+        assertEquals(1, outlierRecorder.getDroppedCount());
+    }
+
+    @Test
+    public void testRecord_multipleThreads() throws Exception {
+        Thread[] threads = new Thread[3];
+        for (int i = 0; i < threads.length; i++) {
+            threads[i] = new Thread() {
+                @Override
+                public void run() {
+                    recorder.record("getProbe", 1, null, 5000);
+                    recorder.record("getProbe", 2, null, 5000);
+                }
+            };
+            threads[i].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(6, recorder.drain().size());
+    }
+}
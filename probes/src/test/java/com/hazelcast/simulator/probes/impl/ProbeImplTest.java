@@ -1,12 +1,16 @@
 package com.hazelcast.simulator.probes.impl;
 
+import com.hazelcast.simulator.probes.Outlier;
 import com.hazelcast.simulator.probes.Probe;
+import org.HdrHistogram.Histogram;
 import org.junit.Test;
 
+import java.util.List;
 import java.util.concurrent.TimeUnit;
 
 import static com.hazelcast.simulator.probes.ProbeTestUtils.assertHistogram;
 import static com.hazelcast.simulator.utils.CommonUtils.sleepNanos;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
@@ -43,6 +47,96 @@ public class ProbeImplTest {
         probe.done();
     }
 
+    @Test(expected = IllegalStateException.class)
+    public void testDone_withStartedInOtherThread() throws Exception {
+        Thread thread = new Thread() {
+            @Override
+            public void run() {
+                probe.started();
+            }
+        };
+        thread.start();
+        thread.join();
+
+        probe.done();
+    }
+
+    @Test
+    public void testRecordSince() {
+        int expectedCount = 1;
+        long expectedLatency = 150;
+
+        long started = probe.start();
+        sleepNanos(TimeUnit.MILLISECONDS.toNanos(expectedLatency));
+        probe.recordSince(started);
+
+        assertHistogram(probe.getIntervalHistogram(), expectedCount, expectedLatency, expectedLatency, expectedLatency);
+    }
+
+    @Test
+    public void testRecordSince_withOutlierCapture() {
+        OutlierRecorder outlierRecorder = new OutlierRecorder();
+        probe.setOutlierCapture("getProbe", 50, outlierRecorder);
+
+        long started = probe.start();
+        probe.recordSince(started, 137, "10.0.0.3:5701");
+        started = probe.start();
+        sleepNanos(TimeUnit.MILLISECONDS.toNanos(100));
+        probe.recordSince(started, 42, "10.0.0.4:5701");
+
+        List<Outlier> outliers = outlierRecorder.drain();
+        assertEquals(1, outliers.size());
+        assertEquals("getProbe", outliers.get(0).getOperation());
+        assertEquals(42, outliers.get(0).getPartitionId());
+        assertEquals("10.0.0.4:5701", outliers.get(0).getTarget());
+        assertTrue(outliers.get(0).getDurationNanos() >= TimeUnit.MILLISECONDS.toNanos(100));
+        assertEquals(2, probe.getIntervalHistogram().getTotalCount());
+    }
+
+    @Test
+    public void testRecordValue_withOutlierCapture() {
+        OutlierRecorder outlierRecorder = new OutlierRecorder();
+        probe.setOutlierCapture("getProbe", 50, outlierRecorder);
+
+        probe.recordValue(TimeUnit.MICROSECONDS.toNanos(50));
+        probe.recordValue(TimeUnit.MICROSECONDS.toNanos(51));
+
+        List<Outlier> outliers = outlierRecorder.drain();
+        assertEquals(1, outliers.size());
+        assertEquals(Outlier.NO_PARTITION_ID, outliers.get(0).getPartitionId());
+    }
+
+    @Test
+    public void testRecordValue_withOperationContext() {
+        OutlierRecorder outlierRecorder = new OutlierRecorder();
+        probe.setOutlierCapture("workerProbe", 50, outlierRecorder);
+
+        probe.recordValue(TimeUnit.MICROSECONDS.toNanos(50), "PUT", 137, "10.0.0.3:5701");
+        probe.recordValue(TimeUnit.MICROSECONDS.toNanos(51), "GET", 42, "10.0.0.4:5701");
+        probe.recordValue(TimeUnit.MICROSECONDS.toNanos(51), null, Outlier.NO_PARTITION_ID, null);
+
+        List<Outlier> outliers = outlierRecorder.drain();
+        assertEquals(2, outliers.size());
+        assertEquals("GET", outliers.get(0).getOperation());
+        assertEquals(42, outliers.get(0).getPartitionId());
+        assertEquals("10.0.0.4:5701", outliers.get(0).getTarget());
+        assertEquals("workerProbe", outliers.get(1).getOperation());
+        assertEquals(3, probe.getIntervalHistogram().getTotalCount());
+    }
+
+    @Test
+    public void testRecordValue_outlierCaptureDisabled() {
+        OutlierRecorder outlierRecorder = new OutlierRecorder();
+        probe.setOutlierCapture("getProbe", 50, outlierRecorder);
+        probe.setOutlierCapture("getProbe", 0, outlierRecorder);
+
+        probe.recordValue(TimeUnit.SECONDS.toNanos(1));
+        probe.recordSince(probe.start() - TimeUnit.SECONDS.toNanos(1), 1, null);
+
+        assertTrue(outlierRecorder.drain().isEmpty());
+        assertEquals(2, probe.getIntervalHistogram().getTotalCount());
+    }
+
     @Test
     public void testRecordValues() {
         int expectedCount = 3;
@@ -57,4 +151,58 @@ public class ProbeImplTest {
 
         assertHistogram(probe.getIntervalHistogram(), expectedCount, expectedMinValue, expectedMaxValue, expectedMeanValue);
     }
+
+    @Test
+    public void testRecordValues_withCount() {
+        probe.recordValues(TimeUnit.MILLISECONDS.toNanos(5), 10);
+
+        Histogram histogram = probe.getIntervalHistogram();
+        assertEquals(10, histogram.getTotalCount());
+        assertEquals(TimeUnit.MILLISECONDS.toMicros(5), histogram.getMaxValue(), 1);
+    }
+
+    @Test
+    public void testGetLatencyUnit_default() {
+        assertEquals(TimeUnit.MICROSECONDS, probe.getLatencyUnit());
+    }
+
+    @Test
+    public void testRecordValue_withNanosecondUnit() {
+        Probe nanoProbe = new ProbeImpl(false, TimeUnit.NANOSECONDS, TimeUnit.SECONDS.toNanos(1), 3);
+
+        nanoProbe.recordValue(150);
+        nanoProbe.recordValue(350);
+
+        Histogram histogram = nanoProbe.getIntervalHistogram();
+        assertEquals(TimeUnit.NANOSECONDS, nanoProbe.getLatencyUnit());
+        assertEquals(2, histogram.getTotalCount());
+        assertEquals(150, histogram.getMinValue());
+        assertEquals(350, histogram.getMaxValue());
+        assertEquals(3, histogram.getNumberOfSignificantValueDigits());
+    }
+
+    @Test
+    public void testRecordValue_clampedToHighestTrackableValue() {
+        Probe millisProbe = new ProbeImpl(false, TimeUnit.MILLISECONDS, 1000, 2);
+
+        millisProbe.recordValue(TimeUnit.SECONDS.toNanos(5));
+
+        Histogram histogram = millisProbe.getIntervalHistogram();
+        assertTrue(histogram.getMaxValue() <= histogram.highestEquivalentValue(1000));
+        assertTrue(histogram.getMaxValue() >= 1000);
+    }
+
+    @Test
+    public void testConstructor_defaultHighestTrackableValue() {
+        Probe millisProbe = new ProbeImpl(false, TimeUnit.MILLISECONDS, 0, 2);
+
+        millisProbe.recordValue(TimeUnit.SECONDS.toNanos(50));
+
+        assertEquals(TimeUnit.SECONDS.toMillis(50), millisProbe.getIntervalHistogram().getMaxValue(), 500);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testConstructor_withNullLatencyUnit() {
+        new ProbeImpl(false, null, 0, 2);
+    }
 }
@@ -5,6 +5,7 @@ import org.HdrHistogram.Histogram;
 import org.junit.Test;
 
 import java.io.PrintStream;
+import java.util.concurrent.TimeUnit;
 
 import static com.hazelcast.simulator.probes.ProbeTestUtils.createProbeResult;
 import static com.hazelcast.simulator.probes.ProbeTestUtils.createRandomHistogram;
@@ -56,6 +57,29 @@ public class ResultImplTest {
         assertEquals(expected, result.getHistogram("probe1"));
     }
 
+    @Test
+    public void testAddHistogram_withLatencyUnit() {
+        Result result = createProbeResult(0);
+        result.addHistogram("probe1", createRandomHistogram(500), TimeUnit.NANOSECONDS);
+
+        assertEquals(TimeUnit.NANOSECONDS, result.getLatencyUnit("probe1"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testAddHistogram_withDifferentLatencyUnit() {
+        Result result = createProbeResult(1);
+
+        result.addHistogram("probe1", createRandomHistogram(500), TimeUnit.NANOSECONDS);
+    }
+
+    @Test
+    public void testGetLatencyUnit_default() {
+        Result result = createProbeResult(1);
+
+        assertEquals(ProbeImpl.LATENCY_UNIT, result.getLatencyUnit("probe1"));
+        assertEquals(ProbeImpl.LATENCY_UNIT, result.getLatencyUnit("unknownProbe"));
+    }
+
     @Test
     public void testToHumanString() {
         Result result = createProbeResult(1);
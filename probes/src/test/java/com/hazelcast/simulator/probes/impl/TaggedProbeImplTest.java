@@ -0,0 +1,162 @@
+package com.hazelcast.simulator.probes.impl;
+
+import com.hazelcast.simulator.probes.Outlier;
+import com.hazelcast.simulator.probes.Probe;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import static com.hazelcast.simulator.probes.impl.ProbeImpl.LATENCY_PRECISION;
+import static com.hazelcast.simulator.probes.impl.ProbeImpl.LATENCY_UNIT;
+import static com.hazelcast.simulator.probes.impl.ProbeImpl.MAXIMUM_LATENCY;
+import static com.hazelcast.simulator.utils.ReflectionUtils.getFieldValue;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class TaggedProbeImplTest {
+
+    private enum Operation {
+        PUT,
+        GET
+    }
+
+    private final Map<String, Probe> probeRegistry = new ConcurrentHashMap<String, Probe>();
+
+    private TaggedProbeImpl taggedProbe = createTaggedProbe(new String[]{"operation"}, 10);
+
+    @Test
+    public void testGetProbe_singleTag() {
+        Probe putProbe = taggedProbe.getProbe(Operation.PUT);
+        Probe getProbe = taggedProbe.getProbe(Operation.GET);
+
+        assertNotSame(putProbe, getProbe);
+        assertSame(putProbe, taggedProbe.getProbe(Operation.PUT));
+        assertSame(putProbe, probeRegistry.get("latency[operation=PUT]"));
+        assertSame(getProbe, probeRegistry.get("latency[operation=GET]"));
+        assertEquals(2, taggedProbe.getCardinality());
+    }
+
+    @Test
+    public void testGetProbe_withOutlierCapture() {
+        OutlierRecorder outlierRecorder = new OutlierRecorder();
+        taggedProbe.setOutlierCapture(50, outlierRecorder);
+
+        Probe probe = taggedProbe.getProbe(Operation.GET);
+        probe.recordSince(probe.start() - TimeUnit.MILLISECONDS.toNanos(1), 137, "10.0.0.3:5701");
+
+        List<Outlier> outliers = outlierRecorder.drain();
+        assertEquals(1, outliers.size());
+        assertEquals("latency[operation=GET]", outliers.get(0).getOperation());
+        assertEquals(137, outliers.get(0).getPartitionId());
+    }
+
+    @Test
+    public void testGetProbe_multipleTags() {
+        taggedProbe = createTaggedProbe(new String[]{"operation", "member"}, 10);
+
+        Probe probe = taggedProbe.getProbe(Operation.PUT, "/10.0.0.1:5701");
+
+        assertSame(probe, taggedProbe.getProbe(Operation.PUT, "/10.0.0.1:5701"));
+        assertSame(probe, taggedProbe.getProbe(new Object[]{Operation.PUT, "/10.0.0.1:5701"}));
+        assertSame(probe, probeRegistry.get("latency[operation=PUT,member=10.0.0.1_5701]"));
+        assertEquals(1, taggedProbe.getCardinality());
+    }
+
+    @Test
+    public void testGetProbe_withoutTagNames() {
+        taggedProbe = createTaggedProbe(new String[0], 10);
+
+        Probe probe = taggedProbe.getProbe(Operation.GET, 42);
+
+        assertSame(probe, probeRegistry.get("latency[GET,42]"));
+    }
+
+    @Test
+    public void testGetProbe_nullTagValue() {
+        Probe probe = taggedProbe.getProbe((Object) null);
+
+        assertSame(probe, taggedProbe.getProbe((Object) null));
+        assertSame(probe, probeRegistry.get("latency[operation=null]"));
+    }
+
+    @Test
+    public void testGetProbe_maxCardinality() {
+        taggedProbe = createTaggedProbe(new String[]{"key"}, 2);
+
+        Probe probe1 = taggedProbe.getProbe(1);
+        Probe probe2 = taggedProbe.getProbe(2);
+        Probe overflowProbe = taggedProbe.getProbe(3);
+
+        assertNotSame(probe1, probe2);
+        assertSame(overflowProbe, taggedProbe.getProbe(4));
+        assertSame(overflowProbe, probeRegistry.get("latency[other]"));
+        assertSame(probe1, taggedProbe.getProbe(1));
+        assertEquals(2, taggedProbe.getCardinality());
+        assertEquals(3, probeRegistry.size());
+    }
+
+    @Test
+    public void testGetProbe_maxCardinality_doesNotCreateNodesForOverflowingTags() {
+        taggedProbe = createTaggedProbe(new String[]{"key", "member"}, 1);
+
+        taggedProbe.getProbe(1, "a");
+        Probe overflowProbe = taggedProbe.getProbe(2, "b");
+
+        assertSame(overflowProbe, taggedProbe.getProbe(3, "c"));
+        assertSame(overflowProbe, probeRegistry.get("latency[other]"));
+        Object root = getFieldValue(taggedProbe, "root");
+        Map<?, ?> children = getFieldValue(root, "children");
+        assertEquals(1, children.size());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testGetProbe_wrongNumberOfTagValues() {
+        taggedProbe.getProbe(Operation.PUT, "member");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testConstructor_invalidMaxCardinality() {
+        createTaggedProbe(new String[0], 0);
+    }
+
+    @Test
+    public void testGetProbe_recordsWithConfiguration() {
+        taggedProbe = new TaggedProbeImpl("latency", new String[0], 10, probeRegistry, true, TimeUnit.NANOSECONDS, 0, 2);
+
+        Probe probe = taggedProbe.getProbe(Operation.PUT);
+        probe.recordValue(1500);
+
+        assertTrue(probe.isThroughputProbe());
+        assertEquals(TimeUnit.NANOSECONDS, probe.getLatencyUnit());
+        assertEquals(1500, probe.getIntervalHistogram().getMaxValue(), 15);
+    }
+
+    @Test
+    public void testGetProbe_isSharedByThreads() {
+        taggedProbe = new TaggedProbeImpl("latency", new String[0], 10, probeRegistry, false, LATENCY_UNIT, MAXIMUM_LATENCY,
+                LATENCY_PRECISION, true);
+
+        Probe probe = taggedProbe.getProbe(Operation.PUT);
+        probe.recordValue(TimeUnit.MILLISECONDS.toNanos(1));
+
+        assertTrue(probe instanceof ThreadLocalProbeImpl);
+        assertEquals(1, probe.getIntervalHistogram().getTotalCount());
+    }
+
+    @Test
+    public void testSanitizeTagValue() {
+        assertEquals("10.0.0.1_5701", TaggedProbeImpl.sanitizeTagValue("/10.0.0.1:5701"));
+        assertEquals("LOCAL", TaggedProbeImpl.sanitizeTagValue("LOCAL"));
+        assertEquals("a_b", TaggedProbeImpl.sanitizeTagValue("a b/"));
+    }
+
+    private TaggedProbeImpl createTaggedProbe(String[] tagNames, int maxCardinality) {
+        return new TaggedProbeImpl("latency", tagNames, maxCardinality, probeRegistry, false, LATENCY_UNIT, MAXIMUM_LATENCY,
+                LATENCY_PRECISION);
+    }
+}
@@ -0,0 +1,150 @@
+package com.hazelcast.simulator.probes.impl;
+
+import org.HdrHistogram.Histogram;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static com.hazelcast.simulator.probes.ProbeTestUtils.assertHistogram;
+import static com.hazelcast.simulator.utils.CommonUtils.sleepNanos;
+import static com.hazelcast.simulator.utils.ReflectionUtils.getFieldValue;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class ThreadLocalProbeImplTest {
+
+    private ThreadLocalProbeImpl probe = new ThreadLocalProbeImpl(false);
+
+    @Test
+    public void testRecordSince() {
+        int expectedCount = 1;
+        long expectedLatency = 150;
+
+        long started = probe.start();
+        sleepNanos(TimeUnit.MILLISECONDS.toNanos(expectedLatency));
+        probe.recordSince(started);
+
+        assertHistogram(probe.getIntervalHistogram(), expectedCount, expectedLatency, expectedLatency, expectedLatency);
+    }
+
+    @Test
+    public void testGetIntervalHistogram_mergesAllThreads() throws Exception {
+        int threadCount = 4;
+        final int recordCount = 1000;
+
+        Thread[] threads = new Thread[threadCount];
+        for (int i = 0; i < threadCount; i++) {
+            final long latencyMicros = i + 1;
+            threads[i] = new Thread() {
+                @Override
+                public void run() {
+                    for (int j = 0; j < recordCount; j++) {
+                        probe.recordValue(TimeUnit.MICROSECONDS.toNanos(latencyMicros));
+                    }
+                }
+            };
+            threads[i].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(threadCount, probe.getThreadRecorderCount());
+
+        Histogram histogram = probe.getIntervalHistogram();
+        assertEquals(threadCount * recordCount, histogram.getTotalCount());
+        assertEquals(1, histogram.getMinValue());
+        assertEquals(threadCount, histogram.getMaxValue());
+    }
+
+    @Test
+    public void testGetIntervalHistogram_removesRecordersOfDeadThreads() throws Exception {
+        probe.recordValue(TimeUnit.MILLISECONDS.toNanos(1));
+        Thread thread = new Thread() {
+            @Override
+            public void run() {
+                probe.recordValue(TimeUnit.MILLISECONDS.toNanos(2));
+            }
+        };
+        thread.start();
+        thread.join();
+        assertEquals(2, probe.getThreadRecorderCount());
+
+        // the values of the dead thread are still merged into its final interval
+        assertEquals(2, probe.getIntervalHistogram().getTotalCount());
+        assertEquals(1, probe.getThreadRecorderCount());
+
+        probe.recordValue(TimeUnit.MILLISECONDS.toNanos(3));
+        assertEquals(1, probe.getIntervalHistogram().getTotalCount());
+        assertEquals(1, probe.getThreadRecorderCount());
+    }
+
+    @Test
+    public void testRecordValues_withCount() {
+        probe.recordValues(TimeUnit.MILLISECONDS.toNanos(5), 10);
+
+        Histogram histogram = probe.getIntervalHistogram();
+        assertEquals(10, histogram.getTotalCount());
+        assertEquals(TimeUnit.MILLISECONDS.toMicros(5), histogram.getMaxValue(), 1);
+    }
+
+    @Test
+    public void testGetIntervalHistogram_resetsInterval() {
+        probe.recordValue(TimeUnit.MILLISECONDS.toNanos(1));
+        Histogram firstInterval = probe.getIntervalHistogram();
+
+        probe.recordValue(TimeUnit.MILLISECONDS.toNanos(2));
+        probe.recordValue(TimeUnit.MILLISECONDS.toNanos(3));
+        Histogram secondInterval = probe.getIntervalHistogram();
+
+        assertEquals(1, firstInterval.getTotalCount());
+        assertEquals(2, secondInterval.getTotalCount());
+        assertEquals(0, probe.getIntervalHistogram().getTotalCount());
+        assertTrue(firstInterval.getEndTimeStamp() <= secondInterval.getStartTimeStamp());
+    }
+
+    @Test
+    public void testGetIntervalHistogram_reusesMergedHistogram() {
+        probe.recordValue(TimeUnit.MILLISECONDS.toNanos(1));
+        Histogram firstInterval = probe.getIntervalHistogram();
+        Histogram mergedHistogram = getFieldValue(probe, "mergedHistogram");
+
+        probe.recordValue(TimeUnit.MILLISECONDS.toNanos(2));
+        Histogram secondInterval = probe.getIntervalHistogram();
+
+        assertSame(mergedHistogram, getFieldValue(probe, "mergedHistogram"));
+        assertEquals(1, firstInterval.getTotalCount());
+        assertEquals(TimeUnit.MILLISECONDS.toMicros(1), firstInterval.getMaxValue(), 1);
+        assertEquals(1, secondInterval.getTotalCount());
+        // the interval histograms just allocate the recorded range, not the full latency range of the probe
+        Histogram fullRangeHistogram = new Histogram(ProbeImpl.MAXIMUM_LATENCY, ProbeImpl.LATENCY_PRECISION);
+        assertTrue(secondInterval.getEstimatedFootprintInBytes() < fullRangeHistogram.getEstimatedFootprintInBytes());
+    }
+
+    @Test
+    public void testGetIntervalHistogram_withLatencyUnit() {
+        ThreadLocalProbeImpl nanoProbe = new ThreadLocalProbeImpl(false, TimeUnit.NANOSECONDS, 0, 3);
+
+        nanoProbe.recordValue(150);
+
+        Histogram histogram = nanoProbe.getIntervalHistogram();
+        assertEquals(TimeUnit.NANOSECONDS, nanoProbe.getLatencyUnit());
+        assertEquals(150, histogram.getMaxValue());
+        assertEquals(3, histogram.getNumberOfSignificantValueDigits());
+    }
+
+    @Test
+    public void testGetIntervalHistogram_withClampedValue() {
+        probe.recordValue(TimeUnit.MINUTES.toNanos(5));
+
+        Histogram histogram = probe.getIntervalHistogram();
+        assertEquals(1, histogram.getTotalCount());
+        assertTrue(histogram.getMaxValue() >= ProbeImpl.MAXIMUM_LATENCY);
+        assertTrue(histogram.getMaxValue() <= histogram.highestEquivalentValue(ProbeImpl.MAXIMUM_LATENCY));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testConstructor_withInvalidSignificantDigits() {
+        new ThreadLocalProbeImpl(false, TimeUnit.MICROSECONDS, 0, 6);
+    }
+}
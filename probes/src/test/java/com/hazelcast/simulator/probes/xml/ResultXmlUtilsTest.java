@@ -6,9 +6,12 @@ import com.thoughtworks.xstream.converters.ConversionException;
 import org.junit.AfterClass;
 import org.junit.Test;
 
+import java.util.concurrent.TimeUnit;
+
 import static com.hazelcast.simulator.probes.ProbeTestUtils.assertEqualsResult;
 import static com.hazelcast.simulator.probes.ProbeTestUtils.cleanup;
 import static com.hazelcast.simulator.probes.ProbeTestUtils.createProbeResult;
+import static com.hazelcast.simulator.probes.ProbeTestUtils.createRandomHistogram;
 import static com.hazelcast.simulator.probes.ProbeTestUtils.getResultFile;
 import static com.hazelcast.simulator.probes.ProbeTestUtils.serializeAndDeserializeAgain;
 import static com.hazelcast.simulator.probes.xml.ResultXmlUtils.fromXml;
@@ -16,6 +19,7 @@ import static com.hazelcast.simulator.probes.xml.ResultXmlUtils.toXml;
 import static com.hazelcast.simulator.utils.FileUtils.writeText;
 import static com.hazelcast.simulator.utils.ReflectionUtils.invokePrivateConstructor;
 import static org.apache.commons.codec.binary.Base64.encodeBase64String;
+import static org.junit.Assert.assertEquals;
 
 public class ResultXmlUtilsTest {
 
@@ -50,6 +54,31 @@ public class ResultXmlUtilsTest {
         assertEqualsResult(expected, actual);
     }
 
+    @Test
+    public void testProbeResult_withLatencyUnit() {
+        Result expected = createProbeResult(2);
+        expected.addHistogram("nanoProbe", createRandomHistogram(1000), TimeUnit.NANOSECONDS);
+
+        Result actual = serializeAndDeserializeAgain(expected);
+
+        assertEqualsResult(expected, actual);
+        assertEquals(TimeUnit.NANOSECONDS, actual.getLatencyUnit("nanoProbe"));
+        assertEquals(TimeUnit.MICROSECONDS, actual.getLatencyUnit("probe1"));
+    }
+
+    @Test
+    public void testProbeResult_withoutLatencyUnits() {
+        Result expected = createProbeResult(1);
+
+        String xml = toXml(expected);
+        String legacyXml = xml.replaceAll("(?s)<latencyUnits>.*</latencyUnits>", "");
+        writeText(legacyXml, getResultFile());
+        Result actual = fromXml(getResultFile());
+
+        assertEquals(expected.getHistogram("probe1"), actual.getHistogram("probe1"));
+        assertEquals(TimeUnit.MICROSECONDS, actual.getLatencyUnit("probe1"));
+    }
+
     @Test(expected = ConversionException.class)
     public void testProbeResult_invalidHistogramXml() {
         Result result = new ResultImpl("InvalidHistogramXmlTest", 1000, 500.0);
@@ -15,6 +15,7 @@
  */
 package com.hazelcast.simulator.agent;
 
+import com.hazelcast.simulator.agent.osmetrics.OsMetricsMonitor;
 import com.hazelcast.simulator.agent.workerjvm.WorkerJvmFailureMonitor;
 import com.hazelcast.simulator.agent.workerjvm.WorkerJvmManager;
 import com.hazelcast.simulator.common.CoordinatorLogger;
@@ -58,11 +59,12 @@ public class Agent {
 
     private final AgentConnector agentConnector;
     private final CoordinatorLogger coordinatorLogger;
+    private final OsMetricsMonitor osMetricsMonitor;
 
     private volatile TestSuite testSuite;
 
     public Agent(int addressIndex, String publicAddress, int port, String cloudProvider, String cloudIdentity,
-                 String cloudCredential) {
+                 String cloudCredential, int osMetricsIntervalSeconds) {
         SHUTDOWN_STARTED.set(false);
 
         this.addressIndex = addressIndex;
@@ -77,6 +79,7 @@ public class Agent {
         this.agentConnector.start();
 
         this.coordinatorLogger = new CoordinatorLogger(agentConnector);
+        this.osMetricsMonitor = new OsMetricsMonitor(this, workerJvmManager, osMetricsIntervalSeconds);
 
         Runtime.getRuntime().addShutdownHook(new ShutdownThread(true));
 
@@ -213,6 +216,9 @@ public class Agent {
             LOGGER.info("Stopping WorkerJvmFailureMonitor...");
             workerJvmFailureMonitor.shutdown();
 
+            LOGGER.info("Stopping OsMetricsMonitor...");
+            osMetricsMonitor.shutdown();
+
             LOGGER.info("Stopping AgentConnector...");
             agentConnector.shutdown();
 
@@ -49,6 +49,10 @@ final class AgentCli {
             "The cloud credential for this Agent.")
             .withRequiredArg().ofType(String.class);
 
+    private final OptionSpec<Integer> osMetricsIntervalSecondsSpec = parser.accepts("osMetricsIntervalSeconds",
+            "Interval in seconds to sample the OS metrics of this Agent (0 disables the sampling).")
+            .withRequiredArg().ofType(Integer.class).defaultsTo(0);
+
     private AgentCli() {
     }
 
@@ -74,7 +78,9 @@ final class AgentCli {
         String cloudProvider = options.valueOf(agentCli.cloudProviderSpec);
         String cloudIdentity = options.valueOf(agentCli.cloudIdentitySpec);
         String cloudCredential = options.valueOf(agentCli.cloudCredentialSpec);
+        int osMetricsIntervalSeconds = options.valueOf(agentCli.osMetricsIntervalSecondsSpec);
 
-        return new Agent(addressIndex, publicAddress, port, cloudProvider, cloudIdentity, cloudCredential);
+        return new Agent(addressIndex, publicAddress, port, cloudProvider, cloudIdentity, cloudCredential,
+                osMetricsIntervalSeconds);
     }
 }
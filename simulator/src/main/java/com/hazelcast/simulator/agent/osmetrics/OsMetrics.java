@@ -0,0 +1,159 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.simulator.agent.osmetrics;
+
+/**
+ * Container to transfer a sample of the machine level metrics of a Simulator Agent to the Coordinator.
+ *
+ * The CPU values are the share of the total CPU time of all cores in the sample interval. The network and disk rates are in
+ * bytes per second, the context switch rate in switches per second. All rates are averaged over the sample interval, which
+ * ends at the timestamp of the sample.
+ */
+public class OsMetrics {
+
+    private static final double HUNDRED_PERCENT = 100;
+
+    private long timestamp;
+    private long intervalMillis;
+
+    private double cpuUserPercent;
+    private double cpuSystemPercent;
+    private double cpuIoWaitPercent;
+    private double cpuIrqPercent;
+    private double cpuStealPercent;
+    private double cpuIdlePercent;
+
+    private long runQueueLength;
+    private long blockedProcesses;
+    private double loadAverage;
+    private double contextSwitchRate;
+
+    private double networkReceiveRate;
+    private double networkTransmitRate;
+    private double diskReadRate;
+    private double diskWriteRate;
+    private double diskUtilizationPercent;
+
+    public OsMetrics(long timestamp, long intervalMillis) {
+        this.timestamp = timestamp;
+        this.intervalMillis = intervalMillis;
+    }
+
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    public long getIntervalMillis() {
+        return intervalMillis;
+    }
+
+    public double getCpuUserPercent() {
+        return cpuUserPercent;
+    }
+
+    public double getCpuSystemPercent() {
+        return cpuSystemPercent;
+    }
+
+    public double getCpuIoWaitPercent() {
+        return cpuIoWaitPercent;
+    }
+
+    public double getCpuIrqPercent() {
+        return cpuIrqPercent;
+    }
+
+    public double getCpuStealPercent() {
+        return cpuStealPercent;
+    }
+
+    public double getCpuIdlePercent() {
+        return cpuIdlePercent;
+    }
+
+    public void setCpu(double userPercent, double systemPercent, double ioWaitPercent, double irqPercent, double stealPercent,
+                       double idlePercent) {
+        this.cpuUserPercent = userPercent;
+        this.cpuSystemPercent = systemPercent;
+        this.cpuIoWaitPercent = ioWaitPercent;
+        this.cpuIrqPercent = irqPercent;
+        this.cpuStealPercent = stealPercent;
+        this.cpuIdlePercent = idlePercent;
+    }
+
+    /**
+     * Returns the share of the CPU time which was neither idle nor waiting for I/O.
+     *
+     * @return the busy CPU time in percent
+     */
+    public double getCpuBusyPercent() {
+        return Math.max(0, HUNDRED_PERCENT - cpuIdlePercent - cpuIoWaitPercent);
+    }
+
+    public long getRunQueueLength() {
+        return runQueueLength;
+    }
+
+    public long getBlockedProcesses() {
+        return blockedProcesses;
+    }
+
+    public double getLoadAverage() {
+        return loadAverage;
+    }
+
+    public double getContextSwitchRate() {
+        return contextSwitchRate;
+    }
+
+    public void setScheduler(long runQueueLength, long blockedProcesses, double loadAverage, double contextSwitchRate) {
+        this.runQueueLength = runQueueLength;
+        this.blockedProcesses = blockedProcesses;
+        this.loadAverage = loadAverage;
+        this.contextSwitchRate = contextSwitchRate;
+    }
+
+    public double getNetworkReceiveRate() {
+        return networkReceiveRate;
+    }
+
+    public double getNetworkTransmitRate() {
+        return networkTransmitRate;
+    }
+
+    public void setNetwork(double receiveRate, double transmitRate) {
+        this.networkReceiveRate = receiveRate;
+        this.networkTransmitRate = transmitRate;
+    }
+
+    public double getDiskReadRate() {
+        return diskReadRate;
+    }
+
+    public double getDiskWriteRate() {
+        return diskWriteRate;
+    }
+
+    public double getDiskUtilizationPercent() {
+        return diskUtilizationPercent;
+    }
+
+    public void setDisk(double readRate, double writeRate, double utilizationPercent) {
+        this.diskReadRate = readRate;
+        this.diskWriteRate = writeRate;
+        this.diskUtilizationPercent = utilizationPercent;
+    }
+}
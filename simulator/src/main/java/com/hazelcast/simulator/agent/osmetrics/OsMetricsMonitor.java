@@ -0,0 +1,189 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.simulator.agent.osmetrics;
+
+import com.hazelcast.simulator.agent.Agent;
+import com.hazelcast.simulator.agent.workerjvm.WorkerJvm;
+import com.hazelcast.simulator.agent.workerjvm.WorkerJvmManager;
+import com.hazelcast.simulator.protocol.operation.OsMetricsOperation;
+import org.apache.log4j.Logger;
+
+import java.io.File;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+
+import static com.hazelcast.simulator.agent.osmetrics.OsMetricsSampler.PROC_DIR;
+import static com.hazelcast.simulator.protocol.core.SimulatorAddress.COORDINATOR;
+import static com.hazelcast.simulator.utils.CommonUtils.sleepSeconds;
+import static com.hazelcast.simulator.utils.FileUtils.appendText;
+import static com.hazelcast.simulator.utils.FormatUtils.fillString;
+import static com.hazelcast.simulator.utils.FormatUtils.formatDouble;
+import static com.hazelcast.simulator.utils.FormatUtils.formatLong;
+import static com.hazelcast.simulator.utils.FormatUtils.padLeft;
+import static java.lang.String.format;
+
+/**
+ * Samples the machine level metrics of the Agent and the resource usage of its Worker JVMs in a fixed interval.
+ *
+ * The samples are written to a file per Agent and a file per Worker in the test suite directory, so they are downloaded
+ * with the Worker artifacts. The machine level metrics are also sent to the Coordinator, which logs them next to the
+ * throughput of the running tests.
+ */
+public class OsMetricsMonitor {
+
+    public static final String OS_METRICS_FILE_PREFIX = "os-metrics-";
+    public static final String PROCESS_METRICS_FILE_NAME = "process-metrics.txt";
+
+    private static final int COLUMN_WIDTH = 12;
+    private static final double ONE_MEGABYTE = 1024 * 1024;
+
+    private static final String[] OS_METRICS_COLUMNS = {
+            "user %", "system %", "iowait %", "irq %", "steal %", "idle %",
+            "run queue", "blocked", "load avg", "ctx sw/s",
+            "net rx MB/s", "net tx MB/s", "disk rd MB/s", "disk wr MB/s", "disk util %",
+    };
+    private static final String[] PROCESS_METRICS_COLUMNS = {"cpu %", "rss MB", "threads"};
+
+    private static final Logger LOGGER = Logger.getLogger(OsMetricsMonitor.class);
+
+    private final MonitorThread monitorThread;
+
+    public OsMetricsMonitor(Agent agent, WorkerJvmManager workerJvmManager, int intervalSeconds) {
+        if (intervalSeconds <= 0) {
+            LOGGER.info("OsMetricsMonitor is disabled");
+            monitorThread = null;
+            return;
+        }
+        if (!OsMetricsSampler.isAvailable(PROC_DIR)) {
+            LOGGER.info(format("OsMetricsMonitor is disabled, since %s is not available", PROC_DIR));
+            monitorThread = null;
+            return;
+        }
+        monitorThread = new MonitorThread(agent, workerJvmManager, intervalSeconds);
+        monitorThread.start();
+    }
+
+    public void shutdown() {
+        if (monitorThread == null) {
+            return;
+        }
+        monitorThread.running = false;
+        monitorThread.interrupt();
+    }
+
+    static void writeOsMetrics(File file, String timestamp, OsMetrics osMetrics) {
+        writeHeader(file, OS_METRICS_COLUMNS);
+        appendText(format("[%s] %s %s %s %s %s %s %s %s %s %s %s %s %s %s %s%n", timestamp,
+                formatDouble(osMetrics.getCpuUserPercent(), COLUMN_WIDTH),
+                formatDouble(osMetrics.getCpuSystemPercent(), COLUMN_WIDTH),
+                formatDouble(osMetrics.getCpuIoWaitPercent(), COLUMN_WIDTH),
+                formatDouble(osMetrics.getCpuIrqPercent(), COLUMN_WIDTH),
+                formatDouble(osMetrics.getCpuStealPercent(), COLUMN_WIDTH),
+                formatDouble(osMetrics.getCpuIdlePercent(), COLUMN_WIDTH),
+                formatLong(osMetrics.getRunQueueLength(), COLUMN_WIDTH),
+                formatLong(osMetrics.getBlockedProcesses(), COLUMN_WIDTH),
+                formatDouble(osMetrics.getLoadAverage(), COLUMN_WIDTH),
+                formatDouble(osMetrics.getContextSwitchRate(), COLUMN_WIDTH),
+                formatDouble(osMetrics.getNetworkReceiveRate() / ONE_MEGABYTE, COLUMN_WIDTH),
+                formatDouble(osMetrics.getNetworkTransmitRate() / ONE_MEGABYTE, COLUMN_WIDTH),
+                formatDouble(osMetrics.getDiskReadRate() / ONE_MEGABYTE, COLUMN_WIDTH),
+                formatDouble(osMetrics.getDiskWriteRate() / ONE_MEGABYTE, COLUMN_WIDTH),
+                formatDouble(osMetrics.getDiskUtilizationPercent(), COLUMN_WIDTH)), file);
+    }
+
+    static void writeProcessMetrics(File file, String timestamp, ProcessMetrics processMetrics) {
+        writeHeader(file, PROCESS_METRICS_COLUMNS);
+        appendText(format("[%s] %s %s %s%n", timestamp,
+                formatDouble(processMetrics.getCpuPercent(), COLUMN_WIDTH),
+                formatDouble(processMetrics.getRssBytes() / ONE_MEGABYTE, COLUMN_WIDTH),
+                formatLong(processMetrics.getThreadCount(), COLUMN_WIDTH)), file);
+    }
+
+    private static void writeHeader(File file, String[] columns) {
+        if (file.exists()) {
+            return;
+        }
+        StringBuilder sb = new StringBuilder("Timestamp            ");
+        for (String column : columns) {
+            sb.append(' ').append(padLeft(column, COLUMN_WIDTH));
+        }
+        appendText(format("%s%n%s%n", sb, fillString(sb.length(), '-')), file);
+    }
+
+    private static final class MonitorThread extends Thread {
+
+        private final SimpleDateFormat simpleDateFormat = new SimpleDateFormat("dd/MM/yyyy HH:mm:ss");
+        private final OsMetricsSampler sampler = new OsMetricsSampler(PROC_DIR, System.currentTimeMillis());
+
+        private final Agent agent;
+        private final WorkerJvmManager workerJvmManager;
+        private final int intervalSeconds;
+
+        private volatile boolean running = true;
+
+        private MonitorThread(Agent agent, WorkerJvmManager workerJvmManager, int intervalSeconds) {
+            super("OsMetricsMonitorThread");
+            setDaemon(true);
+
+            this.agent = agent;
+            this.workerJvmManager = workerJvmManager;
+            this.intervalSeconds = intervalSeconds;
+        }
+
+        @Override
+        public void run() {
+            while (running) {
+                sleepSeconds(intervalSeconds);
+                try {
+                    sample();
+                } catch (Exception e) {
+                    LOGGER.warn("Failed to sample OS metrics", e);
+                }
+            }
+        }
+
+        private void sample() {
+            long timestamp = System.currentTimeMillis();
+            OsMetrics osMetrics = sampler.sample(timestamp);
+
+            // there is nothing to report before the Coordinator has initialized the test suite
+            File testSuiteDir = agent.getTestSuiteDir();
+            if (!running || testSuiteDir == null || !testSuiteDir.exists()) {
+                return;
+            }
+
+            String dateString = simpleDateFormat.format(new Date(timestamp));
+            writeOsMetrics(new File(testSuiteDir, OS_METRICS_FILE_PREFIX + agent.getPublicAddress() + ".txt"), dateString,
+                    osMetrics);
+            for (WorkerJvm workerJvm : workerJvmManager.getWorkerJVMs()) {
+                sampleWorker(workerJvm, dateString);
+            }
+
+            agent.getAgentConnector().submit(COORDINATOR, new OsMetricsOperation(osMetrics));
+        }
+
+        private void sampleWorker(WorkerJvm workerJvm, String dateString) {
+            int pid = workerJvm.getPid();
+            if (pid <= 0 || workerJvm.isFinished()) {
+                return;
+            }
+            ProcessMetrics processMetrics = sampler.sampleProcess(pid);
+            if (processMetrics != null) {
+                writeProcessMetrics(new File(workerJvm.getWorkerHome(), PROCESS_METRICS_FILE_NAME), dateString, processMetrics);
+            }
+        }
+    }
+}
@@ -0,0 +1,287 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.simulator.agent.osmetrics;
+
+import com.hazelcast.simulator.utils.FileUtilsException;
+
+import java.io.File;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static com.hazelcast.simulator.utils.FileUtils.fileAsText;
+
+/**
+ * Samples the machine level metrics and the metrics of single processes from the Linux proc filesystem.
+ *
+ * The counters in the proc filesystem are cumulative since boot, so each sample contains the delta to the previous sample.
+ * No external tools like vmstat or dstat are needed.
+ */
+final class OsMetricsSampler {
+
+    static final File PROC_DIR = new File("/proc");
+
+    private static final double HUNDRED_PERCENT = 100;
+    private static final double ONE_SECOND_IN_MILLIS = TimeUnit.SECONDS.toMillis(1);
+
+    // user, nice, system, idle, iowait, irq, softirq and steal; the guest time is already included in the user time
+    private static final int CPU_COUNTER_COUNT = 8;
+    private static final int CPU_IDLE = 3;
+    private static final int CPU_IOWAIT = 4;
+    private static final int CPU_IRQ = 5;
+    private static final int CPU_SOFTIRQ = 6;
+    private static final int CPU_STEAL = 7;
+
+    private static final int NET_TRANSMIT_BYTES_INDEX = 8;
+
+    // /proc/diskstats always counts in 512 byte sectors, independent of the sector size of the device
+    private static final long SECTOR_SIZE_BYTES = 512;
+    private static final int DISK_NAME_INDEX = 2;
+    private static final int DISK_SECTORS_READ_INDEX = 5;
+    private static final int DISK_SECTORS_WRITTEN_INDEX = 9;
+    private static final int DISK_IO_TICKS_INDEX = 12;
+
+    // indexes of the fields after the command name in /proc/[pid]/stat
+    private static final int PROCESS_UTIME_INDEX = 11;
+    private static final int PROCESS_STIME_INDEX = 12;
+    private static final int PROCESS_THREADS_INDEX = 17;
+    private static final int PROCESS_RSS_INDEX = 21;
+
+    // the RSS is reported in pages, we assume the common page size instead of shelling out to getconf
+    private static final long PAGE_SIZE_BYTES = 4096;
+
+    private final Map<String, Long> diskIoTicks = new HashMap<String, Long>();
+    private final Map<Integer, Long> processCpuTicks = new HashMap<Integer, Long>();
+    private final File procDir;
+
+    private long lastTimestamp;
+    private long[] lastCpuCounters = new long[CPU_COUNTER_COUNT];
+    private long lastCpuTotal;
+    private long cpuTotalDelta;
+    private long lastContextSwitches;
+    private long lastBytesReceived;
+    private long lastBytesTransmitted;
+    private long lastSectorsRead;
+    private long lastSectorsWritten;
+
+    OsMetricsSampler(File procDir, long timestamp) {
+        this.procDir = procDir;
+
+        // the first sample is the baseline for the deltas of the next sample
+        sample(timestamp);
+    }
+
+    static boolean isAvailable(File procDir) {
+        return new File(procDir, "stat").canRead();
+    }
+
+    OsMetrics sample(long timestamp) {
+        long intervalMillis = Math.max(1, timestamp - lastTimestamp);
+        double intervalSeconds = intervalMillis / ONE_SECOND_IN_MILLIS;
+        lastTimestamp = timestamp;
+
+        String[] statLines = readLines("stat");
+        OsMetrics osMetrics = new OsMetrics(timestamp, intervalMillis);
+        sampleCpu(osMetrics, statLines);
+        sampleScheduler(osMetrics, statLines, intervalSeconds);
+        sampleNetwork(osMetrics, intervalSeconds);
+        sampleDisks(osMetrics, intervalMillis);
+        return osMetrics;
+    }
+
+    /**
+     * Samples the metrics of a single process.
+     *
+     * The CPU usage is the share of the total CPU time of all cores since the last call of {@link #sample(long)}, so
+     * {@link #sample(long)} has to be called before the processes are sampled.
+     *
+     * @param pid the PID of the process
+     * @return the {@link ProcessMetrics} or {@code null} if the process is not running (anymore)
+     */
+    ProcessMetrics sampleProcess(int pid) {
+        String stat;
+        try {
+            stat = fileAsText(new File(procDir, pid + "/stat"));
+        } catch (FileUtilsException e) {
+            processCpuTicks.remove(pid);
+            return null;
+        }
+        // the command name is in parentheses and may contain spaces, so we parse the fields after it
+        String[] fields = stat.substring(stat.lastIndexOf(')') + 1).trim().split("\\s+");
+        long cpuTicks = Long.parseLong(fields[PROCESS_UTIME_INDEX]) + Long.parseLong(fields[PROCESS_STIME_INDEX]);
+
+        Long previousCpuTicks = processCpuTicks.put(pid, cpuTicks);
+        double cpuPercent = (previousCpuTicks == null) ? 0 : percentage(cpuTicks - previousCpuTicks, cpuTotalDelta);
+        long rssBytes = Long.parseLong(fields[PROCESS_RSS_INDEX]) * PAGE_SIZE_BYTES;
+        int threadCount = Integer.parseInt(fields[PROCESS_THREADS_INDEX]);
+        return new ProcessMetrics(cpuPercent, rssBytes, threadCount);
+    }
+
+    private void sampleCpu(OsMetrics osMetrics, String[] statLines) {
+        long[] cpuCounters = parseCounters(findLine(statLines, "cpu "), 1, CPU_COUNTER_COUNT);
+        long[] delta = new long[CPU_COUNTER_COUNT];
+        long cpuTotal = 0;
+        for (int i = 0; i < CPU_COUNTER_COUNT; i++) {
+            delta[i] = cpuCounters[i] - lastCpuCounters[i];
+            cpuTotal += cpuCounters[i];
+        }
+        cpuTotalDelta = cpuTotal - lastCpuTotal;
+        lastCpuCounters = cpuCounters;
+        lastCpuTotal = cpuTotal;
+
+        osMetrics.setCpu(
+                percentage(delta[0] + delta[1], cpuTotalDelta),
+                percentage(delta[2], cpuTotalDelta),
+                percentage(delta[CPU_IOWAIT], cpuTotalDelta),
+                percentage(delta[CPU_IRQ] + delta[CPU_SOFTIRQ], cpuTotalDelta),
+                percentage(delta[CPU_STEAL], cpuTotalDelta),
+                percentage(delta[CPU_IDLE], cpuTotalDelta));
+    }
+
+    private void sampleScheduler(OsMetrics osMetrics, String[] statLines, double intervalSeconds) {
+        long runQueueLength = parseCounters(findLine(statLines, "procs_running "), 1, 1)[0];
+        long blockedProcesses = parseCounters(findLine(statLines, "procs_blocked "), 1, 1)[0];
+        long contextSwitches = parseCounters(findLine(statLines, "ctxt "), 1, 1)[0];
+
+        String[] loadAverageLines = readLines("loadavg");
+        double loadAverage = (loadAverageLines.length == 0) ? 0 : Double.parseDouble(loadAverageLines[0].trim().split("\\s+")[0]);
+
+        osMetrics.setScheduler(runQueueLength, blockedProcesses, loadAverage,
+                (contextSwitches - lastContextSwitches) / intervalSeconds);
+        lastContextSwitches = contextSwitches;
+    }
+
+    private void sampleNetwork(OsMetrics osMetrics, double intervalSeconds) {
+        long bytesReceived = 0;
+        long bytesTransmitted = 0;
+        for (String line : readLines("net/dev")) {
+            int indexOf = line.indexOf(':');
+            if (indexOf == -1 || "lo".equals(line.substring(0, indexOf).trim())) {
+                continue;
+            }
+            long[] counters = parseCounters(line.substring(indexOf + 1), 0, NET_TRANSMIT_BYTES_INDEX + 1);
+            bytesReceived += counters[0];
+            bytesTransmitted += counters[NET_TRANSMIT_BYTES_INDEX];
+        }
+
+        osMetrics.setNetwork((bytesReceived - lastBytesReceived) / intervalSeconds,
+                (bytesTransmitted - lastBytesTransmitted) / intervalSeconds);
+        lastBytesReceived = bytesReceived;
+        lastBytesTransmitted = bytesTransmitted;
+    }
+
+    private void sampleDisks(OsMetrics osMetrics, long intervalMillis) {
+        String[] lines = readLines("diskstats");
+        Set<String> diskNames = new HashSet<String>();
+        for (String line : lines) {
+            String[] fields = line.trim().split("\\s+");
+            if (fields.length > DISK_IO_TICKS_INDEX && isPhysicalDevice(fields[DISK_NAME_INDEX])) {
+                diskNames.add(fields[DISK_NAME_INDEX]);
+            }
+        }
+
+        long sectorsRead = 0;
+        long sectorsWritten = 0;
+        double maxUtilizationPercent = 0;
+        for (String line : lines) {
+            String[] fields = line.trim().split("\\s+");
+            if (fields.length <= DISK_IO_TICKS_INDEX || !isDisk(fields[DISK_NAME_INDEX], diskNames)) {
+                continue;
+            }
+            sectorsRead += Long.parseLong(fields[DISK_SECTORS_READ_INDEX]);
+            sectorsWritten += Long.parseLong(fields[DISK_SECTORS_WRITTEN_INDEX]);
+
+            long ioTicks = Long.parseLong(fields[DISK_IO_TICKS_INDEX]);
+            Long lastIoTicks = diskIoTicks.put(fields[DISK_NAME_INDEX], ioTicks);
+            if (lastIoTicks != null) {
+                maxUtilizationPercent = Math.max(maxUtilizationPercent, percentage(ioTicks - lastIoTicks, intervalMillis));
+            }
+        }
+
+        double intervalSeconds = intervalMillis / ONE_SECOND_IN_MILLIS;
+        osMetrics.setDisk((sectorsRead - lastSectorsRead) * SECTOR_SIZE_BYTES / intervalSeconds,
+                (sectorsWritten - lastSectorsWritten) * SECTOR_SIZE_BYTES / intervalSeconds,
+                Math.min(HUNDRED_PERCENT, maxUtilizationPercent));
+        lastSectorsRead = sectorsRead;
+        lastSectorsWritten = sectorsWritten;
+    }
+
+    /**
+     * Filters virtual block devices, which would count the I/O of the underlying disks twice.
+     */
+    private static boolean isPhysicalDevice(String name) {
+        return !name.startsWith("loop") && !name.startsWith("ram") && !name.startsWith("zram") && !name.startsWith("dm-")
+                && !name.startsWith("md");
+    }
+
+    /**
+     * Filters partitions, which would count the I/O of their disk twice. Partitions are named after their disk with the
+     * partition number appended, separated by a "p" if the disk name ends with a digit (e.g. sda1 or nvme0n1p1).
+     */
+    private static boolean isDisk(String name, Set<String> diskNames) {
+        if (!diskNames.contains(name)) {
+            return false;
+        }
+        for (String diskName : diskNames) {
+            if (name.length() > diskName.length() && name.startsWith(diskName)) {
+                String partitionPattern = Character.isDigit(diskName.charAt(diskName.length() - 1)) ? "p\\d+" : "\\d+";
+                if (name.substring(diskName.length()).matches(partitionPattern)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private String[] readLines(String fileName) {
+        try {
+            return fileAsText(new File(procDir, fileName)).split("\n");
+        } catch (FileUtilsException e) {
+            // not all files are available in all environments, e.g. /proc/diskstats in some containers
+            return new String[0];
+        }
+    }
+
+    private static String findLine(String[] lines, String prefix) {
+        for (String line : lines) {
+            if (line.startsWith(prefix)) {
+                return line;
+            }
+        }
+        return null;
+    }
+
+    private static long[] parseCounters(String line, int firstIndex, int count) {
+        long[] counters = new long[count];
+        if (line == null) {
+            return counters;
+        }
+        String[] fields = line.trim().split("\\s+");
+        for (int i = 0; i < count && firstIndex + i < fields.length; i++) {
+            counters[i] = Long.parseLong(fields[firstIndex + i]);
+        }
+        return counters;
+    }
+
+    private static double percentage(long value, long total) {
+        if (total <= 0) {
+            return 0;
+        }
+        return value * HUNDRED_PERCENT / total;
+    }
+}
@@ -0,0 +1,44 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.simulator.agent.osmetrics;
+
+/**
+ * A sample of the resource usage of a single process, e.g. a Simulator Worker JVM.
+ */
+final class ProcessMetrics {
+
+    private final double cpuPercent;
+    private final long rssBytes;
+    private final int threadCount;
+
+    ProcessMetrics(double cpuPercent, long rssBytes, int threadCount) {
+        this.cpuPercent = cpuPercent;
+        this.rssBytes = rssBytes;
+        this.threadCount = threadCount;
+    }
+
+    double getCpuPercent() {
+        return cpuPercent;
+    }
+
+    long getRssBytes() {
+        return rssBytes;
+    }
+
+    int getThreadCount() {
+        return threadCount;
+    }
+}
@@ -31,6 +31,7 @@ public class WorkerJvm {
     private volatile boolean isFinished;
     private volatile Process process;
     private volatile String hzAddress;
+    private volatile int pid = -1;
 
     public WorkerJvm(SimulatorAddress address, String id, File workerHome) {
         this.address = address;
@@ -98,4 +99,12 @@ public class WorkerJvm {
     public void setHzAddress(String memberAddress) {
         this.hzAddress = memberAddress;
     }
+
+    public int getPid() {
+        return pid;
+    }
+
+    public void setPid(int pid) {
+        this.pid = pid;
+    }
 }
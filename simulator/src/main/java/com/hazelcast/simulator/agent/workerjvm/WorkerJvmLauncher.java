@@ -33,6 +33,7 @@ import java.util.concurrent.atomic.AtomicBoolean;
 import static com.hazelcast.simulator.utils.CommonUtils.sleepMillis;
 import static com.hazelcast.simulator.utils.FileUtils.deleteQuiet;
 import static com.hazelcast.simulator.utils.FileUtils.ensureExistingDirectory;
+import static com.hazelcast.simulator.utils.FileUtils.fileAsText;
 import static com.hazelcast.simulator.utils.FileUtils.getSimulatorHome;
 import static com.hazelcast.simulator.utils.FileUtils.readObject;
 import static com.hazelcast.simulator.utils.FileUtils.writeText;
@@ -144,6 +145,7 @@ public class WorkerJvmLauncher {
             String address = readAddress(worker);
             if (address != null) {
                 worker.setHzAddress(address);
+                worker.setPid(readPid(worker));
                 worker.setDetectTimeout();
                 LOGGER.info(format("Worker %s started", worker.getId()));
                 return;
@@ -217,6 +219,14 @@ public class WorkerJvmLauncher {
         return address;
     }
 
+    private int readPid(WorkerJvm jvm) {
+        File file = new File(jvm.getWorkerHome(), "worker.pid");
+        if (!file.exists()) {
+            return -1;
+        }
+        return Integer.parseInt(fileAsText(file).trim());
+    }
+
     private String[] buildArgs(WorkerJvm workerJvm, WorkerType type) {
         List<String> args = new LinkedList<String>();
 
@@ -241,7 +251,9 @@ public class WorkerJvmLauncher {
         args.add("-DworkerIndex=" + workerIndex);
         args.add("-DworkerPort=" + workerPort);
         args.add("-DautoCreateHzInstance=" + workerJvmSettings.isAutoCreateHzInstance());
-        args.add("-DworkerPerformanceMonitorIntervalSeconds=" + workerJvmSettings.getWorkerPerformanceMonitorIntervalSeconds());
+        args.add("-DworkerPerformanceMonitorIntervalMillis=" + workerJvmSettings.getWorkerPerformanceMonitorIntervalMillis());
+        args.add("-DperformancePercentiles=" + workerJvmSettings.getPerformancePercentiles());
+        args.add("-DhiccupMeterResolutionMillis=" + workerJvmSettings.getHiccupMeterResolutionMillis());
         args.add("-DhzConfigFile=" + hzConfigFile.getAbsolutePath());
 
         // add class name to start correct worker type
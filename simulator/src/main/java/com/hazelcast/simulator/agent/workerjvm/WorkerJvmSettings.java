@@ -20,6 +20,7 @@ import com.hazelcast.simulator.coordinator.WorkerParameters;
 import com.hazelcast.simulator.worker.WorkerType;
 
 import static com.hazelcast.simulator.worker.WorkerType.MEMBER;
+import static com.hazelcast.simulator.worker.performance.PerformanceUtils.formatPercentiles;
 
 /**
  * Settings for a (single) Simulator Worker JVM.
@@ -36,7 +37,9 @@ public class WorkerJvmSettings {
 
     private final boolean autoCreateHzInstance;
     private final int workerStartupTimeout;
-    private final int workerPerformanceMonitorIntervalSeconds;
+    private final int workerPerformanceMonitorIntervalMillis;
+    private final String performancePercentiles;
+    private final int hiccupMeterResolutionMillis;
 
     private final String profiler;
     private final String profilerSettings;
@@ -60,16 +63,18 @@ public class WorkerJvmSettings {
 
         this.autoCreateHzInstance = workerParameters.isAutoCreateHzInstance();
         this.workerStartupTimeout = workerParameters.getWorkerStartupTimeout();
-        this.workerPerformanceMonitorIntervalSeconds = initWorkerPerformanceMonitorIntervalSeconds(workerParameters);
+        this.workerPerformanceMonitorIntervalMillis = initWorkerPerformanceMonitorIntervalMillis(workerParameters);
+        this.performancePercentiles = formatPercentiles(workerParameters.getPerformancePercentiles());
+        this.hiccupMeterResolutionMillis = workerParameters.getHiccupMeterResolutionMillis();
 
         this.profiler = workerParameters.getProfiler().name();
         this.profilerSettings = workerParameters.getProfilerSettings();
         this.numaCtl = workerParameters.getNumaCtl();
     }
 
-    private int initWorkerPerformanceMonitorIntervalSeconds(WorkerParameters workerParameters) {
+    private int initWorkerPerformanceMonitorIntervalMillis(WorkerParameters workerParameters) {
         if (workerParameters.isMonitorPerformance()) {
-            return workerParameters.getWorkerPerformanceMonitorIntervalSeconds();
+            return workerParameters.getWorkerPerformanceMonitorIntervalMillis();
         }
         return -1;
     }
@@ -106,8 +111,16 @@ public class WorkerJvmSettings {
         return workerStartupTimeout;
     }
 
-    public int getWorkerPerformanceMonitorIntervalSeconds() {
-        return workerPerformanceMonitorIntervalSeconds;
+    public int getWorkerPerformanceMonitorIntervalMillis() {
+        return workerPerformanceMonitorIntervalMillis;
+    }
+
+    public String getPerformancePercentiles() {
+        return performancePercentiles;
+    }
+
+    public int getHiccupMeterResolutionMillis() {
+        return hiccupMeterResolutionMillis;
     }
 
     public JavaProfiler getProfiler() {
@@ -132,7 +145,9 @@ public class WorkerJvmSettings {
                 + ", log4jConfig='" + log4jConfig + '\''
                 + ", autoCreateHzInstance=" + autoCreateHzInstance
                 + ", workerStartupTimeout=" + workerStartupTimeout
-                + ", workerPerformanceMonitorIntervalSeconds=" + workerPerformanceMonitorIntervalSeconds
+                + ", workerPerformanceMonitorIntervalMillis=" + workerPerformanceMonitorIntervalMillis
+                + ", performancePercentiles='" + performancePercentiles + '\''
+                + ", hiccupMeterResolutionMillis=" + hiccupMeterResolutionMillis
                 + ", profiler='" + profiler + '\''
                 + ", profilerSettings='" + profilerSettings + '\''
                 + ", numaCtl='" + numaCtl + '\''
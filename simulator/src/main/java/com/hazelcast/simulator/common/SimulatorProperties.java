@@ -132,6 +132,10 @@ public class SimulatorProperties {
         return parseInt(get("HAZELCAST_PORT_RANGE_SIZE", "50"));
     }
 
+    public int getAgentOsMetricsIntervalSeconds() {
+        return parseInt(get("AGENT_OS_METRICS_INTERVAL_SECONDS", "5"));
+    }
+
     public String getCloudProvider() {
         return get("CLOUD_PROVIDER");
     }
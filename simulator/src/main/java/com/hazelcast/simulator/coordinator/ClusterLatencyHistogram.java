@@ -0,0 +1,173 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.simulator.coordinator;
+
+import com.hazelcast.simulator.protocol.core.SimulatorAddress;
+import com.hazelcast.simulator.test.TestException;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramLogWriter;
+import org.apache.log4j.Logger;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.PrintStream;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.Map;
+
+import static com.hazelcast.simulator.utils.CommonUtils.closeQuietly;
+
+/**
+ * Merges the interval latency histograms of all workers of a test into cluster wide interval histograms.
+ *
+ * An interval is closed when all known workers have reported their next interval histogram, not as soon as the first worker
+ * has reported it. So the n-th interval of each worker is merged into the same cluster wide interval. This is an
+ * approximation: the monitor intervals of the workers are not synchronized, so the merged intervals of the workers can be
+ * shifted against each other by up to one monitor interval.
+ *
+ * A slow worker holds back the closing of the intervals. If a worker has more than {@value #MAX_PENDING_INTERVALS} pending
+ * interval histograms, the oldest interval is closed without the workers which haven't reported it (e.g. they have finished
+ * or crashed); such a worker is not waited for anymore, until it reports again. So the last closed interval, which is shown
+ * in the live performance numbers, is at most {@value #MAX_PENDING_INTERVALS} monitor intervals behind the latest report.
+ *
+ * Every closed interval is written to latency-cluster-&lt;testId&gt;.hlog, so the cluster wide latency is logged live during
+ * the test.
+ */
+final class ClusterLatencyHistogram {
+
+    static final int MAX_PENDING_INTERVALS = 3;
+
+    private static final Logger LOGGER = Logger.getLogger(ClusterLatencyHistogram.class);
+
+    private final Map<SimulatorAddress, LinkedList<Histogram>> pendingHistograms
+            = new HashMap<SimulatorAddress, LinkedList<Histogram>>();
+    private final String testId;
+    private final File latencyFile;
+
+    private PrintStream printStream;
+    private HistogramLogWriter histogramLogWriter;
+
+    private long intervalStartTimeStamp;
+    private Histogram lastIntervalHistogram;
+
+    ClusterLatencyHistogram(String testId) {
+        this.testId = testId;
+        this.latencyFile = new File("latency-cluster-" + testId + ".hlog");
+    }
+
+    synchronized void addIntervalHistogram(SimulatorAddress workerAddress, Histogram workerIntervalHistogram) {
+        if (intervalStartTimeStamp == 0) {
+            intervalStartTimeStamp = System.currentTimeMillis();
+        }
+        LinkedList<Histogram> workerHistograms = pendingHistograms.get(workerAddress);
+        if (workerHistograms == null) {
+            workerHistograms = new LinkedList<Histogram>();
+            pendingHistograms.put(workerAddress, workerHistograms);
+        }
+        workerHistograms.add(workerIntervalHistogram);
+
+        if (workerHistograms.size() > MAX_PENDING_INTERVALS) {
+            // we don't wait any longer for the workers which haven't reported
+            closeInterval();
+        }
+        while (haveAllWorkersReported()) {
+            closeInterval();
+        }
+    }
+
+    /**
+     * Returns the last closed cluster wide interval histogram.
+     *
+     * @return the last interval histogram or {@code null} if no interval has been closed yet
+     */
+    synchronized Histogram getLastIntervalHistogram() {
+        return lastIntervalHistogram;
+    }
+
+    /**
+     * Closes the pending intervals and the latency file.
+     */
+    synchronized void close() {
+        while (!pendingHistograms.isEmpty()) {
+            closeInterval();
+        }
+        closeQuietly(printStream);
+        printStream = null;
+        histogramLogWriter = null;
+    }
+
+    private boolean haveAllWorkersReported() {
+        if (pendingHistograms.isEmpty()) {
+            return false;
+        }
+        for (LinkedList<Histogram> workerHistograms : pendingHistograms.values()) {
+            if (workerHistograms.isEmpty()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Merges the next pending interval histogram of each worker, the workers without a pending histogram are removed.
+     */
+    private void closeInterval() {
+        Histogram intervalHistogram = null;
+        Iterator<LinkedList<Histogram>> iterator = pendingHistograms.values().iterator();
+        while (iterator.hasNext()) {
+            Histogram workerIntervalHistogram = iterator.next().poll();
+            if (workerIntervalHistogram == null) {
+                iterator.remove();
+                continue;
+            }
+            if (intervalHistogram == null) {
+                intervalHistogram = new Histogram(workerIntervalHistogram.getNumberOfSignificantValueDigits());
+            }
+            intervalHistogram.add(workerIntervalHistogram);
+        }
+        if (intervalHistogram == null) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        intervalHistogram.setStartTimeStamp(intervalStartTimeStamp);
+        intervalHistogram.setEndTimeStamp(now);
+        intervalStartTimeStamp = now;
+        getHistogramLogWriter(intervalHistogram).outputIntervalHistogram(intervalHistogram);
+
+        lastIntervalHistogram = intervalHistogram;
+    }
+
+    private HistogramLogWriter getHistogramLogWriter(Histogram intervalHistogram) {
+        if (histogramLogWriter == null) {
+            try {
+                printStream = new PrintStream(latencyFile);
+            } catch (FileNotFoundException e) {
+                throw new TestException("Could not create " + latencyFile.getName(), e);
+            }
+            LOGGER.info("Writing cluster wide latency histograms of test " + testId + " to " + latencyFile.getName());
+
+            histogramLogWriter = new HistogramLogWriter(printStream);
+            histogramLogWriter.setBaseTime(intervalHistogram.getStartTimeStamp());
+            histogramLogWriter.outputComment("[Cluster wide latency histograms for " + testId + ']');
+            histogramLogWriter.outputComment("[Latency unit: MICROSECONDS]");
+            histogramLogWriter.outputLogFormatVersion();
+            histogramLogWriter.outputStartTime(intervalHistogram.getStartTimeStamp());
+            histogramLogWriter.outputLegend();
+        }
+        return histogramLogWriter;
+    }
+}
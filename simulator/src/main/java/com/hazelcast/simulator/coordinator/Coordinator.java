@@ -58,8 +58,9 @@ public final class Coordinator {
     private static final Logger LOGGER = Logger.getLogger(Coordinator.class);
 
     private final TestPhaseListenerContainer testPhaseListenerContainer = new TestPhaseListenerContainer();
-    private final PerformanceStateContainer performanceStateContainer = new PerformanceStateContainer();
-    private final TestHistogramContainer testHistogramContainer = new TestHistogramContainer(performanceStateContainer);
+    private final OsMetricsContainer osMetricsContainer = new OsMetricsContainer();
+    private final PerformanceStateContainer performanceStateContainer;
+    private final TestHistogramContainer testHistogramContainer;
 
     private final TestSuite testSuite;
     private final ComponentRegistry componentRegistry;
@@ -87,6 +88,8 @@ public final class Coordinator {
         this.clusterLayoutParameters = clusterLayoutParameters;
 
         this.failureContainer = new FailureContainer(testSuite, componentRegistry);
+        this.performanceStateContainer = new PerformanceStateContainer(workerParameters.getPerformancePercentiles());
+        this.testHistogramContainer = new TestHistogramContainer(performanceStateContainer);
 
         this.simulatorProperties = coordinatorParameters.getSimulatorProperties();
         this.bash = new Bash(simulatorProperties);
@@ -208,7 +211,8 @@ public final class Coordinator {
         bash.killAllJavaProcesses(ip);
 
         echoLocal("Starting Agent on %s", ip);
-        String mandatoryParameters = format("--addressIndex %d --publicAddress %s --port %s", addressIndex, ip, port);
+        String mandatoryParameters = format("--addressIndex %d --publicAddress %s --port %s --osMetricsIntervalSeconds %d",
+                addressIndex, ip, port, simulatorProperties.getAgentOsMetricsIntervalSeconds());
         String optionalParameters = "";
         if (isEC2(simulatorProperties)) {
             optionalParameters = format(" --cloudProvider %s --cloudIdentity %s --cloudCredential %s",
@@ -224,7 +228,7 @@ public final class Coordinator {
 
     private void startCoordinatorConnector() {
         coordinatorConnector = new CoordinatorConnector(testPhaseListenerContainer, performanceStateContainer,
-                testHistogramContainer, failureContainer);
+                testHistogramContainer, failureContainer, osMetricsContainer);
         ThreadSpawner spawner = new ThreadSpawner("startCoordinatorConnector", true);
         for (final AgentData agentData : componentRegistry.getAgents()) {
             final int agentPort = simulatorProperties.getAgentPort();
@@ -281,7 +285,8 @@ public final class Coordinator {
                 int testIndex = testData.getTestIndex();
                 TestCase testCase = testData.getTestCase();
                 echo("Configuration for %s (T%d):%n%s", testCase.getId(), testIndex, testCase);
-                TestCaseRunner runner = new TestCaseRunner(testIndex, testCase, this, maxTestCaseIdLength, testPhaseSyncs);
+                TestCaseRunner runner = new TestCaseRunner(testIndex, testCase, this, osMetricsContainer, maxTestCaseIdLength,
+                        testPhaseSyncs);
                 testPhaseListenerContainer.addListener(testIndex, runner);
             }
 
@@ -305,6 +310,10 @@ public final class Coordinator {
             }
 
             performanceStateContainer.logDetailedPerformanceInfo();
+            performanceStateContainer.logLatencySpikes();
+            performanceStateContainer.logOutlierSummaries();
+            osMetricsContainer.logPeakOsMetrics();
+            performanceStateContainer.closeClusterLatencyHistograms();
             for (TestCase testCase : testSuite.getTestCaseList()) {
                 testHistogramContainer.createProbeResults(testSuite.getId(), testCase.getId());
             }
@@ -0,0 +1,166 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.simulator.coordinator;
+
+import com.hazelcast.simulator.protocol.core.SimulatorAddress;
+import com.hazelcast.simulator.worker.performance.JvmMetrics;
+import com.hazelcast.simulator.worker.performance.PerformanceState;
+
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static java.lang.String.format;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * Correlates the latency spikes of the tests with the JVM pauses of all Workers.
+ *
+ * An interval is a latency spike, if its max latency is {@link #SPIKE_FACTOR} times the moving average latency of the test on
+ * that Worker and at least {@link #MIN_SPIKE_LATENCY_MICROS}. A spike coincides with a pause, if the intervals overlap and the
+ * pause is at least {@link #MIN_PAUSE_FRACTION} of the spike. The samples of the Workers arrive in an arbitrary order, so the
+ * spikes and pauses are collected during the run and correlated afterwards. This relies on synchronized clocks of the agents.
+ */
+final class LatencySpikeCorrelator {
+
+    static final double SPIKE_FACTOR = 10;
+    static final long MIN_SPIKE_LATENCY_MICROS = MILLISECONDS.toMicros(10);
+    static final double MIN_PAUSE_FRACTION = 0.25;
+
+    private static final double BASELINE_WEIGHT = 0.1;
+    private static final int MAX_SPIKES = 10000;
+    private static final int MAX_PAUSES = 100000;
+    private static final double ONE_MEGABYTE = 1024 * 1024;
+
+    private final Map<String, Double> baselineLatencies = new HashMap<String, Double>();
+    private final List<Sample> spikes = new ArrayList<Sample>();
+    private final List<Sample> pauses = new ArrayList<Sample>();
+
+    synchronized void update(SimulatorAddress workerAddress, Map<String, PerformanceState> performanceStates,
+                             JvmMetrics jvmMetrics) {
+        if (jvmMetrics.getPauseTimeMillis() > 0 && pauses.size() < MAX_PAUSES) {
+            pauses.add(new Sample(workerAddress, null, null, jvmMetrics));
+        }
+        for (Map.Entry<String, PerformanceState> entry : performanceStates.entrySet()) {
+            PerformanceState state = entry.getValue();
+            double avgLatency = state.getIntervalAvgLatency();
+            if (state.isEmpty() || avgLatency <= 0) {
+                continue;
+            }
+            String key = workerAddress + "/" + entry.getKey();
+            Double baselineLatency = baselineLatencies.get(key);
+            if (baselineLatency == null) {
+                baselineLatency = avgLatency;
+            } else if (isSpike(state.getIntervalMaxLatency(), baselineLatency) && spikes.size() < MAX_SPIKES) {
+                spikes.add(new Sample(workerAddress, entry.getKey(), state, jvmMetrics));
+            }
+            baselineLatencies.put(key, baselineLatency + (avgLatency - baselineLatency) * BASELINE_WEIGHT);
+        }
+    }
+
+    /**
+     * Correlates each latency spike with the largest JVM pause of any Worker in the same interval.
+     *
+     * @return the latency spikes in the order of their detection
+     */
+    synchronized List<LatencySpike> correlate() {
+        SimpleDateFormat dateFormat = new SimpleDateFormat("HH:mm:ss.SSS");
+        List<LatencySpike> result = new ArrayList<LatencySpike>(spikes.size());
+        for (Sample spike : spikes) {
+            Sample pause = findLargestOverlappingPause(spike);
+            long spikeLatencyMicros = spike.state.getIntervalMaxLatency();
+            StringBuilder sb = new StringBuilder(format("[%s] Latency spike in %s on %s: max %,d µs (avg %,.0f µs)",
+                    dateFormat.format(new Date(spike.jvmMetrics.getTimestamp())), spike.testId, spike.workerAddress,
+                    spikeLatencyMicros, spike.state.getIntervalAvgLatency()));
+            boolean hasJvmPause = (pause != null
+                    && MILLISECONDS.toMicros(pause.jvmMetrics.getPauseTimeMillis()) >= spikeLatencyMicros * MIN_PAUSE_FRACTION);
+            if (hasJvmPause) {
+                JvmMetrics jvmMetrics = pause.jvmMetrics;
+                sb.append(format(" coincides with a %,d ms JVM pause on %s (%d GCs, heap after GC %,.0f MB)",
+                        jvmMetrics.getPauseTimeMillis(), pause.workerAddress, jvmMetrics.getGcCount(),
+                        jvmMetrics.getHeapUsedAfterGcBytes() / ONE_MEGABYTE));
+            } else {
+                sb.append(" has no matching JVM pause on any Worker");
+            }
+            result.add(new LatencySpike(sb.toString(), hasJvmPause));
+        }
+        return result;
+    }
+
+    private static boolean isSpike(long maxLatency, double baselineLatency) {
+        return maxLatency >= MIN_SPIKE_LATENCY_MICROS && maxLatency >= baselineLatency * SPIKE_FACTOR;
+    }
+
+    private Sample findLargestOverlappingPause(Sample spike) {
+        Sample largestPause = null;
+        for (Sample pause : pauses) {
+            if (!spike.overlaps(pause)) {
+                continue;
+            }
+            if (largestPause == null
+                    || pause.jvmMetrics.getPauseTimeMillis() > largestPause.jvmMetrics.getPauseTimeMillis()) {
+                largestPause = pause;
+            }
+        }
+        return largestPause;
+    }
+
+    static final class LatencySpike {
+
+        private final String description;
+        private final boolean hasJvmPause;
+
+        private LatencySpike(String description, boolean hasJvmPause) {
+            this.description = description;
+            this.hasJvmPause = hasJvmPause;
+        }
+
+        boolean hasJvmPause() {
+            return hasJvmPause;
+        }
+
+        @Override
+        public String toString() {
+            return description;
+        }
+    }
+
+    private static final class Sample {
+
+        private final SimulatorAddress workerAddress;
+        private final String testId;
+        private final PerformanceState state;
+        private final JvmMetrics jvmMetrics;
+
+        private Sample(SimulatorAddress workerAddress, String testId, PerformanceState state, JvmMetrics jvmMetrics) {
+            this.workerAddress = workerAddress;
+            this.testId = testId;
+            this.state = state;
+            this.jvmMetrics = jvmMetrics;
+        }
+
+        private long getStart() {
+            return jvmMetrics.getTimestamp() - jvmMetrics.getIntervalMillis();
+        }
+
+        private boolean overlaps(Sample other) {
+            return getStart() < other.jvmMetrics.getTimestamp() && other.getStart() < jvmMetrics.getTimestamp();
+        }
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.simulator.coordinator;
+
+import com.hazelcast.simulator.agent.osmetrics.OsMetrics;
+import com.hazelcast.simulator.protocol.core.SimulatorAddress;
+import org.apache.log4j.Logger;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import static com.hazelcast.simulator.utils.FormatUtils.formatDouble;
+import static java.lang.String.format;
+
+/**
+ * Responsible for storing and formatting the OS metrics from Simulator Agents.
+ */
+public class OsMetricsContainer {
+
+    private static final int PERCENTAGE_FORMAT_LENGTH = 6;
+
+    private static final Logger LOGGER = Logger.getLogger(OsMetricsContainer.class);
+
+    private final ConcurrentMap<SimulatorAddress, OsMetrics> latestOsMetricsMap
+            = new ConcurrentHashMap<SimulatorAddress, OsMetrics>();
+    private final ConcurrentMap<SimulatorAddress, OsMetrics> peakOsMetricsMap
+            = new ConcurrentHashMap<SimulatorAddress, OsMetrics>();
+
+    public void updateOsMetrics(SimulatorAddress agentAddress, OsMetrics osMetrics) {
+        latestOsMetricsMap.put(agentAddress, osMetrics);
+
+        OsMetrics peakOsMetrics = peakOsMetricsMap.get(agentAddress);
+        if (peakOsMetrics == null || osMetrics.getCpuBusyPercent() > peakOsMetrics.getCpuBusyPercent()) {
+            peakOsMetricsMap.put(agentAddress, osMetrics);
+        }
+    }
+
+    /**
+     * Returns the latest OS metrics of the Agent with the highest CPU usage, to be logged next to the test performance.
+     *
+     * @return the formatted OS metrics or an empty string if no OS metrics have been received
+     */
+    public String getOsMetricsSummary() {
+        Map.Entry<SimulatorAddress, OsMetrics> busiestAgent = null;
+        for (Map.Entry<SimulatorAddress, OsMetrics> entry : latestOsMetricsMap.entrySet()) {
+            if (busiestAgent == null || entry.getValue().getCpuBusyPercent() > busiestAgent.getValue().getCpuBusyPercent()) {
+                busiestAgent = entry;
+            }
+        }
+        if (busiestAgent == null) {
+            return "";
+        }
+        return " | " + formatOsMetrics(busiestAgent.getKey(), busiestAgent.getValue());
+    }
+
+    /**
+     * Logs the OS metrics of each Agent from the sample with the highest CPU usage.
+     */
+    public void logPeakOsMetrics() {
+        for (Map.Entry<SimulatorAddress, OsMetrics> entry : peakOsMetricsMap.entrySet()) {
+            LOGGER.info("Peak " + formatOsMetrics(entry.getKey(), entry.getValue()));
+        }
+    }
+
+    private static String formatOsMetrics(SimulatorAddress agentAddress, OsMetrics osMetrics) {
+        return format("CPU %s%% (steal %s%%, irq %s%%, iowait %s%%), run queue %d on %s",
+                formatDouble(osMetrics.getCpuBusyPercent(), PERCENTAGE_FORMAT_LENGTH),
+                formatDouble(osMetrics.getCpuStealPercent(), 0),
+                formatDouble(osMetrics.getCpuIrqPercent(), 0),
+                formatDouble(osMetrics.getCpuIoWaitPercent(), 0),
+                osMetrics.getRunQueueLength(),
+                agentAddress);
+    }
+}
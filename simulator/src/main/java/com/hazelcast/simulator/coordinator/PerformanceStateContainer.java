@@ -15,12 +15,18 @@
  */
 package com.hazelcast.simulator.coordinator;
 
+import com.hazelcast.simulator.coordinator.LatencySpikeCorrelator.LatencySpike;
 import com.hazelcast.simulator.protocol.core.SimulatorAddress;
+import com.hazelcast.simulator.worker.performance.JvmMetrics;
+import com.hazelcast.simulator.worker.performance.OutlierSummary;
 import com.hazelcast.simulator.worker.performance.PerformanceState;
+import org.HdrHistogram.Histogram;
 import org.apache.log4j.Logger;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.TimeUnit;
@@ -31,9 +37,14 @@ import static com.hazelcast.simulator.utils.FormatUtils.formatDouble;
 import static com.hazelcast.simulator.utils.FormatUtils.formatLong;
 import static com.hazelcast.simulator.utils.FormatUtils.formatPercentage;
 import static com.hazelcast.simulator.worker.performance.PerformanceState.INTERVAL_LATENCY_PERCENTILE;
+import static com.hazelcast.simulator.worker.performance.PerformanceUtils.DEFAULT_PERCENTILES;
+import static com.hazelcast.simulator.worker.performance.PerformanceUtils.formatPercentile;
+import static com.hazelcast.simulator.worker.performance.PerformanceUtils.parsePercentiles;
+import static com.hazelcast.simulator.worker.performance.WorkerPerformanceMonitor.OUTLIERS_FILE_PREFIX;
 import static java.lang.Math.round;
 import static java.lang.String.format;
 import static java.util.concurrent.TimeUnit.MICROSECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
 
 /**
  * Responsible for storing and formatting performance metrics from Simulator workers.
@@ -41,6 +52,7 @@ import static java.util.concurrent.TimeUnit.MICROSECONDS;
 public class PerformanceStateContainer {
 
     public static final String PERFORMANCE_FILE_NAME = "performance.txt";
+    public static final String LATENCY_SPIKES_FILE_NAME = "latency-spikes.txt";
 
     public static final int THROUGHPUT_FORMAT_LENGTH = 12;
     public static final int LATENCY_FORMAT_LENGTH = 10;
@@ -51,10 +63,119 @@ public class PerformanceStateContainer {
 
     private final ConcurrentMap<SimulatorAddress, Map<String, PerformanceState>> workerPerformanceStateMap
             = new ConcurrentHashMap<SimulatorAddress, Map<String, PerformanceState>>();
+    private final ConcurrentMap<String, ClusterLatencyHistogram> clusterLatencyHistogramMap
+            = new ConcurrentHashMap<String, ClusterLatencyHistogram>();
+    private final Map<String, OutlierSummary> outlierSummaryMap = new TreeMap<String, OutlierSummary>();
+    private final LatencySpikeCorrelator latencySpikeCorrelator = new LatencySpikeCorrelator();
 
+    private final double[] percentiles;
+
+    public PerformanceStateContainer() {
+        this(parsePercentiles(DEFAULT_PERCENTILES));
+    }
+
+    public PerformanceStateContainer(double[] percentiles) {
+        this.percentiles = percentiles;
+    }
+
+    public void updatePerformanceState(SimulatorAddress workerAddress, Map<String, PerformanceState> performanceStates) {
+        updatePerformanceState(workerAddress, performanceStates, null);
+    }
+
+    /**
+     * Updates the performance states of a Worker.
+     *
+     * @param workerAddress     the {@link SimulatorAddress} of the Worker
+     * @param performanceStates the performance states of the tests, keyed by test ID
+     * @param jvmMetrics        the {@link JvmMetrics} of the Worker, which have been sampled on the same tick as the performance
+     *                          states, or {@code null} if not available
+     */
     public synchronized void updatePerformanceState(SimulatorAddress workerAddress,
-                                                    Map<String, PerformanceState> performanceStates) {
+                                                    Map<String, PerformanceState> performanceStates, JvmMetrics jvmMetrics) {
         workerPerformanceStateMap.put(workerAddress, performanceStates);
+        if (jvmMetrics != null) {
+            latencySpikeCorrelator.update(workerAddress, performanceStates, jvmMetrics);
+        }
+
+        for (Map.Entry<String, PerformanceState> entry : performanceStates.entrySet()) {
+            Histogram intervalHistogram = entry.getValue().getIntervalHistogram();
+            if (intervalHistogram != null) {
+                getOrCreateClusterLatencyHistogram(entry.getKey()).addIntervalHistogram(workerAddress, intervalHistogram);
+            }
+        }
+    }
+
+    /**
+     * Adds the outlier summaries of a Worker to the outlier summaries of the tests.
+     *
+     * @param outlierSummaries the outlier summaries of the tests, keyed by test ID
+     */
+    public synchronized void updateOutlierSummaries(Map<String, OutlierSummary> outlierSummaries) {
+        for (Map.Entry<String, OutlierSummary> entry : outlierSummaries.entrySet()) {
+            OutlierSummary outlierSummary = outlierSummaryMap.get(entry.getKey());
+            if (outlierSummary == null) {
+                outlierSummary = new OutlierSummary();
+                outlierSummaryMap.put(entry.getKey(), outlierSummary);
+            }
+            outlierSummary.add(entry.getValue());
+        }
+    }
+
+    /**
+     * Logs where the outliers of each test concentrate, e.g. on a single partition or member.
+     */
+    public synchronized void logOutlierSummaries() {
+        for (Map.Entry<String, OutlierSummary> entry : outlierSummaryMap.entrySet()) {
+            String testId = entry.getKey();
+            OutlierSummary outlierSummary = entry.getValue();
+            LOGGER.warn(format("Test %s has %d outlier(s) of up to %d ms: %s (see %s%s.txt of the Workers)", testId,
+                    outlierSummary.getCount(), NANOSECONDS.toMillis(outlierSummary.getMaxDurationNanos()),
+                    outlierSummary.getHotspots(), OUTLIERS_FILE_PREFIX, testId));
+        }
+    }
+
+    synchronized OutlierSummary getOutlierSummary(String testId) {
+        return outlierSummaryMap.get(testId);
+    }
+
+    /**
+     * Closes the cluster wide latency histogram files of all tests.
+     */
+    public void closeClusterLatencyHistograms() {
+        for (ClusterLatencyHistogram clusterLatencyHistogram : clusterLatencyHistogramMap.values()) {
+            clusterLatencyHistogram.close();
+        }
+    }
+
+    /**
+     * Writes the latency spikes of all tests to {@value #LATENCY_SPIKES_FILE_NAME}, together with the JVM pauses of the Workers
+     * in the same interval.
+     */
+    public void logLatencySpikes() {
+        List<LatencySpike> latencySpikes = latencySpikeCorrelator.correlate();
+        if (latencySpikes.isEmpty()) {
+            return;
+        }
+        int jvmPauseCount = 0;
+        StringBuilder sb = new StringBuilder();
+        for (LatencySpike latencySpike : latencySpikes) {
+            if (latencySpike.hasJvmPause()) {
+                jvmPauseCount++;
+            }
+            sb.append(latencySpike).append(NEW_LINE);
+        }
+        appendText(sb.toString(), LATENCY_SPIKES_FILE_NAME);
+        LOGGER.warn(format("Detected %d latency spike(s), %d of them coincide with a JVM pause on a Worker (see %s)",
+                latencySpikes.size(), jvmPauseCount, LATENCY_SPIKES_FILE_NAME));
+    }
+
+    private ClusterLatencyHistogram getOrCreateClusterLatencyHistogram(String testCaseId) {
+        ClusterLatencyHistogram clusterLatencyHistogram = clusterLatencyHistogramMap.get(testCaseId);
+        if (clusterLatencyHistogram == null) {
+            clusterLatencyHistogram = new ClusterLatencyHistogram(testCaseId);
+            clusterLatencyHistogramMap.put(testCaseId, clusterLatencyHistogram);
+        }
+        return clusterLatencyHistogram;
     }
 
     public String getPerformanceNumbers(String testCaseId) {
@@ -62,27 +183,69 @@ public class PerformanceStateContainer {
         if (performanceState.isEmpty() || performanceState.getOperationCount() < 1) {
             return "";
         }
-        String latencyUnit = "µs";
-        long avgLatencyValue = round(performanceState.getIntervalAvgLatency());
-        long percentileLatencyValue = performanceState.getIntervalPercentileLatency();
-        long maxLatencyValue = performanceState.getIntervalMaxLatency();
-        if (avgLatencyValue > DISPLAY_LATENCY_AS_MICROS_MAX_VALUE) {
-            latencyUnit = "ms";
-            avgLatencyValue = MICROSECONDS.toMillis(avgLatencyValue);
-            percentileLatencyValue = MICROSECONDS.toMillis(percentileLatencyValue);
-            maxLatencyValue = MICROSECONDS.toMillis(maxLatencyValue);
-        }
-        return String.format("%s ops %s ops/s %s %s (avg) %s %s (%sth) %s %s (max)",
+        // the merged interval histogram of all workers provides the real cluster wide percentiles
+        Histogram clusterHistogram = getClusterIntervalHistogram(testCaseId);
+        double avgLatency = (clusterHistogram == null) ? performanceState.getIntervalAvgLatency() : clusterHistogram.getMean();
+        boolean displayAsMillis = avgLatency > DISPLAY_LATENCY_AS_MICROS_MAX_VALUE;
+
+        StringBuilder sb = new StringBuilder(String.format("%s ops %s ops/s",
                 formatLong(performanceState.getOperationCount(), THROUGHPUT_FORMAT_LENGTH),
-                formatDouble(performanceState.getIntervalThroughput(), THROUGHPUT_FORMAT_LENGTH),
-                formatLong(avgLatencyValue, LATENCY_FORMAT_LENGTH),
-                latencyUnit,
-                formatLong(percentileLatencyValue, LATENCY_FORMAT_LENGTH),
-                latencyUnit,
-                INTERVAL_LATENCY_PERCENTILE,
-                formatLong(maxLatencyValue, LATENCY_FORMAT_LENGTH),
-                latencyUnit
-        );
+                formatDouble(performanceState.getIntervalThroughput(), THROUGHPUT_FORMAT_LENGTH)));
+        appendLatency(sb, round(avgLatency), displayAsMillis, "avg");
+        if (clusterHistogram == null) {
+            appendPercentileLatencies(sb, performanceState, displayAsMillis);
+            appendLatency(sb, performanceState.getIntervalMaxLatency(), displayAsMillis, "max");
+        } else {
+            for (double percentile : percentiles) {
+                appendLatency(sb, clusterHistogram.getValueAtPercentile(percentile), displayAsMillis,
+                        formatPercentile(percentile));
+            }
+            appendLatency(sb, clusterHistogram.getMaxValue(), displayAsMillis, "max");
+        }
+
+        // the operations and probes are sorted by name, so their position in the log line is stable
+        appendStates(sb, performanceState.getOperationStates(), displayAsMillis);
+        if (performanceState.getProbeStates().size() > 1) {
+            appendStates(sb, performanceState.getProbeStates(), displayAsMillis);
+        }
+        return sb.toString();
+    }
+
+    private void appendStates(StringBuilder sb, Map<String, PerformanceState> states, boolean displayAsMillis) {
+        for (Map.Entry<String, PerformanceState> entry : new TreeMap<String, PerformanceState>(states).entrySet()) {
+            PerformanceState state = entry.getValue();
+            sb.append(String.format(" | %s %s ops/s", entry.getKey(),
+                    formatDouble(state.getIntervalThroughput(), THROUGHPUT_FORMAT_LENGTH)));
+            appendLatency(sb, round(state.getIntervalAvgLatency()), displayAsMillis, "avg");
+            appendPercentileLatencies(sb, state, displayAsMillis);
+        }
+    }
+
+    private void appendPercentileLatencies(StringBuilder sb, PerformanceState state, boolean displayAsMillis) {
+        long[] percentileLatencies = state.getIntervalPercentileLatencies();
+        if (percentileLatencies == null || percentileLatencies.length != percentiles.length) {
+            // the state was created without the configured percentiles, e.g. by an older worker
+            appendLatency(sb, state.getIntervalPercentileLatency(), displayAsMillis,
+                    formatPercentile(INTERVAL_LATENCY_PERCENTILE));
+            return;
+        }
+        for (int i = 0; i < percentiles.length; i++) {
+            appendLatency(sb, percentileLatencies[i], displayAsMillis, formatPercentile(percentiles[i]));
+        }
+    }
+
+    Histogram getClusterIntervalHistogram(String testCaseId) {
+        ClusterLatencyHistogram clusterLatencyHistogram = clusterLatencyHistogramMap.get(testCaseId);
+        if (clusterLatencyHistogram == null) {
+            return null;
+        }
+        Histogram histogram = clusterLatencyHistogram.getLastIntervalHistogram();
+        return (histogram == null || histogram.getTotalCount() == 0) ? null : histogram;
+    }
+
+    private static void appendLatency(StringBuilder sb, long latencyMicros, boolean displayAsMillis, String label) {
+        long latency = displayAsMillis ? MICROSECONDS.toMillis(latencyMicros) : latencyMicros;
+        sb.append(String.format(" %s %s (%s)", formatLong(latency, LATENCY_FORMAT_LENGTH), displayAsMillis ? "ms" : "µs", label));
     }
 
     synchronized PerformanceState getPerformanceStateForTestCase(String testCaseId) {
@@ -20,9 +20,11 @@ import com.hazelcast.simulator.protocol.operation.StartTestOperation;
 import com.hazelcast.simulator.protocol.operation.StartTestPhaseOperation;
 import com.hazelcast.simulator.protocol.operation.StopTestOperation;
 import com.hazelcast.simulator.protocol.registry.ComponentRegistry;
+import com.hazelcast.simulator.protocol.registry.WorkerData;
 import com.hazelcast.simulator.test.TestCase;
 import com.hazelcast.simulator.test.TestPhase;
 import com.hazelcast.simulator.test.TestSuite;
+import com.hazelcast.simulator.worker.performance.PerformanceState;
 import org.apache.log4j.Logger;
 
 import java.util.concurrent.ConcurrentHashMap;
@@ -31,6 +33,7 @@ import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicInteger;
 
+import static com.hazelcast.simulator.coordinator.PerformanceStateContainer.THROUGHPUT_FORMAT_LENGTH;
 import static com.hazelcast.simulator.test.TestPhase.GLOBAL_TEARDOWN;
 import static com.hazelcast.simulator.test.TestPhase.GLOBAL_VERIFY;
 import static com.hazelcast.simulator.test.TestPhase.GLOBAL_WARMUP;
@@ -42,9 +45,11 @@ import static com.hazelcast.simulator.test.TestPhase.SETUP;
 import static com.hazelcast.simulator.utils.CommonUtils.getElapsedSeconds;
 import static com.hazelcast.simulator.utils.CommonUtils.rethrow;
 import static com.hazelcast.simulator.utils.CommonUtils.sleepSeconds;
+import static com.hazelcast.simulator.utils.FormatUtils.formatDouble;
 import static com.hazelcast.simulator.utils.FormatUtils.formatPercentage;
 import static com.hazelcast.simulator.utils.FormatUtils.padRight;
 import static com.hazelcast.simulator.utils.FormatUtils.secondsToHuman;
+import static java.lang.Math.round;
 import static java.lang.String.format;
 
 /**
@@ -71,6 +76,7 @@ final class TestCaseRunner implements TestPhaseListener {
     private final RemoteClient remoteClient;
     private final FailureContainer failureContainer;
     private final PerformanceStateContainer performanceStateContainer;
+    private final OsMetricsContainer osMetricsContainer;
     private final ComponentRegistry componentRegistry;
 
     private final String prefix;
@@ -83,8 +89,8 @@ final class TestCaseRunner implements TestPhaseListener {
     private final int logPerformanceIntervalSeconds;
     private final int logRunPhaseIntervalSeconds;
 
-    TestCaseRunner(int testIndex, TestCase testCase, Coordinator coordinator, int paddingLength,
-                   ConcurrentMap<TestPhase, CountDownLatch> testPhaseSyncMap) {
+    TestCaseRunner(int testIndex, TestCase testCase, Coordinator coordinator, OsMetricsContainer osMetricsContainer,
+                   int paddingLength, ConcurrentMap<TestPhase, CountDownLatch> testPhaseSyncMap) {
         this.testIndex = testIndex;
         this.testCase = testCase;
         this.testCaseId = testCase.getId();
@@ -93,6 +99,7 @@ final class TestCaseRunner implements TestPhaseListener {
         this.remoteClient = coordinator.getRemoteClient();
         this.failureContainer = coordinator.getFailureContainer();
         this.performanceStateContainer = coordinator.getPerformanceStateContainer();
+        this.osMetricsContainer = osMetricsContainer;
         this.componentRegistry = coordinator.getComponentRegistry();
 
         this.prefix = padRight(testCaseId, paddingLength + 1);
@@ -109,6 +116,10 @@ final class TestCaseRunner implements TestPhaseListener {
         this.logPerformanceIntervalSeconds = workerParameters.getWorkerPerformanceMonitorIntervalSeconds();
         this.logRunPhaseIntervalSeconds = workerParameters.getRunPhaseLogIntervalSeconds(RUN_PHASE_LOG_INTERVAL_SECONDS);
 
+        initPhaseCompletedMap();
+    }
+
+    private void initPhaseCompletedMap() {
         for (TestPhase testPhase : TestPhase.values()) {
             phaseCompletedMap.put(testPhase, new AtomicInteger());
         }
@@ -169,10 +180,20 @@ final class TestCaseRunner implements TestPhaseListener {
 
     private void startTest() throws TimeoutException {
         echo(format("Starting Test start (%s members)", (isPassiveMembers) ? "passive" : "active"));
-        remoteClient.sendToTestOnAllWorkers(testCaseId, new StartTestOperation(isPassiveMembers));
+        remoteClient.sendToTestOnAllWorkers(testCaseId, new StartTestOperation(isPassiveMembers, getActiveWorkerCount()));
         echo("Completed Test start");
     }
 
+    private int getActiveWorkerCount() {
+        int activeWorkerCount = 0;
+        for (WorkerData workerData : componentRegistry.getWorkers()) {
+            if (!isPassiveMembers || !workerData.getSettings().getWorkerType().isMember()) {
+                activeWorkerCount++;
+            }
+        }
+        return activeWorkerCount;
+    }
+
     private void waitForTestCompletion() throws Exception {
         StopThread stopThread = null;
         if (testSuite.getDurationSeconds() > 0) {
@@ -302,9 +323,26 @@ final class TestCaseRunner implements TestPhaseListener {
             String msg = format("Running %s (%s%%)", secondsToHuman(elapsed), formatPercentage(elapsed, sleepSeconds));
             if (monitorPerformance && elapsed % logPerformanceIntervalSeconds == 0) {
                 msg += performanceStateContainer.getPerformanceNumbers(testCaseId);
+                msg += formatTargetThroughput();
+                msg += osMetricsContainer.getOsMetricsSummary();
             }
 
             LOGGER.info(prefix + msg);
         }
+
+        private String formatTargetThroughput() {
+            String targetThroughputProperty = testCase.getProperty("targetThroughput");
+            if (targetThroughputProperty == null || targetThroughputProperty.isEmpty()) {
+                return "";
+            }
+            PerformanceState performanceState = performanceStateContainer.getPerformanceStateForTestCase(testCaseId);
+            if (performanceState.isEmpty()) {
+                return "";
+            }
+            double targetThroughput = Double.parseDouble(targetThroughputProperty);
+            return format(" | %s%% of target %s ops/s",
+                    formatPercentage(round(performanceState.getIntervalThroughput()), round(targetThroughput)),
+                    formatDouble(targetThroughput, THROUGHPUT_FORMAT_LENGTH));
+        }
     }
 }
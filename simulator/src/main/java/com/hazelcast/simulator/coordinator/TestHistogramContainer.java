@@ -25,10 +25,17 @@ import org.apache.log4j.Logger;
 
 import java.io.File;
 import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
 
+import static com.hazelcast.simulator.probes.impl.ProbeImpl.LATENCY_UNIT;
 import static java.lang.String.format;
 import static javax.xml.bind.DatatypeConverter.parseBase64Binary;
 import static org.HdrHistogram.Histogram.decodeFromCompressedByteBuffer;
@@ -40,22 +47,33 @@ public class TestHistogramContainer {
 
     private static final Logger LOGGER = Logger.getLogger(TestHistogramContainer.class);
 
+    private static final double MEDIAN_PERCENTILE = 50;
+    private static final double TAIL_PERCENTILE = 99;
+    private static final double HIGH_TAIL_PERCENTILE = 99.9;
+
     private final ConcurrentMap<SimulatorAddress, ConcurrentMap<String, Map<String, String>>> workerTestProbeHistogramMap
             = new ConcurrentHashMap<SimulatorAddress, ConcurrentMap<String, Map<String, String>>>();
 
+    private final ConcurrentMap<String, Map<String, TimeUnit>> testProbeLatencyUnitMap
+            = new ConcurrentHashMap<String, Map<String, TimeUnit>>();
+
     private final PerformanceStateContainer performanceStateContainer;
 
     public TestHistogramContainer(PerformanceStateContainer performanceStateContainer) {
         this.performanceStateContainer = performanceStateContainer;
     }
 
-    public synchronized void addTestHistograms(SimulatorAddress workerAddress, String testId, Map<String, String> histograms) {
+    public synchronized void addTestHistograms(SimulatorAddress workerAddress, String testId, Map<String, String> histograms,
+                                               Map<String, TimeUnit> latencyUnits) {
         ConcurrentMap<String, Map<String, String>> testHistogramMap = workerTestProbeHistogramMap.get(workerAddress);
         if (testHistogramMap == null) {
             testHistogramMap = new ConcurrentHashMap<String, Map<String, String>>();
             workerTestProbeHistogramMap.put(workerAddress, testHistogramMap);
         }
         testHistogramMap.put(testId, histograms);
+        if (latencyUnits != null) {
+            testProbeLatencyUnitMap.put(testId, latencyUnits);
+        }
     }
 
     public ConcurrentMap<String, Map<String, String>> getTestHistograms(SimulatorAddress workerAddress) {
@@ -69,11 +87,13 @@ public class TestHistogramContainer {
             String fileName = "probes-" + testSuiteId + '_' + testCaseId + ".xml";
             ResultXmlUtils.toXml(result, new File(fileName));
             logProbesResultInHumanReadableFormat(testCaseId, result);
+            logTaggedProbesSummary(testCaseId, result);
         }
     }
 
     synchronized Result aggregateHistogramsForTestCase(String testCaseId, PerformanceState state) {
         Result result = new ResultImpl(testCaseId, state.getOperationCount(), state.getTotalThroughput());
+        Map<String, TimeUnit> latencyUnits = testProbeLatencyUnitMap.get(testCaseId);
         for (ConcurrentMap<String, Map<String, String>> testHistogramMap : workerTestProbeHistogramMap.values()) {
             Map<String, String> probeHistogramMap = testHistogramMap.get(testCaseId);
             if (probeHistogramMap == null) {
@@ -85,7 +105,7 @@ public class TestHistogramContainer {
                 try {
                     ByteBuffer buffer = ByteBuffer.wrap(parseBase64Binary(encodedHistogram));
                     Histogram histogram = decodeFromCompressedByteBuffer(buffer, 0);
-                    result.addHistogram(probeName, histogram);
+                    result.addHistogram(probeName, histogram, getLatencyUnit(latencyUnits, probeName));
                 } catch (Exception e) {
                     LOGGER.warn("Could not decode histogram from test " + testCaseId + " of probe " + probeName);
                 }
@@ -94,9 +114,64 @@ public class TestHistogramContainer {
         return result;
     }
 
+    private static TimeUnit getLatencyUnit(Map<String, TimeUnit> latencyUnits, String probeName) {
+        TimeUnit latencyUnit = (latencyUnits == null) ? null : latencyUnits.get(probeName);
+        return (latencyUnit == null) ? LATENCY_UNIT : latencyUnit;
+    }
+
+    /**
+     * Logs a table per tagged probe with the latency percentiles of each tag combination, ordered by the 99th percentile, so the
+     * tag combination which is responsible for the tail latency is on top.
+     */
+    private void logTaggedProbesSummary(String testId, Result result) {
+        Map<String, List<String>> taggedProbeMap = new TreeMap<String, List<String>>();
+        for (String probeName : result.probeNames()) {
+            int tagIndex = probeName.indexOf('[');
+            if (tagIndex > 0 && probeName.endsWith("]")) {
+                String taggedProbeName = probeName.substring(0, tagIndex);
+                List<String> probeNames = taggedProbeMap.get(taggedProbeName);
+                if (probeNames == null) {
+                    probeNames = new ArrayList<String>();
+                    taggedProbeMap.put(taggedProbeName, probeNames);
+                }
+                probeNames.add(probeName);
+            }
+        }
+
+        for (Map.Entry<String, List<String>> entry : taggedProbeMap.entrySet()) {
+            String taggedProbeName = entry.getKey();
+            List<String> probeNames = entry.getValue();
+            sortByPercentile(result, probeNames, TAIL_PERCENTILE);
+
+            StringBuilder sb = new StringBuilder(format("%s Results of tagged probe %s (latency in %s):%n", testId,
+                    taggedProbeName, result.getLatencyUnit(probeNames.get(0)).name().toLowerCase()));
+            sb.append(format("%-50s %12s %12s %12s %12s %12s%n", "tags", "count", "p50", "p99", "p99.9", "max"));
+            for (String probeName : probeNames) {
+                Histogram histogram = result.getHistogram(probeName);
+                sb.append(format("%-50s %12d %12d %12d %12d %12d%n", probeName.substring(taggedProbeName.length()),
+                        histogram.getTotalCount(), histogram.getValueAtPercentile(MEDIAN_PERCENTILE),
+                        histogram.getValueAtPercentile(TAIL_PERCENTILE), histogram.getValueAtPercentile(HIGH_TAIL_PERCENTILE),
+                        histogram.getMaxValue()));
+            }
+            LOGGER.info(sb.toString());
+        }
+    }
+
+    private static void sortByPercentile(final Result result, List<String> probeNames, final double percentile) {
+        Collections.sort(probeNames, new Comparator<String>() {
+            @Override
+            public int compare(String probeName1, String probeName2) {
+                long value1 = result.getHistogram(probeName1).getValueAtPercentile(percentile);
+                long value2 = result.getHistogram(probeName2).getValueAtPercentile(percentile);
+                return (value1 < value2) ? 1 : ((value1 == value2) ? 0 : -1);
+            }
+        });
+    }
+
     private void logProbesResultInHumanReadableFormat(String testId, Result result) {
         for (String probeName : result.probeNames()) {
-            LOGGER.info(format("%s Results of probe %s:%n%s", testId, probeName, result.toHumanString(probeName)));
+            LOGGER.info(format("%s Results of probe %s (latency in %s):%n%s", testId, probeName,
+                    result.getLatencyUnit(probeName).name().toLowerCase(), result.toHumanString(probeName)));
         }
     }
 }
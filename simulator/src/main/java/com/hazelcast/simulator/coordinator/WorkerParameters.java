@@ -22,6 +22,9 @@ import com.hazelcast.simulator.protocol.registry.ComponentRegistry;
 
 import static java.lang.Math.min;
 import static java.lang.String.format;
+import static com.hazelcast.simulator.worker.performance.PerformanceUtils.DEFAULT_PERCENTILES;
+import static com.hazelcast.simulator.worker.performance.PerformanceUtils.parsePercentiles;
+import static java.util.concurrent.TimeUnit.SECONDS;
 
 /**
  * Parameters for Simulator Worker.
@@ -44,6 +47,9 @@ public class WorkerParameters {
 
     private final boolean monitorPerformance;
     private final int workerPerformanceMonitorIntervalSeconds;
+    private final int workerPerformanceMonitorIntervalMillis;
+    private final double[] performancePercentiles;
+    private final int hiccupMeterResolutionMillis;
 
     private final JavaProfiler profiler;
     private final String profilerSettings;
@@ -66,6 +72,9 @@ public class WorkerParameters {
 
         this.monitorPerformance = monitorPerformance;
         this.workerPerformanceMonitorIntervalSeconds = initWorkerPerformanceMonitorIntervalSeconds(properties);
+        this.workerPerformanceMonitorIntervalMillis = initWorkerPerformanceMonitorIntervalMillis(properties);
+        this.performancePercentiles = initPerformancePercentiles(properties);
+        this.hiccupMeterResolutionMillis = initHiccupMeterResolutionMillis(properties);
 
         this.profiler = initProfiler(properties);
         this.profilerSettings = initProfilerSettings(properties);
@@ -80,6 +89,30 @@ public class WorkerParameters {
         return Integer.parseInt(intervalSeconds);
     }
 
+    private int initWorkerPerformanceMonitorIntervalMillis(SimulatorProperties properties) {
+        String intervalMillis = properties.get("WORKER_PERFORMANCE_MONITOR_INTERVAL_MILLIS");
+        if (intervalMillis == null || intervalMillis.isEmpty()) {
+            return (int) SECONDS.toMillis(workerPerformanceMonitorIntervalSeconds);
+        }
+        return Integer.parseInt(intervalMillis);
+    }
+
+    private double[] initPerformancePercentiles(SimulatorProperties properties) {
+        String percentiles = properties.get("PERFORMANCE_PERCENTILES");
+        if (percentiles == null || percentiles.isEmpty()) {
+            return parsePercentiles(DEFAULT_PERCENTILES);
+        }
+        return parsePercentiles(percentiles);
+    }
+
+    private int initHiccupMeterResolutionMillis(SimulatorProperties properties) {
+        String resolutionMillis = properties.get("HICCUP_METER_RESOLUTION_MILLIS");
+        if (resolutionMillis == null || resolutionMillis.isEmpty()) {
+            return 0;
+        }
+        return Integer.parseInt(resolutionMillis);
+    }
+
     private JavaProfiler initProfiler(SimulatorProperties properties) {
         String profilerName = properties.get("PROFILER");
         if (profilerName == null || profilerName.isEmpty()) {
@@ -142,6 +175,36 @@ public class WorkerParameters {
         return workerPerformanceMonitorIntervalSeconds;
     }
 
+    /**
+     * Returns the interval in which the workers take their performance snapshots.
+     *
+     * This is the value of WORKER_PERFORMANCE_MONITOR_INTERVAL_MILLIS if set, which allows sub-second intervals. Otherwise it's
+     * the value of {@link #getWorkerPerformanceMonitorIntervalSeconds()}, which is always used to log the performance numbers.
+     *
+     * @return the worker performance monitor interval in milliseconds
+     */
+    public int getWorkerPerformanceMonitorIntervalMillis() {
+        return workerPerformanceMonitorIntervalMillis;
+    }
+
+    /**
+     * Returns the latency percentiles which are recorded per probe and rendered in the Coordinator log and throughput files.
+     *
+     * @return the configured PERFORMANCE_PERCENTILES in ascending order
+     */
+    public double[] getPerformancePercentiles() {
+        return performancePercentiles;
+    }
+
+    /**
+     * Returns the resolution of the hiccup meter of the workers.
+     *
+     * @return the configured HICCUP_METER_RESOLUTION_MILLIS or zero if the hiccup meter is disabled
+     */
+    public int getHiccupMeterResolutionMillis() {
+        return hiccupMeterResolutionMillis;
+    }
+
     public int getRunPhaseLogIntervalSeconds(int runPhaseLogIntervalSeconds) {
         if (!monitorPerformance) {
             return runPhaseLogIntervalSeconds;
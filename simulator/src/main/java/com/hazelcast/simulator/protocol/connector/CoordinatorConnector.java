@@ -16,6 +16,7 @@
 package com.hazelcast.simulator.protocol.connector;
 
 import com.hazelcast.simulator.coordinator.FailureContainer;
+import com.hazelcast.simulator.coordinator.OsMetricsContainer;
 import com.hazelcast.simulator.coordinator.PerformanceStateContainer;
 import com.hazelcast.simulator.coordinator.TestHistogramContainer;
 import com.hazelcast.simulator.coordinator.TestPhaseListenerContainer;
@@ -65,9 +66,10 @@ public class CoordinatorConnector implements ClientPipelineConfigurator {
 
     public CoordinatorConnector(TestPhaseListenerContainer testPhaseListenerContainer,
                                 PerformanceStateContainer performanceStateContainer,
-                                TestHistogramContainer testHistogramContainer, FailureContainer failureContainer) {
+                                TestHistogramContainer testHistogramContainer, FailureContainer failureContainer,
+                                OsMetricsContainer osMetricsContainer) {
         this.processor = new CoordinatorOperationProcessor(exceptionLogger, testPhaseListenerContainer, performanceStateContainer,
-                testHistogramContainer, failureContainer);
+                testHistogramContainer, failureContainer, osMetricsContainer);
     }
 
     @Override
@@ -15,6 +15,8 @@
  */
 package com.hazelcast.simulator.protocol.operation;
 
+import com.hazelcast.simulator.worker.performance.JvmMetrics;
+import com.hazelcast.simulator.worker.performance.OutlierSummary;
 import com.hazelcast.simulator.worker.performance.PerformanceState;
 
 import java.util.HashMap;
@@ -23,6 +25,9 @@ import java.util.Map;
 public class PerformanceStateOperation implements SimulatorOperation {
 
     private final Map<String, PerformanceState> performanceStates = new HashMap<String, PerformanceState>();
+    private final Map<String, OutlierSummary> outlierSummaries = new HashMap<String, OutlierSummary>();
+
+    private JvmMetrics jvmMetrics;
 
     public void addPerformanceState(String testId, PerformanceState performanceState) {
         performanceStates.put(testId, performanceState);
@@ -31,4 +36,36 @@ public class PerformanceStateOperation implements SimulatorOperation {
     public Map<String, PerformanceState> getPerformanceStates() {
         return performanceStates;
     }
+
+    /**
+     * Adds the summary of the outliers of a test, which have been captured since the previous performance states.
+     *
+     * @param testId         the ID of the test
+     * @param outlierSummary the {@link OutlierSummary} of the test
+     */
+    public void addOutlierSummary(String testId, OutlierSummary outlierSummary) {
+        outlierSummaries.put(testId, outlierSummary);
+    }
+
+    public Map<String, OutlierSummary> getOutlierSummaries() {
+        return outlierSummaries;
+    }
+
+    /**
+     * Sets the JVM metrics of the Worker, which have been sampled on the same tick as the performance states.
+     *
+     * @param jvmMetrics the {@link JvmMetrics} of the Worker
+     */
+    public void setJvmMetrics(JvmMetrics jvmMetrics) {
+        this.jvmMetrics = jvmMetrics;
+    }
+
+    /**
+     * Returns the JVM metrics of the Worker.
+     *
+     * @return the {@link JvmMetrics} or {@code null} if the Worker didn't send them
+     */
+    public JvmMetrics getJvmMetrics() {
+        return jvmMetrics;
+    }
 }
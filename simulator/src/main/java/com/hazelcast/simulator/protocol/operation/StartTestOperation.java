@@ -22,11 +22,21 @@ public class StartTestOperation implements SimulatorOperation {
 
     private final boolean isPassiveMember;
 
-    public StartTestOperation(boolean isPassiveMember) {
+    /**
+     * Number of workers which execute the run phase, so a cluster wide target throughput can be split across them.
+     */
+    private final int activeWorkerCount;
+
+    public StartTestOperation(boolean isPassiveMember, int activeWorkerCount) {
         this.isPassiveMember = isPassiveMember;
+        this.activeWorkerCount = activeWorkerCount;
     }
 
     public boolean isPassiveMember() {
         return isPassiveMember;
     }
+
+    public int getActiveWorkerCount() {
+        return activeWorkerCount;
+    }
 }
@@ -16,15 +16,18 @@
 package com.hazelcast.simulator.protocol.operation;
 
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 public class TestHistogramOperation implements SimulatorOperation {
 
     private final String testId;
     private final Map<String, String> probeHistograms;
+    private final Map<String, TimeUnit> probeLatencyUnits;
 
-    public TestHistogramOperation(String testId, Map<String, String> probeHistograms) {
+    public TestHistogramOperation(String testId, Map<String, String> probeHistograms, Map<String, TimeUnit> probeLatencyUnits) {
         this.testId = testId;
         this.probeHistograms = probeHistograms;
+        this.probeLatencyUnits = probeLatencyUnits;
     }
 
     public String getTestId() {
@@ -34,4 +37,8 @@ public class TestHistogramOperation implements SimulatorOperation {
     public Map<String, String> getProbeHistograms() {
         return probeHistograms;
     }
+
+    public Map<String, TimeUnit> getProbeLatencyUnits() {
+        return probeLatencyUnits;
+    }
 }
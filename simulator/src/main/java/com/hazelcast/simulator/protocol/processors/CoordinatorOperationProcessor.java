@@ -16,6 +16,7 @@
 package com.hazelcast.simulator.protocol.processors;
 
 import com.hazelcast.simulator.coordinator.FailureContainer;
+import com.hazelcast.simulator.coordinator.OsMetricsContainer;
 import com.hazelcast.simulator.coordinator.PerformanceStateContainer;
 import com.hazelcast.simulator.coordinator.TestHistogramContainer;
 import com.hazelcast.simulator.coordinator.TestPhaseListenerContainer;
@@ -25,6 +26,7 @@ import com.hazelcast.simulator.protocol.exception.LocalExceptionLogger;
 import com.hazelcast.simulator.protocol.operation.ExceptionOperation;
 import com.hazelcast.simulator.protocol.operation.FailureOperation;
 import com.hazelcast.simulator.protocol.operation.OperationType;
+import com.hazelcast.simulator.protocol.operation.OsMetricsOperation;
 import com.hazelcast.simulator.protocol.operation.PerformanceStateOperation;
 import com.hazelcast.simulator.protocol.operation.PhaseCompletedOperation;
 import com.hazelcast.simulator.protocol.operation.SimulatorOperation;
@@ -49,17 +51,20 @@ public class CoordinatorOperationProcessor extends OperationProcessor {
     private final PerformanceStateContainer performanceStateContainer;
     private final TestHistogramContainer testHistogramContainer;
     private final FailureContainer failureContainer;
+    private final OsMetricsContainer osMetricsContainer;
 
     public CoordinatorOperationProcessor(LocalExceptionLogger exceptionLogger,
                                          TestPhaseListenerContainer testPhaseListenerContainer,
                                          PerformanceStateContainer performanceStateContainer,
-                                         TestHistogramContainer testHistogramContainer, FailureContainer failureContainer) {
+                                         TestHistogramContainer testHistogramContainer, FailureContainer failureContainer,
+                                         OsMetricsContainer osMetricsContainer) {
         super(exceptionLogger);
         this.exceptionLogger = exceptionLogger;
         this.testPhaseListenerContainer = testPhaseListenerContainer;
         this.performanceStateContainer = performanceStateContainer;
         this.testHistogramContainer = testHistogramContainer;
         this.failureContainer = failureContainer;
+        this.osMetricsContainer = osMetricsContainer;
     }
 
     @Override
@@ -80,6 +85,9 @@ public class CoordinatorOperationProcessor extends OperationProcessor {
             case FAILURE:
                 processFailure((FailureOperation) operation);
                 break;
+            case OS_METRICS:
+                processOsMetrics((OsMetricsOperation) operation, sourceAddress);
+                break;
             default:
                 return UNSUPPORTED_OPERATION_ON_THIS_PROCESSOR;
         }
@@ -101,14 +109,21 @@ public class CoordinatorOperationProcessor extends OperationProcessor {
     }
 
     private void processPerformanceState(PerformanceStateOperation operation, SimulatorAddress sourceAddress) {
-        performanceStateContainer.updatePerformanceState(sourceAddress, operation.getPerformanceStates());
+        performanceStateContainer.updatePerformanceState(sourceAddress, operation.getPerformanceStates(),
+                operation.getJvmMetrics());
+        performanceStateContainer.updateOutlierSummaries(operation.getOutlierSummaries());
     }
 
     private void processTestHistogram(TestHistogramOperation operation, SimulatorAddress sourceAddress) {
-        testHistogramContainer.addTestHistograms(sourceAddress, operation.getTestId(), operation.getProbeHistograms());
+        testHistogramContainer.addTestHistograms(sourceAddress, operation.getTestId(), operation.getProbeHistograms(),
+                operation.getProbeLatencyUnits());
     }
 
     private void processFailure(FailureOperation operation) {
         failureContainer.addFailureOperation(operation);
     }
+
+    private void processOsMetrics(OsMetricsOperation operation, SimulatorAddress sourceAddress) {
+        osMetricsContainer.updateOsMetrics(sourceAddress, operation.getOsMetrics());
+    }
 }
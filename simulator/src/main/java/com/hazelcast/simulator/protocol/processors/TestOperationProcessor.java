@@ -27,6 +27,7 @@ import com.hazelcast.simulator.test.TestPhase;
 import com.hazelcast.simulator.worker.TestContainer;
 import com.hazelcast.simulator.worker.Worker;
 import com.hazelcast.simulator.worker.WorkerType;
+import com.hazelcast.simulator.worker.performance.HiccupMeter;
 import org.apache.log4j.Logger;
 
 import java.util.concurrent.atomic.AtomicInteger;
@@ -116,6 +117,7 @@ public class TestOperationProcessor extends OperationProcessor {
                         LOGGER.info(format("%s Finished %s of %s %s", DASHES, testPhase.desc(), testId, DASHES));
                     } finally {
                         if (testPhase == TestPhase.LOCAL_TEARDOWN) {
+                            unregisterHiccupProbe();
                             worker.getWorkerConnector().removeTest(testIndex);
                         }
                     }
@@ -128,6 +130,13 @@ public class TestOperationProcessor extends OperationProcessor {
         }
     }
 
+    private void unregisterHiccupProbe() {
+        HiccupMeter hiccupMeter = worker.getHiccupMeter();
+        if (hiccupMeter != null) {
+            hiccupMeter.unregisterProbe(testContainer.getProbeMap());
+        }
+    }
+
     private void processStartTest(StartTestOperation operation) {
         if (worker.startPerformanceMonitor()) {
             LOGGER.info(format("%s Starting performance monitoring %s", DASHES, DASHES));
@@ -139,6 +148,7 @@ public class TestOperationProcessor extends OperationProcessor {
             return;
         }
 
+        testContainer.setActiveWorkerCount(operation.getActiveWorkerCount());
         OperationThread operationThread = new OperationThread(TestPhase.RUN) {
             @Override
             public void doRun() throws Exception {
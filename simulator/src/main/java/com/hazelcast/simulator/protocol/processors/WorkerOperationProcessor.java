@@ -28,6 +28,7 @@ import com.hazelcast.simulator.worker.TestContainer;
 import com.hazelcast.simulator.worker.TestContextImpl;
 import com.hazelcast.simulator.worker.Worker;
 import com.hazelcast.simulator.worker.WorkerType;
+import com.hazelcast.simulator.worker.performance.HiccupMeter;
 import org.apache.log4j.Logger;
 
 import java.util.Collection;
@@ -117,6 +118,8 @@ public class WorkerOperationProcessor extends OperationProcessor {
         bindProperties(testInstance, testCase, TestContainer.OPTIONAL_TEST_PROPERTIES);
         TestContextImpl testContext = new TestContextImpl(testId, hazelcastInstance);
         TestContainer testContainer = new TestContainer(testInstance, testContext, testCase);
+        testContainer.setWorkerAddress(workerAddress);
+        registerHiccupProbe(testContainer);
         TestOperationProcessor processor = new TestOperationProcessor(exceptionLogger, worker, type, testIndex, testId,
                 testContainer, workerAddress.getChild(testIndex));
 
@@ -127,4 +130,11 @@ public class WorkerOperationProcessor extends OperationProcessor {
             hazelcastInstance.getUserContext().put(getUserContextKeyFromTestId(testId), testInstance);
         }
     }
+
+    private void registerHiccupProbe(TestContainer testContainer) {
+        HiccupMeter hiccupMeter = worker.getHiccupMeter();
+        if (hiccupMeter != null) {
+            hiccupMeter.registerProbe(testContainer.getProbeMap());
+        }
+    }
 }
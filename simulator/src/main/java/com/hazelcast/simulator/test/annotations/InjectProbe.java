@@ -19,9 +19,13 @@ import java.lang.annotation.ElementType;
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
+import java.util.concurrent.TimeUnit;
+
+import static com.hazelcast.simulator.probes.impl.ProbeImpl.LATENCY_PRECISION;
+import static com.hazelcast.simulator.probes.impl.TaggedProbeImpl.DEFAULT_MAX_CARDINALITY;
 
 /**
- * Annotates {@link com.hazelcast.simulator.probes.Probe} fields.
+ * Annotates {@link com.hazelcast.simulator.probes.Probe} and {@link com.hazelcast.simulator.probes.TaggedProbe} fields.
  */
 @Retention(RetentionPolicy.RUNTIME)
 @Target(ElementType.FIELD)
@@ -42,4 +46,60 @@ public @interface InjectProbe {
      * @return <tt>true</tt> if probe should be considered for throughput, <tt>false</tt> otherwise
      */
     boolean useForThroughput() default false;
+
+    /**
+     * Defines the unit in which the latencies of the probe are recorded.
+     *
+     * Use {@link TimeUnit#NANOSECONDS} for very fast operations, which would otherwise all end up in the lowest buckets.
+     *
+     * @return the latency unit of the probe
+     */
+    TimeUnit latencyUnit() default TimeUnit.MICROSECONDS;
+
+    /**
+     * Defines the highest latency in {@link #latencyUnit()} the probe can record. Larger values are clamped.
+     *
+     * The default value <tt>0</tt> uses 60 seconds.
+     *
+     * @return the highest trackable latency of the probe
+     */
+    long highestTrackableValue() default 0;
+
+    /**
+     * Defines the number of significant decimal digits of the recorded latencies (0 to 5).
+     *
+     * Less digits need less memory per probe.
+     *
+     * @return the number of significant digits of the probe
+     */
+    int significantDigits() default LATENCY_PRECISION;
+
+    /**
+     * Defines the latency in {@link #latencyUnit()} above which an operation is captured as outlier, with its wall-clock time,
+     * partition and target member.
+     *
+     * The outliers are written to <tt>outliers-testId.txt</tt> by the Worker. The default value <tt>0</tt> disables the
+     * capture.
+     *
+     * @return the outlier threshold of the probe
+     */
+    long outlierThreshold() default 0;
+
+    /**
+     * Defines the tag names of a {@link com.hazelcast.simulator.probes.TaggedProbe}, e.g. <tt>{"operation", "member"}</tt>.
+     *
+     * If defined, the number of tag values has to match the number of tag names.
+     *
+     * @return the tag names of the probe
+     */
+    String[] tagNames() default {};
+
+    /**
+     * Defines the maximum number of tag combinations of a {@link com.hazelcast.simulator.probes.TaggedProbe}.
+     *
+     * All further tag combinations are recorded to a single overflow probe.
+     *
+     * @return the maximum cardinality of the probe
+     */
+    int maxTagCardinality() default DEFAULT_MAX_CARDINALITY;
 }
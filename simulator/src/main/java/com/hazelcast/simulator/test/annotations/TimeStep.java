@@ -0,0 +1,43 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.simulator.test.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a method which is called by the worker threads in the run phase, as an alternative to {@link RunWithWorker}.
+ *
+ * A test can have multiple time step methods. In each iteration one of them is selected by its probability, so the
+ * probabilities of all time step methods have to add up to 1. A single method can use a probability of -1 to get the
+ * remaining probability of the other methods.
+ *
+ * The run loop is generated and compiled for each test class, so the methods are called directly. Therefore the methods have to
+ * be public, non-static and without arguments, and they have to be declared in a public class.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface TimeStep {
+
+    /**
+     * The probability of this method to be selected for an iteration.
+     *
+     * @return the probability between 0 and 1 or -1 for the remaining probability
+     */
+    double prob() default 1;
+}
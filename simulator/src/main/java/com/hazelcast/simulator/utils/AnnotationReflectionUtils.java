@@ -23,7 +23,11 @@ import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
+import static com.hazelcast.simulator.probes.impl.ProbeImpl.LATENCY_PRECISION;
+import static com.hazelcast.simulator.probes.impl.ProbeImpl.LATENCY_UNIT;
+import static com.hazelcast.simulator.probes.impl.TaggedProbeImpl.DEFAULT_MAX_CARDINALITY;
 import static java.lang.String.format;
 
 public final class AnnotationReflectionUtils {
@@ -57,6 +61,54 @@ public final class AnnotationReflectionUtils {
         return false;
     }
 
+    public static TimeUnit getProbeLatencyUnit(Field field) {
+        InjectProbe probeAnnotation = (field == null) ? null : field.getAnnotation(InjectProbe.class);
+        if (probeAnnotation != null) {
+            return probeAnnotation.latencyUnit();
+        }
+        return LATENCY_UNIT;
+    }
+
+    public static long getProbeHighestTrackableValue(Field field) {
+        InjectProbe probeAnnotation = (field == null) ? null : field.getAnnotation(InjectProbe.class);
+        if (probeAnnotation != null) {
+            return probeAnnotation.highestTrackableValue();
+        }
+        return 0;
+    }
+
+    public static long getProbeOutlierThreshold(Field field) {
+        InjectProbe probeAnnotation = (field == null) ? null : field.getAnnotation(InjectProbe.class);
+        if (probeAnnotation != null) {
+            return probeAnnotation.outlierThreshold();
+        }
+        return 0;
+    }
+
+    public static int getProbeSignificantDigits(Field field) {
+        InjectProbe probeAnnotation = (field == null) ? null : field.getAnnotation(InjectProbe.class);
+        if (probeAnnotation != null) {
+            return probeAnnotation.significantDigits();
+        }
+        return LATENCY_PRECISION;
+    }
+
+    public static String[] getProbeTagNames(Field field) {
+        InjectProbe probeAnnotation = (field == null) ? null : field.getAnnotation(InjectProbe.class);
+        if (probeAnnotation != null) {
+            return probeAnnotation.tagNames();
+        }
+        return new String[0];
+    }
+
+    public static int getProbeMaxTagCardinality(Field field) {
+        InjectProbe probeAnnotation = (field == null) ? null : field.getAnnotation(InjectProbe.class);
+        if (probeAnnotation != null) {
+            return probeAnnotation.maxTagCardinality();
+        }
+        return DEFAULT_MAX_CARDINALITY;
+    }
+
     /**
      * Searches for an optional void method of the given annotation type and skips the arguments check.
      *
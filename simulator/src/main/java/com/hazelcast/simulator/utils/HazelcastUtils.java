@@ -18,9 +18,16 @@ package com.hazelcast.simulator.utils;
 import com.hazelcast.core.HazelcastInstance;
 import com.hazelcast.core.HazelcastInstanceAware;
 import com.hazelcast.core.Member;
+import com.hazelcast.instance.HazelcastInstanceImpl;
+import com.hazelcast.instance.HazelcastInstanceProxy;
+import com.hazelcast.instance.Node;
 import com.hazelcast.simulator.common.messaging.Message;
+import com.hazelcast.spi.OperationService;
+import com.hazelcast.spi.impl.NodeEngineImpl;
 import org.apache.log4j.Logger;
 
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
 import java.util.Iterator;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
@@ -29,6 +36,7 @@ import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 
+import static com.hazelcast.simulator.utils.ReflectionUtils.getFieldValue;
 import static java.lang.String.format;
 
 public final class HazelcastUtils {
@@ -78,4 +86,46 @@ public final class HazelcastUtils {
             }
         }
     }
+
+    public static OperationService getOperationService(HazelcastInstance hz) {
+        Node node = getNode(hz);
+        if (node == null) {
+            throw new NullPointerException("node is null in Hazelcast instance " + hz);
+        }
+        NodeEngineImpl nodeEngine = node.getNodeEngine();
+        try {
+            return nodeEngine.getOperationService();
+        } catch (NoSuchMethodError e) {
+            // fallback for a binary incompatible change (see commit http://git.io/vtfKU)
+            return getOperationServiceViaReflection(nodeEngine);
+        }
+    }
+
+    private static OperationService getOperationServiceViaReflection(NodeEngineImpl nodeEngine) {
+        try {
+            Method method = NodeEngineImpl.class.getMethod("getOperationService");
+            return (OperationService) method.invoke(nodeEngine);
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException(e);
+        } catch (InvocationTargetException e) {
+            throw new IllegalStateException(e);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public static Node getNode(HazelcastInstance hz) {
+        HazelcastInstanceImpl impl = getHazelcastInstanceImpl(hz);
+        return impl != null ? impl.node : null;
+    }
+
+    private static HazelcastInstanceImpl getHazelcastInstanceImpl(HazelcastInstance hz) {
+        HazelcastInstanceImpl impl = null;
+        if (hz instanceof HazelcastInstanceProxy) {
+            return getFieldValue(hz, "original");
+        } else if (hz instanceof HazelcastInstanceImpl) {
+            impl = (HazelcastInstanceImpl) hz;
+        }
+        return impl;
+    }
 }
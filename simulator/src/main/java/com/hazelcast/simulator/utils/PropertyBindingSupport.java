@@ -16,6 +16,7 @@
 package com.hazelcast.simulator.utils;
 
 import com.hazelcast.simulator.probes.Probe;
+import com.hazelcast.simulator.probes.TaggedProbe;
 import com.hazelcast.simulator.test.TestCase;
 import org.apache.log4j.Logger;
 
@@ -164,7 +165,7 @@ public final class PropertyBindingSupport {
     }
 
     private static boolean isProbeField(Field field) {
-        return Probe.class.equals(field.getType());
+        return Probe.class.equals(field.getType()) || TaggedProbe.class.equals(field.getType());
     }
 
     private static boolean setValue(Object object, String value, Field field) throws IllegalAccessException {
@@ -16,8 +16,9 @@
 package com.hazelcast.simulator.worker;
 
 /**
- * Exception thrown when a test is not valid, e.g. it has no method with a {@link com.hazelcast.simulator.test.annotations.Run}
- * or {@link com.hazelcast.simulator.test.annotations.RunWithWorker} annotation.
+ * Exception thrown when a test is not valid, e.g. it has no method with a {@link com.hazelcast.simulator.test.annotations.Run},
+ * {@link com.hazelcast.simulator.test.annotations.RunWithWorker} or {@link com.hazelcast.simulator.test.annotations.TimeStep}
+ * annotation.
  */
 class IllegalTestException extends RuntimeException {
 
@@ -17,6 +17,7 @@ package com.hazelcast.simulator.worker;
 
 import com.hazelcast.simulator.protocol.connector.WorkerConnector;
 import com.hazelcast.simulator.utils.NativeUtils;
+import com.hazelcast.simulator.worker.performance.HiccupMeter;
 import org.apache.log4j.LogManager;
 import org.apache.log4j.Logger;
 
@@ -77,6 +78,11 @@ public class IntegrationTestWorker implements Worker {
         return null;
     }
 
+    @Override
+    public HiccupMeter getHiccupMeter() {
+        return null;
+    }
+
     public static void main(String[] args) throws Exception {
         new IntegrationTestWorker();
     }
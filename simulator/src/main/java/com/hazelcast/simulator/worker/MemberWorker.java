@@ -27,6 +27,7 @@ import com.hazelcast.core.PartitionService;
 import com.hazelcast.simulator.protocol.connector.WorkerConnector;
 import com.hazelcast.simulator.protocol.processors.WorkerOperationProcessor;
 import com.hazelcast.simulator.utils.ExceptionReporter;
+import com.hazelcast.simulator.worker.performance.HiccupMeter;
 import com.hazelcast.simulator.worker.performance.WorkerPerformanceMonitor;
 import org.apache.log4j.LogManager;
 import org.apache.log4j.Logger;
@@ -43,11 +44,15 @@ import static com.hazelcast.simulator.utils.CommonUtils.exitWithError;
 import static com.hazelcast.simulator.utils.CommonUtils.sleepMillisThrowException;
 import static com.hazelcast.simulator.utils.FileUtils.fileAsText;
 import static com.hazelcast.simulator.utils.FileUtils.writeObject;
+import static com.hazelcast.simulator.utils.FileUtils.writeText;
 import static com.hazelcast.simulator.utils.FormatUtils.fillString;
 import static com.hazelcast.simulator.utils.NativeUtils.getPID;
+import static com.hazelcast.simulator.worker.performance.PerformanceUtils.DEFAULT_PERCENTILES;
+import static com.hazelcast.simulator.worker.performance.PerformanceUtils.parsePercentiles;
 import static java.lang.Boolean.parseBoolean;
 import static java.lang.Integer.parseInt;
 import static java.lang.String.format;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
 
 public final class MemberWorker implements Worker {
 
@@ -69,11 +74,13 @@ public final class MemberWorker implements Worker {
     private final WorkerConnector workerConnector;
 
     private final WorkerPerformanceMonitor workerPerformanceMonitor;
+    private final HiccupMeter hiccupMeter;
 
     private ShutdownThread shutdownThread;
 
     MemberWorker(WorkerType type, String publicAddress, int agentIndex, int workerIndex, int workerPort,
-                 boolean autoCreateHzInstance, int workerPerformanceMonitorIntervalSeconds, String hConfigFile) throws Exception {
+                 boolean autoCreateHzInstance, int workerPerformanceMonitorIntervalMillis, String performancePercentiles,
+                 int hiccupMeterResolutionMillis, String hConfigFile) throws Exception {
         SHUTDOWN_STARTED.set(false);
 
         this.type = type;
@@ -84,22 +91,37 @@ public final class MemberWorker implements Worker {
 
         this.hazelcastInstance = getHazelcastInstance();
 
+        // the hiccup meter is started before the tests are created, so each test gets a hiccup probe
+        this.hiccupMeter = initHiccupMeter(hiccupMeterResolutionMillis);
+
         this.workerConnector = WorkerConnector.createInstance(agentIndex, workerIndex, workerPort, type, hazelcastInstance, this);
         this.workerConnector.start();
 
-        this.workerPerformanceMonitor = initWorkerPerformanceMonitor(workerPerformanceMonitorIntervalSeconds);
+        this.workerPerformanceMonitor = initWorkerPerformanceMonitor(workerPerformanceMonitorIntervalMillis,
+                performancePercentiles);
 
         Runtime.getRuntime().addShutdownHook(new ShutdownThread(true));
 
         signalStartToAgent(hazelcastInstance);
     }
 
-    private WorkerPerformanceMonitor initWorkerPerformanceMonitor(int workerPerformanceMonitorIntervalSeconds) {
-        if (workerPerformanceMonitorIntervalSeconds < 1) {
+    private WorkerPerformanceMonitor initWorkerPerformanceMonitor(int workerPerformanceMonitorIntervalMillis,
+                                                                  String performancePercentiles) {
+        if (workerPerformanceMonitorIntervalMillis < 1) {
             return null;
         }
         WorkerOperationProcessor processor = (WorkerOperationProcessor) workerConnector.getProcessor();
-        return new WorkerPerformanceMonitor(workerConnector, processor.getTests(), workerPerformanceMonitorIntervalSeconds);
+        return new WorkerPerformanceMonitor(workerConnector, processor.getTests(), workerPerformanceMonitorIntervalMillis,
+                MILLISECONDS, parsePercentiles(performancePercentiles), hazelcastInstance);
+    }
+
+    private static HiccupMeter initHiccupMeter(int hiccupMeterResolutionMillis) {
+        if (hiccupMeterResolutionMillis < 1) {
+            return null;
+        }
+        HiccupMeter hiccupMeter = new HiccupMeter(hiccupMeterResolutionMillis, MILLISECONDS);
+        hiccupMeter.start();
+        return hiccupMeter;
     }
 
     @Override
@@ -108,6 +130,13 @@ public final class MemberWorker implements Worker {
         shutdownThread.start();
     }
 
+    private void shutdownHiccupMeter() {
+        if (hiccupMeter != null) {
+            LOGGER.info("Stopping HiccupMeter...");
+            hiccupMeter.shutdown();
+        }
+    }
+
     // just for testing
     void awaitShutdown() throws Exception {
         if (shutdownThread != null) {
@@ -135,6 +164,11 @@ public final class MemberWorker implements Worker {
         return workerConnector;
     }
 
+    @Override
+    public HiccupMeter getHiccupMeter() {
+        return hiccupMeter;
+    }
+
     private HazelcastInstance getHazelcastInstance() throws Exception {
         HazelcastInstance instance = null;
         if (autoCreateHzInstance) {
@@ -198,6 +232,9 @@ public final class MemberWorker implements Worker {
         } else {
             address = "client:" + publicAddress;
         }
+        // the PID has to be written before the address, since the Agent reads it as soon as the address is available
+        writeText(String.valueOf(getPID()), new File("worker.pid"));
+
         File file = new File("worker.address");
         writeObject(address, file);
     }
@@ -224,7 +261,9 @@ public final class MemberWorker implements Worker {
         String hzConfigFile = System.getProperty("hzConfigFile");
 
         boolean autoCreateHzInstance = parseBoolean(System.getProperty("autoCreateHzInstance", "true"));
-        int workerPerformanceMonitorIntervalSeconds = parseInt(System.getProperty("workerPerformanceMonitorIntervalSeconds"));
+        int workerPerformanceMonitorIntervalMillis = parseInt(System.getProperty("workerPerformanceMonitorIntervalMillis"));
+        String performancePercentiles = System.getProperty("performancePercentiles", DEFAULT_PERCENTILES);
+        int hiccupMeterResolutionMillis = parseInt(System.getProperty("hiccupMeterResolutionMillis", "0"));
 
         logHeader("Hazelcast Worker #" + workerIndex + " (" + type + ')');
         logInputArguments();
@@ -240,13 +279,15 @@ public final class MemberWorker implements Worker {
         LOGGER.info("Worker port: " + workerPort);
 
         LOGGER.info("autoCreateHzInstance: " + autoCreateHzInstance);
-        LOGGER.info("workerPerformanceMonitorIntervalSeconds: " + workerPerformanceMonitorIntervalSeconds);
+        LOGGER.info("workerPerformanceMonitorIntervalMillis: " + workerPerformanceMonitorIntervalMillis);
+        LOGGER.info("performancePercentiles: " + performancePercentiles);
+        LOGGER.info("hiccupMeterResolutionMillis: " + hiccupMeterResolutionMillis);
 
         LOGGER.info("Hazelcast config file: " + hzConfigFile);
         LOGGER.info(fileAsText(new File(hzConfigFile)));
 
         MemberWorker worker = new MemberWorker(type, publicAddress, agentIndex, workerIndex, workerPort, autoCreateHzInstance,
-                workerPerformanceMonitorIntervalSeconds, hzConfigFile);
+                workerPerformanceMonitorIntervalMillis, performancePercentiles, hiccupMeterResolutionMillis, hzConfigFile);
 
         logHeader("Successfully started Hazelcast Worker #" + workerIndex);
 
@@ -323,6 +364,8 @@ public final class MemberWorker implements Worker {
                 workerPerformanceMonitor.shutdown();
             }
 
+            shutdownHiccupMeter();
+
             LOGGER.info("Stopping WorkerConnector...");
             if (workerConnector != null) {
                 workerConnector.shutdown();
@@ -16,7 +16,12 @@
 package com.hazelcast.simulator.worker;
 
 import com.hazelcast.simulator.probes.Probe;
+import com.hazelcast.simulator.probes.TaggedProbe;
+import com.hazelcast.simulator.probes.impl.OutlierRecorder;
 import com.hazelcast.simulator.probes.impl.ProbeImpl;
+import com.hazelcast.simulator.probes.impl.TaggedProbeImpl;
+import com.hazelcast.simulator.probes.impl.ThreadLocalProbeImpl;
+import com.hazelcast.simulator.protocol.core.SimulatorAddress;
 import com.hazelcast.simulator.test.TestCase;
 import com.hazelcast.simulator.test.TestContext;
 import com.hazelcast.simulator.test.TestPhase;
@@ -24,32 +29,60 @@ import com.hazelcast.simulator.test.annotations.Run;
 import com.hazelcast.simulator.test.annotations.RunWithWorker;
 import com.hazelcast.simulator.test.annotations.Setup;
 import com.hazelcast.simulator.test.annotations.Teardown;
+import com.hazelcast.simulator.test.annotations.TimeStep;
 import com.hazelcast.simulator.test.annotations.Verify;
 import com.hazelcast.simulator.test.annotations.Warmup;
 import com.hazelcast.simulator.utils.AnnotationFilter.TeardownFilter;
 import com.hazelcast.simulator.utils.AnnotationFilter.VerifyFilter;
 import com.hazelcast.simulator.utils.AnnotationFilter.WarmupFilter;
+import com.hazelcast.simulator.utils.EmptyStatement;
+import com.hazelcast.simulator.utils.SplitMixRandom;
 import com.hazelcast.simulator.utils.ThreadSpawner;
+import com.hazelcast.simulator.worker.metronome.Metronome;
+import com.hazelcast.simulator.worker.metronome.MetronomeType;
+import com.hazelcast.simulator.worker.metronome.RateSchedule;
+import com.hazelcast.simulator.worker.metronome.RateScheduleMetronome;
+import com.hazelcast.simulator.worker.metronome.WaitStrategy;
+import com.hazelcast.simulator.worker.tasks.AbstractBatchWorker;
+import com.hazelcast.simulator.worker.tasks.AbstractTimeStepRunner;
+import com.hazelcast.simulator.worker.tasks.AbstractWorker;
 import com.hazelcast.simulator.worker.tasks.IWorker;
+import org.HdrHistogram.Histogram;
 import org.apache.log4j.Logger;
 
+import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Random;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
 import static com.hazelcast.simulator.utils.AnnotationReflectionUtils.getAtMostOneMethodWithoutArgs;
 import static com.hazelcast.simulator.utils.AnnotationReflectionUtils.getAtMostOneVoidMethodSkipArgsCheck;
 import static com.hazelcast.simulator.utils.AnnotationReflectionUtils.getAtMostOneVoidMethodWithoutArgs;
+import static com.hazelcast.simulator.utils.AnnotationReflectionUtils.getProbeHighestTrackableValue;
+import static com.hazelcast.simulator.utils.AnnotationReflectionUtils.getProbeLatencyUnit;
+import static com.hazelcast.simulator.utils.AnnotationReflectionUtils.getProbeMaxTagCardinality;
 import static com.hazelcast.simulator.utils.AnnotationReflectionUtils.getProbeName;
+import static com.hazelcast.simulator.utils.AnnotationReflectionUtils.getProbeOutlierThreshold;
+import static com.hazelcast.simulator.utils.AnnotationReflectionUtils.getProbeSignificantDigits;
+import static com.hazelcast.simulator.utils.AnnotationReflectionUtils.getProbeTagNames;
 import static com.hazelcast.simulator.utils.AnnotationReflectionUtils.isThroughputProbe;
 import static com.hazelcast.simulator.utils.PropertyBindingSupport.bindOptionalProperty;
 import static com.hazelcast.simulator.utils.ReflectionUtils.getField;
+import static com.hazelcast.simulator.utils.ReflectionUtils.getFieldValue;
 import static com.hazelcast.simulator.utils.ReflectionUtils.invokeMethod;
 import static com.hazelcast.simulator.utils.ReflectionUtils.setFieldValue;
+import static com.hazelcast.simulator.utils.SplitMixRandom.mixSeed;
+import static com.hazelcast.simulator.worker.TimeStepRunnerCodeGenerator.getRunnerConstructor;
+import static com.hazelcast.simulator.worker.TimeStepRunnerCodeGenerator.getTimeStepMethods;
 import static java.lang.String.format;
 
 /**
@@ -64,12 +97,27 @@ public class TestContainer {
     public static final Set<String> OPTIONAL_TEST_PROPERTIES;
 
     private static final int DEFAULT_THREAD_COUNT = 10;
+    private static final String KEY_DISTRIBUTION_NOT_SUPPORTED
+            = "Test %s doesn't support the property keyDistribution, since its keys are not selected by an AbstractWorker";
 
     private static final Logger LOGGER = Logger.getLogger(TestContainer.class);
 
     private enum OptionalTestProperties {
         THREAD_COUNT("threadCount"),
-        LOG_FREQUENCY("logFrequency");
+        LOG_FREQUENCY("logFrequency"),
+        MAX_IN_FLIGHT("maxInFlight"),
+        BATCH_SIZE("batchSize"),
+        METRONOME_FREQUENCY("metronomeFrequency"),
+        METRONOME_TYPE("metronomeType"),
+        METRONOME_WAIT_STRATEGY("metronomeWaitStrategy"),
+        METRONOME_RATE_SCHEDULE("metronomeRateSchedule"),
+        TARGET_THROUGHPUT("targetThroughput"),
+        SEED("seed"),
+        KEY_DISTRIBUTION("keyDistribution"),
+        PROBE_LATENCY_UNIT("probeLatencyUnit"),
+        PROBE_HIGHEST_TRACKABLE_VALUE("probeHighestTrackableValue"),
+        PROBE_SIGNIFICANT_DIGITS("probeSignificantDigits"),
+        PROBE_OUTLIER_THRESHOLD("probeOutlierThreshold");
 
         private final String propertyName;
 
@@ -93,8 +141,37 @@ public class TestContainer {
     // properties
     @SuppressWarnings("checkstyle:visibilitymodifier")
     public int threadCount = DEFAULT_THREAD_COUNT;
+    @SuppressWarnings("checkstyle:visibilitymodifier")
+    public float metronomeFrequency;
+    @SuppressWarnings("checkstyle:visibilitymodifier")
+    public MetronomeType metronomeType = MetronomeType.CONSTANT;
+    @SuppressWarnings("checkstyle:visibilitymodifier")
+    public WaitStrategy metronomeWaitStrategy = WaitStrategy.BUSY_SPIN;
+    // a cluster wide step profile of rates, which is split like the target throughput, see RateSchedule
+    @SuppressWarnings("checkstyle:visibilitymodifier")
+    public String metronomeRateSchedule;
+    // the cluster wide throughput in ops/s, which is split across all active workers and their threads
+    @SuppressWarnings("checkstyle:visibilitymodifier")
+    public double targetThroughput;
+    // the seed of the random generators of the workers, which is derived per Worker and worker thread
+    @SuppressWarnings("checkstyle:visibilitymodifier")
+    public Long seed;
+    // the key distribution is bound to the workers, it's just checked here that the test supports it
+    @SuppressWarnings("checkstyle:visibilitymodifier")
+    public String keyDistribution;
+
+    // optional overrides of the probe configuration, which are applied to all probes of the test
+    @SuppressWarnings("checkstyle:visibilitymodifier")
+    public TimeUnit probeLatencyUnit;
+    @SuppressWarnings("checkstyle:visibilitymodifier")
+    public long probeHighestTrackableValue;
+    @SuppressWarnings("checkstyle:visibilitymodifier")
+    public int probeSignificantDigits = -1;
+    @SuppressWarnings("checkstyle:visibilitymodifier")
+    public long probeOutlierThreshold;
 
     private final Map<String, Probe> probeMap = new ConcurrentHashMap<String, Probe>();
+    private final OutlierRecorder outlierRecorder = new OutlierRecorder();
 
     private final Object testClassInstance;
     private final Class testClassType;
@@ -103,6 +180,7 @@ public class TestContainer {
 
     private Method runMethod;
     private Method runWithWorkerMethod;
+    private Constructor<? extends AbstractTimeStepRunner> timeStepRunnerConstructor;
 
     private Method setupMethod;
     private Object[] setupArguments;
@@ -114,6 +192,11 @@ public class TestContainer {
     private Method globalVerifyMethod;
 
     private Method localTeardownMethod;
+
+    private int activeWorkerCount = 1;
+    private int workerAgentIndex;
+    private int workerIndex;
+    private int itemsPerWorkerCall = 1;
     private Method globalTeardownMethod;
 
     private long testStartedTimestamp;
@@ -151,6 +234,10 @@ public class TestContainer {
         return probeMap;
     }
 
+    public OutlierRecorder getOutlierRecorder() {
+        return outlierRecorder;
+    }
+
     public void invoke(TestPhase testPhase) throws Exception {
         switch (testPhase) {
             case SETUP:
@@ -183,9 +270,19 @@ public class TestContainer {
     }
 
     private void run() throws Exception {
+        // values recorded before the run phase (e.g. by a probe which loads data in a warmup) are reported separately and reset,
+        // since the performance monitor would add them to the first interval of the run phase otherwise
+        for (Map.Entry<String, Probe> entry : probeMap.entrySet()) {
+            Histogram histogram = entry.getValue().getIntervalHistogram();
+            if (histogram.getTotalCount() > 0) {
+                LOGGER.info(format("Probe %s of test %s recorded %d values before the run phase (mean %.0f, max %d %s)",
+                        entry.getKey(), testContext.getTestId(), histogram.getTotalCount(), histogram.getMean(),
+                        histogram.getMaxValue(), entry.getValue().getLatencyUnit()));
+            }
+        }
         testStartedTimestamp = System.currentTimeMillis();
         isRunning = true;
-        if (runWithWorkerMethod != null) {
+        if (runWithWorkerMethod != null || timeStepRunnerConstructor != null) {
             invokeRunWithWorkerMethod();
         } else {
             invokeMethod(testClassInstance, runMethod);
@@ -215,13 +312,32 @@ public class TestContainer {
         } catch (Exception e) {
             throw new IllegalTestException(e);
         }
-        if ((runMethod == null) == (runWithWorkerMethod == null)) {
-            throw new IllegalTestException(format("Test must contain either %s or %s method", Run.class, RunWithWorker.class));
+        initTimeStepRunner();
+
+        bindOptionalProperty(this, testCase, OptionalTestProperties.PROBE_LATENCY_UNIT.getPropertyName());
+        bindOptionalProperty(this, testCase, OptionalTestProperties.PROBE_HIGHEST_TRACKABLE_VALUE.getPropertyName());
+        bindOptionalProperty(this, testCase, OptionalTestProperties.PROBE_SIGNIFICANT_DIGITS.getPropertyName());
+        bindOptionalProperty(this, testCase, OptionalTestProperties.PROBE_OUTLIER_THRESHOLD.getPropertyName());
+        bindOptionalProperty(this, testCase, OptionalTestProperties.KEY_DISTRIBUTION.getPropertyName());
+        if (keyDistribution != null && runMethod != null) {
+            throw new IllegalTestException(format(KEY_DISTRIBUTION_NOT_SUPPORTED, testContext.getTestId()));
         }
-
         injectDependencies();
     }
 
+    private void initTimeStepRunner() {
+        List<Method> timeStepMethods = getTimeStepMethods(testClassType);
+        int runMethodTypes = (runMethod == null ? 0 : 1) + (runWithWorkerMethod == null ? 0 : 1)
+                + (timeStepMethods.isEmpty() ? 0 : 1);
+        if (runMethodTypes != 1) {
+            throw new IllegalTestException(format("Test must contain either %s, %s or %s methods", Run.class,
+                    RunWithWorker.class, TimeStep.class));
+        }
+        if (!timeStepMethods.isEmpty()) {
+            timeStepRunnerConstructor = getRunnerConstructor(testClassType, timeStepMethods);
+        }
+    }
+
     private void assertSetupArguments(Method method) {
         Class[] parameterTypes = method.getParameterTypes();
         if (parameterTypes.length < 1) {
@@ -265,45 +381,89 @@ public class TestContainer {
     private void injectDependencies() {
         Field[] fields = testClassType.getDeclaredFields();
         for (Field field : fields) {
+            long outlierThreshold = (probeOutlierThreshold > 0) ? probeOutlierThreshold : getProbeOutlierThreshold(field);
             if (Probe.class.equals(field.getType())) {
                 String probeName = getProbeName(field);
-                Probe probe = getOrCreateProbe(probeName, field);
+                Probe probe = getOrCreateProbe(probeName, field, false, outlierThreshold);
                 setFieldValue(testClassInstance, field, probe);
+            } else if (TaggedProbe.class.equals(field.getType())) {
+                // the probes of the tag combinations are created lazily and registered in the probe map
+                TaggedProbeImpl taggedProbe = new TaggedProbeImpl(getProbeName(field), getProbeTagNames(field),
+                        getProbeMaxTagCardinality(field), probeMap, isThroughputProbe(field), getLatencyUnit(field),
+                        getHighestTrackableValue(field), getSignificantDigits(field));
+                taggedProbe.setOutlierCapture(outlierThreshold, outlierRecorder);
+                setFieldValue(testClassInstance, field, taggedProbe);
             }
         }
     }
 
-    private Probe getOrCreateProbe(String probeName, Field field) {
+    private Probe getOrCreateProbe(String probeName, Field field, boolean isSharedByWorkerThreads, long outlierThreshold) {
         Probe probe = probeMap.get(probeName);
         if (probe == null) {
-            probe = new ProbeImpl(isThroughputProbe(field));
+            TimeUnit latencyUnit = getLatencyUnit(field);
+            long highestTrackableValue = getHighestTrackableValue(field);
+            int significantDigits = getSignificantDigits(field);
+
+            if (isSharedByWorkerThreads) {
+                // a recorder per worker thread, so the recording doesn't get contended with a high thread count
+                ThreadLocalProbeImpl threadLocalProbe = new ThreadLocalProbeImpl(isThroughputProbe(field), latencyUnit,
+                        highestTrackableValue, significantDigits);
+                threadLocalProbe.setOutlierCapture(probeName, outlierThreshold, outlierRecorder);
+                probe = threadLocalProbe;
+            } else {
+                ProbeImpl probeImpl = new ProbeImpl(isThroughputProbe(field), latencyUnit, highestTrackableValue,
+                        significantDigits);
+                probeImpl.setOutlierCapture(probeName, outlierThreshold, outlierRecorder);
+                probe = probeImpl;
+            }
             probeMap.put(probeName, probe);
         }
         return probe;
     }
 
+    private TimeUnit getLatencyUnit(Field field) {
+        return (probeLatencyUnit != null) ? probeLatencyUnit : getProbeLatencyUnit(field);
+    }
+
+    private long getHighestTrackableValue(Field field) {
+        return (probeHighestTrackableValue > 0) ? probeHighestTrackableValue : getProbeHighestTrackableValue(field);
+    }
+
+    private int getSignificantDigits(Field field) {
+        return (probeSignificantDigits >= 0) ? probeSignificantDigits : getProbeSignificantDigits(field);
+    }
+
     private void invokeRunWithWorkerMethod() throws Exception {
         bindOptionalProperty(this, testCase, OptionalTestProperties.THREAD_COUNT.getPropertyName());
-
-        LOGGER.info(format("Spawning %d worker threads for test %s", threadCount, testContext.getTestId()));
+        bindOptionalProperty(this, testCase, OptionalTestProperties.METRONOME_FREQUENCY.getPropertyName());
+        bindOptionalProperty(this, testCase, OptionalTestProperties.METRONOME_TYPE.getPropertyName());
+        bindOptionalProperty(this, testCase, OptionalTestProperties.TARGET_THROUGHPUT.getPropertyName());
+        bindOptionalProperty(this, testCase, OptionalTestProperties.METRONOME_WAIT_STRATEGY.getPropertyName());
+        bindOptionalProperty(this, testCase, OptionalTestProperties.METRONOME_RATE_SCHEDULE.getPropertyName());
+        bindOptionalProperty(this, testCase, OptionalTestProperties.SEED.getPropertyName());
+
+        LOGGER.info(format("Spawning %d worker threads for test %s%s", threadCount, testContext.getTestId(),
+                (seed == null) ? "" : " with seed " + seed));
         if (threadCount <= 0) {
             return;
         }
 
         // create instance to get class of worker
-        Class workerClass = invokeMethod(testClassInstance, runWithWorkerMethod).getClass();
+        Class workerClass = createWorker().getClass();
 
         Field testContextField = getField(workerClass, "testContext", TestContext.class);
-        Field workerProbeField = getField(workerClass, "workerProbe", Probe.class);
+        Field metronomeField = getField(workerClass, "metronome", Metronome.class);
+        Field randomField = (seed == null) ? null : getField(workerClass, "random", Random.class);
+        itemsPerWorkerCall = getItemsPerWorkerCall(workerClass);
+        Map<Field, Object> workerProbes = createWorkerProbes(workerClass);
 
-        Probe probe = null;
-        if (workerProbeField != null) {
-            // create one probe per test and inject it in all worker instances of the test
-            probe = getOrCreateProbe(testContext.getTestId() + "WorkerProbe", workerProbeField);
-        }
+        // each Worker and each of its threads gets an own seed, which is derived from the seed of the test
+        long workerSeed = (seed == null) ? 0 : mixSeed(mixSeed(seed, workerAgentIndex), workerIndex);
 
         // spawn worker and wait for completion
-        IWorker worker = spawnWorkerThreads(testContextField, workerProbeField, probe);
+        List<Metronome> metronomes = createMetronomes(metronomeField, workerSeed);
+        IWorker worker = spawnWorkerThreads(testContextField, workerProbes, metronomeField, metronomes, randomField, workerSeed);
+        logMissedSlots(metronomes);
 
         // call the afterCompletion method on a single instance of the worker
         if (worker != null) {
@@ -311,21 +471,149 @@ public class TestContainer {
         }
     }
 
-    private IWorker spawnWorkerThreads(Field testContextField, Field workerProbeField, Probe probe) throws Exception {
+    private IWorker createWorker() throws Exception {
+        IWorker worker = (timeStepRunnerConstructor != null)
+                ? timeStepRunnerConstructor.newInstance(testClassInstance)
+                : (IWorker) invokeMethod(testClassInstance, runWithWorkerMethod);
+        if (keyDistribution != null && !(worker instanceof AbstractWorker)) {
+            throw new IllegalTestException(format(KEY_DISTRIBUTION_NOT_SUPPORTED, testContext.getTestId()));
+        }
+        return worker;
+    }
+
+    private Map<Field, Object> createWorkerProbes(Class workerClass) {
+        Field workerProbeField = getField(workerClass, "workerProbe", Probe.class);
+        Field correctedWorkerProbeField = getField(workerClass, "correctedWorkerProbe", Probe.class);
+        Field operationProbeField = getField(workerClass, "operationProbe", TaggedProbe.class);
+        Field batchProbeField = getField(workerClass, "batchProbe", Probe.class);
+
+        Map<Field, Object> workerProbes = new HashMap<Field, Object>();
+        if (workerProbeField != null) {
+            // create one probe per test and inject it in all worker instances of the test, it's the only worker probe which
+            // captures outliers, since the other worker probes record the same operations or no single operations
+            Probe probe = getOrCreateProbe(testContext.getTestId() + "WorkerProbe", workerProbeField, threadCount > 1,
+                    probeOutlierThreshold);
+            workerProbes.put(workerProbeField, probe);
+        }
+        if (correctedWorkerProbeField != null && isClockedByMetronome()) {
+            // the latency from the intended start time is just measured if the worker is clocked by a metronome
+            Probe probe = getOrCreateProbe(testContext.getTestId() + "WorkerProbeCorrected", correctedWorkerProbeField,
+                    threadCount > 1, 0);
+            workerProbes.put(correctedWorkerProbeField, probe);
+        }
+        if (operationProbeField != null) {
+            // the probes per operation are named like the worker probe, but are not used for the throughput; they are
+            // thread local even for a single worker thread, since their auto resizing recorders just allocate the used range
+            TaggedProbe taggedProbe = new TaggedProbeImpl(testContext.getTestId() + "WorkerProbe",
+                    getProbeTagNames(operationProbeField), getProbeMaxTagCardinality(operationProbeField), probeMap, false,
+                    getLatencyUnit(operationProbeField), getHighestTrackableValue(operationProbeField),
+                    getSignificantDigits(operationProbeField), true);
+            workerProbes.put(operationProbeField, taggedProbe);
+        }
+        if (batchProbeField != null) {
+            Probe probe = getOrCreateProbe(testContext.getTestId() + "BatchProbe", batchProbeField, threadCount > 1, 0);
+            workerProbes.put(batchProbeField, probe);
+        }
+        return workerProbes;
+    }
+
+    float getMetronomeFrequency() {
+        if (targetThroughput > 0) {
+            return (float) (targetThroughput * getWorkerThreadShare());
+        }
+        return metronomeFrequency;
+    }
+
+    private boolean isClockedByMetronome() {
+        return getMetronomeFrequency() > 0 || metronomeRateSchedule != null;
+    }
+
+    private double getWorkerThreadShare() {
+        // the cluster wide rates are split across all active workers and their threads, a batch worker calls for multiple items
+        return 1.0 / (activeWorkerCount * threadCount * itemsPerWorkerCall);
+    }
+
+    private int getItemsPerWorkerCall(Class workerClass) {
+        if (!AbstractBatchWorker.class.isAssignableFrom(workerClass) || testCase == null) {
+            return 1;
+        }
+        String propertyName = OptionalTestProperties.BATCH_SIZE.getPropertyName();
+        String batchSize = testCase.getProperty(propertyName);
+        if (batchSize == null) {
+            return AbstractBatchWorker.DEFAULT_BATCH_SIZE;
+        }
+        try {
+            int itemsPerCall = Integer.parseInt(batchSize.trim());
+            if (itemsPerCall > 0) {
+                return itemsPerCall;
+            }
+        } catch (NumberFormatException e) {
+            EmptyStatement.ignore(e);
+        }
+        throw new IllegalArgumentException(format("Property %s of test %s has to be a positive integer, but was [%s]",
+                propertyName, testContext.getTestId(), batchSize));
+    }
+
+    private List<Metronome> createMetronomes(Field metronomeField, long workerSeed) {
+        List<Metronome> metronomes = new ArrayList<Metronome>();
+        if (metronomeField == null || !isClockedByMetronome()) {
+            return metronomes;
+        }
+
+        // the delay between the intended start and the actual wake-up shows the accuracy of the metronome
+        Probe wakeUpErrorProbe = (threadCount > 1) ? new ThreadLocalProbeImpl(false) : new ProbeImpl(false);
+        probeMap.put(testContext.getTestId() + "MetronomeWakeUpError", wakeUpErrorProbe);
+
+        if (metronomeRateSchedule != null) {
+            RateSchedule rateSchedule = RateSchedule.parse(metronomeRateSchedule).scale(getWorkerThreadShare());
+            LOGGER.info(format("Rate schedule of test %s is %s ops/s per worker thread (%s)", testContext.getTestId(),
+                    rateSchedule, metronomeWaitStrategy));
+            for (int i = 0; i < threadCount; i++) {
+                metronomes.add(new RateScheduleMetronome(rateSchedule, metronomeWaitStrategy, wakeUpErrorProbe));
+            }
+        } else {
+            float frequency = getMetronomeFrequency();
+            LOGGER.info(format("Metronome frequency of test %s is %s ops/s per worker thread (%s, %s)",
+                    testContext.getTestId(), frequency, metronomeType, metronomeWaitStrategy));
+            for (int i = 0; i < threadCount; i++) {
+                // the metronomes get other seeds than the worker threads, so their intervals don't follow the operations
+                Random random = (seed == null) ? new SplitMixRandom() : new SplitMixRandom(mixSeed(workerSeed, threadCount + i));
+                metronomes.add(metronomeType.newInstance(frequency, metronomeWaitStrategy, wakeUpErrorProbe, random));
+            }
+        }
+        return metronomes;
+    }
+
+    private IWorker spawnWorkerThreads(Field testContextField, Map<Field, Object> workerProbes, Field metronomeField,
+                                       List<Metronome> metronomes, Field randomField, long workerSeed) throws Exception {
         IWorker worker = null;
 
         ThreadSpawner spawner = new ThreadSpawner(testContext.getTestId());
         for (int i = 0; i < threadCount; i++) {
-            worker = invokeMethod(testClassInstance, runWithWorkerMethod);
+            worker = createWorker();
 
             if (testContextField != null) {
                 setFieldValue(worker, testContextField, testContext);
             }
-            if (workerProbeField != null) {
-                setFieldValue(worker, workerProbeField, probe);
+            for (Map.Entry<Field, Object> entry : workerProbes.entrySet()) {
+                setFieldValue(worker, entry.getKey(), entry.getValue());
             }
 
             bindOptionalProperty(worker, testCase, OptionalTestProperties.LOG_FREQUENCY.getPropertyName());
+            bindOptionalProperty(worker, testCase, OptionalTestProperties.METRONOME_FREQUENCY.getPropertyName());
+            bindOptionalProperty(worker, testCase, OptionalTestProperties.MAX_IN_FLIGHT.getPropertyName());
+            bindOptionalProperty(worker, testCase, OptionalTestProperties.KEY_DISTRIBUTION.getPropertyName());
+            if (worker instanceof AbstractBatchWorker) {
+                // the batch size is a common name for properties of tests, so we just bind it to batch workers
+                bindOptionalProperty(worker, testCase, OptionalTestProperties.BATCH_SIZE.getPropertyName());
+            }
+            if (!metronomes.isEmpty()) {
+                setFieldValue(worker, metronomeField, metronomes.get(i));
+            }
+            if (randomField != null) {
+                Random random = getFieldValue(worker, randomField);
+                random.setSeed(mixSeed(workerSeed, i));
+            }
 
             spawner.spawn(worker);
         }
@@ -334,6 +622,41 @@ public class TestContainer {
         return worker;
     }
 
+    private void logMissedSlots(List<Metronome> metronomes) {
+        if (metronomes.isEmpty()) {
+            return;
+        }
+        long missedSlotCount = 0;
+        for (Metronome metronome : metronomes) {
+            missedSlotCount += metronome.getMissedSlotCount();
+        }
+        LOGGER.info(format("Test %s missed %d schedule slots on %d worker threads", testContext.getTestId(), missedSlotCount,
+                metronomes.size()));
+    }
+
+    /**
+     * Sets the number of workers which execute the run phase of the test.
+     *
+     * The {@link #targetThroughput} and {@link #metronomeRateSchedule} are split across these workers.
+     *
+     * @param activeWorkerCount number of active workers in the cluster
+     */
+    public void setActiveWorkerCount(int activeWorkerCount) {
+        this.activeWorkerCount = (activeWorkerCount > 0) ? activeWorkerCount : 1;
+    }
+
+    /**
+     * Sets the {@link SimulatorAddress} of the Worker, which runs this test.
+     *
+     * The address is used to derive a different random seed for each Worker, if the test has a {@link #seed}.
+     *
+     * @param workerAddress the {@link SimulatorAddress} of the Worker
+     */
+    public void setWorkerAddress(SimulatorAddress workerAddress) {
+        this.workerAgentIndex = workerAddress.getAgentIndex();
+        this.workerIndex = workerAddress.getWorkerIndex();
+    }
+
     boolean hasProbe(String probeName) {
         return probeMap.keySet().contains(probeName);
     }
@@ -0,0 +1,280 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.simulator.worker;
+
+import com.hazelcast.simulator.test.annotations.TimeStep;
+import com.hazelcast.simulator.worker.tasks.AbstractTimeStepRunner;
+import org.apache.log4j.Logger;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.hazelcast.simulator.utils.compiler.InMemoryJavaCompiler.compile;
+import static java.lang.String.format;
+
+/**
+ * Generates and compiles a runner class for a test with {@link TimeStep} methods.
+ *
+ * The generated {@link AbstractTimeStepRunner#run()} method contains the probability selection with constant thresholds and
+ * direct calls of the time step methods, so the run loop needs no reflection, no boxing and no megamorphic selector call.
+ * The runner classes are cached per test class, since a class can only be defined once by the class loader of the compiler.
+ */
+final class TimeStepRunnerCodeGenerator {
+
+    private static final double PROBABILITY_TOLERANCE = 0.0001;
+    private static final String RUNNER_SUFFIX = "TimeStepRunner";
+
+    private static final Logger LOGGER = Logger.getLogger(TimeStepRunnerCodeGenerator.class);
+
+    private static final Map<Class, Constructor<? extends AbstractTimeStepRunner>> RUNNER_CONSTRUCTORS
+            = new ConcurrentHashMap<Class, Constructor<? extends AbstractTimeStepRunner>>();
+
+    private TimeStepRunnerCodeGenerator() {
+    }
+
+    /**
+     * Returns the {@link TimeStep} methods of a test class and its superclasses, sorted by name.
+     *
+     * A method which is overridden by a subclass is skipped, so it's only a time step if the overriding method is annotated.
+     *
+     * @param testClass the test class
+     * @return the list of {@link TimeStep} methods, which is empty if the test has none
+     * @throws IllegalTestException if a method is not public, static, has arguments or an invalid probability
+     */
+    static List<Method> getTimeStepMethods(Class testClass) {
+        List<Method> methods = new ArrayList<Method>();
+        Set<String> signatures = new HashSet<String>();
+        for (Class searchClass = testClass; searchClass != null; searchClass = searchClass.getSuperclass()) {
+            for (Method method : searchClass.getDeclaredMethods()) {
+                boolean isOverridden = !signatures.add(method.getName() + Arrays.toString(method.getParameterTypes()));
+                if (!isOverridden && method.isAnnotationPresent(TimeStep.class)) {
+                    assertTimeStepMethod(testClass, method);
+                    methods.add(method);
+                }
+            }
+        }
+        Collections.sort(methods, new Comparator<Method>() {
+            @Override
+            public int compare(Method method1, Method method2) {
+                return method1.getName().compareTo(method2.getName());
+            }
+        });
+        if (!methods.isEmpty()) {
+            getThresholds(testClass, methods);
+        }
+        return methods;
+    }
+
+    /**
+     * Returns the constructor of the runner class for a test, which takes the test instance as argument.
+     *
+     * @param testClass       the test class
+     * @param timeStepMethods the {@link TimeStep} methods of the test class
+     * @return the constructor of the runner class
+     */
+    @SuppressWarnings("unchecked")
+    static synchronized Constructor<? extends AbstractTimeStepRunner> getRunnerConstructor(Class testClass,
+                                                                                           List<Method> timeStepMethods) {
+        Constructor<? extends AbstractTimeStepRunner> constructor = RUNNER_CONSTRUCTORS.get(testClass);
+        if (constructor != null) {
+            return constructor;
+        }
+
+        String className = getRunnerClassName(testClass);
+        String source = generateSource(testClass, className, timeStepMethods);
+        LOGGER.debug(format("Generated time step runner for %s:%n%s", testClass.getName(), source));
+        try {
+            Class<? extends AbstractTimeStepRunner> runnerClass
+                    = (Class<? extends AbstractTimeStepRunner>) compile(className, source);
+            constructor = runnerClass.getConstructor(Object.class);
+        } catch (Exception e) {
+            throw new IllegalTestException(e);
+        }
+        RUNNER_CONSTRUCTORS.put(testClass, constructor);
+        return constructor;
+    }
+
+    static String getRunnerClassName(Class testClass) {
+        Package testPackage = testClass.getPackage();
+        String packagePrefix = (testPackage == null) ? "" : testPackage.getName() + '.';
+        return packagePrefix + testClass.getName().substring(packagePrefix.length()).replace('$', '_') + RUNNER_SUFFIX;
+    }
+
+    static String generateSource(Class testClass, String className, List<Method> timeStepMethods) {
+        double[] thresholds = getThresholds(testClass, timeStepMethods);
+        int packageEnd = className.lastIndexOf('.');
+        String simpleClassName = className.substring(packageEnd + 1);
+        String testClassName = testClass.getCanonicalName();
+
+        SourceBuilder source = new SourceBuilder();
+        if (packageEnd > 0) {
+            source.line("package %s;", className.substring(0, packageEnd)).line("");
+        }
+        source.line("import com.hazelcast.simulator.probes.Probe;")
+                .line("import com.hazelcast.simulator.test.TestContext;")
+                .line("import com.hazelcast.simulator.worker.metronome.Metronome;")
+                .line("import com.hazelcast.simulator.worker.tasks.AbstractTimeStepRunner;")
+                .line("")
+                .line("public final class %s extends AbstractTimeStepRunner {", simpleClassName)
+                .line("")
+                .line("    private final %s test;", testClassName)
+                .line("")
+                .line("    public %s(Object test) {", simpleClassName)
+                .line("        this.test = (%s) test;", testClassName)
+                .line("    }")
+                .line("")
+                .line("    @Override")
+                .line("    public void run() {")
+                .line("        final TestContext testContext = getTestContext();")
+                .line("        final Metronome metronome = getMetronome();")
+                .line("        final Probe workerProbe = getWorkerProbe();")
+                .line("        final Probe correctedWorkerProbe = (metronome == null) ? null : getCorrectedWorkerProbe();");
+        for (int i = 0; i < timeStepMethods.size(); i++) {
+            source.line("        final Probe probe%d = getMethodProbe(\"%s\");", i, timeStepMethods.get(i).getName());
+        }
+        source.line("        final java.util.Random random = getRandom();")
+                .line("")
+                .line("        try {")
+                .line("            while (!testContext.isStopped()) {")
+                .line("                final long intendedStarted = (metronome == null) ? 0 : metronome.waitForNext();")
+                .line("                final double chance = %s;", (timeStepMethods.size() > 1) ? "random.nextDouble()" : "0")
+                .line("                final long started = System.nanoTime();")
+                .line("                final Probe probe;")
+                .line("                final String operation;");
+        appendSelection(source, timeStepMethods, thresholds);
+        source.line("                final long now = System.nanoTime();")
+                .line("                workerProbe.recordValue(now - started, operation,"
+                        + " com.hazelcast.simulator.probes.Outlier.NO_PARTITION_ID, null);")
+                .line("                probe.recordValue(now - started);")
+                .line("                if (correctedWorkerProbe != null) {")
+                .line("                    correctedWorkerProbe.recordValue(now - intendedStarted);")
+                .line("                }")
+                .line("            }")
+                .line("        } catch (Exception e) {")
+                .line("            throw com.hazelcast.simulator.utils.CommonUtils.rethrow(e);")
+                .line("        }")
+                .line("    }")
+                .line("}");
+        return source.toString();
+    }
+
+    private static void appendSelection(SourceBuilder source, List<Method> timeStepMethods, double[] thresholds) {
+        int lastIndex = timeStepMethods.size() - 1;
+        for (int i = 0; i <= lastIndex; i++) {
+            if (i == 0 && lastIndex == 0) {
+                source.line("                {");
+            } else if (i == 0) {
+                source.line("                if (chance < %s) {", thresholds[i]);
+            } else if (i < lastIndex) {
+                source.line("                } else if (chance < %s) {", thresholds[i]);
+            } else {
+                source.line("                } else {");
+            }
+            source.line("                    test.%s();", timeStepMethods.get(i).getName())
+                    .line("                    probe = probe%d;", i)
+                    .line("                    operation = \"%s\";", timeStepMethods.get(i).getName());
+        }
+        source.line("                }");
+    }
+
+    /**
+     * Calculates the cumulative probability thresholds of the methods. The method with the remaining probability is moved to
+     * the end of the list, so it's selected by the final else branch.
+     */
+    private static double[] getThresholds(Class testClass, List<Method> timeStepMethods) {
+        Method remainingMethod = null;
+        double probabilitySum = 0;
+        for (Method method : timeStepMethods) {
+            double probability = method.getAnnotation(TimeStep.class).prob();
+            if (probability == -1) {
+                if (remainingMethod != null) {
+                    throw new IllegalTestException(format("Test %s can have just a single %s method with probability -1",
+                            testClass.getName(), TimeStep.class.getSimpleName()));
+                }
+                remainingMethod = method;
+            } else {
+                probabilitySum += probability;
+            }
+        }
+        if (probabilitySum > 1 + PROBABILITY_TOLERANCE
+                || (remainingMethod == null && probabilitySum < 1 - PROBABILITY_TOLERANCE)) {
+            throw new IllegalTestException(format("The probabilities of the %s methods of test %s have to add up to 1,"
+                    + " but are %s", TimeStep.class.getSimpleName(), testClass.getName(), probabilitySum));
+        }
+        if (remainingMethod != null) {
+            timeStepMethods.remove(remainingMethod);
+            timeStepMethods.add(remainingMethod);
+        }
+
+        double[] thresholds = new double[timeStepMethods.size()];
+        double threshold = 0;
+        for (int i = 0; i < thresholds.length; i++) {
+            Method method = timeStepMethods.get(i);
+            threshold += (method == remainingMethod) ? 1 - threshold : method.getAnnotation(TimeStep.class).prob();
+            thresholds[i] = threshold;
+        }
+        return thresholds;
+    }
+
+    private static void assertTimeStepMethod(Class testClass, Method method) {
+        double probability = method.getAnnotation(TimeStep.class).prob();
+        int modifiers = method.getModifiers();
+        if (!Modifier.isPublic(modifiers) || Modifier.isStatic(modifiers) || method.getParameterTypes().length > 0) {
+            throw new IllegalTestException(format("%s method %s.%s has to be public, non-static and without arguments",
+                    TimeStep.class.getSimpleName(), testClass.getName(), method.getName()));
+        }
+        if (probability != -1 && (probability < 0 || probability > 1)) {
+            throw new IllegalTestException(format("%s method %s.%s has an invalid probability of %s",
+                    TimeStep.class.getSimpleName(), testClass.getName(), method.getName(), probability));
+        }
+        for (Class declaringClass = testClass; declaringClass != null; declaringClass = declaringClass.getEnclosingClass()) {
+            if (!Modifier.isPublic(declaringClass.getModifiers())) {
+                throw new IllegalTestException(format("Test %s with %s methods has to be a public class",
+                        testClass.getName(), TimeStep.class.getSimpleName()));
+            }
+        }
+    }
+
+    /**
+     * Appends formatted lines of source code.
+     */
+    private static final class SourceBuilder {
+
+        private static final String NEW_LINE = "\n";
+
+        private final StringBuilder sb = new StringBuilder();
+
+        private SourceBuilder line(String line, Object... args) {
+            sb.append(format(line, args)).append(NEW_LINE);
+            return this;
+        }
+
+        @Override
+        public String toString() {
+            return sb.toString();
+        }
+    }
+}
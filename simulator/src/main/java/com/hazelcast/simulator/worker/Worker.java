@@ -16,6 +16,7 @@
 package com.hazelcast.simulator.worker;
 
 import com.hazelcast.simulator.protocol.connector.WorkerConnector;
+import com.hazelcast.simulator.worker.performance.HiccupMeter;
 
 public interface Worker {
 
@@ -26,4 +27,11 @@ public interface Worker {
     void shutdownPerformanceMonitor();
 
     WorkerConnector getWorkerConnector();
+
+    /**
+     * Returns the {@link HiccupMeter} of the Worker, which records the hiccups of the JVM into a probe of each test.
+     *
+     * @return the {@link HiccupMeter} or {@code null} if the hiccup meter is disabled
+     */
+    HiccupMeter getHiccupMeter();
 }
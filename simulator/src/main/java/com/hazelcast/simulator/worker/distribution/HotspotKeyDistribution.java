@@ -0,0 +1,47 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.simulator.worker.distribution;
+
+import java.util.Random;
+
+/**
+ * Splits the keys into a hot set and a cold set, which are selected uniformly within each set.
+ *
+ * The hot set contains the first <tt>hotSetFraction</tt> of the keys and receives <tt>hotOpsFraction</tt> of the accesses, e.g.
+ * <tt>hotspot(0.2,0.8)</tt> sends 80% of the accesses to 20% of the keys.
+ */
+final class HotspotKeyDistribution implements KeyDistribution {
+
+    private final int hotKeyCount;
+    private final int coldKeyCount;
+    private final double hotOpsFraction;
+    private final Random random;
+
+    HotspotKeyDistribution(int keyCount, double hotSetFraction, double hotOpsFraction, Random random) {
+        this.hotKeyCount = Math.min(keyCount, Math.max(1, (int) (keyCount * hotSetFraction)));
+        this.coldKeyCount = keyCount - hotKeyCount;
+        this.hotOpsFraction = hotOpsFraction;
+        this.random = random;
+    }
+
+    @Override
+    public int nextIndex() {
+        if (coldKeyCount == 0 || random.nextDouble() < hotOpsFraction) {
+            return random.nextInt(hotKeyCount);
+        }
+        return hotKeyCount + random.nextInt(coldKeyCount);
+    }
+}
@@ -0,0 +1,32 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.simulator.worker.distribution;
+
+/**
+ * Selects the index of the next key a worker thread accesses, e.g. to model the skewed access of production workloads.
+ *
+ * Implementations are not thread-safe and must not allocate in {@link #nextIndex()}. Create an instance per worker thread via
+ * {@link KeyDistributionSpec#newInstance(int, java.util.Random)}.
+ */
+public interface KeyDistribution {
+
+    /**
+     * Returns the index of the next key.
+     *
+     * @return the index of the next key, which is between <tt>0</tt> (inclusive) and the key count (exclusive)
+     */
+    int nextIndex();
+}
@@ -0,0 +1,151 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.simulator.worker.distribution;
+
+import java.util.Locale;
+import java.util.Random;
+
+import static java.lang.String.format;
+
+/**
+ * The definition of a {@link KeyDistribution}, which is configured by the <tt>keyDistribution</tt> test property.
+ *
+ * The definition is the name of the distribution with optional parameters, e.g. {@code zipfian(0.99)}:
+ * <ul>
+ * <li>{@code uniform} selects all keys with the same probability (default)</li>
+ * <li>{@code zipfian(theta)} selects the first keys most often, the theta defaults to {@value #DEFAULT_THETA}</li>
+ * <li>{@code hotspot(hotSetFraction,hotOpsFraction)} sends a fraction of the accesses to a hot set of keys, defaults to
+ * {@code hotspot(0.2,0.8)}</li>
+ * <li>{@code latest(theta)} selects the last keys most often with a zipfian distribution</li>
+ * <li>{@code sequential} iterates over all keys</li>
+ * </ul>
+ */
+public final class KeyDistributionSpec {
+
+    public static final double DEFAULT_THETA = 0.99;
+    public static final double DEFAULT_HOT_SET_FRACTION = 0.2;
+    public static final double DEFAULT_HOT_OPS_FRACTION = 0.8;
+
+    private enum Type {
+        UNIFORM(0),
+        ZIPFIAN(1),
+        HOTSPOT(2),
+        LATEST(1),
+        SEQUENTIAL(0);
+
+        private final int maxParameterCount;
+
+        Type(int maxParameterCount) {
+            this.maxParameterCount = maxParameterCount;
+        }
+    }
+
+    private final Type type;
+    private final double[] parameters;
+
+    private KeyDistributionSpec(Type type, double[] parameters) {
+        this.type = type;
+        this.parameters = parameters;
+    }
+
+    /**
+     * Parses a key distribution definition.
+     *
+     * @param spec the definition, e.g. {@code hotspot(0.1,0.9)}
+     * @return the {@link KeyDistributionSpec}
+     * @throws IllegalArgumentException if the definition is invalid
+     */
+    public static KeyDistributionSpec parse(String spec) {
+        String trimmed = spec.trim();
+        int openIndex = trimmed.indexOf('(');
+        String name = (openIndex == -1) ? trimmed : trimmed.substring(0, openIndex).trim();
+        Type type;
+        try {
+            type = Type.valueOf(name.toUpperCase(Locale.ENGLISH));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(format("Unknown key distribution '%s'", spec), e);
+        }
+
+        double[] parameters = (type == Type.HOTSPOT)
+                ? new double[]{DEFAULT_HOT_SET_FRACTION, DEFAULT_HOT_OPS_FRACTION}
+                : new double[]{DEFAULT_THETA};
+        if (openIndex != -1) {
+            if (!trimmed.endsWith(")")) {
+                throw new IllegalArgumentException(format("Invalid key distribution '%s'", spec));
+            }
+            parseParameters(spec, type, trimmed.substring(openIndex + 1, trimmed.length() - 1), parameters);
+        }
+        return new KeyDistributionSpec(type, parameters);
+    }
+
+    private static void parseParameters(String spec, Type type, String parameterList, double[] parameters) {
+        String[] values = parameterList.split(",");
+        if (values.length > type.maxParameterCount) {
+            throw new IllegalArgumentException(format("Key distribution '%s' has too many parameters", spec));
+        }
+        for (int i = 0; i < values.length; i++) {
+            try {
+                parameters[i] = Double.parseDouble(values[i].trim());
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException(format("Invalid parameter '%s' in key distribution '%s'", values[i], spec), e);
+            }
+            // the theta has to be below 1 and all fractions have to be within (0, 1]
+            boolean isTheta = (type != Type.HOTSPOT);
+            if (parameters[i] <= 0 || parameters[i] > 1 || (isTheta && parameters[i] == 1)) {
+                throw new IllegalArgumentException(format("Invalid parameter '%s' in key distribution '%s'", values[i], spec));
+            }
+        }
+    }
+
+    /**
+     * Creates a {@link KeyDistribution} for a single worker thread.
+     *
+     * @param keyCount the number of keys
+     * @param random   the random generator of the worker thread
+     * @return the {@link KeyDistribution}
+     */
+    public KeyDistribution newInstance(int keyCount, Random random) {
+        if (keyCount <= 0) {
+            throw new IllegalArgumentException("keyCount must be positive, but was " + keyCount);
+        }
+        switch (type) {
+            case ZIPFIAN:
+                return new ZipfianKeyDistribution(keyCount, parameters[0], random);
+            case HOTSPOT:
+                return new HotspotKeyDistribution(keyCount, parameters[0], parameters[1], random);
+            case LATEST:
+                return new LatestKeyDistribution(keyCount, parameters[0], random);
+            case SEQUENTIAL:
+                return new SequentialKeyDistribution(keyCount, random);
+            default:
+                return new UniformKeyDistribution(keyCount, random);
+        }
+    }
+
+    @Override
+    public String toString() {
+        String name = type.name().toLowerCase(Locale.ENGLISH);
+        switch (type) {
+            case ZIPFIAN:
+            case LATEST:
+                return name + "(" + parameters[0] + ")";
+            case HOTSPOT:
+                return name + "(" + parameters[0] + "," + parameters[1] + ")";
+            default:
+                return name;
+        }
+    }
+}
@@ -0,0 +1,40 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.simulator.worker.distribution;
+
+import java.util.Random;
+
+/**
+ * Selects the keys with the highest indexes most often, which are the most recently created keys of a test which fills its key
+ * array in insertion order.
+ *
+ * The popularity follows a zipfian distribution, which is mirrored at the end of the key range.
+ */
+final class LatestKeyDistribution implements KeyDistribution {
+
+    private final int maxIndex;
+    private final ZipfianKeyDistribution zipfian;
+
+    LatestKeyDistribution(int keyCount, double theta, Random random) {
+        this.maxIndex = keyCount - 1;
+        this.zipfian = new ZipfianKeyDistribution(keyCount, theta, random);
+    }
+
+    @Override
+    public int nextIndex() {
+        return maxIndex - zipfian.nextIndex();
+    }
+}
@@ -13,27 +13,25 @@
  * See the License for the specific language governing permissions and
  * limitations under the License.
  */
-package com.hazelcast.simulator.worker.loadsupport;
+package com.hazelcast.simulator.worker.distribution;
 
-import com.hazelcast.cache.ICache;
-import com.hazelcast.core.ICompletableFuture;
+import java.util.Random;
 
 /**
- * Asynchronous implementation of {@link Streamer} for {@link ICache}.
- *
- * @param <K> key type
- * @param <V> value type
+ * Selects all keys with the same probability.
  */
-final class AsyncCacheStreamer<K, V> extends AbstractAsyncStreamer<K, V> {
+final class UniformKeyDistribution implements KeyDistribution {
 
-    private final ICache<K, V> cache;
+    private final int keyCount;
+    private final Random random;
 
-    AsyncCacheStreamer(ICache<K, V> cache) {
-        this.cache = cache;
+    UniformKeyDistribution(int keyCount, Random random) {
+        this.keyCount = keyCount;
+        this.random = random;
     }
 
     @Override
-    ICompletableFuture storeAsync(K key, V value) {
-        return (ICompletableFuture) cache.putAsync(key, value);
+    public int nextIndex() {
+        return random.nextInt(keyCount);
     }
 }
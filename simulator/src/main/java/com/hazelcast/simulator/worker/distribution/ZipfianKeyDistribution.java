@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.simulator.worker.distribution;
+
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Selects keys according to a zipfian distribution, so the key with index <tt>0</tt> is the most popular one.
+ *
+ * Implements the algorithm from "Quickly Generating Billion-Record Synthetic Databases" by Gray et al., which is also used by
+ * YCSB. The zeta constant is expensive to compute for large key counts, so it's computed once per key count and theta and
+ * shared by all worker threads.
+ */
+final class ZipfianKeyDistribution implements KeyDistribution {
+
+    private static final ConcurrentMap<String, Double> ZETA_CACHE = new ConcurrentHashMap<String, Double>();
+
+    private final int keyCount;
+    private final Random random;
+
+    private final double zetaN;
+    private final double alpha;
+    private final double eta;
+    private final double secondItemThreshold;
+
+    ZipfianKeyDistribution(int keyCount, double theta, Random random) {
+        this.keyCount = keyCount;
+        this.random = random;
+
+        double zeta2Theta = zeta(2, theta);
+        this.zetaN = getZeta(keyCount, theta);
+        this.alpha = 1.0 / (1.0 - theta);
+        this.eta = (1 - Math.pow(2.0 / keyCount, 1 - theta)) / (1 - zeta2Theta / zetaN);
+        this.secondItemThreshold = 1 + 1 / Math.pow(2, theta);
+    }
+
+    @Override
+    public int nextIndex() {
+        double u = random.nextDouble();
+        double uz = u * zetaN;
+        if (uz < 1.0) {
+            return 0;
+        }
+        if (uz < secondItemThreshold) {
+            return 1;
+        }
+        int index = (int) (keyCount * Math.pow(eta * u - eta + 1, alpha));
+        return (index < keyCount) ? index : keyCount - 1;
+    }
+
+    private static double getZeta(int keyCount, double theta) {
+        String key = keyCount + ":" + theta;
+        Double zeta = ZETA_CACHE.get(key);
+        if (zeta == null) {
+            zeta = zeta(keyCount, theta);
+            ZETA_CACHE.putIfAbsent(key, zeta);
+        }
+        return zeta;
+    }
+
+    static double zeta(int keyCount, double theta) {
+        double sum = 0;
+        for (int i = 0; i < keyCount; i++) {
+            sum += 1 / Math.pow(i + 1, theta);
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,213 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.simulator.worker.loadsupport;
+
+import com.hazelcast.simulator.probes.Probe;
+import org.apache.log4j.Logger;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.hazelcast.simulator.utils.CommonUtils.rethrow;
+import static com.hazelcast.simulator.utils.CommonUtils.sleepMillis;
+import static com.hazelcast.simulator.utils.ExecutorFactory.createCachedThreadPool;
+import static java.lang.String.format;
+import static java.util.concurrent.TimeUnit.MINUTES;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+/**
+ * Collects the pushed entries into batches, which are stored with a single bulk operation each.
+ *
+ * The batches are sent by a thread pool. The number of in-flight batches is controlled by an {@link AdaptiveConcurrencyLimit},
+ * so the streamer backs off when the cluster gets slow or fails, and ramps up as long as it keeps up. A failed batch keeps its
+ * slot and is retried up to {@link #MAX_ATTEMPTS} times with an exponential backoff, since the bulk operations are idempotent.
+ * The thread pool is shut down by {@link #await()} and is created again when more entries are pushed.
+ *
+ * If a {@link Probe} is given, the amortized latency of each stored entry is recorded, so the load throughput is reported like
+ * any other probe of the test.
+ *
+ * @param <K> key type
+ * @param <V> value type
+ */
+abstract class AbstractBatchingStreamer<K, V> implements Streamer<K, V> {
+
+    static final int DEFAULT_BATCH_SIZE = 1000;
+    static final int INITIAL_CONCURRENCY = 4;
+    static final int MAX_CONCURRENCY = 32;
+    static final int MAX_ATTEMPTS = 3;
+    static final int RETRY_BACKOFF_MILLIS = 100;
+
+    private static final long TIMEOUT_NANOS = MINUTES.toNanos(2);
+
+    private static final Logger LOGGER = Logger.getLogger(AbstractBatchingStreamer.class);
+
+    private final AtomicLong storedEntries = new AtomicLong();
+
+    private final int batchSize;
+    private final Probe probe;
+    private final AdaptiveConcurrencyLimit concurrencyLimit;
+
+    private ExecutorService executor;
+    private Map<K, V> batch;
+    private long startedNanos;
+
+    private volatile Throwable storedException;
+
+    AbstractBatchingStreamer(int batchSize, Probe probe) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("batchSize has to be positive, but was " + batchSize);
+        }
+        this.batchSize = batchSize;
+        this.probe = probe;
+        this.concurrencyLimit = new AdaptiveConcurrencyLimit(INITIAL_CONCURRENCY, MAX_CONCURRENCY);
+    }
+
+    abstract void storeBatch(Map<K, V> batch);
+
+    @Override
+    public synchronized void pushEntry(K key, V value) {
+        if (batch == null) {
+            if (startedNanos == 0) {
+                startedNanos = System.nanoTime();
+            }
+            batch = new HashMap<K, V>(batchSize * 2);
+        }
+        batch.put(key, value);
+        if (batch.size() >= batchSize) {
+            flush();
+        }
+    }
+
+    @Override
+    public void await() {
+        try {
+            synchronized (this) {
+                if (batch != null) {
+                    flush();
+                }
+            }
+            if (!concurrencyLimit.awaitIdle(TIMEOUT_NANOS)) {
+                throw new IllegalStateException("Timeout when waiting for in-flight batches!");
+            }
+            rethrowExceptionIfAny();
+            logThroughput();
+        } catch (InterruptedException e) {
+            throw rethrow(e);
+        } finally {
+            shutdownExecutor();
+        }
+    }
+
+    AdaptiveConcurrencyLimit getConcurrencyLimit() {
+        return concurrencyLimit;
+    }
+
+    private void flush() {
+        rethrowExceptionIfAny();
+        long ticket = acquireTicket();
+        if (executor == null) {
+            executor = createCachedThreadPool(getClass());
+        }
+        executor.execute(new BatchTask(batch, ticket));
+        batch = null;
+    }
+
+    private long acquireTicket() {
+        try {
+            long ticket = concurrencyLimit.acquire(TIMEOUT_NANOS);
+            if (ticket < 0) {
+                throw new IllegalStateException("Timeout when trying to send a batch!");
+            }
+            return ticket;
+        } catch (InterruptedException e) {
+            throw rethrow(e);
+        }
+    }
+
+    private synchronized void shutdownExecutor() {
+        if (executor != null) {
+            executor.shutdown();
+            executor = null;
+        }
+    }
+
+    private void rethrowExceptionIfAny() {
+        if (storedException != null) {
+            throw rethrow(storedException);
+        }
+    }
+
+    private void logThroughput() {
+        long entries = storedEntries.getAndSet(0);
+        if (entries == 0) {
+            return;
+        }
+        long elapsedNanos = Math.max(1, System.nanoTime() - startedNanos);
+        startedNanos = 0;
+        LOGGER.info(format("Loaded %d entries in %d ms (%.0f entries/s, concurrency limit %d)", entries,
+                NANOSECONDS.toMillis(elapsedNanos), entries * (double) SECONDS.toNanos(1) / elapsedNanos,
+                concurrencyLimit.getLimit()));
+    }
+
+    private final class BatchTask implements Runnable {
+
+        private final Map<K, V> entries;
+        private final long ticket;
+
+        private BatchTask(Map<K, V> entries, long ticket) {
+            this.entries = entries;
+            this.ticket = ticket;
+        }
+
+        @Override
+        public void run() {
+            try {
+                storeWithRetries();
+            } finally {
+                concurrencyLimit.release();
+            }
+        }
+
+        private void storeWithRetries() {
+            for (int attempt = 1; ; attempt++) {
+                long started = System.nanoTime();
+                try {
+                    storeBatch(entries);
+                } catch (Throwable t) {
+                    concurrencyLimit.onFailure(ticket);
+                    if (attempt >= MAX_ATTEMPTS) {
+                        storedException = t;
+                        return;
+                    }
+                    LOGGER.warn(format("Failed to store batch of %d entries (attempt %d of %d): %s", entries.size(), attempt,
+                            MAX_ATTEMPTS, t));
+                    sleepMillis(RETRY_BACKOFF_MILLIS << (attempt - 1));
+                    continue;
+                }
+                long latencyNanos = System.nanoTime() - started;
+                concurrencyLimit.onSuccess(ticket, latencyNanos);
+                storedEntries.addAndGet(entries.size());
+                if (probe != null) {
+                    probe.recordValues(latencyNanos / entries.size(), entries.size());
+                }
+                return;
+            }
+        }
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.simulator.worker.loadsupport;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * Limits the number of in-flight batches of a {@link Streamer} and adapts the limit AIMD-style.
+ *
+ * The limit is increased additively by one per window of successful batches, as long as their latency stays within
+ * {@link #LATENCY_TOLERANCE} of the observed baseline latency. It is decreased multiplicatively when a batch fails or its
+ * latency exceeds the tolerance. Only the first congestion signal per window is applied, so a burst of slow batches which were
+ * all in flight at the same time is counted as a single signal.
+ *
+ * The baseline is the lowest observed latency. It slowly drifts towards higher latencies, so a permanently higher latency of
+ * the cluster (e.g. because of a growing data set) eventually becomes the new baseline, instead of decreasing the limit forever.
+ * Increasing slowly and decreasing fast lets the limit converge to the concurrency the cluster can sustain: the additive increase
+ * carefully probes for spare capacity, while the multiplicative decrease quickly relieves an overloaded cluster.
+ */
+final class AdaptiveConcurrencyLimit {
+
+    static final double LATENCY_TOLERANCE = 2.0;
+    static final double DECREASE_FACTOR = 0.5;
+    static final double BASELINE_DRIFT = 0.01;
+
+    private final int maxLimit;
+
+    private double limit;
+    private int inFlight;
+    private long nextTicket;
+    private long recoveryTicket;
+    private double baselineLatencyNanos = Double.NaN;
+
+    AdaptiveConcurrencyLimit(int initialLimit, int maxLimit) {
+        if (initialLimit < 1 || initialLimit > maxLimit) {
+            throw new IllegalArgumentException("initialLimit has to be between 1 and " + maxLimit + ", but was " + initialLimit);
+        }
+        this.limit = initialLimit;
+        this.maxLimit = maxLimit;
+    }
+
+    /**
+     * Waits until a batch may be sent.
+     *
+     * @param timeoutNanos the maximum time to wait in nanoseconds
+     * @return the ticket of the batch, which is passed to {@link #onSuccess(long, long)} and {@link #onFailure(long)} until the
+     * batch is completed with {@link #release()}; a negative value if the timeout elapsed
+     * @throws InterruptedException if the thread was interrupted while waiting
+     */
+    synchronized long acquire(long timeoutNanos) throws InterruptedException {
+        long deadline = System.nanoTime() + timeoutNanos;
+        while (inFlight >= getLimit()) {
+            long remainingNanos = deadline - System.nanoTime();
+            if (remainingNanos <= 0) {
+                return -1;
+            }
+            NANOSECONDS.timedWait(this, remainingNanos);
+        }
+        inFlight++;
+        return nextTicket++;
+    }
+
+    synchronized void onSuccess(long ticket, long latencyNanos) {
+        if (Double.isNaN(baselineLatencyNanos) || latencyNanos < baselineLatencyNanos) {
+            baselineLatencyNanos = latencyNanos;
+        } else {
+            baselineLatencyNanos += (latencyNanos - baselineLatencyNanos) * BASELINE_DRIFT;
+        }
+        if (latencyNanos > baselineLatencyNanos * LATENCY_TOLERANCE) {
+            decrease(ticket);
+        } else {
+            limit = Math.min(maxLimit, limit + 1 / limit);
+        }
+    }
+
+    synchronized void onFailure(long ticket) {
+        decrease(ticket);
+    }
+
+    synchronized void release() {
+        inFlight--;
+        notifyAll();
+    }
+
+    /**
+     * Waits until all in-flight batches have been completed.
+     *
+     * @param timeoutNanos the maximum time to wait in nanoseconds
+     * @return <tt>true</tt> if there are no in-flight batches, <tt>false</tt> if the timeout elapsed
+     * @throws InterruptedException if the thread was interrupted while waiting
+     */
+    synchronized boolean awaitIdle(long timeoutNanos) throws InterruptedException {
+        long deadline = System.nanoTime() + timeoutNanos;
+        while (inFlight > 0) {
+            long remainingNanos = deadline - System.nanoTime();
+            if (remainingNanos <= 0) {
+                return false;
+            }
+            NANOSECONDS.timedWait(this, remainingNanos);
+        }
+        return true;
+    }
+
+    synchronized int getLimit() {
+        return (int) limit;
+    }
+
+    synchronized int getInFlight() {
+        return inFlight;
+    }
+
+    private void decrease(long ticket) {
+        // batches which were sent before the last decrease don't reflect the decreased limit yet
+        if (ticket < recoveryTicket) {
+            return;
+        }
+        limit = Math.max(1, limit * DECREASE_FACTOR);
+        recoveryTicket = nextTicket;
+    }
+}
@@ -15,28 +15,30 @@
  */
 package com.hazelcast.simulator.worker.loadsupport;
 
+import com.hazelcast.simulator.probes.Probe;
+
 import javax.cache.Cache;
+import java.util.Map;
 
 /**
- * Synchronous implementation of {@link Streamer} for {@link Cache}.
+ * Batching implementation of {@link Streamer} for {@link Cache}.
+ *
+ * Each batch is stored with {@link Cache#putAll(Map)}, which groups the entries by partition owner.
  *
  * @param <K> key type
  * @param <V> value type
  */
-public class SyncCacheStreamer<K, V> implements Streamer<K, V> {
+final class BatchingCacheStreamer<K, V> extends AbstractBatchingStreamer<K, V> {
 
     private final Cache<K, V> cache;
 
-    SyncCacheStreamer(Cache<K, V> cache) {
+    BatchingCacheStreamer(Cache<K, V> cache, int batchSize, Probe probe) {
+        super(batchSize, probe);
         this.cache = cache;
     }
 
     @Override
-    public void pushEntry(K key, V value) {
-        cache.put(key, value);
-    }
-
-    @Override
-    public void await() {
+    void storeBatch(Map<K, V> batch) {
+        cache.putAll(batch);
     }
 }
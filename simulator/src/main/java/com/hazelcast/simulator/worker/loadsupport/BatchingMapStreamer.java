@@ -16,27 +16,29 @@
 package com.hazelcast.simulator.worker.loadsupport;
 
 import com.hazelcast.core.IMap;
+import com.hazelcast.simulator.probes.Probe;
+
+import java.util.Map;
 
 /**
- * Synchronous implementation of {@link Streamer} for {@link IMap}.
+ * Batching implementation of {@link Streamer} for {@link IMap}.
+ *
+ * Each batch is stored with {@link IMap#putAll(Map)}, which groups the entries by partition owner.
  *
  * @param <K> key type
  * @param <V> value type
  */
-final class SyncMapStreamer<K, V> implements Streamer<K, V> {
+final class BatchingMapStreamer<K, V> extends AbstractBatchingStreamer<K, V> {
 
     private final IMap<K, V> map;
 
-    SyncMapStreamer(IMap<K, V> map) {
+    BatchingMapStreamer(IMap<K, V> map, int batchSize, Probe probe) {
+        super(batchSize, probe);
         this.map = map;
     }
 
     @Override
-    public void pushEntry(K key, V value) {
-        map.set(key, value);
-    }
-
-    @Override
-    public void await() {
+    void storeBatch(Map<K, V> batch) {
+        map.putAll(batch);
     }
 }
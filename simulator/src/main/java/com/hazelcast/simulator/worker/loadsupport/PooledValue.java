@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.simulator.worker.loadsupport;
+
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * A value of a {@link ValuePool}, which can be stored in Hazelcast data structures.
+ *
+ * The payload is serialized directly from the buffer of the pool. A deserialized value contains a heap copy of the payload.
+ * The {@link PooledValueFactory} has to be registered in the Hazelcast configuration of the members and clients.
+ *
+ * A value is never modified, so it can be shared by multiple threads.
+ */
+public final class PooledValue implements IdentifiedDataSerializable {
+
+    public static final int CLASS_ID = 1;
+    public static final int FACTORY_ID = PooledValueFactory.FACTORY_ID;
+
+    private static final ThreadLocal<byte[]> SCRATCH_BUFFER = new ThreadLocal<byte[]>();
+
+    private ByteBuffer buffer;
+
+    public PooledValue() {
+    }
+
+    PooledValue(ByteBuffer buffer) {
+        this.buffer = buffer;
+    }
+
+    /**
+     * Returns a read-only view of the payload.
+     *
+     * @return the payload
+     */
+    public ByteBuffer getBuffer() {
+        return buffer.asReadOnlyBuffer();
+    }
+
+    public int getSize() {
+        return buffer.remaining();
+    }
+
+    @Override
+    public int getFactoryId() {
+        return FACTORY_ID;
+    }
+
+    @Override
+    public int getId() {
+        return CLASS_ID;
+    }
+
+    @Override
+    public void writeData(ObjectDataOutput out) throws IOException {
+        int size = buffer.remaining();
+        out.writeInt(size);
+        if (buffer.hasArray()) {
+            out.write(buffer.array(), buffer.arrayOffset() + buffer.position(), size);
+            return;
+        }
+        // direct buffers have no accessible array, so we copy them via a reused buffer of the thread
+        byte[] scratchBuffer = SCRATCH_BUFFER.get();
+        if (scratchBuffer == null || scratchBuffer.length < size) {
+            scratchBuffer = new byte[size];
+            SCRATCH_BUFFER.set(scratchBuffer);
+        }
+        // the position of a shared buffer must not be moved, so we read from a view
+        buffer.duplicate().get(scratchBuffer, 0, size);
+        out.write(scratchBuffer, 0, size);
+    }
+
+    @Override
+    public void readData(ObjectDataInput in) throws IOException {
+        byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        buffer = ByteBuffer.wrap(bytes);
+    }
+}
@@ -0,0 +1,39 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.simulator.worker.loadsupport;
+
+import com.hazelcast.nio.serialization.DataSerializableFactory;
+import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
+
+/**
+ * Creates the {@link PooledValue} instances on deserialization.
+ *
+ * Has to be registered with {@link #FACTORY_ID} in the Hazelcast configuration of the members and clients.
+ */
+public class PooledValueFactory implements DataSerializableFactory {
+
+    public static final int FACTORY_ID = 5000;
+
+    @Override
+    public IdentifiedDataSerializable create(int typeId) {
+        switch (typeId) {
+            case PooledValue.CLASS_ID:
+                return new PooledValue();
+            default:
+                throw new IllegalArgumentException("Unknown type id " + typeId);
+        }
+    }
+}
@@ -15,59 +15,37 @@
  */
 package com.hazelcast.simulator.worker.loadsupport;
 
-import com.hazelcast.cache.ICache;
 import com.hazelcast.core.IMap;
-import com.hazelcast.instance.BuildInfo;
-import com.hazelcast.instance.BuildInfoProvider;
-import com.hazelcast.simulator.utils.EmptyStatement;
+import com.hazelcast.simulator.probes.Probe;
 
 import javax.cache.Cache;
-import java.util.concurrent.atomic.AtomicBoolean;
 
-import static com.hazelcast.simulator.utils.VersionUtils.isMinVersion;
+import static com.hazelcast.simulator.worker.loadsupport.AbstractBatchingStreamer.DEFAULT_BATCH_SIZE;
 
 /**
  * Creates {@link Streamer} instances for {@link IMap} and {@link Cache}.
  *
- * If possible an asynchronous variant is created, otherwise it will be synchronous.
+ * The entries are stored in batches with an adaptive number of in-flight batches. If a {@link Probe} is given, the load
+ * throughput is recorded into it.
  */
 public final class StreamerFactory {
 
-    private static final AtomicBoolean CREATE_ASYNC;
-
-    static {
-        boolean createAsync = false;
-        try {
-            BuildInfo buildInfo = BuildInfoProvider.getBuildInfo();
-            if (isMinVersion("3.5", buildInfo.getVersion())) {
-                createAsync = true;
-            }
-        } catch (NoClassDefFoundError e) {
-            // it's Hazelcast 3.2 or older -> we have to use sync API
-            EmptyStatement.ignore(e);
-        } finally {
-            CREATE_ASYNC = new AtomicBoolean(createAsync);
-        }
-    }
-
     private StreamerFactory() {
     }
 
     public static <K, V> Streamer<K, V> getInstance(IMap<K, V> map) {
-        if (CREATE_ASYNC.get()) {
-            return new AsyncMapStreamer<K, V>(map);
-        }
-        return new SyncMapStreamer<K, V>(map);
+        return getInstance(map, null);
+    }
+
+    public static <K, V> Streamer<K, V> getInstance(IMap<K, V> map, Probe loadProbe) {
+        return new BatchingMapStreamer<K, V>(map, DEFAULT_BATCH_SIZE, loadProbe);
     }
 
     public static <K, V> Streamer<K, V> getInstance(Cache<K, V> cache) {
-        if (CREATE_ASYNC.get() && cache instanceof ICache) {
-            return new AsyncCacheStreamer<K, V>((ICache<K, V>) cache);
-        }
-        return new SyncCacheStreamer<K, V>(cache);
+        return getInstance(cache, null);
     }
 
-    static void enforceAsync(boolean enforceAsync) {
-        CREATE_ASYNC.set(enforceAsync);
+    public static <K, V> Streamer<K, V> getInstance(Cache<K, V> cache, Probe loadProbe) {
+        return new BatchingCacheStreamer<K, V>(cache, DEFAULT_BATCH_SIZE, loadProbe);
     }
 }
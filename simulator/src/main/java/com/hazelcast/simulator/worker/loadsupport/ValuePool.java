@@ -0,0 +1,238 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.simulator.worker.loadsupport;
+
+import org.apache.log4j.Logger;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static com.hazelcast.simulator.utils.CommonUtils.closeQuietly;
+import static com.hazelcast.simulator.utils.FileUtils.deleteQuiet;
+import static com.hazelcast.simulator.utils.FormatUtils.humanReadableByteCount;
+import static java.lang.String.format;
+
+/**
+ * A pool of pre-generated values with random payloads for load generation.
+ *
+ * The payloads can be stored outside of the heap (see {@link ValuePoolStorage}), so even pools of many GB don't make the load
+ * generator GC-heavy. The values are handed out as views on the pool storage, so their payloads are never copied on the heap.
+ * The payloads are stored in segments of up to 1 GB, since a single buffer is limited to 2 GB.
+ * Just the offsets and sizes of the values are kept on the heap, which costs 12 bytes per value.
+ *
+ * This class is thread-safe after its construction, until it's closed.
+ */
+public final class ValuePool implements Closeable {
+
+    // the largest power of two which fits into a single buffer (1 GB)
+    static final int MAX_SEGMENT_SIZE = Integer.highestOneBit(Integer.MAX_VALUE);
+
+    private static final Logger LOGGER = Logger.getLogger(ValuePool.class);
+
+    private static final int SEGMENT_SHIFT = 32;
+    private static final long OFFSET_MASK = 0xFFFFFFFFL;
+
+    private final ByteBuffer[] segments;
+    // the segment index in the upper 32 bits and the offset within the segment in the lower 32 bits
+    private final long[] positions;
+    private final int[] sizes;
+    private final File file;
+    private final long totalSize;
+
+    /**
+     * Creates a pool and fills it with random payloads.
+     *
+     * @param valueCount       the number of values
+     * @param sizeDistribution the distribution of the value sizes
+     * @param storage          the storage of the payloads
+     * @param random           the random generator for the value sizes and payloads
+     */
+    public ValuePool(int valueCount, ValueSizeDistribution sizeDistribution, ValuePoolStorage storage, Random random) {
+        this(valueCount, sizeDistribution, storage, random, MAX_SEGMENT_SIZE);
+    }
+
+    ValuePool(int valueCount, ValueSizeDistribution sizeDistribution, ValuePoolStorage storage, Random random,
+              int maxSegmentSize) {
+        if (valueCount <= 0) {
+            throw new IllegalArgumentException("valueCount must be positive, but was " + valueCount);
+        }
+        if (sizeDistribution.getMaxSize() > maxSegmentSize) {
+            throw new IllegalArgumentException(format("Value sizes of %s exceed the maximum value size of %d bytes",
+                    sizeDistribution, maxSegmentSize));
+        }
+        this.positions = new long[valueCount];
+        this.sizes = new int[valueCount];
+
+        List<Integer> segmentSizes = layoutValues(sizeDistribution, random, maxSegmentSize);
+        this.file = (storage == ValuePoolStorage.MAPPED) ? createFile() : null;
+        this.segments = allocateSegments(storage, segmentSizes);
+        long size = 0;
+        for (ByteBuffer segment : segments) {
+            fillRandom(segment, random);
+            size += segment.capacity();
+        }
+        this.totalSize = size;
+
+        LOGGER.info(format("Created %s value pool with %d values (%s, %s)", storage, valueCount,
+                humanReadableByteCount(totalSize, true), sizeDistribution));
+    }
+
+    private List<Integer> layoutValues(ValueSizeDistribution sizeDistribution, Random random, int maxSegmentSize) {
+        List<Integer> segmentSizes = new ArrayList<Integer>();
+        int segmentSize = 0;
+        for (int i = 0; i < sizes.length; i++) {
+            int size = sizeDistribution.nextSize(random);
+            if (segmentSize > maxSegmentSize - size) {
+                segmentSizes.add(segmentSize);
+                segmentSize = 0;
+            }
+            sizes[i] = size;
+            positions[i] = ((long) segmentSizes.size() << SEGMENT_SHIFT) | segmentSize;
+            segmentSize += size;
+        }
+        segmentSizes.add(segmentSize);
+        return segmentSizes;
+    }
+
+    private ByteBuffer[] allocateSegments(ValuePoolStorage storage, List<Integer> segmentSizes) {
+        ByteBuffer[] buffers = new ByteBuffer[segmentSizes.size()];
+        RandomAccessFile randomAccessFile = null;
+        try {
+            if (file != null) {
+                randomAccessFile = new RandomAccessFile(file, "rw");
+            }
+            long fileOffset = 0;
+            for (int i = 0; i < buffers.length; i++) {
+                int segmentSize = segmentSizes.get(i);
+                if (storage == ValuePoolStorage.HEAP) {
+                    buffers[i] = ByteBuffer.allocate(segmentSize);
+                } else if (storage == ValuePoolStorage.DIRECT) {
+                    buffers[i] = ByteBuffer.allocateDirect(segmentSize);
+                } else {
+                    // the mapping stays valid after the channel is closed
+                    buffers[i] = randomAccessFile.getChannel().map(FileChannel.MapMode.READ_WRITE, fileOffset, segmentSize);
+                }
+                fileOffset += segmentSize;
+            }
+            return buffers;
+        } catch (IOException e) {
+            deleteQuiet(file);
+            throw new IllegalStateException("Could not map value pool to " + file, e);
+        } finally {
+            closeQuietly(randomAccessFile);
+        }
+    }
+
+    private static File createFile() {
+        try {
+            File file = File.createTempFile("simulator-value-pool", ".bin");
+            file.deleteOnExit();
+            return file;
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not create file for value pool", e);
+        }
+    }
+
+    private static void fillRandom(ByteBuffer segment, Random random) {
+        int limit = segment.capacity();
+        int index = 0;
+        for (; index <= limit - Long.SIZE / Byte.SIZE; index += Long.SIZE / Byte.SIZE) {
+            segment.putLong(index, random.nextLong());
+        }
+        for (; index < limit; index++) {
+            segment.put(index, (byte) random.nextInt());
+        }
+    }
+
+    /**
+     * Returns the number of values in this pool.
+     *
+     * @return the number of values
+     */
+    public int getValueCount() {
+        return sizes.length;
+    }
+
+    /**
+     * Returns the size of all payloads in this pool.
+     *
+     * @return the size of all payloads in bytes
+     */
+    public long getTotalSize() {
+        return totalSize;
+    }
+
+    /**
+     * Returns the size of a value.
+     *
+     * @param index the index of the value
+     * @return the size of the value in bytes
+     */
+    public int getSize(int index) {
+        return sizes[index];
+    }
+
+    /**
+     * Returns a read-only view on the payload of a value, the payload is not copied.
+     *
+     * @param index the index of the value
+     * @return the payload of the value
+     */
+    public ByteBuffer getBuffer(int index) {
+        return slice(index).asReadOnlyBuffer();
+    }
+
+    /**
+     * Returns a value which can be stored in Hazelcast data structures.
+     *
+     * The value is serialized directly from the storage of this pool, heap payloads straight from their backing array.
+     * A new value is created on each call, so callers on a hot path should keep the values they store repeatedly.
+     *
+     * @param index the index of the value
+     * @return the {@link PooledValue}
+     */
+    public PooledValue getValue(int index) {
+        // the writable slice keeps the backing array of a heap segment accessible, PooledValue never exposes it
+        return new PooledValue(slice(index));
+    }
+
+    private ByteBuffer slice(int index) {
+        long position = positions[index];
+        ByteBuffer buffer = segments[(int) (position >>> SEGMENT_SHIFT)].duplicate();
+        int offset = (int) (position & OFFSET_MASK);
+        buffer.limit(offset + sizes[index]).position(offset);
+        return buffer.slice();
+    }
+
+    /**
+     * Deletes the file of a memory-mapped pool.
+     *
+     * The memory of direct and memory-mapped buffers is released when the pool is garbage collected.
+     */
+    @Override
+    public void close() {
+        if (file != null) {
+            deleteQuiet(file);
+        }
+    }
+}
@@ -15,25 +15,23 @@
  */
 package com.hazelcast.simulator.worker.loadsupport;
 
-import com.hazelcast.core.ICompletableFuture;
-import com.hazelcast.core.IMap;
-
 /**
- * Asynchronous implementation of {@link Streamer} for {@link IMap}.
- *
- * @param <K> key type
- * @param <V> value type
+ * Defines where a {@link ValuePool} stores its payloads.
  */
-final class AsyncMapStreamer<K, V> extends AbstractAsyncStreamer<K, V> {
+public enum ValuePoolStorage {
 
-    private final IMap<K, V> map;
+    /**
+     * Stores the payloads in heap buffers, which is fine for small pools.
+     */
+    HEAP,
 
-    AsyncMapStreamer(IMap<K, V> map) {
-        this.map = map;
-    }
+    /**
+     * Stores the payloads in direct buffers, so large pools don't increase the GC pressure of the load generator.
+     */
+    DIRECT,
 
-    @Override
-    ICompletableFuture storeAsync(K key, V value) {
-        return (ICompletableFuture) map.putAsync(key, value);
-    }
+    /**
+     * Stores the payloads in memory-mapped temporary files, so pools can be larger than the available memory.
+     */
+    MAPPED
 }
@@ -0,0 +1,200 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.simulator.worker.loadsupport;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Random;
+
+import static java.lang.String.format;
+
+/**
+ * The distribution of the value sizes of a {@link ValuePool}.
+ *
+ * The distribution is defined by its name and parameters, with all sizes in bytes:
+ * <ul>
+ * <li>{@code fixed(size)} creates values of a single size</li>
+ * <li>{@code uniform(minSize,maxSize)} creates uniformly distributed sizes between minSize and maxSize (inclusive)</li>
+ * <li>{@code lognormal(median,sigma,maxSize)} creates log-normally distributed sizes, which is typical for payloads of real
+ * applications, the sizes are capped at maxSize</li>
+ * <li>{@code histogram(size:weight,...)} creates the listed sizes with a probability proportional to their weight, e.g. to
+ * reproduce a histogram of the payloads of a production system</li>
+ * </ul>
+ *
+ * This class is immutable and thread-safe.
+ */
+public final class ValueSizeDistribution {
+
+    private enum Type {
+        FIXED(1),
+        UNIFORM(2),
+        LOGNORMAL(3),
+        HISTOGRAM(-1);
+
+        private final int parameterCount;
+
+        Type(int parameterCount) {
+            this.parameterCount = parameterCount;
+        }
+    }
+
+    private final String spec;
+    private final Type type;
+    private final int[] sizes;
+    private final double[] parameters;
+
+    private ValueSizeDistribution(String spec, Type type, int[] sizes, double[] parameters) {
+        this.spec = spec;
+        this.type = type;
+        this.sizes = sizes;
+        this.parameters = parameters;
+    }
+
+    /**
+     * Creates a distribution of sizes which are uniformly distributed.
+     *
+     * @param minSize the minimum size (inclusive)
+     * @param maxSize the maximum size (inclusive)
+     * @return the {@link ValueSizeDistribution}
+     */
+    public static ValueSizeDistribution uniform(int minSize, int maxSize) {
+        return parse(format("uniform(%d,%d)", minSize, maxSize));
+    }
+
+    /**
+     * Parses a value size distribution.
+     *
+     * @param spec the definition, e.g. {@code lognormal(1000,0.5,100000)}
+     * @return the {@link ValueSizeDistribution}
+     * @throws IllegalArgumentException if the definition is invalid
+     */
+    public static ValueSizeDistribution parse(String spec) {
+        String trimmed = spec.trim();
+        int openIndex = trimmed.indexOf('(');
+        if (openIndex == -1 || !trimmed.endsWith(")")) {
+            throw new IllegalArgumentException(format("Invalid value size distribution '%s'", spec));
+        }
+        Type type;
+        try {
+            type = Type.valueOf(trimmed.substring(0, openIndex).trim().toUpperCase(Locale.ENGLISH));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(format("Unknown value size distribution '%s'", spec), e);
+        }
+
+        String[] values = trimmed.substring(openIndex + 1, trimmed.length() - 1).split(",");
+        if (type.parameterCount != -1 && values.length != type.parameterCount) {
+            throw new IllegalArgumentException(format("Value size distribution '%s' needs %d parameters", spec,
+                    type.parameterCount));
+        }
+        try {
+            return (type == Type.HISTOGRAM) ? parseHistogram(trimmed, values) : parseParameters(trimmed, type, values);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(format("Invalid parameter in value size distribution '%s'", spec), e);
+        }
+    }
+
+    private static ValueSizeDistribution parseParameters(String spec, Type type, String[] values) {
+        double[] parameters = new double[values.length];
+        for (int i = 0; i < values.length; i++) {
+            parameters[i] = Double.parseDouble(values[i].trim());
+            if (parameters[i] <= 0) {
+                throw new IllegalArgumentException(format("Invalid parameter '%s' in value size distribution '%s'", values[i],
+                        spec));
+            }
+        }
+        // the sizes contain the minimum and maximum size
+        int maxSize = (int) parameters[parameters.length - 1];
+        int minSize = (type == Type.UNIFORM) ? (int) parameters[0] : 1;
+        if (type == Type.FIXED) {
+            minSize = maxSize;
+        }
+        if (minSize > maxSize) {
+            throw new IllegalArgumentException(format("Minimum size is larger than maximum size in value size distribution '%s'",
+                    spec));
+        }
+        return new ValueSizeDistribution(spec, type, new int[]{minSize, maxSize}, parameters);
+    }
+
+    private static ValueSizeDistribution parseHistogram(String spec, String[] values) {
+        int[] sizes = new int[values.length];
+        double[] cumulativeWeights = new double[values.length];
+        double totalWeight = 0;
+        for (int i = 0; i < values.length; i++) {
+            String[] bucket = values[i].trim().split(":");
+            if (bucket.length != 2) {
+                throw new IllegalArgumentException(format("Invalid bucket '%s' in value size distribution '%s'", values[i],
+                        spec));
+            }
+            sizes[i] = Integer.parseInt(bucket[0].trim());
+            double weight = Double.parseDouble(bucket[1].trim());
+            if (sizes[i] <= 0 || weight <= 0) {
+                throw new IllegalArgumentException(format("Invalid bucket '%s' in value size distribution '%s'", values[i],
+                        spec));
+            }
+            totalWeight += weight;
+            cumulativeWeights[i] = totalWeight;
+        }
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            cumulativeWeights[i] /= totalWeight;
+        }
+        // prevents rounding errors, so every random value in [0, 1) is within the last bucket
+        cumulativeWeights[cumulativeWeights.length - 1] = 1;
+        return new ValueSizeDistribution(spec, Type.HISTOGRAM, sizes, cumulativeWeights);
+    }
+
+    /**
+     * Returns the next value size.
+     *
+     * @param random the random generator to use
+     * @return the next value size in bytes
+     */
+    public int nextSize(Random random) {
+        switch (type) {
+            case FIXED:
+                return sizes[0];
+            case UNIFORM:
+                return sizes[0] + random.nextInt(sizes[1] - sizes[0] + 1);
+            case LOGNORMAL:
+                double size = parameters[0] * Math.exp(parameters[1] * random.nextGaussian());
+                return (int) Math.max(1, Math.min(sizes[1], Math.round(size)));
+            default:
+                int index = Arrays.binarySearch(parameters, random.nextDouble());
+                // a bucket is [previous cumulative weight, cumulative weight), so an exact match belongs to the next bucket
+                return sizes[(index >= 0) ? index + 1 : -index - 1];
+        }
+    }
+
+    /**
+     * Returns the maximum value size of this distribution.
+     *
+     * @return the maximum value size in bytes
+     */
+    public int getMaxSize() {
+        if (type == Type.HISTOGRAM) {
+            int maxSize = 0;
+            for (int size : sizes) {
+                maxSize = Math.max(maxSize, size);
+            }
+            return maxSize;
+        }
+        return sizes[1];
+    }
+
+    @Override
+    public String toString() {
+        return spec;
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.simulator.worker.metronome;
+
+import com.hazelcast.simulator.probes.Probe;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.apache.commons.lang3.RandomUtils.nextLong;
+
+/**
+ * Base class of the {@link Metronome} implementations, which schedule their intervals at a fixed rate.
+ *
+ * A delayed caller will not shift the schedule. After a stall the following {@link #waitForNext()} calls return immediately until
+ * the schedule has caught up. This prevents coordinated omission, since the returned intended start time of each call is
+ * independent of the duration of the previous operations. The wait interval on the first {@link #waitForNext()} call is
+ * randomized, so multiple instances are clocked interleaved.
+ *
+ * The {@link WaitStrategy} defines how the caller waits for the next interval. With {@link WaitStrategy#PARK} the wake-up error
+ * of {@link LockSupport#parkNanos(long)} is measured, so the thread is parked just long enough to yield and spin the remaining
+ * time. If a wake-up error {@link Probe} is set, the delay between the intended start time and the actual return of each
+ * waiting call is recorded.
+ *
+ * The instances are not thread-safe, so each worker thread needs its own instance.
+ */
+abstract class AbstractMetronome implements Metronome {
+
+    // the remaining time which is spent in a busy loop
+    static final long SPIN_NANOS = TimeUnit.MICROSECONDS.toNanos(10);
+    // the remaining time which is spent with Thread.yield() before the busy loop
+    static final long YIELD_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+
+    // weight of a new measurement in the moving average of the park error
+    private static final int PARK_ERROR_WEIGHT_SHIFT = 3;
+
+    private final WaitStrategy waitStrategy;
+    private final Probe wakeUpErrorProbe;
+
+    private long startNanos;
+    private long waitUntil;
+    private long intervalNanos;
+    private long missedSlotCount;
+    private long parkErrorNanos;
+
+    AbstractMetronome(WaitStrategy waitStrategy, Probe wakeUpErrorProbe) {
+        this.waitStrategy = waitStrategy;
+        this.wakeUpErrorProbe = wakeUpErrorProbe;
+    }
+
+    @Override
+    public final long waitForNext() {
+        long now = System.nanoTime();
+
+        // set random interval on the first run
+        if (waitUntil == 0) {
+            startNanos = now;
+            waitUntil = firstSlotNanos(now);
+        }
+
+        long intendedStart = waitUntil;
+        if (now < intendedStart) {
+            now = (waitStrategy == WaitStrategy.PARK) ? parkUntil(intendedStart, now) : spinUntil(intendedStart, now);
+            if (wakeUpErrorProbe != null) {
+                wakeUpErrorProbe.recordValue(now - intendedStart);
+            }
+        } else if (intervalNanos > 0 && now - intendedStart >= intervalNanos) {
+            missedSlotCount++;
+        }
+
+        // set regular interval for next call
+        intervalNanos = nextIntervalNanos(intendedStart);
+        waitUntil = intendedStart + intervalNanos;
+        return intendedStart;
+    }
+
+    @Override
+    public final long getMissedSlotCount() {
+        return missedSlotCount;
+    }
+
+    /**
+     * Returns the start time of the schedule, which is the time of the first {@link #waitForNext()} call.
+     *
+     * @return the start time in nanoseconds, based on {@link System#nanoTime()}
+     */
+    final long getStartNanos() {
+        return startNanos;
+    }
+
+    final long getParkErrorNanos() {
+        return parkErrorNanos;
+    }
+
+    /**
+     * Returns the randomized first slot, which is within the first interval after the start of the schedule.
+     *
+     * @param startNanos the start time of the schedule
+     * @return the intended start time of the first slot in nanoseconds
+     */
+    long firstSlotNanos(long startNanos) {
+        return startNanos + nextLong(0, Math.max(1, nextIntervalNanos(startNanos)));
+    }
+
+    /**
+     * Returns the interval to the slot after the given slot.
+     *
+     * @param slotNanos the intended start time of the current slot
+     * @return the interval to the next slot in nanoseconds
+     */
+    abstract long nextIntervalNanos(long slotNanos);
+
+    private static long spinUntil(long deadline, long now) {
+        while (now < deadline) {
+            now = System.nanoTime();
+        }
+        return now;
+    }
+
+    private long parkUntil(long deadline, long now) {
+        while (now < deadline) {
+            long parkNanos = deadline - now - parkErrorNanos - YIELD_NANOS;
+            if (parkNanos > 0) {
+                LockSupport.parkNanos(parkNanos);
+                long parkedNanos = System.nanoTime() - now;
+                // the moving average of the overshoot, so the next park is shortened by the typical wake-up error
+                long overshootNanos = Math.max(0, parkedNanos - parkNanos);
+                parkErrorNanos += (overshootNanos - parkErrorNanos) >> PARK_ERROR_WEIGHT_SHIFT;
+            } else if (deadline - now > SPIN_NANOS) {
+                Thread.yield();
+            }
+            now = System.nanoTime();
+        }
+        return now;
+    }
+}
@@ -22,6 +22,22 @@ public interface Metronome {
 
     /**
      * Waits for the defined interval.
+     *
+     * The returned value is the point in time the caller was supposed to start, which can be in the past if the caller has
+     * been delayed, e.g. by a stalled operation. It can be used to measure latencies corrected for coordinated omission.
+     *
+     * @return the intended start time in nanoseconds, based on {@link System#nanoTime()}
      */
-    void waitForNext();
+    long waitForNext();
+
+    /**
+     * Returns the number of schedule slots the caller has missed.
+     *
+     * A slot is missed if the caller arrives at least one interval after its intended start time, e.g. because it has been
+     * stalled by a slow operation. Missed slots are not skipped, they are executed back to back until the caller has caught up
+     * with the schedule. So this count shows how often the targeted rate could not be kept.
+     *
+     * @return the number of missed schedule slots
+     */
+    long getMissedSlotCount();
 }
@@ -0,0 +1,57 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.simulator.worker.metronome;
+
+import com.hazelcast.simulator.probes.Probe;
+
+import java.util.Random;
+
+/**
+ * Defines the distribution of the intervals of a {@link Metronome}.
+ */
+public enum MetronomeType {
+
+    /**
+     * Fixed intervals, see {@link SimpleMetronome}.
+     */
+    CONSTANT {
+        @Override
+        public Metronome newInstance(float frequency, WaitStrategy waitStrategy, Probe wakeUpErrorProbe, Random random) {
+            return SimpleMetronome.withFixedFrequency(frequency, waitStrategy, wakeUpErrorProbe);
+        }
+    },
+
+    /**
+     * Exponentially distributed intervals, so the calls are a Poisson process, see {@link PoissonMetronome}.
+     */
+    POISSON {
+        @Override
+        public Metronome newInstance(float frequency, WaitStrategy waitStrategy, Probe wakeUpErrorProbe, Random random) {
+            return PoissonMetronome.withMeanFrequency(frequency, waitStrategy, wakeUpErrorProbe, random);
+        }
+    };
+
+    /**
+     * Creates a new {@link Metronome} instance of this type.
+     *
+     * @param frequency        the (mean) frequency in Hz
+     * @param waitStrategy     the {@link WaitStrategy} to wait for the next interval
+     * @param wakeUpErrorProbe the {@link Probe} to record the wake-up error or {@code null}
+     * @param random           the random generator of the intervals, which must not be shared with other threads
+     * @return a {@link Metronome} instance
+     */
+    public abstract Metronome newInstance(float frequency, WaitStrategy waitStrategy, Probe wakeUpErrorProbe, Random random);
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.simulator.worker.metronome;
+
+import com.hazelcast.simulator.probes.Probe;
+import com.hazelcast.simulator.utils.SplitMixRandom;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static java.lang.Math.log;
+import static java.lang.Math.round;
+
+/**
+ * {@link Metronome} implementation with exponentially distributed intervals.
+ *
+ * The calls follow a Poisson process with the defined mean frequency. This models a fixed arrival rate of independent clients,
+ * including the natural bursts of real traffic, much better than the fixed interval of the {@link SimpleMetronome}.
+ *
+ * Like the {@link SimpleMetronome} the intervals are scheduled independently of the caller, so a delayed caller will not shift
+ * the schedule and the returned intended start times can be used to prevent coordinated omission.
+ *
+ * The intervals are drawn from the given random generator, so a seeded generator makes them reproducible.
+ *
+ * It is recommended to create a new instance for each worker thread, since the instances are not thread-safe.
+ */
+public final class PoissonMetronome extends AbstractMetronome {
+
+    private final double meanIntervalNanos;
+    private final Random random;
+
+    private PoissonMetronome(double meanIntervalNanos, WaitStrategy waitStrategy, Probe wakeUpErrorProbe, Random random) {
+        super(waitStrategy, wakeUpErrorProbe);
+        this.meanIntervalNanos = meanIntervalNanos;
+        this.random = random;
+    }
+
+    /**
+     * Creates a {@link Metronome} instance with a mean frequency in Hz.
+     *
+     * If the frequency is 0 Hz the method {@link #waitForNext()} will have no delay.
+     *
+     * @param frequency mean frequency
+     * @return a {@link Metronome} instance
+     */
+    public static Metronome withMeanFrequency(float frequency) {
+        return withMeanFrequency(frequency, WaitStrategy.BUSY_SPIN, null, new SplitMixRandom());
+    }
+
+    /**
+     * Creates a {@link Metronome} instance with a mean frequency in Hz.
+     *
+     * If the frequency is 0 Hz the method {@link #waitForNext()} will have no delay.
+     *
+     * @param frequency        mean frequency
+     * @param waitStrategy     the {@link WaitStrategy} to wait for the next interval
+     * @param wakeUpErrorProbe the {@link Probe} to record the wake-up error or {@code null}
+     * @param random           the random generator of the intervals, which must not be shared with other threads
+     * @return a {@link Metronome} instance
+     */
+    public static Metronome withMeanFrequency(float frequency, WaitStrategy waitStrategy, Probe wakeUpErrorProbe,
+                                              Random random) {
+        if (frequency == 0) {
+            return SimpleMetronome.withFixedFrequency(0);
+        }
+        return new PoissonMetronome((double) TimeUnit.SECONDS.toNanos(1) / frequency, waitStrategy, wakeUpErrorProbe, random);
+    }
+
+    @Override
+    long nextIntervalNanos(long slotNanos) {
+        // inverse transform sampling of the exponential distribution, 1 - nextDouble() is never zero
+        return round(-log(1 - random.nextDouble()) * meanIntervalNanos);
+    }
+}
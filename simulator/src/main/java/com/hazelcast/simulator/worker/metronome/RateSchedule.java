@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.simulator.worker.metronome;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import static java.lang.String.format;
+
+/**
+ * A step profile of rates, which defines the rate of a {@link RateScheduleMetronome} over time.
+ *
+ * The schedule is defined as comma separated list of steps with the offset in seconds and the rate in ops/s, e.g.
+ * {@code 0:1000,60:5000,120:0,180:1000}. Each rate is valid from its offset until the offset of the next step, the last rate is
+ * kept until the end of the test. A rate of 0 pauses the schedule until the next step.
+ */
+public final class RateSchedule {
+
+    private final long[] offsetNanos;
+    private final double[] rates;
+
+    private RateSchedule(long[] offsetNanos, double[] rates) {
+        this.offsetNanos = offsetNanos;
+        this.rates = rates;
+    }
+
+    /**
+     * Parses a rate schedule.
+     *
+     * @param schedule the schedule, e.g. {@code 0:1000,60:5000}
+     * @return the {@link RateSchedule}
+     * @throws IllegalArgumentException if the schedule is invalid
+     */
+    public static RateSchedule parse(String schedule) {
+        String[] steps = schedule.split(",");
+        long[] offsetNanos = new long[steps.length];
+        double[] rates = new double[steps.length];
+        for (int i = 0; i < steps.length; i++) {
+            String[] step = steps[i].trim().split(":");
+            if (step.length != 2) {
+                throw new IllegalArgumentException(format("Invalid step '%s' in rate schedule '%s'", steps[i], schedule));
+            }
+            try {
+                offsetNanos[i] = TimeUnit.SECONDS.toNanos(Long.parseLong(step[0].trim()));
+                rates[i] = Double.parseDouble(step[1].trim());
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException(format("Invalid step '%s' in rate schedule '%s'", steps[i], schedule), e);
+            }
+            if (rates[i] < 0 || (i > 0 && offsetNanos[i] <= offsetNanos[i - 1])) {
+                throw new IllegalArgumentException(format("Invalid step '%s' in rate schedule '%s'", steps[i], schedule));
+            }
+        }
+        if (offsetNanos[0] != 0 || rates[rates.length - 1] == 0) {
+            throw new IllegalArgumentException(format("Rate schedule '%s' has to start at 0 and end with a positive rate",
+                    schedule));
+        }
+        return new RateSchedule(offsetNanos, rates);
+    }
+
+    /**
+     * Creates a copy of this schedule with all rates multiplied by a factor, e.g. to split a cluster wide schedule across
+     * multiple worker threads.
+     *
+     * @param factor the factor for the rates
+     * @return the scaled {@link RateSchedule}
+     */
+    public RateSchedule scale(double factor) {
+        double[] scaledRates = new double[rates.length];
+        for (int i = 0; i < rates.length; i++) {
+            scaledRates[i] = rates[i] * factor;
+        }
+        return new RateSchedule(offsetNanos, scaledRates);
+    }
+
+    /**
+     * Returns the rate at the given offset.
+     *
+     * @param elapsedNanos the offset since the start of the schedule
+     * @return the rate in ops/s
+     */
+    public double getRate(long elapsedNanos) {
+        return rates[getStepIndex(elapsedNanos)];
+    }
+
+    /**
+     * Returns the offset of the step after the given offset.
+     *
+     * @param elapsedNanos the offset since the start of the schedule
+     * @return the offset of the next step in nanoseconds or {@code -1} if the last step is active
+     */
+    public long getNextStepOffsetNanos(long elapsedNanos) {
+        int nextIndex = getStepIndex(elapsedNanos) + 1;
+        return (nextIndex < offsetNanos.length) ? offsetNanos[nextIndex] : -1;
+    }
+
+    private int getStepIndex(long elapsedNanos) {
+        int index = Arrays.binarySearch(offsetNanos, elapsedNanos);
+        // a negative result is (-(insertion point) - 1), so the active step is the one before the insertion point
+        return (index >= 0) ? index : Math.max(0, -index - 2);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < offsetNanos.length; i++) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            sb.append(TimeUnit.NANOSECONDS.toSeconds(offsetNanos[i])).append(':').append(rates[i]);
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.simulator.worker.metronome;
+
+import com.hazelcast.simulator.probes.Probe;
+
+import java.util.concurrent.TimeUnit;
+
+import static java.lang.Math.min;
+import static java.lang.Math.round;
+import static org.apache.commons.lang3.RandomUtils.nextLong;
+
+/**
+ * {@link Metronome} implementation with a time-varying rate, which is defined by a {@link RateSchedule}.
+ *
+ * The intervals are fixed within each step of the schedule. The schedule starts with the first {@link #waitForNext()} call.
+ * No slot is scheduled within a paused step (a step with rate 0), the next slot is moved to the start of the next step.
+ *
+ * It is recommended to create a new instance for each worker thread, since the instances are not thread-safe.
+ */
+public final class RateScheduleMetronome extends AbstractMetronome {
+
+    private static final double ONE_SECOND_IN_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final RateSchedule rateSchedule;
+
+    /**
+     * Creates a {@link Metronome} instance with a rate schedule.
+     *
+     * @param rateSchedule     the {@link RateSchedule} with the rates for this instance
+     * @param waitStrategy     the {@link WaitStrategy} to wait for the next interval
+     * @param wakeUpErrorProbe the {@link Probe} to record the wake-up error or {@code null}
+     */
+    public RateScheduleMetronome(RateSchedule rateSchedule, WaitStrategy waitStrategy, Probe wakeUpErrorProbe) {
+        super(waitStrategy, wakeUpErrorProbe);
+        this.rateSchedule = rateSchedule;
+    }
+
+    @Override
+    long firstSlotNanos(long startNanos) {
+        long firstElapsedNanos = skipPausedSteps(0);
+        return startNanos + firstElapsedNanos + nextLong(0, Math.max(1, getIntervalInStepNanos(firstElapsedNanos)));
+    }
+
+    @Override
+    long nextIntervalNanos(long slotNanos) {
+        long elapsedNanos = slotNanos - getStartNanos();
+        return skipPausedSteps(elapsedNanos + getIntervalInStepNanos(elapsedNanos)) - elapsedNanos;
+    }
+
+    private long getIntervalInStepNanos(long elapsedNanos) {
+        double rate = rateSchedule.getRate(elapsedNanos);
+        long nextStepOffsetNanos = rateSchedule.getNextStepOffsetNanos(elapsedNanos);
+        if (nextStepOffsetNanos < 0) {
+            return round(ONE_SECOND_IN_NANOS / rate);
+        }
+        // a paused or slow step must not delay the first slot of the next step
+        long nextStepNanos = nextStepOffsetNanos - elapsedNanos;
+        return (rate == 0) ? nextStepNanos : min(round(ONE_SECOND_IN_NANOS / rate), nextStepNanos);
+    }
+
+    private long skipPausedSteps(long elapsedNanos) {
+        // the last step of a schedule has a positive rate, so this terminates
+        while (rateSchedule.getRate(elapsedNanos) == 0) {
+            elapsedNanos = rateSchedule.getNextStepOffsetNanos(elapsedNanos);
+        }
+        return elapsedNanos;
+    }
+}
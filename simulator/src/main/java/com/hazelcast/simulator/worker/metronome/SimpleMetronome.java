@@ -15,27 +15,28 @@
  */
 package com.hazelcast.simulator.worker.metronome;
 
+import com.hazelcast.simulator.probes.Probe;
+
 import java.util.concurrent.TimeUnit;
 
 import static java.lang.Math.round;
-import static org.apache.commons.lang3.RandomUtils.nextLong;
 
 /**
- * Simple {@link Metronome} implementation which busy loops on a fixed interval.
+ * Simple {@link Metronome} implementation with a fixed interval.
  *
- * The wait interval on the first {@link #waitForNext()} call is randomized.
+ * By default it busy loops on the interval, see {@link WaitStrategy}. The intervals are scheduled at a fixed rate, so a delayed
+ * caller will not shift the schedule, see {@link AbstractMetronome}.
  *
  * It is recommended to create a new instance for each worker thread, so they are clocked interleaved.
  */
-public final class SimpleMetronome implements Metronome {
+public final class SimpleMetronome extends AbstractMetronome {
 
     private static final Metronome EMPTY_METRONOME = new EmptyMetronome();
 
     private final long intervalNanos;
 
-    private long waitUntil;
-
-    private SimpleMetronome(long intervalNanos) {
+    private SimpleMetronome(long intervalNanos, WaitStrategy waitStrategy, Probe wakeUpErrorProbe) {
+        super(waitStrategy, wakeUpErrorProbe);
         this.intervalNanos = intervalNanos;
     }
 
@@ -49,7 +50,7 @@ public final class SimpleMetronome implements Metronome {
         if (intervalMs == 0) {
             return EMPTY_METRONOME;
         }
-        return new SimpleMetronome(TimeUnit.MILLISECONDS.toNanos(intervalMs));
+        return new SimpleMetronome(TimeUnit.MILLISECONDS.toNanos(intervalMs), WaitStrategy.BUSY_SPIN, null);
     }
 
     /**
@@ -61,35 +62,43 @@ public final class SimpleMetronome implements Metronome {
      * @return a {@link Metronome} instance
      */
     public static Metronome withFixedFrequency(float frequency) {
+        return withFixedFrequency(frequency, WaitStrategy.BUSY_SPIN, null);
+    }
+
+    /**
+     * Creates a {@link Metronome} instance with a fixed frequency in Hz.
+     *
+     * If the frequency is 0 Hz the method {@link #waitForNext()} will have no delay.
+     *
+     * @param frequency        frequency
+     * @param waitStrategy     the {@link WaitStrategy} to wait for the next interval
+     * @param wakeUpErrorProbe the {@link Probe} to record the wake-up error or {@code null}
+     * @return a {@link Metronome} instance
+     */
+    public static Metronome withFixedFrequency(float frequency, WaitStrategy waitStrategy, Probe wakeUpErrorProbe) {
         if (frequency == 0) {
             return EMPTY_METRONOME;
         }
 
         long intervalNanos = round((double) TimeUnit.SECONDS.toNanos(1) / frequency);
-        return new SimpleMetronome(intervalNanos);
+        return new SimpleMetronome(intervalNanos, waitStrategy, wakeUpErrorProbe);
     }
 
     @Override
-    public void waitForNext() {
-        // set random interval on the first run
-        if (waitUntil == 0) {
-            waitUntil = System.nanoTime() + nextLong(0, intervalNanos);
-        }
-
-        // busy loop
-        long now;
-        do {
-            now = System.nanoTime();
-        } while (now < waitUntil);
-
-        // set regular interval for next call
-        waitUntil = now + intervalNanos;
+    long nextIntervalNanos(long slotNanos) {
+        return intervalNanos;
     }
 
     private static class EmptyMetronome implements Metronome {
 
         @Override
-        public void waitForNext() {
+        public long waitForNext() {
+            return System.nanoTime();
+        }
+
+        @Override
+        public long getMissedSlotCount() {
+            return 0;
         }
     }
 }
@@ -0,0 +1,35 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.simulator.worker.metronome;
+
+/**
+ * Defines how a {@link Metronome} waits for the next interval.
+ */
+public enum WaitStrategy {
+
+    /**
+     * Busy loops on {@link System#nanoTime()}, which has the best accuracy, but burns a full core per waiting thread.
+     */
+    BUSY_SPIN,
+
+    /**
+     * Parks the thread for most of the interval, then yields and finally spins for the last microseconds.
+     *
+     * The wake-up error of the parking is measured, so the thread wakes up in time to spin. This keeps the accuracy close to
+     * {@link #BUSY_SPIN} for intervals above the typical park latency, but frees the CPU for other threads.
+     */
+    PARK
+}
@@ -0,0 +1,204 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.simulator.worker.performance;
+
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.instance.Node;
+import com.hazelcast.spi.OperationService;
+import com.hazelcast.spi.impl.operationexecutor.classic.ScheduleQueue;
+import com.hazelcast.spi.impl.operationservice.impl.OperationServiceImpl;
+import org.apache.log4j.Logger;
+
+import java.lang.reflect.Field;
+
+import static com.hazelcast.simulator.utils.HazelcastUtils.getNode;
+import static com.hazelcast.simulator.utils.HazelcastUtils.getOperationService;
+import static com.hazelcast.simulator.utils.ReflectionUtils.getField;
+import static com.hazelcast.simulator.utils.ReflectionUtils.getFieldValue;
+import static java.lang.String.format;
+
+/**
+ * Samples the internal metrics of a Hazelcast member, e.g. the queue depths of the operation threads, the pending invocations
+ * and the partition migrations.
+ *
+ * The metrics are read via the internal Hazelcast API, which is not stable between Hazelcast versions. A metric which cannot be
+ * read with the Hazelcast version of the Worker is reported as {@link #NOT_AVAILABLE} from then on.
+ *
+ * This class is not thread-safe, it is used by the {@link WorkerPerformanceMonitor} thread.
+ */
+final class HazelcastMetricsSampler {
+
+    static final long NOT_AVAILABLE = -1;
+
+    /**
+     * The sampled metrics, the ordinal is the index in the sampled values.
+     */
+    enum Metric {
+        OPERATION_QUEUE_SIZE("Op queue"),
+        PRIORITY_OPERATION_QUEUE_SIZE("Prio op queue"),
+        MAX_PARTITION_QUEUE_SIZE("Max part queue"),
+        RESPONSE_QUEUE_SIZE("Response queue"),
+        RUNNING_OPERATIONS("Running ops"),
+        PENDING_INVOCATIONS("Invocations"),
+        EXECUTED_OPERATIONS("Executed ops"),
+        MIGRATION_QUEUE_SIZE("Migr queue"),
+        ACTIVE_MIGRATIONS("Migrations"),
+        EVENT_QUEUE_SIZE("Event queue");
+
+        private final String label;
+
+        Metric(String label) {
+            this.label = label;
+        }
+
+        String getLabel() {
+            return label;
+        }
+    }
+
+    private static final Logger LOGGER = Logger.getLogger(HazelcastMetricsSampler.class);
+
+    private static final Metric[] METRICS = Metric.values();
+
+    private final boolean[] unavailableMetrics = new boolean[METRICS.length];
+
+    private final Node node;
+    private final OperationService operationService;
+
+    private Field scheduleQueueField;
+    private long lastExecutedOperationCount;
+
+    private HazelcastMetricsSampler(Node node, OperationService operationService) {
+        this.node = node;
+        this.operationService = operationService;
+        this.lastExecutedOperationCount = sampleMetric(Metric.EXECUTED_OPERATIONS);
+    }
+
+    /**
+     * Creates a {@link HazelcastMetricsSampler} for the given Hazelcast instance.
+     *
+     * @param hazelcastInstance the Hazelcast instance to sample
+     * @return the {@link HazelcastMetricsSampler} or {@code null} if the instance is not a member or its internals are not
+     * accessible
+     */
+    static HazelcastMetricsSampler createHazelcastMetricsSampler(HazelcastInstance hazelcastInstance) {
+        if (hazelcastInstance == null) {
+            return null;
+        }
+        try {
+            Node node = getNode(hazelcastInstance);
+            if (node == null) {
+                return null;
+            }
+            return new HazelcastMetricsSampler(node, getOperationService(hazelcastInstance));
+        } catch (LinkageError e) {
+            LOGGER.warn("Hazelcast metrics are not available: " + e);
+        } catch (RuntimeException e) {
+            LOGGER.warn("Hazelcast metrics are not available: " + e);
+        }
+        return null;
+    }
+
+    /**
+     * Takes a sample of the Hazelcast metrics.
+     *
+     * The executed operations are the delta since the previous sample, all other metrics are the current values.
+     *
+     * @return the sampled values, indexed by the ordinal of the {@link Metric}
+     */
+    long[] sample() {
+        long[] values = new long[METRICS.length];
+        for (Metric metric : METRICS) {
+            values[metric.ordinal()] = sampleMetric(metric);
+        }
+
+        int executedIndex = Metric.EXECUTED_OPERATIONS.ordinal();
+        long executedOperationCount = values[executedIndex];
+        if (executedOperationCount != NOT_AVAILABLE) {
+            values[executedIndex] = executedOperationCount - lastExecutedOperationCount;
+            lastExecutedOperationCount = executedOperationCount;
+        }
+        return values;
+    }
+
+    private long sampleMetric(Metric metric) {
+        if (unavailableMetrics[metric.ordinal()]) {
+            return NOT_AVAILABLE;
+        }
+        try {
+            return readMetric(metric);
+        } catch (LinkageError e) {
+            disableMetric(metric, e);
+        } catch (RuntimeException e) {
+            disableMetric(metric, e);
+        }
+        return NOT_AVAILABLE;
+    }
+
+    private long readMetric(Metric metric) {
+        switch (metric) {
+            case OPERATION_QUEUE_SIZE:
+                return operationService.getOperationExecutorQueueSize();
+            case PRIORITY_OPERATION_QUEUE_SIZE:
+                return operationService.getPriorityOperationExecutorQueueSize();
+            case MAX_PARTITION_QUEUE_SIZE:
+                return getMaxPartitionQueueSize();
+            case RESPONSE_QUEUE_SIZE:
+                return operationService.getResponseQueueSize();
+            case RUNNING_OPERATIONS:
+                return operationService.getRunningOperationsCount();
+            case PENDING_INVOCATIONS:
+                return ((OperationServiceImpl) operationService).getInvocationsRegistry().size();
+            case EXECUTED_OPERATIONS:
+                return operationService.getExecutedOperationCount();
+            default:
+                return readNodeMetric(metric);
+        }
+    }
+
+    private long readNodeMetric(Metric metric) {
+        switch (metric) {
+            case MIGRATION_QUEUE_SIZE:
+                return node.getPartitionService().getMigrationQueueSize();
+            case ACTIVE_MIGRATIONS:
+                return node.getPartitionService().getActiveMigrations().size();
+            case EVENT_QUEUE_SIZE:
+                return node.getNodeEngine().getEventService().getEventQueueSize();
+            default:
+                throw new IllegalArgumentException("Unknown metric: " + metric);
+        }
+    }
+
+    private long getMaxPartitionQueueSize() {
+        // a single saturated partition thread is hidden in the summed up queue size of the operation executor
+        Object operationExecutor = ((OperationServiceImpl) operationService).getOperationExecutor();
+        Object[] partitionThreads = getFieldValue(operationExecutor, "partitionOperationThreads");
+        long maxQueueSize = 0;
+        for (Object partitionThread : partitionThreads) {
+            if (scheduleQueueField == null) {
+                scheduleQueueField = getField(partitionThread.getClass(), "scheduleQueue", ScheduleQueue.class);
+            }
+            ScheduleQueue scheduleQueue = getFieldValue(partitionThread, scheduleQueueField);
+            maxQueueSize = Math.max(maxQueueSize, scheduleQueue.size());
+        }
+        return maxQueueSize;
+    }
+
+    private void disableMetric(Metric metric, Throwable cause) {
+        unavailableMetrics[metric.ordinal()] = true;
+        LOGGER.warn(format("Hazelcast metric %s is not available: %s", metric.getLabel(), cause));
+    }
+}
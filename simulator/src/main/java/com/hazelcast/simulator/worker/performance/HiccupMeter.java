@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.simulator.worker.performance;
+
+import com.hazelcast.simulator.probes.Probe;
+import com.hazelcast.simulator.probes.impl.ProbeImpl;
+import org.apache.log4j.Logger;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static com.hazelcast.simulator.utils.CommonUtils.joinThread;
+import static java.lang.String.format;
+
+/**
+ * Measures the hiccups of the Worker JVM, which are caused by the platform, e.g. by GC pauses, the OS or the hypervisor.
+ *
+ * The thread repeatedly sleeps for a fixed resolution and records the excess delay of each sleep. The shortest observed
+ * sleep is used as baseline, so the timer resolution of the OS is not reported as hiccup. A long hiccup is back-filled with
+ * the values the sleeps in between would have seen, so the hiccup histogram is not skewed by coordinated omission.
+ *
+ * The hiccups are recorded into a {@value #PROBE_NAME} probe of each registered test, so they show up next to the test probes
+ * as noise floor of the JVM. The probe of a test has to be unregistered when the test is completed.
+ */
+public final class HiccupMeter extends Thread {
+
+    public static final String PROBE_NAME = "hiccup";
+
+    private static final Logger LOGGER = Logger.getLogger(HiccupMeter.class);
+
+    private final List<Probe> probes = new CopyOnWriteArrayList<Probe>();
+
+    private final long resolutionNanos;
+
+    private volatile boolean isRunning = true;
+
+    public HiccupMeter(long resolution, TimeUnit timeUnit) {
+        super("HiccupMeterThread");
+        setDaemon(true);
+
+        if (resolution < 1) {
+            throw new IllegalArgumentException("resolution has to be positive, but was " + resolution);
+        }
+        this.resolutionNanos = timeUnit.toNanos(resolution);
+    }
+
+    /**
+     * Adds a {@value #PROBE_NAME} probe to the probes of a test, unless the test already has a probe with that name.
+     *
+     * @param probeMap the probes of the test
+     */
+    public void registerProbe(Map<String, Probe> probeMap) {
+        if (probeMap.containsKey(PROBE_NAME)) {
+            LOGGER.warn(format("Test already has a probe named %s, the hiccups of the Worker are not recorded", PROBE_NAME));
+            return;
+        }
+        Probe probe = new ProbeImpl(false);
+        probeMap.put(PROBE_NAME, probe);
+        probes.add(probe);
+    }
+
+    /**
+     * Stops recording into the {@value #PROBE_NAME} probe of a test.
+     *
+     * @param probeMap the probes of the test
+     */
+    public void unregisterProbe(Map<String, Probe> probeMap) {
+        Probe probe = probeMap.get(PROBE_NAME);
+        if (probe != null) {
+            probes.remove(probe);
+        }
+    }
+
+    public void shutdown() {
+        isRunning = false;
+        interrupt();
+        joinThread(this);
+    }
+
+    @Override
+    public void run() {
+        long shortestSleepNanos = Long.MAX_VALUE;
+        while (isRunning) {
+            long started = System.nanoTime();
+            try {
+                TimeUnit.NANOSECONDS.sleep(resolutionNanos);
+            } catch (InterruptedException e) {
+                break;
+            }
+            long sleepNanos = System.nanoTime() - started;
+            if (sleepNanos < shortestSleepNanos) {
+                shortestSleepNanos = sleepNanos;
+            }
+            record(sleepNanos - shortestSleepNanos);
+        }
+    }
+
+    private void record(long hiccupNanos) {
+        for (Probe probe : probes) {
+            probe.recordValue(hiccupNanos);
+            for (long missedNanos = hiccupNanos - resolutionNanos; missedNanos > 0; missedNanos -= resolutionNanos) {
+                probe.recordValue(missedNanos);
+            }
+        }
+    }
+}
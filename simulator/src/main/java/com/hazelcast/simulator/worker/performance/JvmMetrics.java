@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.simulator.worker.performance;
+
+import static com.hazelcast.simulator.worker.performance.PerformanceUtils.ONE_SECOND_IN_MILLIS;
+
+/**
+ * Container to transfer a sample of the GC, safepoint and allocation metrics of a Simulator Worker JVM to the Coordinator.
+ *
+ * The counters are the deltas of the sample interval, which ends at the timestamp of the sample. Metrics which are not
+ * supported by the JVM are {@link #NOT_AVAILABLE}.
+ */
+public class JvmMetrics {
+
+    public static final long NOT_AVAILABLE = -1;
+
+    private long timestamp;
+    private long intervalMillis;
+
+    private long gcCount;
+    private long gcTimeMillis;
+    private long safepointCount;
+    private long safepointTimeMillis;
+
+    private long heapUsedAfterGcBytes;
+    private long allocatedBytes;
+
+    public JvmMetrics(long timestamp, long intervalMillis) {
+        this.timestamp = timestamp;
+        this.intervalMillis = intervalMillis;
+    }
+
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    public long getIntervalMillis() {
+        return intervalMillis;
+    }
+
+    public long getGcCount() {
+        return gcCount;
+    }
+
+    public long getGcTimeMillis() {
+        return gcTimeMillis;
+    }
+
+    public void setGc(long gcCount, long gcTimeMillis) {
+        this.gcCount = gcCount;
+        this.gcTimeMillis = gcTimeMillis;
+    }
+
+    public long getSafepointCount() {
+        return safepointCount;
+    }
+
+    public long getSafepointTimeMillis() {
+        return safepointTimeMillis;
+    }
+
+    public void setSafepoints(long safepointCount, long safepointTimeMillis) {
+        this.safepointCount = safepointCount;
+        this.safepointTimeMillis = safepointTimeMillis;
+    }
+
+    public long getHeapUsedAfterGcBytes() {
+        return heapUsedAfterGcBytes;
+    }
+
+    public void setHeapUsedAfterGcBytes(long heapUsedAfterGcBytes) {
+        this.heapUsedAfterGcBytes = heapUsedAfterGcBytes;
+    }
+
+    public long getAllocatedBytes() {
+        return allocatedBytes;
+    }
+
+    public void setAllocatedBytes(long allocatedBytes) {
+        this.allocatedBytes = allocatedBytes;
+    }
+
+    /**
+     * Returns the allocation rate of the sample interval.
+     *
+     * @return the allocation rate in bytes per second or {@link #NOT_AVAILABLE}
+     */
+    public double getAllocationRate() {
+        if (allocatedBytes == NOT_AVAILABLE) {
+            return NOT_AVAILABLE;
+        }
+        return allocatedBytes * (double) ONE_SECOND_IN_MILLIS / Math.max(1, intervalMillis);
+    }
+
+    /**
+     * Returns the time the JVM was paused in the sample interval.
+     *
+     * The safepoint time includes the GC pauses, but is not available on all JVMs. The GC time of concurrent collectors may
+     * include concurrent phases, so the larger value is an upper bound of the pause time.
+     *
+     * @return the pause time in milliseconds
+     */
+    public long getPauseTimeMillis() {
+        return Math.max(gcTimeMillis, safepointTimeMillis);
+    }
+}
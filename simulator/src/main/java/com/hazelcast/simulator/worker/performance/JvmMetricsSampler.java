@@ -0,0 +1,191 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.simulator.worker.performance;
+
+import com.hazelcast.simulator.utils.EmptyStatement;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.lang.management.ThreadMXBean;
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.hazelcast.simulator.worker.performance.JvmMetrics.NOT_AVAILABLE;
+
+/**
+ * Samples the GC, safepoint and allocation metrics of the local JVM.
+ *
+ * The GC metrics are taken from the {@link GarbageCollectorMXBean} and {@link MemoryPoolMXBean} instances, the allocated bytes
+ * from the {@link com.sun.management.ThreadMXBean} and the safepoint metrics from the internal HotSpot runtime MBean, if the
+ * JVM provides them. Each sample contains the deltas since the previous sample.
+ *
+ * This class is not thread-safe, it is used by the {@link WorkerPerformanceMonitor} thread.
+ */
+final class JvmMetricsSampler {
+
+    private final List<GarbageCollectorMXBean> gcBeans = ManagementFactory.getGarbageCollectorMXBeans();
+    private final List<MemoryPoolMXBean> memoryPoolBeans = ManagementFactory.getMemoryPoolMXBeans();
+    private final com.sun.management.ThreadMXBean threadBean = getAllocationThreadBean();
+    private final Object hotspotRuntimeBean = getHotspotRuntimeBean();
+    private final Method safepointCountMethod = getHotspotRuntimeMethod(hotspotRuntimeBean, "getSafepointCount");
+    private final Method safepointTimeMethod = getHotspotRuntimeMethod(hotspotRuntimeBean, "getTotalSafepointTime");
+
+    private Map<Long, Long> lastAllocatedBytes = new HashMap<Long, Long>();
+    private long lastTimestamp;
+    private long lastGcCount;
+    private long lastGcTimeMillis;
+    private long lastSafepointCount;
+    private long lastSafepointTimeMillis;
+
+    JvmMetricsSampler() {
+        sample(System.currentTimeMillis());
+    }
+
+    /**
+     * Takes a sample of the JVM metrics.
+     *
+     * @param timestamp the timestamp of the sample in milliseconds
+     * @return the {@link JvmMetrics} of the interval since the previous sample
+     */
+    JvmMetrics sample(long timestamp) {
+        JvmMetrics jvmMetrics = new JvmMetrics(timestamp, timestamp - lastTimestamp);
+        lastTimestamp = timestamp;
+
+        sampleGc(jvmMetrics);
+        sampleSafepoints(jvmMetrics);
+        jvmMetrics.setHeapUsedAfterGcBytes(getHeapUsedAfterGc());
+        jvmMetrics.setAllocatedBytes(getAllocatedBytes());
+        return jvmMetrics;
+    }
+
+    private void sampleGc(JvmMetrics jvmMetrics) {
+        long gcCount = 0;
+        long gcTimeMillis = 0;
+        for (GarbageCollectorMXBean gcBean : gcBeans) {
+            // the values are -1 if the collector doesn't support them
+            gcCount += Math.max(0, gcBean.getCollectionCount());
+            gcTimeMillis += Math.max(0, gcBean.getCollectionTime());
+        }
+        jvmMetrics.setGc(gcCount - lastGcCount, gcTimeMillis - lastGcTimeMillis);
+        lastGcCount = gcCount;
+        lastGcTimeMillis = gcTimeMillis;
+    }
+
+    private void sampleSafepoints(JvmMetrics jvmMetrics) {
+        long safepointCount = invokeLong(safepointCountMethod);
+        long safepointTimeMillis = invokeLong(safepointTimeMethod);
+        if (safepointCount == NOT_AVAILABLE || safepointTimeMillis == NOT_AVAILABLE) {
+            jvmMetrics.setSafepoints(NOT_AVAILABLE, NOT_AVAILABLE);
+            return;
+        }
+        jvmMetrics.setSafepoints(safepointCount - lastSafepointCount, safepointTimeMillis - lastSafepointTimeMillis);
+        lastSafepointCount = safepointCount;
+        lastSafepointTimeMillis = safepointTimeMillis;
+    }
+
+    private long getHeapUsedAfterGc() {
+        long usedBytes = 0;
+        for (MemoryPoolMXBean memoryPoolBean : memoryPoolBeans) {
+            if (memoryPoolBean.getType() != MemoryType.HEAP) {
+                continue;
+            }
+            MemoryUsage collectionUsage = memoryPoolBean.getCollectionUsage();
+            if (collectionUsage != null) {
+                usedBytes += collectionUsage.getUsed();
+            }
+        }
+        return usedBytes;
+    }
+
+    private long getAllocatedBytes() {
+        if (threadBean == null) {
+            return NOT_AVAILABLE;
+        }
+        // the deltas are calculated per thread, so threads which have been terminated don't falsify the result
+        long[] threadIds = threadBean.getAllThreadIds();
+        long[] allocatedBytes = threadBean.getThreadAllocatedBytes(threadIds);
+        Map<Long, Long> currentAllocatedBytes = new HashMap<Long, Long>(threadIds.length * 2);
+        long allocatedBytesDelta = 0;
+        for (int i = 0; i < threadIds.length; i++) {
+            if (allocatedBytes[i] < 0) {
+                continue;
+            }
+            Long lastBytes = lastAllocatedBytes.get(threadIds[i]);
+            allocatedBytesDelta += allocatedBytes[i] - (lastBytes == null ? 0 : lastBytes);
+            currentAllocatedBytes.put(threadIds[i], allocatedBytes[i]);
+        }
+        lastAllocatedBytes = currentAllocatedBytes;
+        return allocatedBytesDelta;
+    }
+
+    private static com.sun.management.ThreadMXBean getAllocationThreadBean() {
+        ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+        try {
+            if (threadBean instanceof com.sun.management.ThreadMXBean) {
+                com.sun.management.ThreadMXBean allocationThreadBean = (com.sun.management.ThreadMXBean) threadBean;
+                if (allocationThreadBean.isThreadAllocatedMemorySupported()
+                        && allocationThreadBean.isThreadAllocatedMemoryEnabled()) {
+                    return allocationThreadBean;
+                }
+            }
+        } catch (LinkageError e) {
+            // the JVM doesn't provide the HotSpot extension of the ThreadMXBean
+            EmptyStatement.ignore(e);
+        }
+        return null;
+    }
+
+    private static Object getHotspotRuntimeBean() {
+        try {
+            Class<?> helperClass = Class.forName("sun.management.ManagementFactoryHelper");
+            return helperClass.getMethod("getHotspotRuntimeMBean").invoke(null);
+        } catch (Throwable t) {
+            // the safepoint metrics are only available on HotSpot JVMs
+            EmptyStatement.ignore(t);
+            return null;
+        }
+    }
+
+    private static Method getHotspotRuntimeMethod(Object hotspotRuntimeBean, String methodName) {
+        if (hotspotRuntimeBean == null) {
+            return null;
+        }
+        try {
+            // the method is looked up via the public interface, since the implementation class is not accessible
+            return Class.forName("sun.management.HotspotRuntimeMBean").getMethod(methodName);
+        } catch (Throwable t) {
+            EmptyStatement.ignore(t);
+            return null;
+        }
+    }
+
+    private long invokeLong(Method method) {
+        if (method == null) {
+            return NOT_AVAILABLE;
+        }
+        try {
+            return (Long) method.invoke(hotspotRuntimeBean);
+        } catch (Throwable t) {
+            EmptyStatement.ignore(t);
+            return NOT_AVAILABLE;
+        }
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.simulator.worker.performance;
+
+import com.hazelcast.simulator.probes.Outlier;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static com.hazelcast.simulator.probes.Outlier.NO_PARTITION_ID;
+import static java.lang.String.format;
+
+/**
+ * Container to transfer the outlier counts of a test from a Simulator Worker to the Coordinator.
+ *
+ * The outliers are counted per partition, target member and operation, so the Coordinator can tell if the slow operations
+ * concentrate on a single partition or member. The number of distinct values per dimension is capped, further values are just
+ * counted in the total.
+ */
+public class OutlierSummary {
+
+    static final int MAX_CARDINALITY = 1000;
+
+    private static final double HUNDRED_PERCENT = 100;
+
+    private final Map<Integer, Long> partitionCounts = new HashMap<Integer, Long>();
+    private final Map<String, Long> targetCounts = new HashMap<String, Long>();
+    private final Map<String, Long> operationCounts = new HashMap<String, Long>();
+
+    private long count;
+    private long maxDurationNanos;
+
+    public void add(Outlier outlier) {
+        count++;
+        maxDurationNanos = Math.max(maxDurationNanos, outlier.getDurationNanos());
+        if (outlier.getPartitionId() != NO_PARTITION_ID) {
+            increment(partitionCounts, outlier.getPartitionId(), 1);
+        }
+        if (outlier.getTarget() != null) {
+            increment(targetCounts, outlier.getTarget(), 1);
+        }
+        increment(operationCounts, outlier.getOperation(), 1);
+    }
+
+    public void add(OutlierSummary other) {
+        count += other.count;
+        maxDurationNanos = Math.max(maxDurationNanos, other.maxDurationNanos);
+        addAll(partitionCounts, other.partitionCounts);
+        addAll(targetCounts, other.targetCounts);
+        addAll(operationCounts, other.operationCounts);
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public long getMaxDurationNanos() {
+        return maxDurationNanos;
+    }
+
+    /**
+     * Describes where the outliers concentrate, e.g. "80% on partition 137, 45% on member 10.0.0.3:5701, 100% in getProbe".
+     *
+     * @return the description of the most frequent partition, member and operation of the outliers
+     */
+    public String getHotspots() {
+        StringBuilder sb = new StringBuilder();
+        appendHotspot(sb, "on partition", partitionCounts);
+        appendHotspot(sb, "on member", targetCounts);
+        appendHotspot(sb, "in", operationCounts);
+        return sb.toString();
+    }
+
+    private <K> void appendHotspot(StringBuilder sb, String label, Map<K, Long> counts) {
+        Map.Entry<K, Long> maxEntry = null;
+        for (Map.Entry<K, Long> entry : counts.entrySet()) {
+            if (maxEntry == null || entry.getValue() > maxEntry.getValue()) {
+                maxEntry = entry;
+            }
+        }
+        if (maxEntry == null) {
+            return;
+        }
+        if (sb.length() > 0) {
+            sb.append(", ");
+        }
+        sb.append(format("%.0f%% %s %s", HUNDRED_PERCENT * maxEntry.getValue() / count, label, maxEntry.getKey()));
+    }
+
+    private static <K> void addAll(Map<K, Long> counts, Map<K, Long> otherCounts) {
+        for (Map.Entry<K, Long> entry : otherCounts.entrySet()) {
+            increment(counts, entry.getKey(), entry.getValue());
+        }
+    }
+
+    private static <K> void increment(Map<K, Long> counts, K key, long delta) {
+        Long value = counts.get(key);
+        if (value == null) {
+            if (counts.size() >= MAX_CARDINALITY) {
+                return;
+            }
+            value = 0L;
+        }
+        counts.put(key, value + delta);
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.simulator.worker.performance;
+
+import org.apache.log4j.Logger;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.hazelcast.simulator.utils.CommonUtils.joinThread;
+
+/**
+ * Writes the performance log files of the {@link WorkerPerformanceMonitor} in a dedicated thread, so a slow disk doesn't delay
+ * the sampling of the probes.
+ *
+ * The write tasks are buffered in a bounded queue. If the queue is full, the write task is dropped and counted.
+ */
+final class PerformanceLogWriter extends Thread {
+
+    private static final Logger LOGGER = Logger.getLogger(PerformanceLogWriter.class);
+
+    private static final Runnable POISON_PILL = new Runnable() {
+        @Override
+        public void run() {
+        }
+    };
+
+    private final AtomicLong droppedWriteCount = new AtomicLong();
+
+    private final BlockingQueue<Runnable> writeQueue;
+
+    PerformanceLogWriter(int queueCapacity) {
+        super("WorkerPerformanceLogWriterThread");
+        setDaemon(true);
+
+        this.writeQueue = new ArrayBlockingQueue<Runnable>(queueCapacity);
+    }
+
+    /**
+     * Queues a write task. Never blocks the caller.
+     *
+     * @param writeTask the task which writes to the log files
+     * @return {@code true} if the task was queued, {@code false} if the task was dropped
+     */
+    boolean write(Runnable writeTask) {
+        if (writeQueue.offer(writeTask)) {
+            return true;
+        }
+        if (droppedWriteCount.incrementAndGet() == 1) {
+            LOGGER.warn("Performance log writes are dropped, since the disk cannot keep up with the monitor interval");
+        }
+        return false;
+    }
+
+    long getDroppedWriteCount() {
+        return droppedWriteCount.get();
+    }
+
+    /**
+     * Executes all pending write tasks and stops the thread.
+     */
+    void shutdown() {
+        if (!isAlive()) {
+            return;
+        }
+        try {
+            writeQueue.put(POISON_PILL);
+        } catch (InterruptedException e) {
+            LOGGER.warn("Interrupted while shutting down PerformanceLogWriter", e);
+            Thread.currentThread().interrupt();
+            return;
+        }
+        joinThread(this);
+    }
+
+    @Override
+    public void run() {
+        while (true) {
+            Runnable writeTask;
+            try {
+                writeTask = writeQueue.take();
+            } catch (InterruptedException e) {
+                LOGGER.warn("PerformanceLogWriter was interrupted", e);
+                break;
+            }
+            if (writeTask == POISON_PILL) {
+                break;
+            }
+            try {
+                writeTask.run();
+            } catch (Exception e) {
+                LOGGER.error("Could not write performance log", e);
+            }
+        }
+    }
+}
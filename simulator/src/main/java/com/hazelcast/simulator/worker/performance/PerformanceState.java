@@ -15,6 +15,15 @@
  */
 package com.hazelcast.simulator.worker.performance;
 
+import org.HdrHistogram.Histogram;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import static com.hazelcast.simulator.worker.performance.PerformanceUtils.decodeHistogram;
+import static com.hazelcast.simulator.worker.performance.PerformanceUtils.encodeHistogram;
 import static java.lang.Math.max;
 
 /**
@@ -34,6 +43,14 @@ public class PerformanceState {
     private double intervalAvgLatency;
     private long intervalMaxLatency;
     private long intervalPercentileLatency;
+    // the latencies at the configured percentiles of the WorkerPerformanceMonitor
+    private long[] intervalPercentileLatencies;
+
+    // compressed and Base64 encoded, so the histogram is compact on the wire
+    private String intervalHistogram;
+
+    private Map<String, PerformanceState> operationStates;
+    private Map<String, PerformanceState> probeStates;
 
     public PerformanceState() {
         this.operationCount = EMPTY_OPERATION_COUNT;
@@ -51,6 +68,14 @@ public class PerformanceState {
         this.intervalMaxLatency = intervalMaxLatency;
     }
 
+    /**
+     * Adds the values of another {@link PerformanceState}.
+     *
+     * The interval histogram is not merged, since the intervals of different workers don't match. The Coordinator merges the
+     * interval histograms separately.
+     *
+     * @param other the {@link PerformanceState} to add
+     */
     public void add(PerformanceState other) {
         if (other.isEmpty()) {
             return;
@@ -73,6 +98,128 @@ public class PerformanceState {
             intervalPercentileLatency = max(intervalPercentileLatency, other.intervalPercentileLatency);
             intervalMaxLatency = max(intervalMaxLatency, other.intervalMaxLatency);
         }
+
+        intervalPercentileLatencies = maxOfPercentileLatencies(intervalPercentileLatencies, other.intervalPercentileLatencies);
+
+        for (Map.Entry<String, PerformanceState> entry : other.getOperationStates().entrySet()) {
+            addOperationState(entry.getKey(), entry.getValue());
+        }
+        for (Map.Entry<String, PerformanceState> entry : other.getProbeStates().entrySet()) {
+            addProbeState(entry.getKey(), entry.getValue());
+        }
+    }
+
+    private static long[] maxOfPercentileLatencies(long[] latencies, long[] otherLatencies) {
+        if (otherLatencies == null) {
+            return latencies;
+        }
+        if (latencies == null || latencies.length != otherLatencies.length) {
+            return Arrays.copyOf(otherLatencies, otherLatencies.length);
+        }
+        for (int i = 0; i < latencies.length; i++) {
+            latencies[i] = max(latencies[i], otherLatencies[i]);
+        }
+        return latencies;
+    }
+
+    /**
+     * Sets the interval latencies at the configured percentiles in microseconds.
+     *
+     * @param intervalPercentileLatencies the latencies in the order of the configured percentiles
+     */
+    public void setIntervalPercentileLatencies(long[] intervalPercentileLatencies) {
+        this.intervalPercentileLatencies = intervalPercentileLatencies;
+    }
+
+    /**
+     * Returns the interval latencies at the configured percentiles in microseconds.
+     *
+     * If states of multiple workers have been added, these are the max latencies of all workers.
+     *
+     * @return the latencies in the order of the configured percentiles or {@code null} if not set
+     */
+    public long[] getIntervalPercentileLatencies() {
+        return intervalPercentileLatencies;
+    }
+
+    /**
+     * Sets the interval latency histogram of the test, which has to be recorded in microseconds.
+     *
+     * @param intervalHistogram the interval latency histogram
+     */
+    public void setIntervalHistogram(Histogram intervalHistogram) {
+        this.intervalHistogram = encodeHistogram(intervalHistogram);
+    }
+
+    /**
+     * Returns the interval latency histogram of the test in microseconds.
+     *
+     * @return the interval latency histogram or {@code null} if the test has no throughput probe
+     */
+    public Histogram getIntervalHistogram() {
+        if (intervalHistogram == null) {
+            return null;
+        }
+        return decodeHistogram(intervalHistogram);
+    }
+
+    /**
+     * Adds the performance state of a single operation of the test.
+     *
+     * @param operation      name of the operation
+     * @param operationState the {@link PerformanceState} of the operation
+     */
+    public void addOperationState(String operation, PerformanceState operationState) {
+        if (operationStates == null) {
+            operationStates = new HashMap<String, PerformanceState>();
+        }
+        getOrCreateState(operationStates, operation).add(operationState);
+    }
+
+    /**
+     * Returns the performance states of the single operations of the test, keyed by operation name.
+     *
+     * @return map of operation performance states, empty if the test has no operation probes
+     */
+    public Map<String, PerformanceState> getOperationStates() {
+        if (operationStates == null) {
+            return Collections.emptyMap();
+        }
+        return operationStates;
+    }
+
+    /**
+     * Adds the performance state of a single probe of the test.
+     *
+     * @param probeName  name of the probe
+     * @param probeState the {@link PerformanceState} of the probe
+     */
+    public void addProbeState(String probeName, PerformanceState probeState) {
+        if (probeStates == null) {
+            probeStates = new HashMap<String, PerformanceState>();
+        }
+        getOrCreateState(probeStates, probeName).add(probeState);
+    }
+
+    /**
+     * Returns the performance states of the single probes of the test, keyed by probe name.
+     *
+     * @return map of probe performance states, empty if no probe states have been added
+     */
+    public Map<String, PerformanceState> getProbeStates() {
+        if (probeStates == null) {
+            return Collections.emptyMap();
+        }
+        return probeStates;
+    }
+
+    private static PerformanceState getOrCreateState(Map<String, PerformanceState> stateMap, String name) {
+        PerformanceState state = stateMap.get(name);
+        if (state == null) {
+            state = new PerformanceState();
+            stateMap.put(name, state);
+        }
+        return state;
     }
 
     public boolean isEmpty() {
@@ -112,6 +259,9 @@ public class PerformanceState {
                 + ", intervalAvgLatency=" + intervalAvgLatency
                 + ", intervalPercentileLatency=" + intervalPercentileLatency
                 + ", intervalMaxLatency=" + intervalMaxLatency
+                + ", intervalPercentileLatencies=" + Arrays.toString(intervalPercentileLatencies)
+                + ", operationStates=" + operationStates
+                + ", probeStates=" + probeStates
                 + '}';
     }
 }
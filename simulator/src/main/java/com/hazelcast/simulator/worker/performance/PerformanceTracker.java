@@ -15,36 +15,55 @@
  */
 package com.hazelcast.simulator.worker.performance;
 
+import com.hazelcast.simulator.probes.Probe;
 import com.hazelcast.simulator.test.TestException;
 import org.HdrHistogram.Histogram;
-import org.HdrHistogram.HistogramLogReader;
 import org.HdrHistogram.HistogramLogWriter;
 
-import javax.xml.bind.DatatypeConverter;
 import java.io.File;
-import java.io.IOException;
-import java.nio.ByteBuffer;
-import java.util.Arrays;
-import java.util.Collection;
+import java.io.FileNotFoundException;
+import java.io.PrintStream;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.zip.Deflater;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
-import static com.hazelcast.simulator.probes.impl.ProbeImpl.LATENCY_PRECISION;
-import static com.hazelcast.simulator.probes.impl.ProbeImpl.MAXIMUM_LATENCY;
+import static com.hazelcast.simulator.probes.impl.ProbeImpl.LATENCY_UNIT;
+import static com.hazelcast.simulator.utils.CommonUtils.closeQuietly;
+import static com.hazelcast.simulator.worker.performance.PerformanceState.INTERVAL_LATENCY_PERCENTILE;
 import static com.hazelcast.simulator.worker.performance.PerformanceUtils.ONE_SECOND_IN_MILLIS;
-import static com.hazelcast.simulator.worker.performance.PerformanceUtils.writeThroughputHeader;
-import static com.hazelcast.simulator.worker.performance.PerformanceUtils.writeThroughputStats;
+import static com.hazelcast.simulator.worker.performance.PerformanceUtils.encodeHistogram;
+import static com.hazelcast.simulator.worker.performance.PerformanceUtils.getPercentileLatencies;
+import static com.hazelcast.simulator.worker.performance.PerformanceUtils.toMicros;
+import static com.hazelcast.simulator.worker.performance.PerformanceUtils.writeTestThroughputHeader;
+import static com.hazelcast.simulator.worker.performance.PerformanceUtils.writeTestThroughputStats;
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
 
 final class PerformanceTracker {
 
+    private static final String OPERATION_PROBE_INFIX = "WorkerProbe[operation=";
+
     private final File throughputFile;
-    private final Map<String, HistogramLogWriter> histogramLogWriterMap = new HashMap<String, HistogramLogWriter>();
+    private final PerformanceLogWriter logWriter;
+    // written by the write tasks of the log writer thread, read by the monitor and the shutdown thread
+    private final Map<String, HistogramLogWriter> histogramLogWriterMap = new ConcurrentHashMap<String, HistogramLogWriter>();
+    // the HistogramLogWriter cannot be closed, so we keep the streams of the latency files to close them
+    private final Map<String, PrintStream> latencyFileStreamMap = new ConcurrentHashMap<String, PrintStream>();
+    private final Map<String, TimeUnit> latencyUnitMap = new ConcurrentHashMap<String, TimeUnit>();
+    private final Map<String, Histogram> cumulativeHistogramMap = new HashMap<String, Histogram>();
+    private final Map<String, Long> probeTotalCountMap = new HashMap<String, Long>();
+    private final Map<String, PerformanceState> probeStateMap = new HashMap<String, PerformanceState>();
+    private final double[] percentiles;
+    private final String operationProbePrefix;
+    private final String testId;
+    private final Map<String, Probe> probeMap;
     private final long testStartedTimestamp;
 
     private long lastTimestamp;
 
     private Map<String, Histogram> intervalHistogramMap;
+    private Histogram intervalLatencyHistogram;
+    private long[] intervalPercentileLatencies;
 
     private double intervalAvgLatency;
     private long intervalPercentileLatency;
@@ -58,12 +77,18 @@ final class PerformanceTracker {
 
     private boolean isUpdated;
 
-    PerformanceTracker(String testId, Collection<String> probeNames, long testStartedTimestamp) {
+    PerformanceTracker(String testId, Map<String, Probe> probeMap, long testStartedTimestamp, PerformanceLogWriter logWriter,
+                       double[] percentiles) {
         throughputFile = new File("throughput-" + testId + ".txt");
-        writeThroughputHeader(throughputFile, false);
-
-        for (String probeName : probeNames) {
-            histogramLogWriterMap.put(probeName, createHistogramLogWriter(testId, probeName, testStartedTimestamp));
+        writeTestThroughputHeader(throughputFile, percentiles);
+
+        this.logWriter = logWriter;
+        this.percentiles = percentiles;
+        this.testId = testId;
+        this.operationProbePrefix = testId + OPERATION_PROBE_INFIX;
+        this.probeMap = probeMap;
+        for (String probeName : probeMap.keySet()) {
+            getOrCreateHistogramLogWriter(probeName, testStartedTimestamp);
         }
 
         this.testStartedTimestamp = testStartedTimestamp;
@@ -92,9 +117,14 @@ final class PerformanceTracker {
         return oldIsUpdated;
     }
 
-    void update(Map<String, Histogram> intervalHistograms, long intervalPercentileLatency, double intervalAvgLatency,
-                long intervalMaxLatency, long intervalOperationCount, long currentTimestamp) {
+    synchronized void update(Map<String, Histogram> intervalHistograms, Histogram intervalLatencyHistogram,
+                             long intervalPercentileLatency, double intervalAvgLatency, long intervalMaxLatency,
+                             long intervalOperationCount, long currentTimestamp) {
         this.intervalHistogramMap = intervalHistograms;
+        this.intervalLatencyHistogram = intervalLatencyHistogram;
+        this.intervalPercentileLatencies = (intervalLatencyHistogram == null) ? new long[percentiles.length]
+                : getPercentileLatencies(intervalLatencyHistogram, percentiles, MICROSECONDS);
+        addToCumulativeHistograms(intervalHistograms);
 
         this.intervalPercentileLatency = intervalPercentileLatency;
         this.intervalAvgLatency = intervalAvgLatency;
@@ -109,80 +139,179 @@ final class PerformanceTracker {
         this.intervalThroughput = (intervalOperationCount * ONE_SECOND_IN_MILLIS) / (double) intervalTimeDelta;
         this.totalThroughput = (totalOperationCount * ONE_SECOND_IN_MILLIS / (double) totalTimeDelta);
 
+        updateProbeStates(intervalHistograms, intervalTimeDelta, totalTimeDelta);
+
         this.lastTimestamp = currentTimestamp;
         this.isUpdated = true;
     }
 
-    void writeStatsToFile(String timestamp) {
-        writeThroughputStats(throughputFile, timestamp, totalOperationCount, intervalOperationCount, intervalThroughput, 0, 0);
-
-        for (Map.Entry<String, Histogram> histogramEntry : intervalHistogramMap.entrySet()) {
+    private void addToCumulativeHistograms(Map<String, Histogram> intervalHistograms) {
+        for (Map.Entry<String, Histogram> histogramEntry : intervalHistograms.entrySet()) {
             String probeName = histogramEntry.getKey();
-            HistogramLogWriter histogramLogWriter = histogramLogWriterMap.get(probeName);
+            Histogram intervalHistogram = histogramEntry.getValue();
+
+            Histogram cumulativeHistogram = cumulativeHistogramMap.get(probeName);
+            if (cumulativeHistogram == null) {
+                // auto resizing, so the histogram just allocates the range of the recorded values
+                cumulativeHistogram = new Histogram(intervalHistogram.getNumberOfSignificantValueDigits());
+                cumulativeHistogramMap.put(probeName, cumulativeHistogram);
+            }
+            cumulativeHistogram.add(intervalHistogram);
+        }
+    }
 
+    private void updateProbeStates(Map<String, Histogram> intervalHistograms, long intervalTimeDelta, long totalTimeDelta) {
+        for (Map.Entry<String, Histogram> histogramEntry : intervalHistograms.entrySet()) {
+            String probeName = histogramEntry.getKey();
             Histogram intervalHistogram = histogramEntry.getValue();
-            histogramLogWriter.outputIntervalHistogram(intervalHistogram);
+
+            long intervalCount = intervalHistogram.getTotalCount();
+            Long previousTotalCount = probeTotalCountMap.get(probeName);
+            long totalCount = (previousTotalCount == null) ? intervalCount : previousTotalCount + intervalCount;
+            probeTotalCountMap.put(probeName, totalCount);
+
+            TimeUnit latencyUnit = getLatencyUnit(probeName);
+            PerformanceState probeState = new PerformanceState(totalCount,
+                    (intervalCount * ONE_SECOND_IN_MILLIS) / (double) intervalTimeDelta,
+                    (totalCount * ONE_SECOND_IN_MILLIS) / (double) totalTimeDelta,
+                    toMicros(intervalHistogram.getMean(), latencyUnit),
+                    toMicros(intervalHistogram.getValueAtPercentile(INTERVAL_LATENCY_PERCENTILE), latencyUnit),
+                    toMicros(intervalHistogram.getMaxValue(), latencyUnit));
+            probeState.setIntervalPercentileLatencies(getPercentileLatencies(intervalHistogram, percentiles, latencyUnit));
+            probeStateMap.put(probeName, probeState);
         }
     }
 
+    void writeStatsToFile(final String timestamp) {
+        // the values are copied, since the tracker is updated again while the write task is pending
+        final long totalOperationCount = this.totalOperationCount;
+        final long intervalOperationCount = this.intervalOperationCount;
+        final double intervalThroughput = this.intervalThroughput;
+        final long[] intervalPercentileLatencies = this.intervalPercentileLatencies;
+        final long intervalMaxLatency = (intervalLatencyHistogram == null) ? 0 : intervalLatencyHistogram.getMaxValue();
+        final Map<String, Histogram> intervalHistograms = intervalHistogramMap;
+
+        logWriter.write(new Runnable() {
+            @Override
+            public void run() {
+                writeTestThroughputStats(throughputFile, timestamp, totalOperationCount, intervalOperationCount,
+                        intervalThroughput, intervalPercentileLatencies, intervalMaxLatency);
+
+                for (Map.Entry<String, Histogram> histogramEntry : intervalHistograms.entrySet()) {
+                    String probeName = histogramEntry.getKey();
+                    // probes of a tagged probe are created lazily, so they can show up after the tracker was created
+                    HistogramLogWriter histogramLogWriter = getOrCreateHistogramLogWriter(probeName, testStartedTimestamp);
+
+                    Histogram intervalHistogram = histogramEntry.getValue();
+                    histogramLogWriter.outputIntervalHistogram(intervalHistogram);
+                }
+            }
+        });
+    }
+
+    Map<String, TimeUnit> getLatencyUnits() {
+        return latencyUnitMap;
+    }
+
     PerformanceState createPerformanceState() {
-        return new PerformanceState(totalOperationCount, intervalThroughput, totalThroughput,
+        PerformanceState performanceState = new PerformanceState(totalOperationCount, intervalThroughput, totalThroughput,
                 intervalAvgLatency, intervalPercentileLatency, intervalMaxLatency);
+        performanceState.setIntervalPercentileLatencies(intervalPercentileLatencies);
+        if (intervalLatencyHistogram != null) {
+            performanceState.setIntervalHistogram(intervalLatencyHistogram);
+        }
+        for (Map.Entry<String, PerformanceState> entry : probeStateMap.entrySet()) {
+            String probeName = entry.getKey();
+            if (probeName.startsWith(operationProbePrefix)) {
+                String operation = probeName.substring(operationProbePrefix.length(), probeName.length() - 1);
+                performanceState.addOperationState(operation, entry.getValue());
+            } else {
+                performanceState.addProbeState(probeName, entry.getValue());
+            }
+        }
+        return performanceState;
     }
 
-    Map<String, String> aggregateIntervalHistograms(String testId) {
+    synchronized Map<String, String> aggregateIntervalHistograms(String testId) {
         Map<String, String> probeResults = new HashMap<String, String>();
 
-        HistogramLogWriter histogramLogWriter = createHistogramLogWriter(testId, "aggregated", 0);
-        for (Map.Entry<String, Histogram> histogramEntry : intervalHistogramMap.entrySet()) {
-            String probeName = histogramEntry.getKey();
-            HistogramLogReader histogramLogReader = createHistogramLogReader(testId, probeName);
-            Histogram combined = new Histogram(MAXIMUM_LATENCY, LATENCY_PRECISION);
+        // the interval histograms have been added up during the test, so the latency files are not read again
+        PrintStream aggregatedStream = openLatencyFile(testId, "aggregated");
+        try {
+            HistogramLogWriter histogramLogWriter = createHistogramLogWriter(aggregatedStream, testId, "aggregated", null, 0);
+            for (Map.Entry<String, Histogram> histogramEntry : cumulativeHistogramMap.entrySet()) {
+                String probeName = histogramEntry.getKey();
+                Histogram combined = histogramEntry.getValue();
+
+                histogramLogWriter.outputComment("probeName=" + probeName);
+                histogramLogWriter.outputComment("latencyUnit=" + getLatencyUnit(probeName));
+                histogramLogWriter.outputIntervalHistogram(combined);
 
-            Histogram histogram = (Histogram) histogramLogReader.nextIntervalHistogram();
-            while (histogram != null) {
-                combined.add(histogram);
-                histogram = (Histogram) histogramLogReader.nextIntervalHistogram();
+                String encodedHistogram = encodeHistogram(combined);
+                probeResults.put(probeName, encodedHistogram);
             }
+        } finally {
+            closeQuietly(aggregatedStream);
+        }
 
-            histogramLogWriter.outputComment("probeName=" + probeName);
-            histogramLogWriter.outputIntervalHistogram(combined);
+        return probeResults;
+    }
 
-            String encodedHistogram = getEncodedHistogram(combined);
-            probeResults.put(probeName, encodedHistogram);
+    /**
+     * Closes the latency files of the probes.
+     *
+     * Must be called after the last write task of this tracker has been executed.
+     */
+    synchronized void close() {
+        for (PrintStream latencyFileStream : latencyFileStreamMap.values()) {
+            closeQuietly(latencyFileStream);
         }
+        latencyFileStreamMap.clear();
+        histogramLogWriterMap.clear();
+    }
 
-        return probeResults;
+    private TimeUnit getLatencyUnit(String probeName) {
+        TimeUnit latencyUnit = latencyUnitMap.get(probeName);
+        if (latencyUnit == null) {
+            Probe probe = probeMap.get(probeName);
+            latencyUnit = (probe == null) ? LATENCY_UNIT : probe.getLatencyUnit();
+            latencyUnitMap.put(probeName, latencyUnit);
+        }
+        return latencyUnit;
     }
 
-    private static HistogramLogWriter createHistogramLogWriter(String testId, String probeName, long baseTime) {
-        try {
-            File latencyFile = getLatencyFile(testId, probeName);
-            HistogramLogWriter histogramLogWriter = new HistogramLogWriter(latencyFile);
-            histogramLogWriter.setBaseTime(baseTime);
-            histogramLogWriter.outputComment("[Latency histograms for " + testId + '.' + probeName + ']');
-            histogramLogWriter.outputLogFormatVersion();
-            histogramLogWriter.outputLegend();
-            return histogramLogWriter;
-        } catch (IOException e) {
-            throw new TestException("Could not initialize HistogramLogWriter for test " + testId, e);
+    private synchronized HistogramLogWriter getOrCreateHistogramLogWriter(String probeName, long baseTime) {
+        // synchronized, so a latency file is not created twice by the log writer and the shutdown thread
+        HistogramLogWriter histogramLogWriter = histogramLogWriterMap.get(probeName);
+        if (histogramLogWriter == null) {
+            PrintStream latencyFileStream = openLatencyFile(testId, probeName);
+            latencyFileStreamMap.put(probeName, latencyFileStream);
+            histogramLogWriter = createHistogramLogWriter(latencyFileStream, testId, probeName, getLatencyUnit(probeName),
+                    baseTime);
+            histogramLogWriterMap.put(probeName, histogramLogWriter);
         }
+        return histogramLogWriter;
     }
 
-    private static HistogramLogReader createHistogramLogReader(String testName, String probeName) {
+    private static PrintStream openLatencyFile(String testId, String probeName) {
         try {
-            File latencyFile = getLatencyFile(testName, probeName);
-            return new HistogramLogReader(latencyFile);
-        } catch (IOException e) {
-            throw new TestException("Could not initialize HistogramLogReader for test " + testName, e);
+            return new PrintStream(getLatencyFile(testId, probeName));
+        } catch (FileNotFoundException e) {
+            throw new TestException("Could not initialize HistogramLogWriter for test " + testId, e);
         }
     }
 
-    private static String getEncodedHistogram(Histogram combined) {
-        ByteBuffer targetBuffer = ByteBuffer.allocate(combined.getNeededByteBufferCapacity());
-        int compressedLength = combined.encodeIntoCompressedByteBuffer(targetBuffer, Deflater.BEST_COMPRESSION);
-        byte[] compressedArray = Arrays.copyOf(targetBuffer.array(), compressedLength);
-        return DatatypeConverter.printBase64Binary(compressedArray);
+    private static HistogramLogWriter createHistogramLogWriter(PrintStream latencyFileStream, String testId, String probeName,
+                                                               TimeUnit latencyUnit, long baseTime) {
+        HistogramLogWriter histogramLogWriter = new HistogramLogWriter(latencyFileStream);
+        histogramLogWriter.setBaseTime(baseTime);
+        histogramLogWriter.outputComment("[Latency histograms for " + testId + '.' + probeName + ']');
+        if (latencyUnit != null) {
+            histogramLogWriter.outputComment("[Latency unit: " + latencyUnit + ']');
+        }
+        histogramLogWriter.outputLogFormatVersion();
+        histogramLogWriter.outputLegend();
+        return histogramLogWriter;
     }
 
     private static File getLatencyFile(String testId, String probeName) {
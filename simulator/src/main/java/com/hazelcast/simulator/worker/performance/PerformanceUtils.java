@@ -15,20 +15,52 @@
  */
 package com.hazelcast.simulator.worker.performance;
 
+import com.hazelcast.simulator.probes.Outlier;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramIterationValue;
+
+import javax.xml.bind.DatatypeConverter;
 import java.io.File;
+import java.nio.ByteBuffer;
+import java.text.SimpleDateFormat;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
 
 import static com.hazelcast.simulator.utils.FileUtils.appendText;
 import static com.hazelcast.simulator.utils.FormatUtils.fillString;
 import static com.hazelcast.simulator.utils.FormatUtils.formatDouble;
 import static com.hazelcast.simulator.utils.FormatUtils.formatLong;
+import static com.hazelcast.simulator.utils.FormatUtils.padLeft;
+import static com.hazelcast.simulator.utils.FormatUtils.padRight;
+import static com.hazelcast.simulator.probes.Outlier.NO_PARTITION_ID;
 import static java.lang.String.format;
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
 import static java.util.concurrent.TimeUnit.SECONDS;
 
-final class PerformanceUtils {
+public final class PerformanceUtils {
+
+    /**
+     * The default percentiles which are reported by the {@link WorkerPerformanceMonitor} and the Coordinator.
+     */
+    public static final String DEFAULT_PERCENTILES = "50,99,99.9";
 
     static final long ONE_SECOND_IN_MILLIS = SECONDS.toMillis(1);
 
+    private static final double MAX_PERCENTILE = 100;
+
     private static final int NUMBER_FORMAT_LENGTH = 14;
+    private static final int TIMESTAMP_COLUMN_LENGTH = 21;
+    private static final int PARTITION_COLUMN_LENGTH = 10;
+    private static final int TARGET_COLUMN_LENGTH = 24;
+
+    private static final String OUTLIER_TIMESTAMP_FORMAT = "dd/MM/yyyy HH:mm:ss.SSS";
+
+    private static final double ONE_MEGABYTE = 1024 * 1024;
 
     private static final int HUNDRED = 100;
     private static final int TEN = 10;
@@ -45,6 +77,33 @@ final class PerformanceUtils {
         appendText(format("%s%n%s%n", columns, fillString(columns.length(), '-')), file);
     }
 
+    static void writeTestThroughputHeader(File file, double[] percentiles) {
+        StringBuilder columns = new StringBuilder(
+                "Timestamp                      Ops (sum)        Ops (delta)                Ops/s");
+        for (double percentile : percentiles) {
+            appendLatencyColumn(columns, formatPercentile(percentile));
+        }
+        appendLatencyColumn(columns, "max");
+        appendText(format("%s%n%s%n", columns, fillString(columns.length(), '-')), file);
+    }
+
+    private static void appendLatencyColumn(StringBuilder columns, String label) {
+        // the column has the width of a formatted latency value with its unit
+        columns.append(format(" %" + (NUMBER_FORMAT_LENGTH + THREE) + "s", label + " (µs)"));
+    }
+
+    static void writeTestThroughputStats(File file, String timestamp, long opsSum, long opsDelta, double opsPerSecDelta,
+                                         long[] percentileLatencies, long maxLatency) {
+        StringBuilder sb = new StringBuilder(format("[%s] %s ops %s ops %s ops/s", timestamp,
+                formatLong(opsSum, NUMBER_FORMAT_LENGTH), formatLong(opsDelta, NUMBER_FORMAT_LENGTH),
+                formatDouble(opsPerSecDelta, NUMBER_FORMAT_LENGTH)));
+        for (long percentileLatency : percentileLatencies) {
+            sb.append(format(" %s µs", formatLong(percentileLatency, NUMBER_FORMAT_LENGTH)));
+        }
+        sb.append(format(" %s µs%n", formatLong(maxLatency, NUMBER_FORMAT_LENGTH)));
+        appendText(sb.toString(), file);
+    }
+
     static void writeThroughputStats(File file, String timestamp, long opsSum, long opsDelta, double opsPerSecDelta,
                                      long numberOfTests, long totalTests) {
         String dataString = "[%s] %s ops %s ops %s ops/s";
@@ -58,6 +117,65 @@ final class PerformanceUtils {
                 formatLong(numberOfTests, NUMBER_FORMAT_LENGTH - fieldLength), formatLong(totalTests, fieldLength)), file);
     }
 
+    static void writeJvmMetricsHeader(File file) {
+        String columns = "Timestamp                   GC count       GC time (ms)         Safepoints"
+                + " Safepoint time (ms)  Heap after GC (MB)  Alloc rate (MB/s)";
+        appendText(format("%s%n%s%n", columns, fillString(columns.length(), '-')), file);
+    }
+
+    static void writeJvmMetrics(File file, String timestamp, JvmMetrics jvmMetrics) {
+        double allocationRate = jvmMetrics.getAllocationRate();
+        double allocationRateMegabytes = (allocationRate < 0) ? allocationRate : toMegabytes(allocationRate);
+        appendText(format("[%s] %s %s %s %s %s %s%n", timestamp,
+                formatLong(jvmMetrics.getGcCount(), NUMBER_FORMAT_LENGTH),
+                formatLong(jvmMetrics.getGcTimeMillis(), NUMBER_FORMAT_LENGTH + THREE + 1),
+                formatLong(jvmMetrics.getSafepointCount(), NUMBER_FORMAT_LENGTH + THREE + 1),
+                formatLong(jvmMetrics.getSafepointTimeMillis(), NUMBER_FORMAT_LENGTH + THREE + 2),
+                formatDouble(toMegabytes(jvmMetrics.getHeapUsedAfterGcBytes()), NUMBER_FORMAT_LENGTH + THREE + 2),
+                formatDouble(allocationRateMegabytes, NUMBER_FORMAT_LENGTH + THREE + 1)), file);
+    }
+
+    static void writeHazelcastMetricsHeader(File file) {
+        StringBuilder columns = new StringBuilder(padRight("Timestamp", TIMESTAMP_COLUMN_LENGTH));
+        for (HazelcastMetricsSampler.Metric metric : HazelcastMetricsSampler.Metric.values()) {
+            columns.append(' ').append(padLeft(metric.getLabel(), NUMBER_FORMAT_LENGTH));
+        }
+        appendText(format("%s%n%s%n", columns, fillString(columns.length(), '-')), file);
+    }
+
+    static void writeHazelcastMetrics(File file, String timestamp, long[] hazelcastMetrics) {
+        StringBuilder line = new StringBuilder("[").append(timestamp).append(']');
+        for (long value : hazelcastMetrics) {
+            line.append(' ').append(formatLong(value, NUMBER_FORMAT_LENGTH));
+        }
+        appendText(format("%s%n", line), file);
+    }
+
+    static void writeOutliers(File file, List<Outlier> outliers) {
+        StringBuilder sb = new StringBuilder();
+        if (!file.exists()) {
+            String columns = padRight("Timestamp", OUTLIER_TIMESTAMP_FORMAT.length() + 2)
+                    + ' ' + padLeft("Duration (µs)", NUMBER_FORMAT_LENGTH - 1)
+                    + ' ' + padLeft("Partition", PARTITION_COLUMN_LENGTH)
+                    + ' ' + padRight("Target", TARGET_COLUMN_LENGTH) + " Operation";
+            sb.append(format("%s%n%s%n", columns, fillString(columns.length(), '-')));
+        }
+        SimpleDateFormat simpleDateFormat = new SimpleDateFormat(OUTLIER_TIMESTAMP_FORMAT);
+        for (Outlier outlier : outliers) {
+            int partitionId = outlier.getPartitionId();
+            String target = outlier.getTarget();
+            sb.append(format("[%s] %s %s %s %s%n", simpleDateFormat.format(new Date(outlier.getTimestamp())),
+                    formatLong(NANOSECONDS.toMicros(outlier.getDurationNanos()), NUMBER_FORMAT_LENGTH - 1),
+                    padLeft(partitionId == NO_PARTITION_ID ? "-" : String.valueOf(partitionId), PARTITION_COLUMN_LENGTH),
+                    padRight(target == null ? "-" : target, TARGET_COLUMN_LENGTH), outlier.getOperation()));
+        }
+        appendText(sb.toString(), file);
+    }
+
+    private static double toMegabytes(double bytes) {
+        return bytes / ONE_MEGABYTE;
+    }
+
     static int getNumberOfDigits(long number) {
         if (number >= HUNDRED) {
             return THREE;
@@ -67,4 +185,114 @@ final class PerformanceUtils {
         }
         return 1;
     }
+
+    static long toMicros(long latency, TimeUnit latencyUnit) {
+        return MICROSECONDS.convert(latency, latencyUnit);
+    }
+
+    static double toMicros(double latency, TimeUnit latencyUnit) {
+        return latency * latencyUnit.toNanos(1) / MICROSECONDS.toNanos(1);
+    }
+
+    /**
+     * Returns a copy of the histogram with all values converted to microseconds.
+     *
+     * @param histogram   the histogram to convert
+     * @param latencyUnit the latency unit of the histogram
+     * @return the histogram itself if it already uses microseconds, otherwise an auto resizing copy in microseconds
+     */
+    static Histogram toMicros(Histogram histogram, TimeUnit latencyUnit) {
+        if (latencyUnit == MICROSECONDS) {
+            return histogram;
+        }
+        Histogram microsHistogram = new Histogram(histogram.getNumberOfSignificantValueDigits());
+        for (HistogramIterationValue value : histogram.recordedValues()) {
+            microsHistogram.recordValueWithCount(toMicros(value.getValueIteratedTo(), latencyUnit),
+                    value.getCountAtValueIteratedTo());
+        }
+        return microsHistogram;
+    }
+
+    static String encodeHistogram(Histogram histogram) {
+        ByteBuffer targetBuffer = ByteBuffer.allocate(histogram.getNeededByteBufferCapacity());
+        int compressedLength = histogram.encodeIntoCompressedByteBuffer(targetBuffer, Deflater.BEST_COMPRESSION);
+        byte[] compressedArray = Arrays.copyOf(targetBuffer.array(), compressedLength);
+        return DatatypeConverter.printBase64Binary(compressedArray);
+    }
+
+    static Histogram decodeHistogram(String encodedHistogram) {
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(DatatypeConverter.parseBase64Binary(encodedHistogram));
+            return Histogram.decodeFromCompressedByteBuffer(buffer, 0);
+        } catch (DataFormatException e) {
+            throw new IllegalArgumentException("Could not decode histogram", e);
+        }
+    }
+
+    /**
+     * Parses a comma separated list of percentiles, e.g. "50,90,99,99.9,99.99".
+     *
+     * @param percentiles the comma separated percentiles
+     * @return the parsed percentiles
+     * @throws IllegalArgumentException if a percentile is not a number or not between 0 and 100
+     */
+    public static double[] parsePercentiles(String percentiles) {
+        String[] tokens = percentiles.split(",");
+        double[] result = new double[tokens.length];
+        for (int i = 0; i < tokens.length; i++) {
+            try {
+                result[i] = Double.parseDouble(tokens[i].trim());
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException(format("Invalid percentile '%s' in '%s'", tokens[i], percentiles), e);
+            }
+            if (result[i] <= 0 || result[i] > MAX_PERCENTILE) {
+                throw new IllegalArgumentException(format("Percentile %s in '%s' has to be between 0 and 100", tokens[i],
+                        percentiles));
+            }
+        }
+        Arrays.sort(result);
+        return result;
+    }
+
+    /**
+     * Formats percentiles as comma separated list, which can be parsed by {@link #parsePercentiles(String)}.
+     *
+     * @param percentiles the percentiles to format
+     * @return the comma separated percentiles
+     */
+    public static String formatPercentiles(double[] percentiles) {
+        StringBuilder sb = new StringBuilder();
+        for (double percentile : percentiles) {
+            if (sb.length() > 0) {
+                sb.append(',');
+            }
+            sb.append(formatPercentileValue(percentile));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Formats a percentile as label, e.g. "50th" or "99.9th".
+     *
+     * @param percentile the percentile to format
+     * @return the percentile label
+     */
+    public static String formatPercentile(double percentile) {
+        return formatPercentileValue(percentile) + "th";
+    }
+
+    private static String formatPercentileValue(double percentile) {
+        if (percentile == Math.floor(percentile)) {
+            return String.valueOf((long) percentile);
+        }
+        return String.valueOf(percentile);
+    }
+
+    static long[] getPercentileLatencies(Histogram histogram, double[] percentiles, TimeUnit latencyUnit) {
+        long[] latencies = new long[percentiles.length];
+        for (int i = 0; i < percentiles.length; i++) {
+            latencies[i] = toMicros(histogram.getValueAtPercentile(percentiles[i]), latencyUnit);
+        }
+        return latencies;
+    }
 }
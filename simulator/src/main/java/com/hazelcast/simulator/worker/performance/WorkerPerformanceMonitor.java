@@ -15,6 +15,8 @@
  */
 package com.hazelcast.simulator.worker.performance;
 
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.simulator.probes.Outlier;
 import com.hazelcast.simulator.probes.Probe;
 import com.hazelcast.simulator.protocol.connector.ServerConnector;
 import com.hazelcast.simulator.protocol.core.SimulatorAddress;
@@ -29,31 +31,66 @@ import java.text.SimpleDateFormat;
 import java.util.Collection;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.Set;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import static com.hazelcast.simulator.utils.CommonUtils.joinThread;
 import static com.hazelcast.simulator.utils.CommonUtils.sleepNanos;
+import static com.hazelcast.simulator.worker.performance.HazelcastMetricsSampler.createHazelcastMetricsSampler;
 import static com.hazelcast.simulator.worker.performance.PerformanceState.INTERVAL_LATENCY_PERCENTILE;
+import static com.hazelcast.simulator.worker.performance.PerformanceUtils.toMicros;
+import static com.hazelcast.simulator.worker.performance.PerformanceUtils.writeHazelcastMetrics;
+import static com.hazelcast.simulator.worker.performance.PerformanceUtils.writeHazelcastMetricsHeader;
+import static com.hazelcast.simulator.worker.performance.PerformanceUtils.writeJvmMetrics;
+import static com.hazelcast.simulator.worker.performance.PerformanceUtils.writeJvmMetricsHeader;
+import static com.hazelcast.simulator.worker.performance.PerformanceUtils.writeOutliers;
 import static com.hazelcast.simulator.worker.performance.PerformanceUtils.writeThroughputHeader;
 import static com.hazelcast.simulator.worker.performance.PerformanceUtils.writeThroughputStats;
+import static java.lang.String.format;
 import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
 
 /**
  * Monitors the performance of all running tests on {@link com.hazelcast.simulator.worker.MemberWorker}
  * and {@link com.hazelcast.simulator.worker.ClientWorker} instances.
+ *
+ * The samples are taken in a fixed raster of the monitor interval, which can be sub-second. The log files are written by a
+ * {@link PerformanceLogWriter}, so the file I/O doesn't delay the sampling. Samples which cannot be taken in time are skipped
+ * and counted, so they don't shift the timeline.
+ *
+ * On each tick the GC, safepoint and allocation metrics of the JVM are sampled as well. They are written to
+ * {@value #JVM_METRICS_FILE_NAME} and shipped with the performance states, so the Coordinator can correlate latency spikes
+ * with GC pauses of the Workers.
+ *
+ * On member Workers the internal metrics of the Hazelcast instance, e.g. the queue depths of the partition threads, the pending
+ * invocations and the running migrations, are sampled on the same tick and written to {@value #HAZELCAST_METRICS_FILE_NAME}.
+ * So a throughput dip can be attributed to saturated partition threads or migrations.
+ *
+ * The outliers of the probes are drained on each tick and written to <tt>outliers-testId.txt</tt>. Their summary is shipped with
+ * the performance states, so the Coordinator can tell if the slow operations concentrate on a partition or member.
  */
 public class WorkerPerformanceMonitor {
 
+    public static final String JVM_METRICS_FILE_NAME = "jvm-metrics.txt";
+    public static final String HAZELCAST_METRICS_FILE_NAME = "hazelcast-metrics.txt";
+    public static final String OUTLIERS_FILE_PREFIX = "outliers-";
+
     private final AtomicBoolean started = new AtomicBoolean();
 
     private final MonitorThread thread;
 
     public WorkerPerformanceMonitor(ServerConnector serverConnector, Collection<TestContainer> testContainers,
-                                    int workerPerformanceMonitorIntervalSeconds) {
-        this.thread = new MonitorThread(serverConnector, testContainers, workerPerformanceMonitorIntervalSeconds);
+                                    long workerPerformanceMonitorInterval, TimeUnit timeUnit, double[] percentiles) {
+        this(serverConnector, testContainers, workerPerformanceMonitorInterval, timeUnit, percentiles, null);
+    }
+
+    public WorkerPerformanceMonitor(ServerConnector serverConnector, Collection<TestContainer> testContainers,
+                                    long workerPerformanceMonitorInterval, TimeUnit timeUnit, double[] percentiles,
+                                    HazelcastInstance hazelcastInstance) {
+        this.thread = new MonitorThread(serverConnector, testContainers, timeUnit.toNanos(workerPerformanceMonitorInterval),
+                percentiles, createHazelcastMetricsSampler(hazelcastInstance));
     }
 
     public boolean start() {
@@ -61,63 +98,156 @@ public class WorkerPerformanceMonitor {
             return false;
         }
 
+        thread.logWriter.start();
         thread.start();
         return true;
     }
 
     public void shutdown() {
-        thread.sendTestHistograms();
-
         thread.isRunning = false;
         thread.interrupt();
         joinThread(thread);
+
+        // the outliers since the last tick are just written to the files, the Coordinator has already logged its summary
+        thread.drainOutliers();
+        thread.logWriter.shutdown();
+        thread.logStatistics();
+
+        thread.sendTestHistograms();
+        thread.closeTrackers();
+    }
+
+    /**
+     * Returns the number of samples which have been skipped, since the monitor couldn't keep up with its interval.
+     *
+     * @return the number of late samples
+     */
+    public long getLateSampleCount() {
+        return thread.lateSampleCount;
+    }
+
+    /**
+     * Returns the number of log writes which have been dropped, since the disk couldn't keep up with the monitor interval.
+     *
+     * @return the number of dropped log writes
+     */
+    public long getDroppedWriteCount() {
+        return thread.logWriter.getDroppedWriteCount();
     }
 
     private static final class MonitorThread extends Thread {
 
         private static final Logger LOGGER = Logger.getLogger(MonitorThread.class);
 
+        private static final int LOG_WRITER_QUEUE_CAPACITY = 1000;
+
         private final File globalThroughputFile = new File("throughput.txt");
-        private final SimpleDateFormat simpleDateFormat = new SimpleDateFormat("dd/MM/yyyy HH:mm:ss");
+        private final File jvmMetricsFile = new File(JVM_METRICS_FILE_NAME);
+        private final File hazelcastMetricsFile = new File(HAZELCAST_METRICS_FILE_NAME);
+        private final JvmMetricsSampler jvmMetricsSampler = new JvmMetricsSampler();
         private final Map<String, PerformanceTracker> trackerMap = new HashMap<String, PerformanceTracker>();
+        private final PerformanceLogWriter logWriter = new PerformanceLogWriter(LOG_WRITER_QUEUE_CAPACITY);
 
         private final ServerConnector serverConnector;
         private final Collection<TestContainer> testContainers;
         private final long intervalNanos;
+        private final SimpleDateFormat simpleDateFormat;
+        private final double[] percentiles;
+        private final HazelcastMetricsSampler hazelcastMetricsSampler;
 
         private volatile boolean isRunning = true;
+        private volatile long lateSampleCount;
 
-        private MonitorThread(ServerConnector serverConnector, Collection<TestContainer> testContainers,
-                              int workerPerformanceMonitorIntervalSeconds) {
+        private MonitorThread(ServerConnector serverConnector, Collection<TestContainer> testContainers, long intervalNanos,
+                              double[] percentiles, HazelcastMetricsSampler hazelcastMetricsSampler) {
             super("WorkerPerformanceMonitorThread");
             setDaemon(true);
 
             this.serverConnector = serverConnector;
             this.testContainers = testContainers;
-            this.intervalNanos = TimeUnit.SECONDS.toNanos(workerPerformanceMonitorIntervalSeconds);
+            this.intervalNanos = intervalNanos;
+            this.percentiles = percentiles;
+            this.hazelcastMetricsSampler = hazelcastMetricsSampler;
+            this.simpleDateFormat = new SimpleDateFormat(
+                    intervalNanos < SECONDS.toNanos(1) ? "dd/MM/yyyy HH:mm:ss.SSS" : "dd/MM/yyyy HH:mm:ss");
 
             writeThroughputHeader(globalThroughputFile, true);
+            writeJvmMetricsHeader(jvmMetricsFile);
+            if (hazelcastMetricsSampler != null) {
+                writeHazelcastMetricsHeader(hazelcastMetricsFile);
+            }
         }
 
         @Override
         public void run() {
+            long nextSampleNanos = System.nanoTime();
             while (isRunning) {
-                long startedNanos = System.nanoTime();
                 long currentTimestamp = System.currentTimeMillis();
 
-                updatePerformanceStates(currentTimestamp);
-                sendPerformanceStates();
-                writeStatsToFiles(currentTimestamp);
+                JvmMetrics jvmMetrics = jvmMetricsSampler.sample(currentTimestamp);
+                long[] hazelcastMetrics = (hazelcastMetricsSampler != null) ? hazelcastMetricsSampler.sample() : null;
 
-                long elapsedNanos = System.nanoTime() - startedNanos;
-                if (intervalNanos > elapsedNanos) {
-                    sleepNanos(intervalNanos - elapsedNanos);
+                updatePerformanceStates(currentTimestamp);
+                Map<String, OutlierSummary> outlierSummaries = drainOutliers();
+                sendPerformanceStates(jvmMetrics, outlierSummaries);
+                writeStatsToFiles(currentTimestamp, jvmMetrics, hazelcastMetrics);
+
+                nextSampleNanos += intervalNanos;
+                long remainingNanos = nextSampleNanos - System.nanoTime();
+                if (remainingNanos > 0) {
+                    sleepNanos(remainingNanos);
                 } else {
-                    LOGGER.warn("WorkerPerformanceMonitorThread.run() took " + NANOSECONDS.toMillis(elapsedNanos) + " ms");
+                    // the samples we are too late for are skipped, so the next sample is taken in the interval raster again
+                    long skippedSamples = 1 + (-remainingNanos / intervalNanos);
+                    nextSampleNanos += skippedSamples * intervalNanos;
+                    lateSampleCount += skippedSamples;
+                    LOGGER.warn(format("WorkerPerformanceMonitorThread is %d ms late, skipping %d sample(s)",
+                            NANOSECONDS.toMillis(-remainingNanos), skippedSamples));
+                    sleepNanos(nextSampleNanos - System.nanoTime());
                 }
             }
         }
 
+        private void logStatistics() {
+            long droppedWriteCount = logWriter.getDroppedWriteCount();
+            if (lateSampleCount > 0 || droppedWriteCount > 0) {
+                LOGGER.warn(format("WorkerPerformanceMonitor skipped %d late sample(s) and dropped %d log write(s)",
+                        lateSampleCount, droppedWriteCount));
+            }
+            for (TestContainer testContainer : testContainers) {
+                long droppedOutlierCount = testContainer.getOutlierRecorder().getDroppedCount();
+                if (droppedOutlierCount > 0) {
+                    LOGGER.warn(format("Dropped %d outlier(s) of test %s, since the outlier buffers were full",
+                            droppedOutlierCount, testContainer.getTestContext().getTestId()));
+                }
+            }
+        }
+
+        private Map<String, OutlierSummary> drainOutliers() {
+            Map<String, OutlierSummary> outlierSummaries = new HashMap<String, OutlierSummary>();
+            for (TestContainer testContainer : testContainers) {
+                final List<Outlier> outliers = testContainer.getOutlierRecorder().drain();
+                if (outliers.isEmpty()) {
+                    continue;
+                }
+                String testId = testContainer.getTestContext().getTestId();
+                OutlierSummary outlierSummary = new OutlierSummary();
+                for (Outlier outlier : outliers) {
+                    outlierSummary.add(outlier);
+                }
+                outlierSummaries.put(testId, outlierSummary);
+
+                final File outliersFile = new File(OUTLIERS_FILE_PREFIX + testId + ".txt");
+                logWriter.write(new Runnable() {
+                    @Override
+                    public void run() {
+                        writeOutliers(outliersFile, outliers);
+                    }
+                });
+            }
+            return outlierSummaries;
+        }
+
         public void sendTestHistograms() {
             for (Map.Entry<String, PerformanceTracker> trackerEntry : trackerMap.entrySet()) {
                 String testId = trackerEntry.getKey();
@@ -125,12 +255,18 @@ public class WorkerPerformanceMonitor {
 
                 Map<String, String> histograms = tracker.aggregateIntervalHistograms(testId);
                 if (!histograms.isEmpty()) {
-                    TestHistogramOperation operation = new TestHistogramOperation(testId, histograms);
+                    TestHistogramOperation operation = new TestHistogramOperation(testId, histograms, tracker.getLatencyUnits());
                     serverConnector.write(SimulatorAddress.COORDINATOR, operation);
                 }
             }
         }
 
+        private void closeTrackers() {
+            for (PerformanceTracker tracker : trackerMap.values()) {
+                tracker.close();
+            }
+        }
+
         private void updatePerformanceStates(long currentTimestamp) {
             for (TestContainer testContainer : testContainers) {
                 String testId = testContainer.getTestContext().getTestId();
@@ -140,6 +276,7 @@ public class WorkerPerformanceMonitor {
 
                 Map<String, Probe> probeMap = testContainer.getProbeMap();
                 Map<String, Histogram> intervalHistograms = new HashMap<String, Histogram>(probeMap.size());
+                Histogram intervalLatencyHistogram = null;
 
                 long intervalPercentileLatency = Long.MIN_VALUE;
                 double intervalAvgLatency = Long.MIN_VALUE;
@@ -151,41 +288,59 @@ public class WorkerPerformanceMonitor {
                     Histogram intervalHistogram = probe.getIntervalHistogram();
                     intervalHistograms.put(entry.getKey(), intervalHistogram);
 
-                    long percentileValue = intervalHistogram.getValueAtPercentile(INTERVAL_LATENCY_PERCENTILE);
+                    // the performance state is always reported in microseconds, so probes with a different unit stay comparable
+                    TimeUnit latencyUnit = probe.getLatencyUnit();
+                    long percentileValue = toMicros(intervalHistogram.getValueAtPercentile(INTERVAL_LATENCY_PERCENTILE),
+                            latencyUnit);
                     if (percentileValue > intervalPercentileLatency) {
                         intervalPercentileLatency = percentileValue;
                     }
-                    double avgValue = intervalHistogram.getMean();
+                    double avgValue = toMicros(intervalHistogram.getMean(), latencyUnit);
                     if (avgValue > intervalAvgLatency) {
                         intervalAvgLatency = avgValue;
                     }
-                    long maxValue = intervalHistogram.getMaxValue();
+                    long maxValue = toMicros(intervalHistogram.getMaxValue(), latencyUnit);
                     if (maxValue > intervalMaxLatency) {
                         intervalMaxLatency = maxValue;
                     }
                     if (probe.isThroughputProbe()) {
                         intervalOperationalCount += intervalHistogram.getTotalCount();
+                        intervalLatencyHistogram = addToLatencyHistogram(intervalLatencyHistogram,
+                                toMicros(intervalHistogram, latencyUnit));
                     }
                 }
 
                 PerformanceTracker tracker = getOrCreatePerformanceTracker(testId, testContainer);
-                tracker.update(intervalHistograms, intervalPercentileLatency, intervalAvgLatency, intervalMaxLatency,
-                        intervalOperationalCount, currentTimestamp);
+                tracker.update(intervalHistograms, intervalLatencyHistogram, intervalPercentileLatency, intervalAvgLatency,
+                        intervalMaxLatency, intervalOperationalCount, currentTimestamp);
             }
         }
 
+        private static Histogram addToLatencyHistogram(Histogram latencyHistogram, Histogram microsHistogram) {
+            // the latency histogram of the throughput probes is shipped to the Coordinator to calculate cluster wide percentiles
+            if (latencyHistogram == null) {
+                latencyHistogram = new Histogram(microsHistogram.getNumberOfSignificantValueDigits());
+            }
+            latencyHistogram.add(microsHistogram);
+            return latencyHistogram;
+        }
+
         private PerformanceTracker getOrCreatePerformanceTracker(String testId, TestContainer testContainer) {
             PerformanceTracker tracker = trackerMap.get(testId);
             if (tracker == null) {
-                Set<String> probeNames = testContainer.getProbeMap().keySet();
-                tracker = new PerformanceTracker(testId, probeNames, testContainer.getTestStartedTimestamp());
+                tracker = new PerformanceTracker(testId, testContainer.getProbeMap(), testContainer.getTestStartedTimestamp(),
+                        logWriter, percentiles);
                 trackerMap.put(testId, tracker);
             }
             return tracker;
         }
 
-        private void sendPerformanceStates() {
+        private void sendPerformanceStates(JvmMetrics jvmMetrics, Map<String, OutlierSummary> outlierSummaries) {
             PerformanceStateOperation operation = new PerformanceStateOperation();
+            operation.setJvmMetrics(jvmMetrics);
+            for (Map.Entry<String, OutlierSummary> entry : outlierSummaries.entrySet()) {
+                operation.addOutlierSummary(entry.getKey(), entry.getValue());
+            }
             for (Map.Entry<String, PerformanceTracker> trackerEntry : trackerMap.entrySet()) {
                 PerformanceTracker stats = trackerEntry.getValue();
                 if (stats.isUpdated()) {
@@ -196,12 +351,21 @@ public class WorkerPerformanceMonitor {
             serverConnector.submit(SimulatorAddress.COORDINATOR, operation);
         }
 
-        private void writeStatsToFiles(long currentTimestamp) {
+        private void writeStatsToFiles(long currentTimestamp, final JvmMetrics jvmMetrics, final long[] hazelcastMetrics) {
+            final String dateString = simpleDateFormat.format(new Date(currentTimestamp));
+            logWriter.write(new Runnable() {
+                @Override
+                public void run() {
+                    writeJvmMetrics(jvmMetricsFile, dateString, jvmMetrics);
+                    if (hazelcastMetrics != null) {
+                        writeHazelcastMetrics(hazelcastMetricsFile, dateString, hazelcastMetrics);
+                    }
+                }
+            });
             if (trackerMap.isEmpty()) {
                 return;
             }
 
-            String dateString = simpleDateFormat.format(new Date(currentTimestamp));
             long globalIntervalOperationCount = 0;
             long globalOperationsCount = 0;
             double globalIntervalThroughput = 0;
@@ -218,8 +382,18 @@ public class WorkerPerformanceMonitor {
             }
 
             // global performance stats
-            writeThroughputStats(globalThroughputFile, dateString, globalOperationsCount, globalIntervalOperationCount,
-                    globalIntervalThroughput, trackerMap.size(), testContainers.size());
+            final long operationCount = globalOperationsCount;
+            final long intervalOperationCount = globalIntervalOperationCount;
+            final double intervalThroughput = globalIntervalThroughput;
+            final int numberOfTests = trackerMap.size();
+            final int totalTests = testContainers.size();
+            logWriter.write(new Runnable() {
+                @Override
+                public void run() {
+                    writeThroughputStats(globalThroughputFile, dateString, operationCount, intervalOperationCount,
+                            intervalThroughput, numberOfTests, totalTests);
+                }
+            });
         }
     }
 }
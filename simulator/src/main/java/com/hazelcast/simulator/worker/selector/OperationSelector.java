@@ -15,6 +15,10 @@
  */
 package com.hazelcast.simulator.worker.selector;
 
+import com.hazelcast.simulator.utils.SplitMixRandom;
+
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Random;
 
 /**
@@ -23,17 +27,18 @@ import java.util.Random;
  * Calling {@link #select()} method will select an operation according to the configured probabilities.
  *
  * This class does not give any thread-safety guarantees. It is strongly recommended to construct a new instance for each thread,
- * at least to prevent contention on the random generator. Just use a single builder and call the
- * {@link OperationSelectorBuilder#build()} method in each thread constructor.
+ * since the default random generator is a {@link SplitMixRandom}, which must not be shared between threads. Just use a single
+ * builder and call the {@link OperationSelectorBuilder#build()} method in each thread constructor.
  *
  * @param <T> enum of operations
  */
 public class OperationSelector<T extends Enum<T>> {
-    private final Random random = new Random();
+    private final Random random;
     private final Object[] operations;
 
-    OperationSelector(Object[] operations) {
+    OperationSelector(Object[] operations, Random random) {
         this.operations = operations;
+        this.random = random;
     }
 
     /**
@@ -46,4 +51,20 @@ public class OperationSelector<T extends Enum<T>> {
         int chance = random.nextInt(operations.length);
         return (T) operations[chance];
     }
+
+    /**
+     * Returns the distinct operations which can be selected, so operations with a probability of zero are not included.
+     *
+     * @return list of selectable operations
+     */
+    @SuppressWarnings("unchecked")
+    public List<T> getOperations() {
+        List<T> result = new ArrayList<T>();
+        for (Object operation : operations) {
+            if (!result.contains(operation)) {
+                result.add((T) operation);
+            }
+        }
+        return result;
+    }
 }
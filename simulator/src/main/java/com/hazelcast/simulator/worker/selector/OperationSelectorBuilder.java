@@ -15,8 +15,11 @@
  */
 package com.hazelcast.simulator.worker.selector;
 
-import java.util.HashMap;
+import com.hazelcast.simulator.utils.SplitMixRandom;
+
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.Random;
 
 import static com.hazelcast.simulator.utils.FormatUtils.NEW_LINE;
 import static java.lang.String.format;
@@ -40,7 +43,8 @@ public class OperationSelectorBuilder<T extends Enum<T>> {
     static final double PROBABILITY_LENGTH = Math.pow(10, PROBABILITY_PRECISION);
     static final double PROBABILITY_INTERVAL = 1.0 / PROBABILITY_LENGTH;
 
-    private final Map<T, Double> operations = new HashMap<T, Double>();
+    // the operations table is filled in the order of registration, so a seeded random generator selects the same operations
+    private final Map<T, Double> operations = new LinkedHashMap<T, Double>();
 
     private double probSum;
     private Object[] operationsArray;
@@ -90,13 +94,25 @@ public class OperationSelectorBuilder<T extends Enum<T>> {
      * @return instance of OperationSelector
      */
     public OperationSelector<T> build() {
+        return build(new SplitMixRandom());
+    }
+
+    /**
+     * Constructs an instance of {@link OperationSelector}, which uses the given random generator.
+     *
+     * The random generator can be shared with other users in the same thread, e.g. to reseed them together.
+     *
+     * @param random the random generator for the selection
+     * @return instance of OperationSelector
+     */
+    public OperationSelector<T> build(Random random) {
         if (Math.abs(probSum - 1.0) > PROBABILITY_INTERVAL) {
             probabilityMismatch();
         }
         if (operationsArray == null) {
             populateOperationsArray();
         }
-        return new OperationSelector<T>(operationsArray);
+        return new OperationSelector<T>(operationsArray, random);
     }
 
     private void checkProbabilityArgument(double probability) {
@@ -16,21 +16,45 @@
 package com.hazelcast.simulator.worker.tasks;
 
 import com.hazelcast.core.ExecutionCallback;
+import com.hazelcast.core.ICompletableFuture;
 import com.hazelcast.simulator.utils.ExceptionReporter;
+import com.hazelcast.simulator.worker.metronome.Metronome;
 import com.hazelcast.simulator.worker.selector.OperationSelectorBuilder;
 
+import java.util.concurrent.Semaphore;
+
 import static com.hazelcast.simulator.utils.CommonUtils.rethrow;
+import static java.lang.String.format;
+import static java.util.concurrent.TimeUnit.MINUTES;
 
 /**
  * Asynchronous version of {@link AbstractWorker}.
  *
- * The operation counter is automatically increased after call of {@link ExecutionCallback#onResponse}.
- * The throwable is automatically reported after call of {@link ExecutionCallback#onFailure(Throwable)}
+ * Each call of {@link #timeStepAsync(Enum)} returns the future of an asynchronous operation. The worker keeps up to
+ * {@link #maxInFlight} operations in flight per worker thread and blocks before the next submission if the window is full, so
+ * the pipelining depth can be benchmarked against the throughput without flooding the cluster.
+ *
+ * The latency is measured from the submission to the completion of each operation, so it's recorded by the thread which
+ * completes the future. The operation counter is increased after each submission. The throwable is automatically reported
+ * after a failed operation. The mean occupancy of the window is logged after the run.
  *
  * @param <O> Type of Enum used by the {@link com.hazelcast.simulator.worker.selector.OperationSelector}
- * @param <V> Type of {@link ExecutionCallback}
+ * @param <V> Type of the result of the asynchronous operations
  */
-public abstract class AbstractAsyncWorker<O extends Enum<O>, V> extends AbstractWorker<O> implements ExecutionCallback<V> {
+public abstract class AbstractAsyncWorker<O extends Enum<O>, V> extends AbstractWorker<O> {
+
+    static final int DEFAULT_MAX_IN_FLIGHT = 32;
+
+    private static final long WINDOW_TIMEOUT_MINUTES = 2;
+    private static final double ONE_HUNDRED = 100;
+
+    // this field will be injected by test.properties of the test
+    @SuppressWarnings("checkstyle:visibilitymodifier")
+    public int maxInFlight = DEFAULT_MAX_IN_FLIGHT;
+
+    private Semaphore window;
+    private long windowOccupancySum;
+    private long windowFullCount;
 
     public AbstractAsyncWorker(OperationSelectorBuilder<O> operationSelectorBuilder) {
         super(operationSelectorBuilder);
@@ -38,31 +62,66 @@ public abstract class AbstractAsyncWorker<O extends Enum<O>, V> extends Abstract
 
     @Override
     public final void run() {
+        if (maxInFlight < 1) {
+            throw new IllegalArgumentException("maxInFlight must be positive, but was " + maxInFlight);
+        }
+        window = new Semaphore(maxInFlight);
+        initOperationProbes();
+        beforeRun();
+
+        Metronome metronome = getMetronome();
         while (!testContext.isStopped() && !isWorkerStopped) {
+            O operation = selector.select();
+            long intendedStarted = (metronome != null) ? metronome.waitForNext() : 0;
+            acquireWindow(1);
+            long started = System.nanoTime();
+            ICompletableFuture<V> future;
             try {
-                timeStep(selector.select());
+                future = timeStepAsync(operation);
             } catch (Exception e) {
+                window.release();
                 throw rethrow(e);
             }
+            // the context of the operation is passed to the callback, since the latency is recorded by another thread
+            future.andThen(new OperationCallback(operation, operationPartitionId, operationTarget,
+                    (metronome != null) ? intendedStarted : started, started));
+            resetOperationTarget();
+
+            increaseIteration();
         }
-    }
 
-    @Override
-    public final void onResponse(V response) {
-        workerProbe.done();
-        increaseIteration();
-        handleResponse(response);
+        // wait for the in-flight operations, so their latencies are recorded before the probes are collected
+        acquireWindow(maxInFlight);
+        window.release(maxInFlight);
+        logWindowOccupancy();
+
+        afterRun();
     }
 
+    /**
+     * Fake implementation of abstract method, should not be used.
+     *
+     * @param operation ignored
+     */
     @Override
-    public final void onFailure(Throwable t) {
-        ExceptionReporter.report(testContext.getTestId(), t);
-        handleFailure(t);
+    protected final void timeStep(O operation) {
+        throw new UnsupportedOperationException();
     }
 
     /**
-     * Override this method if you need to execute code on each worker after the iteration has been increased in
-     * {@link ExecutionCallback#onResponse(Object)}.
+     * This method is called for each iteration of {@link #run()} and has to start a single asynchronous operation.
+     *
+     * Won't be called if an error occurs in {@link #beforeRun()}.
+     *
+     * @param operation The selected operation for this iteration
+     * @return the future of the asynchronous operation
+     */
+    protected abstract ICompletableFuture<V> timeStepAsync(O operation) throws Exception;
+
+    /**
+     * Override this method if you need to execute code after an operation has been completed successfully.
+     *
+     * This method is called by the thread which completes the future, so it has to be thread-safe.
      *
      * @param response the result of the successful execution
      */
@@ -71,12 +130,81 @@ public abstract class AbstractAsyncWorker<O extends Enum<O>, V> extends Abstract
     }
 
     /**
-     * Override this method if you need to execute code on each worker after the throwable has been reported in
-     * {@link ExecutionCallback#onFailure(Throwable)}.
+     * Override this method if you need to execute code after the throwable of a failed operation has been reported.
+     *
+     * This method is called by the thread which completes the future, so it has to be thread-safe.
      *
      * @param t the exception that is thrown
      */
     @SuppressWarnings("unused")
     protected void handleFailure(Throwable t) {
     }
+
+    double getMeanWindowOccupancy() {
+        return (iteration == 0) ? 0 : windowOccupancySum / (double) iteration;
+    }
+
+    private void acquireWindow(int permits) {
+        if (permits == 1) {
+            int available = window.availablePermits();
+            windowOccupancySum += maxInFlight - available;
+            if (available == 0) {
+                windowFullCount++;
+            }
+        }
+        try {
+            if (!window.tryAcquire(permits, WINDOW_TIMEOUT_MINUTES, MINUTES)) {
+                throw new IllegalStateException("Timeout when waiting for in-flight operations to complete!");
+            }
+        } catch (InterruptedException e) {
+            throw rethrow(e);
+        }
+    }
+
+    private void logWindowOccupancy() {
+        double windowFullPercentage = (iteration == 0) ? 0 : windowFullCount * ONE_HUNDRED / iteration;
+        LOGGER.info(format("%s mean window occupancy %.1f of %d in-flight operations, window full on %.1f%% of submissions",
+                Thread.currentThread().getName(), getMeanWindowOccupancy(), maxInFlight, windowFullPercentage));
+    }
+
+    /**
+     * Carries the start timestamps of a single operation to its completion.
+     */
+    private final class OperationCallback implements ExecutionCallback<V> {
+
+        private final O operation;
+        private final int partitionId;
+        private final Object target;
+        private final long intendedStarted;
+        private final long started;
+
+        private OperationCallback(O operation, int partitionId, Object target, long intendedStarted, long started) {
+            this.operation = operation;
+            this.partitionId = partitionId;
+            this.target = target;
+            this.intendedStarted = intendedStarted;
+            this.started = started;
+        }
+
+        @Override
+        public void onResponse(V response) {
+            try {
+                long latencyNanos = recordLatencies(operation, partitionId, target, intendedStarted, started);
+                recordOperationLatency(operation, latencyNanos);
+                handleResponse(response);
+            } finally {
+                window.release();
+            }
+        }
+
+        @Override
+        public void onFailure(Throwable t) {
+            try {
+                ExceptionReporter.report(testContext.getTestId(), t);
+                handleFailure(t);
+            } finally {
+                window.release();
+            }
+        }
+    }
 }
@@ -0,0 +1,146 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.simulator.worker.tasks;
+
+import com.hazelcast.simulator.probes.Probe;
+import com.hazelcast.simulator.test.annotations.InjectProbe;
+import com.hazelcast.simulator.worker.metronome.Metronome;
+import com.hazelcast.simulator.worker.selector.OperationSelectorBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.hazelcast.simulator.utils.CommonUtils.rethrow;
+
+/**
+ * Batch version of {@link AbstractWorker}, e.g. for putAll() or getAll() workloads.
+ *
+ * Each iteration selects a single operation and fills a batch of {@link #batchSize} items via {@link #nextItem(Enum)}, which is
+ * passed to {@link #timeStep(Enum, List)}. The batch is a reusable list, so the iterations don't allocate a new buffer. It's
+ * cleared before the next batch is built, so implementations must not keep a reference to it.
+ *
+ * The latency of each batch is recorded into {@link #batchProbe}. The {@link #workerProbe} records the amortized latency per
+ * item once for each item of the batch, so the throughput of the test is counted in items.
+ *
+ * A {@link Metronome} clocks the batches and {@link #correctedWorkerProbe} records the amortized latency per item plus the delay
+ * of the batch from its intended start, so both worker probes are recorded per item and just differ by the start delay. The
+ * {@link com.hazelcast.simulator.worker.TestContainer} divides a target throughput by the batch size.
+ *
+ * @param <O> Type of Enum used by the {@link com.hazelcast.simulator.worker.selector.OperationSelector}
+ * @param <T> Type of the items of a batch
+ */
+public abstract class AbstractBatchWorker<O extends Enum<O>, T> extends AbstractWorker<O> {
+
+    public static final int DEFAULT_BATCH_SIZE = 10;
+
+    // this field will be injected by test.properties of the test
+    @SuppressWarnings("checkstyle:visibilitymodifier")
+    public int batchSize = DEFAULT_BATCH_SIZE;
+
+    // this field will be injected by the TestContainer
+    @InjectProbe
+    Probe batchProbe;
+
+    public AbstractBatchWorker(OperationSelectorBuilder<O> operationSelectorBuilder) {
+        super(operationSelectorBuilder);
+    }
+
+    @Override
+    public final void run() {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("batchSize must be positive, but was " + batchSize);
+        }
+        List<T> batch = new ArrayList<T>(batchSize);
+        initOperationProbes();
+        beforeRun();
+
+        Metronome metronome = getMetronome();
+        while (!testContext.isStopped() && !isWorkerStopped) {
+            O operation = selector.select();
+            fillBatch(operation, batch);
+
+            long intendedStarted = (metronome != null) ? metronome.waitForNext() : 0;
+            long started = System.nanoTime();
+            try {
+                timeStep(operation, batch);
+            } catch (Exception e) {
+                throw rethrow(e);
+            }
+            recordBatchLatencies(operation, (metronome != null) ? intendedStarted : started, started);
+
+            increaseIteration();
+        }
+
+        afterRun();
+    }
+
+    /**
+     * Fake implementation of abstract method, should not be used.
+     *
+     * @param operation ignored
+     */
+    @Override
+    protected final void timeStep(O operation) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Creates the next item of a batch.
+     *
+     * This method is called {@link #batchSize} times before each call of {@link #timeStep(Enum, List)} and is not measured.
+     *
+     * @param operation The selected operation for the batch
+     * @return the next item
+     */
+    protected abstract T nextItem(O operation) throws Exception;
+
+    /**
+     * This method is called for each iteration of {@link #run()} with a batch of {@link #batchSize} items.
+     *
+     * Won't be called if an error occurs in {@link #beforeRun()}.
+     *
+     * @param operation The selected operation for this iteration
+     * @param batch     the items of this iteration
+     */
+    protected abstract void timeStep(O operation, List<T> batch) throws Exception;
+
+    private void fillBatch(O operation, List<T> batch) {
+        batch.clear();
+        try {
+            for (int i = 0; i < batchSize; i++) {
+                batch.add(nextItem(operation));
+            }
+        } catch (Exception e) {
+            throw rethrow(e);
+        }
+    }
+
+    private void recordBatchLatencies(O operation, long intendedStarted, long started) {
+        long now = System.nanoTime();
+        long batchLatencyNanos = now - started;
+        long itemLatencyNanos = batchLatencyNanos / batchSize;
+        if (batchProbe != null) {
+            batchProbe.recordValue(batchLatencyNanos);
+        }
+        workerProbe.recordValues(itemLatencyNanos, batchSize);
+        if (correctedWorkerProbe != null) {
+            correctedWorkerProbe.recordValues(started - intendedStarted + itemLatencyNanos, batchSize);
+        }
+        if (operationProbes != null) {
+            operationProbes[operation.ordinal()].recordValues(itemLatencyNanos, batchSize);
+        }
+    }
+}
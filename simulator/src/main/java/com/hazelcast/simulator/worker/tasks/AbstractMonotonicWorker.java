@@ -15,6 +15,8 @@
  */
 package com.hazelcast.simulator.worker.tasks;
 
+import com.hazelcast.simulator.worker.metronome.Metronome;
+
 import static com.hazelcast.simulator.utils.CommonUtils.rethrow;
 
 /**
@@ -29,6 +31,17 @@ public abstract class AbstractMonotonicWorker extends AbstractWorker {
     public final void run() {
         beforeRun();
 
+        Metronome metronome = getMetronome();
+        if (metronome != null) {
+            runWithMetronome(metronome);
+        } else {
+            runWithoutMetronome();
+        }
+
+        afterRun();
+    }
+
+    private void runWithoutMetronome() {
         while (!testContext.isStopped() && !isWorkerStopped) {
             long started = System.nanoTime();
             try {
@@ -36,12 +49,27 @@ public abstract class AbstractMonotonicWorker extends AbstractWorker {
             } catch (Exception e) {
                 throw rethrow(e);
             }
-            workerProbe.recordValue(System.nanoTime() - started);
+            workerProbe.recordValue(System.nanoTime() - started, null, operationPartitionId, operationTarget);
+            resetOperationTarget();
 
             increaseIteration();
         }
+    }
 
-        afterRun();
+    private void runWithMetronome(Metronome metronome) {
+        while (!testContext.isStopped() && !isWorkerStopped) {
+            long intendedStarted = metronome.waitForNext();
+            long started = System.nanoTime();
+            try {
+                timeStep();
+            } catch (Exception e) {
+                throw rethrow(e);
+            }
+            recordLatencies(null, operationPartitionId, operationTarget, intendedStarted, started);
+            resetOperationTarget();
+
+            increaseIteration();
+        }
     }
 
     /**
@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.simulator.worker.tasks;
+
+import com.hazelcast.simulator.probes.Probe;
+import com.hazelcast.simulator.probes.TaggedProbe;
+import com.hazelcast.simulator.test.TestContext;
+import com.hazelcast.simulator.test.annotations.InjectProbe;
+import com.hazelcast.simulator.utils.SplitMixRandom;
+import com.hazelcast.simulator.worker.metronome.Metronome;
+
+import java.util.Random;
+
+import static com.hazelcast.simulator.worker.metronome.SimpleMetronome.withFixedFrequency;
+
+/**
+ * Base class of the generated runners for tests with {@link com.hazelcast.simulator.test.annotations.TimeStep} methods.
+ *
+ * The {@link com.hazelcast.simulator.worker.TestContainer} injects the same fields as into an {@link AbstractWorker}, so the
+ * runners support the metronome and probe settings of the test. The generated {@link #run()} method copies them into local
+ * variables once, so the run loop just contains the selection and the direct calls of the time step methods.
+ */
+public abstract class AbstractTimeStepRunner implements IWorker {
+
+    // this field will be injected by test.properties of the test
+    @SuppressWarnings("checkstyle:visibilitymodifier")
+    public float metronomeFrequency;
+
+    // these fields will be injected by the TestContainer
+    TestContext testContext;
+    @InjectProbe(useForThroughput = true)
+    Probe workerProbe;
+    @InjectProbe
+    Probe correctedWorkerProbe;
+    @InjectProbe(tagNames = "operation")
+    TaggedProbe operationProbe;
+    Metronome metronome;
+
+    // this generator is reseeded by the TestContainer, if the test has a seed
+    final Random random = new SplitMixRandom();
+
+    @Override
+    public void afterCompletion() {
+    }
+
+    protected final TestContext getTestContext() {
+        return testContext;
+    }
+
+    protected final Metronome getMetronome() {
+        if (metronome == null && metronomeFrequency > 0) {
+            metronome = withFixedFrequency(metronomeFrequency);
+        }
+        return metronome;
+    }
+
+    protected final Random getRandom() {
+        return random;
+    }
+
+    protected final Probe getWorkerProbe() {
+        return workerProbe;
+    }
+
+    /**
+     * Returns the probe for the latency from the intended start time, which is just injected if the test is clocked by a
+     * {@link Metronome}.
+     *
+     * @return the corrected worker probe or {@code null}
+     */
+    protected final Probe getCorrectedWorkerProbe() {
+        return correctedWorkerProbe;
+    }
+
+    /**
+     * Returns the probe of a single time step method.
+     *
+     * @param methodName the name of the time step method
+     * @return the {@link Probe} of the method
+     */
+    protected final Probe getMethodProbe(String methodName) {
+        return operationProbe.getProbe(methodName);
+    }
+}
@@ -18,14 +18,21 @@ package com.hazelcast.simulator.worker.tasks;
 import com.hazelcast.logging.ILogger;
 import com.hazelcast.logging.Logger;
 import com.hazelcast.simulator.probes.Probe;
+import com.hazelcast.simulator.probes.TaggedProbe;
 import com.hazelcast.simulator.test.TestContext;
 import com.hazelcast.simulator.test.annotations.InjectProbe;
+import com.hazelcast.simulator.utils.SplitMixRandom;
+import com.hazelcast.simulator.worker.distribution.KeyDistribution;
+import com.hazelcast.simulator.worker.distribution.KeyDistributionSpec;
+import com.hazelcast.simulator.worker.metronome.Metronome;
 import com.hazelcast.simulator.worker.selector.OperationSelector;
 import com.hazelcast.simulator.worker.selector.OperationSelectorBuilder;
 
 import java.util.Random;
 
+import static com.hazelcast.simulator.probes.Outlier.NO_PARTITION_ID;
 import static com.hazelcast.simulator.utils.CommonUtils.rethrow;
+import static com.hazelcast.simulator.worker.metronome.SimpleMetronome.withFixedFrequency;
 
 /**
  * Abstract worker class which is returned by {@link com.hazelcast.simulator.test.annotations.RunWithWorker} annotated test
@@ -34,6 +41,18 @@ import static com.hazelcast.simulator.utils.CommonUtils.rethrow;
  * Implicitly logs and measures performance. The related properties can be overwritten with the properties of the test.
  * The Operation counter is automatically increased after each {@link #timeStep(Enum)} call.
  *
+ * If the property {@link #metronomeFrequency} is set, each worker thread is clocked by a {@link Metronome} with a fixed rate.
+ * The {@link Metronome} can also be injected by the {@link com.hazelcast.simulator.worker.TestContainer}, e.g. to run the
+ * test with a cluster wide target throughput. In this mode the latency is additionally recorded from the intended start time
+ * of each operation into {@link #correctedWorkerProbe}, so stalls are not hidden by coordinated omission.
+ *
+ * The latency of each operation is additionally recorded into a probe per operation of {@link #operationProbe}. The probes are
+ * looked up once before the run, so the recording just costs an array access.
+ *
+ * A slow operation, which exceeds the outlier threshold of the {@link #workerProbe}, is captured with the name of its operation.
+ * The test can additionally call {@link #setOperationTarget(int, Object)} in {@link #timeStep(Enum)}, so the outlier is
+ * attributed to the partition and the member of the accessed key.
+ *
  * @param <O> Type of Enum used by the {@link com.hazelcast.simulator.worker.selector.OperationSelector}
  */
 public abstract class AbstractWorker<O extends Enum<O>> implements IWorker {
@@ -43,21 +62,44 @@ public abstract class AbstractWorker<O extends Enum<O>> implements IWorker {
     // these fields will be injected by test.properties of the test
     @SuppressWarnings("checkstyle:visibilitymodifier")
     public long logFrequency;
+    @SuppressWarnings("checkstyle:visibilitymodifier")
+    public float metronomeFrequency;
+    @SuppressWarnings("checkstyle:visibilitymodifier")
+    public String keyDistribution = "uniform";
 
-    final Random random = new Random();
+    // this generator is reseeded by the TestContainer, if the test has a seed
+    final Random random = new SplitMixRandom();
     final OperationSelector<O> selector;
 
     // these fields will be injected by the TestContainer
     TestContext testContext;
     @InjectProbe(useForThroughput = true)
     Probe workerProbe;
+    @InjectProbe
+    Probe correctedWorkerProbe;
+    @InjectProbe(tagNames = "operation")
+    TaggedProbe operationProbe;
+
+    // probe per operation, indexed by the ordinal of the operation
+    Probe[] operationProbes;
+
+    // this field will be injected by the TestContainer, if the test runs with a target throughput
+    Metronome metronome;
 
     // local variables
     long iteration;
     boolean isWorkerStopped;
 
+    // context of the current operation, which is set by the test and reset after each operation
+    int operationPartitionId = NO_PARTITION_ID;
+    Object operationTarget;
+
+    // created on first use, since the number of keys is just known by the test
+    private KeyDistribution keyIndexDistribution;
+    private int keyIndexDistributionKeyCount;
+
     public AbstractWorker(OperationSelectorBuilder<O> operationSelectorBuilder) {
-        this.selector = operationSelectorBuilder.build();
+        this.selector = operationSelectorBuilder.build(random);
     }
 
     /**
@@ -69,21 +111,91 @@ public abstract class AbstractWorker<O extends Enum<O>> implements IWorker {
 
     @Override
     public void run() {
+        initOperationProbes();
         beforeRun();
 
+        Metronome metronome = getMetronome();
+        if (metronome != null) {
+            runWithMetronome(metronome);
+        } else {
+            runWithoutMetronome();
+        }
+
+        afterRun();
+    }
+
+    private void runWithoutMetronome() {
         while (!testContext.isStopped() && !isWorkerStopped) {
+            O operation = selector.select();
             long started = System.nanoTime();
             try {
-                timeStep(selector.select());
+                timeStep(operation);
             } catch (Exception e) {
                 throw rethrow(e);
             }
-            workerProbe.recordValue(System.nanoTime() - started);
+            long latencyNanos = System.nanoTime() - started;
+            workerProbe.recordValue(latencyNanos, operation.name(), operationPartitionId, operationTarget);
+            resetOperationTarget();
+            recordOperationLatency(operation, latencyNanos);
 
             increaseIteration();
         }
+    }
 
-        afterRun();
+    private void runWithMetronome(Metronome metronome) {
+        while (!testContext.isStopped() && !isWorkerStopped) {
+            O operation = selector.select();
+            long intendedStarted = metronome.waitForNext();
+            long started = System.nanoTime();
+            try {
+                timeStep(operation);
+            } catch (Exception e) {
+                throw rethrow(e);
+            }
+            long latencyNanos = recordLatencies(operation, operationPartitionId, operationTarget, intendedStarted, started);
+            resetOperationTarget();
+            recordOperationLatency(operation, latencyNanos);
+
+            increaseIteration();
+        }
+    }
+
+    void initOperationProbes() {
+        if (operationProbe == null || selector == null) {
+            return;
+        }
+        for (O operation : selector.getOperations()) {
+            if (operationProbes == null) {
+                operationProbes = new Probe[operation.getDeclaringClass().getEnumConstants().length];
+            }
+            operationProbes[operation.ordinal()] = operationProbe.getProbe(operation);
+        }
+    }
+
+    void recordOperationLatency(O operation, long latencyNanos) {
+        if (operationProbes != null) {
+            operationProbes[operation.ordinal()].recordValue(latencyNanos);
+        }
+    }
+
+    void resetOperationTarget() {
+        operationPartitionId = NO_PARTITION_ID;
+        operationTarget = null;
+    }
+
+    /**
+     * Sets the partition and the target member of the current operation, so the operation is attributed to them if it's
+     * captured as outlier.
+     *
+     * Has to be called from {@link #timeStep(Enum)}, the values are reset after each operation.
+     *
+     * @param partitionId the partition ID of the accessed key
+     * @param target      the member which owns the partition or {@code null} if unknown; use an object which looks up the
+     *                    member in {@link Object#toString()}, so the lookup is just done for captured outliers
+     */
+    protected final void setOperationTarget(int partitionId, Object target) {
+        this.operationPartitionId = partitionId;
+        this.operationTarget = target;
     }
 
     /**
@@ -156,6 +268,23 @@ public abstract class AbstractWorker<O extends Enum<O>> implements IWorker {
         return random.nextInt(upperBond);
     }
 
+    /**
+     * Returns the index of the next key to access, which is selected by the configured <tt>keyDistribution</tt>.
+     *
+     * Use this method instead of {@link #randomInt(int)} to select keys, so the access pattern of the test can be configured.
+     *
+     * @param keyCount the number of keys of the test
+     * @return the index of the next key between {@code 0} (inclusive) and {@code keyCount} (exclusive)
+     * @see KeyDistributionSpec
+     */
+    protected final int nextKeyIndex(int keyCount) {
+        if (keyIndexDistributionKeyCount != keyCount) {
+            keyIndexDistribution = KeyDistributionSpec.parse(keyDistribution).newInstance(keyCount, random);
+            keyIndexDistributionKeyCount = keyCount;
+        }
+        return keyIndexDistribution.nextIndex();
+    }
+
     /**
      * Returns the inner {@link Random} instance to call methods which are not implemented.
      *
@@ -174,6 +303,23 @@ public abstract class AbstractWorker<O extends Enum<O>> implements IWorker {
         return iteration;
     }
 
+    Metronome getMetronome() {
+        if (metronome == null && metronomeFrequency > 0) {
+            metronome = withFixedFrequency(metronomeFrequency);
+        }
+        return metronome;
+    }
+
+    long recordLatencies(O operation, int partitionId, Object target, long intendedStarted, long started) {
+        long now = System.nanoTime();
+        long latencyNanos = now - started;
+        workerProbe.recordValue(latencyNanos, (operation == null) ? null : operation.name(), partitionId, target);
+        if (correctedWorkerProbe != null) {
+            correctedWorkerProbe.recordValue(now - intendedStarted);
+        }
+        return latencyNanos;
+    }
+
     void increaseIteration() {
         iteration++;
         if (logFrequency > 0 && iteration % logFrequency == 0) {
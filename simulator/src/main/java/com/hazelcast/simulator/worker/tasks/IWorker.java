@@ -22,7 +22,14 @@ package com.hazelcast.simulator.worker.tasks;
  * Your implementation will get the following (optional) fields injected by {@link com.hazelcast.simulator.worker.TestContainer}:
  * {@link com.hazelcast.simulator.test.TestContext TestContext} testContext;
  * {@link com.hazelcast.simulator.probes.Probe Probe} workerProbe;
+ * {@link com.hazelcast.simulator.probes.Probe Probe} correctedWorkerProbe (just if <code>metronomeFrequency</code> is set);
+ * {@link com.hazelcast.simulator.probes.TaggedProbe TaggedProbe} operationProbe (with a probe per operation);
  * <code>long</code> logFrequency;
+ * <code>float</code> metronomeFrequency;
+ * <code>int</code> maxInFlight (for asynchronous workers);
+ * <code>int</code> batchSize (for batch workers);
+ * <code>String</code> keyDistribution (see {@link com.hazelcast.simulator.worker.distribution.KeyDistributionSpec});
+ * {@link java.util.Random Random} random (reseeded per worker thread, just if <code>seed</code> is set);
  */
 public interface IWorker extends Runnable {
 
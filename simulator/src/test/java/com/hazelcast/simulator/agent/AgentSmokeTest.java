@@ -4,6 +4,7 @@ import com.hazelcast.core.Hazelcast;
 import com.hazelcast.simulator.cluster.ClusterLayout;
 import com.hazelcast.simulator.common.SimulatorProperties;
 import com.hazelcast.simulator.coordinator.FailureContainer;
+import com.hazelcast.simulator.coordinator.OsMetricsContainer;
 import com.hazelcast.simulator.coordinator.PerformanceStateContainer;
 import com.hazelcast.simulator.coordinator.RemoteClient;
 import com.hazelcast.simulator.coordinator.TestHistogramContainer;
@@ -87,7 +88,7 @@ public class AgentSmokeTest {
         failureContainer = new FailureContainer("agentSmokeTest", null);
 
         coordinatorConnector = new CoordinatorConnector(testPhaseListenerContainer, performanceStateContainer,
-                testHistogramContainer, failureContainer);
+                testHistogramContainer, failureContainer, new OsMetricsContainer());
         coordinatorConnector.addAgent(1, AGENT_IP_ADDRESS, AGENT_PORT);
 
         remoteClient = new RemoteClient(coordinatorConnector, componentRegistry);
@@ -168,7 +169,7 @@ public class AgentSmokeTest {
             runPhase(testPhaseListener, testCase, TestPhase.GLOBAL_WARMUP);
 
             LOGGER.info("Starting run phase...");
-            remoteClient.sendToTestOnAllWorkers(testId, new StartTestOperation(false));
+            remoteClient.sendToTestOnAllWorkers(testId, new StartTestOperation(false, 1));
 
             LOGGER.info("Running for " + TEST_RUNTIME_SECONDS + " seconds");
             sleepSeconds(TEST_RUNTIME_SECONDS);
@@ -0,0 +1,72 @@
+package com.hazelcast.simulator.agent.osmetrics;
+
+import com.hazelcast.simulator.agent.Agent;
+import com.hazelcast.simulator.agent.workerjvm.WorkerJvmManager;
+import org.junit.After;
+import org.junit.Test;
+
+import java.io.File;
+
+import static com.hazelcast.simulator.utils.FileUtils.deleteQuiet;
+import static com.hazelcast.simulator.utils.FileUtils.fileAsText;
+import static com.hazelcast.simulator.utils.FormatUtils.NEW_LINE;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyZeroInteractions;
+
+public class OsMetricsMonitorTest {
+
+    private final File osMetricsFile = new File(OsMetricsMonitor.OS_METRICS_FILE_PREFIX + "OsMetricsMonitorTest.txt");
+    private final File processMetricsFile = new File(OsMetricsMonitor.PROCESS_METRICS_FILE_NAME);
+
+    @After
+    public void tearDown() {
+        deleteQuiet(osMetricsFile);
+        deleteQuiet(processMetricsFile);
+    }
+
+    @Test
+    public void testConstructor_disabled() {
+        Agent agent = mock(Agent.class);
+        OsMetricsMonitor monitor = new OsMetricsMonitor(agent, new WorkerJvmManager(), 0);
+        monitor.shutdown();
+
+        verifyZeroInteractions(agent);
+    }
+
+    @Test
+    public void testWriteOsMetrics() {
+        OsMetrics osMetrics = new OsMetrics(1000, 5000);
+        osMetrics.setCpu(40, 10, 5, 10, 12.5, 22.5);
+        osMetrics.setScheduler(5, 1, 3.5, 20000);
+        osMetrics.setNetwork(1024 * 1024, 2 * 1024 * 1024);
+        osMetrics.setDisk(0, 512 * 1024, 75);
+
+        OsMetricsMonitor.writeOsMetrics(osMetricsFile, "01/01/2016 12:00:00", osMetrics);
+        OsMetricsMonitor.writeOsMetrics(osMetricsFile, "01/01/2016 12:00:05", osMetrics);
+
+        String[] lines = fileAsText(osMetricsFile).split(NEW_LINE);
+        assertEquals(4, lines.length);
+        assertTrue(lines[0].startsWith("Timestamp"));
+        assertTrue(lines[0].contains("steal %"));
+        assertEquals(lines[0].length(), lines[2].length());
+        assertTrue(lines[2].startsWith("[01/01/2016 12:00:00]"));
+        assertTrue(lines[2].contains("12.50"));
+        assertTrue(lines[3].startsWith("[01/01/2016 12:00:05]"));
+    }
+
+    @Test
+    public void testWriteProcessMetrics() {
+        ProcessMetrics processMetrics = new ProcessMetrics(25, 512 * 1024 * 1024, 42);
+
+        OsMetricsMonitor.writeProcessMetrics(processMetricsFile, "01/01/2016 12:00:00", processMetrics);
+
+        String[] lines = fileAsText(processMetricsFile).split(NEW_LINE);
+        assertEquals(3, lines.length);
+        assertTrue(lines[0].contains("rss MB"));
+        assertEquals(lines[0].length(), lines[2].length());
+        assertTrue(lines[2].contains("512.00"));
+        assertTrue(lines[2].endsWith("42"));
+    }
+}
@@ -0,0 +1,171 @@
+package com.hazelcast.simulator.agent.osmetrics;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+
+import static com.hazelcast.simulator.utils.FileUtils.deleteQuiet;
+import static com.hazelcast.simulator.utils.FileUtils.ensureExistingDirectory;
+import static com.hazelcast.simulator.utils.FileUtils.writeText;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class OsMetricsSamplerTest {
+
+    private static final double DELTA = 0.0001;
+    private static final int PID = 4711;
+
+    private final File procDir = new File("OsMetricsSamplerTest-proc").getAbsoluteFile();
+
+    @Before
+    public void setUp() {
+        ensureExistingDirectory(new File(procDir, "net"));
+        ensureExistingDirectory(new File(procDir, String.valueOf(PID)));
+    }
+
+    @After
+    public void tearDown() {
+        deleteQuiet(procDir);
+    }
+
+    @Test
+    public void testIsAvailable() {
+        assertFalse(OsMetricsSampler.isAvailable(procDir));
+
+        writeStat(0, 0, 0, 0, 0, 0, 0, 0, 1, 0);
+        assertTrue(OsMetricsSampler.isAvailable(procDir));
+    }
+
+    @Test
+    public void testSample() {
+        writeProcFiles(0, 0, 0, 0, 0, 0, 0, 0);
+        OsMetricsSampler sampler = new OsMetricsSampler(procDir, 1000);
+
+        // 1000 ticks: 300 user + 100 nice, 100 system, 250 idle, 50 iowait, 50 irq + 50 softirq, 100 steal
+        writeStat(300, 100, 100, 250, 50, 50, 50, 100, 5, 2);
+        writeText("3.50 2.00 1.00 4/512 4711\n", new File(procDir, "loadavg"));
+        writeNetDev(2 * 1024 * 1024, 1024 * 1024, 1000000);
+        writeDiskStats(2048, 4096, 1000);
+
+        OsMetrics osMetrics = sampler.sample(3000);
+
+        assertEquals(3000, osMetrics.getTimestamp());
+        assertEquals(2000, osMetrics.getIntervalMillis());
+        assertEquals(40.0, osMetrics.getCpuUserPercent(), DELTA);
+        assertEquals(10.0, osMetrics.getCpuSystemPercent(), DELTA);
+        assertEquals(5.0, osMetrics.getCpuIoWaitPercent(), DELTA);
+        assertEquals(10.0, osMetrics.getCpuIrqPercent(), DELTA);
+        assertEquals(10.0, osMetrics.getCpuStealPercent(), DELTA);
+        assertEquals(25.0, osMetrics.getCpuIdlePercent(), DELTA);
+        assertEquals(70.0, osMetrics.getCpuBusyPercent(), DELTA);
+
+        assertEquals(5, osMetrics.getRunQueueLength());
+        assertEquals(2, osMetrics.getBlockedProcesses());
+        assertEquals(3.5, osMetrics.getLoadAverage(), DELTA);
+        assertEquals(200000.0, osMetrics.getContextSwitchRate(), DELTA);
+
+        // the loopback interface is ignored
+        assertEquals(1024 * 1024, osMetrics.getNetworkReceiveRate(), DELTA);
+        assertEquals(512 * 1024, osMetrics.getNetworkTransmitRate(), DELTA);
+
+        // the partition and the device mapper device are ignored
+        assertEquals(2048 * 512 / 2, osMetrics.getDiskReadRate(), DELTA);
+        assertEquals(4096 * 512 / 2, osMetrics.getDiskWriteRate(), DELTA);
+        assertEquals(50.0, osMetrics.getDiskUtilizationPercent(), DELTA);
+    }
+
+    @Test
+    public void testSample_missingFiles() {
+        writeStat(0, 0, 0, 0, 0, 0, 0, 0, 1, 0);
+        OsMetricsSampler sampler = new OsMetricsSampler(procDir, 1000);
+
+        writeStat(100, 0, 0, 100, 0, 0, 0, 0, 1, 0);
+        OsMetrics osMetrics = sampler.sample(2000);
+
+        assertEquals(50.0, osMetrics.getCpuUserPercent(), DELTA);
+        assertEquals(0.0, osMetrics.getLoadAverage(), DELTA);
+        assertEquals(0.0, osMetrics.getNetworkReceiveRate(), DELTA);
+        assertEquals(0.0, osMetrics.getDiskReadRate(), DELTA);
+    }
+
+    @Test
+    public void testSampleProcess() {
+        writeProcFiles(0, 0, 0, 0, 0, 0, 0, 0);
+        writeProcessStat(100, 50, 42, 1000);
+        OsMetricsSampler sampler = new OsMetricsSampler(procDir, 1000);
+
+        ProcessMetrics processMetrics = sampler.sampleProcess(PID);
+        assertNotNull(processMetrics);
+        assertEquals(0.0, processMetrics.getCpuPercent(), DELTA);
+
+        writeStat(400, 0, 100, 500, 0, 0, 0, 0, 1, 0);
+        writeProcessStat(300, 100, 43, 2000);
+        sampler.sample(2000);
+        processMetrics = sampler.sampleProcess(PID);
+
+        assertNotNull(processMetrics);
+        assertEquals(25.0, processMetrics.getCpuPercent(), DELTA);
+        assertEquals(2000 * 4096, processMetrics.getRssBytes());
+        assertEquals(43, processMetrics.getThreadCount());
+    }
+
+    @Test
+    public void testSampleProcess_notRunning() {
+        writeProcFiles(0, 0, 0, 0, 0, 0, 0, 0);
+        OsMetricsSampler sampler = new OsMetricsSampler(procDir, 1000);
+
+        assertNull(sampler.sampleProcess(PID + 1));
+    }
+
+    private void writeProcFiles(long user, long nice, long system, long idle, long iowait, long irq, long softirq, long steal) {
+        writeStat(user, nice, system, idle, iowait, irq, softirq, steal, 1, 0);
+        writeText("0.00 0.00 0.00 1/100 1\n", new File(procDir, "loadavg"));
+        writeNetDev(0, 0, 0);
+        writeDiskStats(0, 0, 0);
+    }
+
+    private void writeStat(long user, long nice, long system, long idle, long iowait, long irq, long softirq, long steal,
+                           long running, long blocked) {
+        writeText(String.format("cpu  %d %d %d %d %d %d %d %d 0 0%n"
+                        + "cpu0 %d %d %d %d %d %d %d %d 0 0%n"
+                        + "intr 12345 0 0%n"
+                        + "ctxt %d%n"
+                        + "btime 1445000000%n"
+                        + "processes 1234%n"
+                        + "procs_running %d%n"
+                        + "procs_blocked %d%n",
+                user, nice, system, idle, iowait, irq, softirq, steal,
+                user, nice, system, idle, iowait, irq, softirq, steal,
+                (user + system) * 1000, running, blocked), new File(procDir, "stat"));
+    }
+
+    private void writeNetDev(long received, long transmitted, long loopback) {
+        writeText(String.format("Inter-|   Receive                                                |  Transmit%n"
+                        + " face |bytes    packets errs drop fifo frame compressed multicast|bytes    packets errs drop fifo colls"
+                        + " carrier compressed%n"
+                        + "    lo: %d 10 0 0 0 0 0 0 %d 10 0 0 0 0 0 0%n"
+                        + "  eth0: %d 10 0 0 0 0 0 0 %d 10 0 0 0 0 0 0%n",
+                loopback, loopback, received, transmitted), new File(procDir, "net/dev"));
+    }
+
+    private void writeDiskStats(long sectorsRead, long sectorsWritten, long ioTicks) {
+        writeText(String.format("   8       0 sda 10 0 %d 0 10 0 %d 0 0 %d %d%n"
+                        + "   8       1 sda1 10 0 %d 0 10 0 %d 0 0 %d %d%n"
+                        + " 253       0 dm-0 10 0 %d 0 10 0 %d 0 0 %d %d%n"
+                        + "   7       0 loop0 0 0 0 0 0 0 0 0 0 0 0%n",
+                sectorsRead, sectorsWritten, ioTicks, ioTicks,
+                sectorsRead, sectorsWritten, ioTicks, ioTicks,
+                sectorsRead, sectorsWritten, ioTicks, ioTicks), new File(procDir, "diskstats"));
+    }
+
+    private void writeProcessStat(long utime, long stime, int threads, long rssPages) {
+        writeText(String.format("%d (java worker) S 1 %d %d 0 -1 4202496 1000 0 0 0 %d %d 0 0 20 0 %d 0 100 5000000 %d"
+                        + " 18446744073709551615 1 1 0 0 0 0 0 2 16384 0 0 0 17 0 0 0 0 0 0%n",
+                PID, PID, PID, utime, stime, threads, rssPages), new File(procDir, PID + "/stat"));
+    }
+}
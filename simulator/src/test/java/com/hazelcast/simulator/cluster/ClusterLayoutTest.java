@@ -8,6 +8,8 @@ import com.hazelcast.simulator.protocol.registry.ComponentRegistry;
 import com.hazelcast.simulator.utils.jars.HazelcastJARs;
 import org.junit.Test;
 
+import static com.hazelcast.simulator.worker.performance.PerformanceUtils.DEFAULT_PERCENTILES;
+import static com.hazelcast.simulator.worker.performance.PerformanceUtils.parsePercentiles;
 import static java.util.Collections.singleton;
 import static java.util.Collections.singletonList;
 import static org.junit.Assert.assertEquals;
@@ -25,6 +27,7 @@ public class ClusterLayoutTest {
 
         WorkerParameters workerParameters = mock(WorkerParameters.class);
         when(workerParameters.getProfiler()).thenReturn(JavaProfiler.NONE);
+        when(workerParameters.getPerformancePercentiles()).thenReturn(parsePercentiles(DEFAULT_PERCENTILES));
         when(workerParameters.getHazelcastVersionSpec()).thenReturn(HazelcastJARs.OUT_OF_THE_BOX);
 
         ClusterLayoutParameters clusterLayoutParameters = mock(ClusterLayoutParameters.class);
@@ -20,6 +20,8 @@ import static com.hazelcast.simulator.cluster.AgentWorkerMode.MIXED;
 import static com.hazelcast.simulator.cluster.ClusterUtils.initMemberLayout;
 import static com.hazelcast.simulator.utils.FormatUtils.NEW_LINE;
 import static com.hazelcast.simulator.utils.ReflectionUtils.invokePrivateConstructor;
+import static com.hazelcast.simulator.worker.performance.PerformanceUtils.DEFAULT_PERCENTILES;
+import static com.hazelcast.simulator.worker.performance.PerformanceUtils.parsePercentiles;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
@@ -41,6 +43,7 @@ public class ClusterUtilsTest {
         componentRegistry.addAgent("192.168.0.3", "192.168.0.3");
 
         when(workerParameters.getProfiler()).thenReturn(JavaProfiler.NONE);
+        when(workerParameters.getPerformancePercentiles()).thenReturn(parsePercentiles(DEFAULT_PERCENTILES));
 
         SimulatorProperties simulatorProperties = mock(SimulatorProperties.class);
         when(simulatorProperties.get("MANAGEMENT_CENTER_URL")).thenReturn("none");
@@ -0,0 +1,109 @@
+package com.hazelcast.simulator.coordinator;
+
+import com.hazelcast.simulator.protocol.core.AddressLevel;
+import com.hazelcast.simulator.protocol.core.SimulatorAddress;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramLogReader;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+
+import static com.hazelcast.simulator.utils.FileUtils.deleteQuiet;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class ClusterLatencyHistogramTest {
+
+    private static final String TEST_ID = "ClusterLatencyHistogramTest";
+    private static final File LATENCY_FILE = new File("latency-cluster-" + TEST_ID + ".hlog");
+
+    private final SimulatorAddress worker1 = new SimulatorAddress(AddressLevel.WORKER, 1, 1, 0);
+    private final SimulatorAddress worker2 = new SimulatorAddress(AddressLevel.WORKER, 2, 1, 0);
+
+    private ClusterLatencyHistogram clusterLatencyHistogram;
+
+    @Before
+    public void setUp() {
+        clusterLatencyHistogram = new ClusterLatencyHistogram(TEST_ID);
+    }
+
+    @After
+    public void tearDown() {
+        clusterLatencyHistogram.close();
+        deleteQuiet(LATENCY_FILE);
+    }
+
+    @Test
+    public void testGetLastIntervalHistogram_noIntervalClosed() {
+        assertNull(clusterLatencyHistogram.getLastIntervalHistogram());
+        assertFalse(LATENCY_FILE.exists());
+    }
+
+    @Test
+    public void testAddIntervalHistogram_waitsForAllWorkers() {
+        clusterLatencyHistogram.addIntervalHistogram(worker1, createHistogram(100));
+        clusterLatencyHistogram.addIntervalHistogram(worker2, createHistogram(5000));
+        clusterLatencyHistogram.addIntervalHistogram(worker2, createHistogram(6000));
+        assertEquals(1, clusterLatencyHistogram.getLastIntervalHistogram().getTotalCount());
+
+        clusterLatencyHistogram.addIntervalHistogram(worker1, createHistogram(200, 300));
+
+        Histogram histogram = clusterLatencyHistogram.getLastIntervalHistogram();
+        assertEquals(3, histogram.getTotalCount());
+        assertTrue(histogram.valuesAreEquivalent(5000, histogram.getMaxValue()));
+        assertTrue(histogram.valuesAreEquivalent(200, histogram.getMinValue()));
+
+        clusterLatencyHistogram.addIntervalHistogram(worker1, createHistogram(400));
+
+        histogram = clusterLatencyHistogram.getLastIntervalHistogram();
+        assertEquals(2, histogram.getTotalCount());
+        assertTrue(histogram.valuesAreEquivalent(6000, histogram.getMaxValue()));
+    }
+
+    @Test
+    public void testAddIntervalHistogram_stopsWaitingForLaggingWorker() {
+        clusterLatencyHistogram.addIntervalHistogram(worker1, createHistogram(100));
+        clusterLatencyHistogram.addIntervalHistogram(worker2, createHistogram(200));
+        clusterLatencyHistogram.addIntervalHistogram(worker1, createHistogram(300));
+        Histogram lastIntervalHistogram = clusterLatencyHistogram.getLastIntervalHistogram();
+        assertEquals(2, lastIntervalHistogram.getTotalCount());
+
+        for (int i = 0; i < ClusterLatencyHistogram.MAX_PENDING_INTERVALS; i++) {
+            clusterLatencyHistogram.addIntervalHistogram(worker1, createHistogram(400));
+            assertSame(lastIntervalHistogram, clusterLatencyHistogram.getLastIntervalHistogram());
+        }
+        clusterLatencyHistogram.addIntervalHistogram(worker1, createHistogram(500));
+
+        Histogram histogram = clusterLatencyHistogram.getLastIntervalHistogram();
+        assertEquals(1, histogram.getTotalCount());
+        assertTrue(histogram.valuesAreEquivalent(500, histogram.getMaxValue()));
+    }
+
+    @Test
+    public void testClose_writesPendingInterval() throws Exception {
+        clusterLatencyHistogram.addIntervalHistogram(worker1, createHistogram(100, 200));
+        clusterLatencyHistogram.addIntervalHistogram(worker2, createHistogram(300));
+        clusterLatencyHistogram.close();
+
+        HistogramLogReader reader = new HistogramLogReader(LATENCY_FILE);
+        Histogram first = (Histogram) reader.nextIntervalHistogram();
+        Histogram second = (Histogram) reader.nextIntervalHistogram();
+
+        assertEquals(2, first.getTotalCount());
+        assertEquals(1, second.getTotalCount());
+        assertNull(reader.nextIntervalHistogram());
+    }
+
+    private static Histogram createHistogram(long... values) {
+        Histogram histogram = new Histogram(3);
+        for (long value : values) {
+            histogram.recordValue(value);
+        }
+        return histogram;
+    }
+}
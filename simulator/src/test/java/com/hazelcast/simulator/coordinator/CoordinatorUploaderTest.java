@@ -22,6 +22,8 @@ import static com.hazelcast.simulator.utils.FileUtils.deleteQuiet;
 import static com.hazelcast.simulator.utils.FileUtils.ensureExistingDirectory;
 import static com.hazelcast.simulator.utils.FormatUtils.NEW_LINE;
 import static com.hazelcast.simulator.utils.jars.HazelcastJARs.OUT_OF_THE_BOX;
+import static com.hazelcast.simulator.worker.performance.PerformanceUtils.DEFAULT_PERCENTILES;
+import static com.hazelcast.simulator.worker.performance.PerformanceUtils.parsePercentiles;
 import static java.util.Collections.singleton;
 import static org.mockito.Matchers.anyString;
 import static org.mockito.Matchers.contains;
@@ -58,6 +60,7 @@ public class CoordinatorUploaderTest {
 
         when(workerParameters.getHazelcastVersionSpec()).thenReturn(OUT_OF_THE_BOX);
         when(workerParameters.getProfiler()).thenReturn(JavaProfiler.NONE);
+        when(workerParameters.getPerformancePercentiles()).thenReturn(parsePercentiles(DEFAULT_PERCENTILES));
 
         ClusterLayoutParameters clusterLayoutParameters = new ClusterLayoutParameters(null, null, 2, 0, 0, 2);
 
@@ -0,0 +1,96 @@
+package com.hazelcast.simulator.coordinator;
+
+import com.hazelcast.simulator.coordinator.LatencySpikeCorrelator.LatencySpike;
+import com.hazelcast.simulator.protocol.core.AddressLevel;
+import com.hazelcast.simulator.protocol.core.SimulatorAddress;
+import com.hazelcast.simulator.worker.performance.JvmMetrics;
+import com.hazelcast.simulator.worker.performance.PerformanceState;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class LatencySpikeCorrelatorTest {
+
+    private static final String TEST_ID = "test";
+
+    private final SimulatorAddress client = new SimulatorAddress(AddressLevel.WORKER, 1, 1, 0);
+    private final SimulatorAddress member = new SimulatorAddress(AddressLevel.WORKER, 2, 1, 0);
+
+    private final LatencySpikeCorrelator correlator = new LatencySpikeCorrelator();
+
+    @Test
+    public void testCorrelate_noSpikes() {
+        for (int i = 1; i <= 10; i++) {
+            correlator.update(client, states(1000, 5000), jvmMetrics(i * 1000, 0));
+        }
+
+        assertTrue(correlator.correlate().isEmpty());
+    }
+
+    @Test
+    public void testCorrelate_spikeWithPauseOnOtherWorker() {
+        correlator.update(client, states(1000, 5000), jvmMetrics(1000, 0));
+        correlator.update(member, states(), jvmMetrics(2100, 200));
+        correlator.update(client, states(1000, 300000), jvmMetrics(2000, 0));
+
+        List<LatencySpike> spikes = correlator.correlate();
+
+        assertEquals(1, spikes.size());
+        assertTrue(spikes.get(0).hasJvmPause());
+        assertTrue(spikes.get(0).toString().contains(member.toString()));
+    }
+
+    @Test
+    public void testCorrelate_spikeWithoutPause() {
+        correlator.update(client, states(1000, 5000), jvmMetrics(1000, 0));
+        correlator.update(member, states(), jvmMetrics(5000, 200));
+        correlator.update(client, states(1000, 300000), jvmMetrics(2000, 0));
+
+        List<LatencySpike> spikes = correlator.correlate();
+
+        assertEquals(1, spikes.size());
+        assertFalse(spikes.get(0).hasJvmPause());
+    }
+
+    @Test
+    public void testCorrelate_pauseTooShortForSpike() {
+        correlator.update(client, states(1000, 5000), jvmMetrics(1000, 0));
+        correlator.update(member, states(), jvmMetrics(2000, 10));
+        correlator.update(client, states(1000, 300000), jvmMetrics(2000, 0));
+
+        List<LatencySpike> spikes = correlator.correlate();
+
+        assertEquals(1, spikes.size());
+        assertFalse(spikes.get(0).hasJvmPause());
+    }
+
+    @Test
+    public void testCorrelate_smallLatencyIsNoSpike() {
+        correlator.update(client, states(10, 50), jvmMetrics(1000, 0));
+        correlator.update(client, states(10, 5000), jvmMetrics(2000, 0));
+
+        assertTrue(correlator.correlate().isEmpty());
+    }
+
+    private static Map<String, PerformanceState> states() {
+        return Collections.emptyMap();
+    }
+
+    private static Map<String, PerformanceState> states(double avgLatency, long maxLatency) {
+        PerformanceState state = new PerformanceState(1000, 1000, 1000, avgLatency, maxLatency, maxLatency);
+        return Collections.singletonMap(TEST_ID, state);
+    }
+
+    private static JvmMetrics jvmMetrics(long timestamp, long gcTimeMillis) {
+        JvmMetrics jvmMetrics = new JvmMetrics(timestamp, 1000);
+        jvmMetrics.setGc(gcTimeMillis > 0 ? 1 : 0, gcTimeMillis);
+        jvmMetrics.setSafepoints(JvmMetrics.NOT_AVAILABLE, JvmMetrics.NOT_AVAILABLE);
+        return jvmMetrics;
+    }
+}
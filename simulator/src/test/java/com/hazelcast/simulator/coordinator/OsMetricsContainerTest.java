@@ -0,0 +1,58 @@
+package com.hazelcast.simulator.coordinator;
+
+import com.hazelcast.simulator.agent.osmetrics.OsMetrics;
+import com.hazelcast.simulator.protocol.core.AddressLevel;
+import com.hazelcast.simulator.protocol.core.SimulatorAddress;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class OsMetricsContainerTest {
+
+    private final SimulatorAddress agent1 = new SimulatorAddress(AddressLevel.AGENT, 1, 0, 0);
+    private final SimulatorAddress agent2 = new SimulatorAddress(AddressLevel.AGENT, 2, 0, 0);
+
+    private final OsMetricsContainer container = new OsMetricsContainer();
+
+    @Test
+    public void testGetOsMetricsSummary_noOsMetrics() {
+        assertEquals("", container.getOsMetricsSummary());
+    }
+
+    @Test
+    public void testGetOsMetricsSummary() {
+        container.updateOsMetrics(agent1, osMetrics(50, 0));
+        container.updateOsMetrics(agent2, osMetrics(10, 25));
+
+        String summary = container.getOsMetricsSummary();
+
+        assertTrue(summary, summary.contains("C_A2"));
+        assertTrue(summary, summary.contains("steal 25.00%"));
+    }
+
+    @Test
+    public void testGetOsMetricsSummary_usesLatestOsMetrics() {
+        container.updateOsMetrics(agent1, osMetrics(50, 0));
+        container.updateOsMetrics(agent2, osMetrics(10, 25));
+        container.updateOsMetrics(agent2, osMetrics(80, 0));
+
+        String summary = container.getOsMetricsSummary();
+
+        assertTrue(summary, summary.contains("C_A1"));
+    }
+
+    @Test
+    public void testLogPeakOsMetrics() {
+        container.updateOsMetrics(agent1, osMetrics(50, 0));
+        container.updateOsMetrics(agent1, osMetrics(90, 0));
+
+        container.logPeakOsMetrics();
+    }
+
+    private static OsMetrics osMetrics(double idlePercent, double stealPercent) {
+        OsMetrics osMetrics = new OsMetrics(System.currentTimeMillis(), 5000);
+        osMetrics.setCpu(100 - idlePercent - stealPercent, 0, 0, 0, stealPercent, idlePercent);
+        return osMetrics;
+    }
+}
@@ -1,9 +1,13 @@
 package com.hazelcast.simulator.coordinator;
 
+import com.hazelcast.simulator.probes.Outlier;
 import com.hazelcast.simulator.protocol.core.AddressLevel;
 import com.hazelcast.simulator.protocol.core.SimulatorAddress;
 import com.hazelcast.simulator.utils.FormatUtils;
+import com.hazelcast.simulator.worker.performance.JvmMetrics;
+import com.hazelcast.simulator.worker.performance.OutlierSummary;
 import com.hazelcast.simulator.worker.performance.PerformanceState;
+import org.HdrHistogram.Histogram;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
@@ -14,8 +18,10 @@ import java.util.Map;
 
 import static com.hazelcast.simulator.utils.FileUtils.deleteQuiet;
 import static com.hazelcast.simulator.utils.FileUtils.fileAsText;
+import static java.util.Collections.singletonMap;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
 public class PerformanceStateContainerTest {
@@ -58,7 +64,22 @@ public class PerformanceStateContainerTest {
 
     @After
     public void tearDown() {
+        emptyPerformanceStateContainer.closeClusterLatencyHistograms();
         deleteQuiet(PERFORMANCE_FILE);
+        deleteQuiet(new File("latency-cluster-" + TEST_CASE_ID_1 + ".hlog"));
+    }
+
+    private void updateWithHistogram(SimulatorAddress workerAddress, long... latencies) {
+        Histogram histogram = new Histogram(3);
+        for (long latency : latencies) {
+            histogram.recordValue(latency);
+        }
+        PerformanceState performanceState = new PerformanceState(latencies.length, 100, 100, 100.0d, 100, 100);
+        performanceState.setIntervalHistogram(histogram);
+
+        Map<String, PerformanceState> performanceStates = new HashMap<String, PerformanceState>();
+        performanceStates.put(TEST_CASE_ID_1, performanceState);
+        emptyPerformanceStateContainer.updatePerformanceState(workerAddress, performanceStates);
     }
 
     @Test
@@ -67,6 +88,64 @@ public class PerformanceStateContainerTest {
         assertTrue(performance.contains("ops"));
     }
 
+    @Test
+    public void testGetPerformanceNumbers_withOperations() {
+        PerformanceState performanceState = new PerformanceState(1000, 200, 500, 1900.0d, 1800, 2500);
+        performanceState.addOperationState("PUT", new PerformanceState(400, 80, 200, 2100.0d, 2000, 2500));
+        performanceState.addOperationState("GET", new PerformanceState(600, 120, 300, 1700.0d, 1600, 2200));
+        Map<String, PerformanceState> performanceStates = new HashMap<String, PerformanceState>();
+        performanceStates.put(TEST_CASE_ID_1, performanceState);
+        emptyPerformanceStateContainer.updatePerformanceState(new SimulatorAddress(AddressLevel.WORKER, 1, 1, 0),
+                performanceStates);
+
+        String performance = emptyPerformanceStateContainer.getPerformanceNumbers(TEST_CASE_ID_1);
+        assertTrue(performance.contains("| GET"));
+        assertTrue(performance.contains("| PUT"));
+        assertTrue(performance.indexOf("| GET") < performance.indexOf("| PUT"));
+    }
+
+    @Test
+    public void testGetPerformanceNumbers_withConfiguredPercentiles() {
+        PerformanceStateContainer container = new PerformanceStateContainer(new double[]{90, 99.99});
+        PerformanceState performanceState = new PerformanceState(1000, 200, 500, 1900.0d, 1800, 2500);
+        performanceState.setIntervalPercentileLatencies(new long[]{2000, 2400});
+        PerformanceState probeState = new PerformanceState(600, 120, 300, 1700.0d, 1600, 2200);
+        probeState.setIntervalPercentileLatencies(new long[]{1900, 2100});
+        performanceState.addProbeState("probe1", probeState);
+        performanceState.addProbeState("probe2", probeState);
+        Map<String, PerformanceState> performanceStates = new HashMap<String, PerformanceState>();
+        performanceStates.put(TEST_CASE_ID_1, performanceState);
+        container.updatePerformanceState(new SimulatorAddress(AddressLevel.WORKER, 1, 1, 0), performanceStates);
+
+        String performance = container.getPerformanceNumbers(TEST_CASE_ID_1);
+        assertTrue(performance.contains("(90th)"));
+        assertTrue(performance.contains("(99.99th)"));
+        assertFalse(performance.contains("(99.9th)"));
+        assertTrue(performance.contains("| probe1"));
+        assertTrue(performance.contains("| probe2"));
+    }
+
+    @Test
+    public void testGetPerformanceNumbers_withClusterHistogram() {
+        SimulatorAddress worker1 = new SimulatorAddress(AddressLevel.WORKER, 1, 1, 0);
+        SimulatorAddress worker2 = new SimulatorAddress(AddressLevel.WORKER, 2, 1, 0);
+        assertNull(emptyPerformanceStateContainer.getClusterIntervalHistogram(TEST_CASE_ID_1));
+        updateWithHistogram(worker1, 100, 200);
+        updateWithHistogram(worker2, 300, 40000);
+        assertEquals(2, emptyPerformanceStateContainer.getClusterIntervalHistogram(TEST_CASE_ID_1).getTotalCount());
+
+        // the cluster interval is closed when all workers have reported
+        updateWithHistogram(worker1, 100, 500);
+
+        Histogram histogram = emptyPerformanceStateContainer.getClusterIntervalHistogram(TEST_CASE_ID_1);
+        assertEquals(4, histogram.getTotalCount());
+        String performance = emptyPerformanceStateContainer.getPerformanceNumbers(TEST_CASE_ID_1);
+        assertTrue(performance.contains("(50th)"));
+        assertTrue(performance.contains("(99th)"));
+        assertTrue(performance.contains("(99.9th)"));
+        assertTrue(performance.contains("(max)"));
+    }
+
     @Test
     public void testGetPerformanceNumbers_testCaseNotFound() {
         String performance = performanceStateContainer.getPerformanceNumbers("notFound");
@@ -157,4 +236,52 @@ public class PerformanceStateContainerTest {
         assertEquals(0, agentPerformanceStateMap.size());
         assertTrue(totalPerformanceState.isEmpty());
     }
+
+    @Test
+    public void testLogLatencySpikes() {
+        File latencySpikesFile = new File(PerformanceStateContainer.LATENCY_SPIKES_FILE_NAME);
+        SimulatorAddress workerAddress = new SimulatorAddress(AddressLevel.WORKER, 1, 1, 0);
+        try {
+            emptyPerformanceStateContainer.updatePerformanceState(workerAddress,
+                    singletonMap(TEST_CASE_ID_1, new PerformanceState(1000, 200, 500, 1000.0d, 2000, 2000)),
+                    new JvmMetrics(1000, 1000));
+            JvmMetrics jvmMetrics = new JvmMetrics(2000, 1000);
+            jvmMetrics.setGc(1, 400);
+            emptyPerformanceStateContainer.updatePerformanceState(workerAddress,
+                    singletonMap(TEST_CASE_ID_1, new PerformanceState(2000, 200, 500, 1000.0d, 500000, 500000)), jvmMetrics);
+
+            emptyPerformanceStateContainer.logLatencySpikes();
+
+            String latencySpikes = fileAsText(latencySpikesFile);
+            assertTrue(latencySpikes.contains(TEST_CASE_ID_1));
+            assertTrue(latencySpikes.contains("400 ms JVM pause"));
+        } finally {
+            deleteQuiet(latencySpikesFile);
+        }
+    }
+
+    @Test
+    public void testLogLatencySpikes_noSpikes() {
+        performanceStateContainer.logLatencySpikes();
+
+        assertFalse(new File(PerformanceStateContainer.LATENCY_SPIKES_FILE_NAME).exists());
+    }
+
+    @Test
+    public void testUpdateOutlierSummaries() {
+        OutlierSummary outlierSummary1 = new OutlierSummary();
+        outlierSummary1.add(new Outlier(0, "getProbe", 137, "10.0.0.3:5701", 5000));
+        OutlierSummary outlierSummary2 = new OutlierSummary();
+        outlierSummary2.add(new Outlier(0, "getProbe", 137, "10.0.0.3:5701", 5000));
+        outlierSummary2.add(new Outlier(0, "getProbe", 42, "10.0.0.4:5701", 5000));
+
+        performanceStateContainer.updateOutlierSummaries(singletonMap(TEST_CASE_ID_1, outlierSummary1));
+        performanceStateContainer.updateOutlierSummaries(singletonMap(TEST_CASE_ID_1, outlierSummary2));
+        performanceStateContainer.logOutlierSummaries();
+
+        OutlierSummary outlierSummary = performanceStateContainer.getOutlierSummary(TEST_CASE_ID_1);
+        assertEquals(3, outlierSummary.getCount());
+        assertTrue(outlierSummary.getHotspots().startsWith("67% on partition 137, 67% on member 10.0.0.3:5701"));
+        assertNull(performanceStateContainer.getOutlierSummary(TEST_CASE_ID_2));
+    }
 }
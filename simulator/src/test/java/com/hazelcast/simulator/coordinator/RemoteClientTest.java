@@ -25,6 +25,8 @@ import static com.hazelcast.simulator.protocol.core.SimulatorAddress.ALL_AGENTS;
 import static com.hazelcast.simulator.protocol.core.SimulatorAddress.ALL_WORKERS;
 import static com.hazelcast.simulator.protocol.core.SimulatorAddress.COORDINATOR;
 import static com.hazelcast.simulator.utils.CommonUtils.sleepSeconds;
+import static com.hazelcast.simulator.worker.performance.PerformanceUtils.DEFAULT_PERCENTILES;
+import static com.hazelcast.simulator.worker.performance.PerformanceUtils.parsePercentiles;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.mock;
@@ -53,6 +55,7 @@ public class RemoteClientTest {
         componentRegistry.addWorkers(agentAddress, Collections.singletonList(workerJvmSettings));
 
         when(workerParameters.getProfiler()).thenReturn(JavaProfiler.NONE);
+        when(workerParameters.getPerformancePercentiles()).thenReturn(parsePercentiles(DEFAULT_PERCENTILES));
     }
 
     @Test
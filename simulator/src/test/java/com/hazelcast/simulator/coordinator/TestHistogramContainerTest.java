@@ -1,5 +1,6 @@
 package com.hazelcast.simulator.coordinator;
 
+import com.hazelcast.simulator.probes.Result;
 import com.hazelcast.simulator.protocol.core.AddressLevel;
 import com.hazelcast.simulator.protocol.core.SimulatorAddress;
 import com.hazelcast.simulator.worker.performance.PerformanceState;
@@ -12,13 +13,18 @@ import javax.xml.bind.DatatypeConverter;
 import java.io.File;
 import java.nio.ByteBuffer;
 import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Random;
+import java.util.concurrent.TimeUnit;
 import java.util.zip.Deflater;
 
 import static com.hazelcast.simulator.probes.impl.ProbeImpl.LATENCY_PRECISION;
 import static com.hazelcast.simulator.probes.impl.ProbeImpl.MAXIMUM_LATENCY;
+import static com.hazelcast.simulator.probes.xml.ResultXmlUtils.fromXml;
 import static com.hazelcast.simulator.utils.FileUtils.deleteQuiet;
 import static java.util.Collections.singletonMap;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.mock;
@@ -50,18 +56,50 @@ public class TestHistogramContainerTest {
     @Test
     public void testCreateProbeResults() {
         String histogram1 = createEncodedHistogram();
-        testHistogramContainer.addTestHistograms(workerAddress1, "testId", singletonMap("workerProbe", histogram1));
+        testHistogramContainer.addTestHistograms(workerAddress1, "testId", singletonMap("workerProbe", histogram1), null);
 
         String histogram2 = createEncodedHistogram();
-        testHistogramContainer.addTestHistograms(workerAddress2, "testId", singletonMap("workerProbe", histogram2));
+        testHistogramContainer.addTestHistograms(workerAddress2, "testId", singletonMap("workerProbe", histogram2), null);
 
         testHistogramContainer.createProbeResults("testSuiteId", "testId");
         assertTrue(probeFile.exists());
     }
 
+    @Test
+    public void testCreateProbeResults_withLatencyUnit() {
+        Map<String, TimeUnit> latencyUnits = singletonMap("workerProbe", TimeUnit.NANOSECONDS);
+        testHistogramContainer.addTestHistograms(workerAddress1, "testId", singletonMap("workerProbe", createEncodedHistogram()),
+                latencyUnits);
+        testHistogramContainer.addTestHistograms(workerAddress2, "testId", singletonMap("workerProbe", createEncodedHistogram()),
+                latencyUnits);
+
+        testHistogramContainer.createProbeResults("testSuiteId", "testId");
+
+        Result result = fromXml(probeFile);
+        assertEquals(TimeUnit.NANOSECONDS, result.getLatencyUnit("workerProbe"));
+        assertEquals(20, result.getHistogram("workerProbe").getTotalCount());
+    }
+
+    @Test
+    public void testCreateProbeResults_withTaggedProbes() {
+        Map<String, String> histograms = new HashMap<String, String>();
+        histograms.put("operationProbe[operation=PUT]", createEncodedHistogram());
+        histograms.put("operationProbe[operation=GET]", createEncodedHistogram());
+        histograms.put("workerProbe", createEncodedHistogram());
+        testHistogramContainer.addTestHistograms(workerAddress1, "testId", histograms, null);
+        testHistogramContainer.addTestHistograms(workerAddress2, "testId", histograms, null);
+
+        testHistogramContainer.createProbeResults("testSuiteId", "testId");
+
+        Result result = fromXml(probeFile);
+        assertEquals(20, result.getHistogram("operationProbe[operation=PUT]").getTotalCount());
+        assertEquals(20, result.getHistogram("operationProbe[operation=GET]").getTotalCount());
+    }
+
     @Test
     public void testCreateProbeResults_invalidHistogram() {
-        testHistogramContainer.addTestHistograms(workerAddress1, "testId", singletonMap("workerProbe", "invalidHistogram"));
+        testHistogramContainer.addTestHistograms(workerAddress1, "testId", singletonMap("workerProbe", "invalidHistogram"),
+                null);
 
         testHistogramContainer.createProbeResults("testSuiteId", "testId");
         assertFalse(probeFile.exists());
@@ -15,6 +15,7 @@ import static com.hazelcast.simulator.coordinator.WorkerParameters.createAddress
 import static com.hazelcast.simulator.coordinator.WorkerParameters.initClientHzConfig;
 import static com.hazelcast.simulator.coordinator.WorkerParameters.initMemberHzConfig;
 import static com.hazelcast.simulator.utils.FileUtils.fileAsText;
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
@@ -54,6 +55,7 @@ public class WorkerParametersTest {
         assertTrue(workerParameters.isAutoCreateHzInstance());
         assertEquals(2342, workerParameters.getWorkerStartupTimeout());
         assertEquals(1234, workerParameters.getWorkerPerformanceMonitorIntervalSeconds());
+        assertEquals(1234000, workerParameters.getWorkerPerformanceMonitorIntervalMillis());
         assertEquals(HazelcastJARs.OUT_OF_THE_BOX, workerParameters.getHazelcastVersionSpec());
 
         assertEquals("memberJvmOptions", workerParameters.getMemberJvmOptions());
@@ -69,6 +71,56 @@ public class WorkerParametersTest {
         assertEquals("none", workerParameters.getNumaCtl());
     }
 
+    @Test
+    public void testConstructor_withPerformanceMonitorIntervalMillis() {
+        when(properties.get(eq("WORKER_PERFORMANCE_MONITOR_INTERVAL_MILLIS"))).thenReturn("100");
+
+        WorkerParameters workerParameters = new WorkerParameters(properties, true, 2342, "memberJvmOptions", "clientJvmOptions",
+                memberConfig, clientConfig, "log4jConfig", true);
+
+        assertEquals(1234, workerParameters.getWorkerPerformanceMonitorIntervalSeconds());
+        assertEquals(100, workerParameters.getWorkerPerformanceMonitorIntervalMillis());
+    }
+
+    @Test
+    public void testConstructor_defaultPerformancePercentiles() {
+        WorkerParameters workerParameters = new WorkerParameters(properties, false, 0, null, null, null, null, null, true);
+
+        assertArrayEquals(new double[]{50, 99, 99.9}, workerParameters.getPerformancePercentiles(), 0);
+    }
+
+    @Test
+    public void testConstructor_withPerformancePercentiles() {
+        when(properties.get(eq("PERFORMANCE_PERCENTILES"))).thenReturn("50, 90, 99, 99.9, 99.99");
+
+        WorkerParameters workerParameters = new WorkerParameters(properties, false, 0, null, null, null, null, null, true);
+
+        assertArrayEquals(new double[]{50, 90, 99, 99.9, 99.99}, workerParameters.getPerformancePercentiles(), 0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testConstructor_withInvalidPerformancePercentiles() {
+        when(properties.get(eq("PERFORMANCE_PERCENTILES"))).thenReturn("50,foo");
+
+        new WorkerParameters(properties, false, 0, null, null, null, null, null, true);
+    }
+
+    @Test
+    public void testConstructor_defaultHiccupMeterResolution() {
+        WorkerParameters workerParameters = new WorkerParameters(properties, false, 0, null, null, null, null, null, true);
+
+        assertEquals(0, workerParameters.getHiccupMeterResolutionMillis());
+    }
+
+    @Test
+    public void testConstructor_withHiccupMeterResolution() {
+        when(properties.get(eq("HICCUP_METER_RESOLUTION_MILLIS"))).thenReturn("5");
+
+        WorkerParameters workerParameters = new WorkerParameters(properties, false, 0, null, null, null, null, null, true);
+
+        assertEquals(5, workerParameters.getHiccupMeterResolutionMillis());
+    }
+
     @Test
     public void testConstructor_emptyProfiler() {
         properties = mock(SimulatorProperties.class);
@@ -3,6 +3,7 @@ package com.hazelcast.simulator.protocol;
 import com.hazelcast.simulator.agent.Agent;
 import com.hazelcast.simulator.agent.workerjvm.WorkerJvmManager;
 import com.hazelcast.simulator.coordinator.FailureContainer;
+import com.hazelcast.simulator.coordinator.OsMetricsContainer;
 import com.hazelcast.simulator.coordinator.PerformanceStateContainer;
 import com.hazelcast.simulator.coordinator.TestHistogramContainer;
 import com.hazelcast.simulator.coordinator.TestPhaseListenerContainer;
@@ -152,7 +153,7 @@ class ProtocolUtil {
         TestHistogramContainer testHistogramContainer = new TestHistogramContainer(performanceStateContainer);
         FailureContainer failureContainer = new FailureContainer("ProtocolUtil", null);
         CoordinatorConnector coordinatorConnector = new CoordinatorConnector(testPhaseListenerContainer,
-                performanceStateContainer, testHistogramContainer, failureContainer);
+                performanceStateContainer, testHistogramContainer, failureContainer, new OsMetricsContainer());
         for (int i = 1; i <= numberOfAgents; i++) {
             coordinatorConnector.addAgent(i, agentHost, agentStartPort + i);
         }
@@ -1,6 +1,8 @@
 package com.hazelcast.simulator.protocol.processors;
 
+import com.hazelcast.simulator.agent.osmetrics.OsMetrics;
 import com.hazelcast.simulator.coordinator.FailureContainer;
+import com.hazelcast.simulator.coordinator.OsMetricsContainer;
 import com.hazelcast.simulator.coordinator.PerformanceStateContainer;
 import com.hazelcast.simulator.coordinator.TestHistogramContainer;
 import com.hazelcast.simulator.coordinator.TestPhaseListener;
@@ -11,6 +13,7 @@ import com.hazelcast.simulator.protocol.exception.LocalExceptionLogger;
 import com.hazelcast.simulator.protocol.operation.ExceptionOperation;
 import com.hazelcast.simulator.protocol.operation.FailureOperation;
 import com.hazelcast.simulator.protocol.operation.IntegrationTestOperation;
+import com.hazelcast.simulator.protocol.operation.OsMetricsOperation;
 import com.hazelcast.simulator.protocol.operation.PerformanceStateOperation;
 import com.hazelcast.simulator.protocol.operation.PhaseCompletedOperation;
 import com.hazelcast.simulator.protocol.operation.SimulatorOperation;
@@ -28,6 +31,7 @@ import java.io.File;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import static com.hazelcast.simulator.coordinator.PerformanceStateContainer.LATENCY_FORMAT_LENGTH;
@@ -56,6 +60,7 @@ public class CoordinatorOperationProcessorTest {
     private PerformanceStateContainer performanceStateContainer;
     private TestHistogramContainer testHistogramContainer;
     private FailureContainer failureContainer;
+    private OsMetricsContainer osMetricsContainer;
 
     private CoordinatorOperationProcessor processor;
 
@@ -70,9 +75,10 @@ public class CoordinatorOperationProcessorTest {
         performanceStateContainer = new PerformanceStateContainer();
         testHistogramContainer = new TestHistogramContainer(performanceStateContainer);
         failureContainer = new FailureContainer("CoordinatorOperationProcessorTest", componentRegistry);
+        osMetricsContainer = new OsMetricsContainer();
 
         processor = new CoordinatorOperationProcessor(exceptionLogger, testPhaseListenerContainer, performanceStateContainer,
-                testHistogramContainer, failureContainer);
+                testHistogramContainer, failureContainer, osMetricsContainer);
     }
 
     @After
@@ -152,7 +158,10 @@ public class CoordinatorOperationProcessorTest {
         Map<String, String> probeHistograms = new HashMap<String, String>();
         probeHistograms.put("probe1", "histogram1");
         probeHistograms.put("probe2", "histogram2");
-        TestHistogramOperation operation = new TestHistogramOperation("testId", probeHistograms);
+        Map<String, TimeUnit> probeLatencyUnits = new HashMap<String, TimeUnit>();
+        probeLatencyUnits.put("probe1", TimeUnit.MICROSECONDS);
+        probeLatencyUnits.put("probe2", TimeUnit.NANOSECONDS);
+        TestHistogramOperation operation = new TestHistogramOperation("testId", probeHistograms, probeLatencyUnits);
 
         ResponseType responseType = processor.process(operation, workerAddress);
         assertEquals(SUCCESS, responseType);
@@ -177,4 +186,16 @@ public class CoordinatorOperationProcessorTest {
         assertEquals(SUCCESS, responseType);
         assertEquals(1, failureContainer.getFailureCount());
     }
+
+    @Test
+    public void processOsMetrics() {
+        OsMetrics osMetrics = new OsMetrics(System.currentTimeMillis(), 5000);
+        osMetrics.setCpu(50, 20, 0, 5, 10, 15);
+        OsMetricsOperation operation = new OsMetricsOperation(osMetrics);
+
+        ResponseType responseType = processor.process(operation, workerAddress.getParent());
+
+        assertEquals(SUCCESS, responseType);
+        assertTrue(osMetricsContainer.getOsMetricsSummary().contains("C_A1"));
+    }
 }
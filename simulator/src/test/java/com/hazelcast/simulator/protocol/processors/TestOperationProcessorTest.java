@@ -1,5 +1,6 @@
 package com.hazelcast.simulator.protocol.processors;
 
+import com.hazelcast.simulator.probes.Probe;
 import com.hazelcast.simulator.protocol.connector.WorkerConnector;
 import com.hazelcast.simulator.protocol.core.AddressLevel;
 import com.hazelcast.simulator.protocol.core.ResponseType;
@@ -18,8 +19,12 @@ import com.hazelcast.simulator.worker.TestContainer;
 import com.hazelcast.simulator.worker.TestContextImpl;
 import com.hazelcast.simulator.worker.Worker;
 import com.hazelcast.simulator.worker.WorkerType;
+import com.hazelcast.simulator.worker.performance.HiccupMeter;
 import org.junit.Test;
 
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
 import static com.hazelcast.simulator.protocol.core.ResponseType.EXCEPTION_DURING_OPERATION_EXECUTION;
 import static com.hazelcast.simulator.protocol.core.ResponseType.SUCCESS;
 import static com.hazelcast.simulator.protocol.core.ResponseType.UNSUPPORTED_OPERATION_ON_THIS_PROCESSOR;
@@ -38,7 +43,9 @@ public class TestOperationProcessorTest {
     private final TestExceptionLogger exceptionLogger = new TestExceptionLogger();
 
     private WorkerConnector workerConnector = mock(WorkerConnector.class);
+    private Worker worker = mock(Worker.class);
 
+    private TestContainer testContainer;
     private TestOperationProcessor processor;
 
     @Test
@@ -86,7 +93,7 @@ public class TestOperationProcessorTest {
     public void process_StartTest_passiveMember() {
         createTestOperationProcessor();
 
-        StartTestOperation operation = new StartTestOperation(true);
+        StartTestOperation operation = new StartTestOperation(true, 1);
         ResponseType responseType = processor.process(operation, COORDINATOR);
         assertEquals(SUCCESS, responseType);
 
@@ -129,6 +136,24 @@ public class TestOperationProcessorTest {
         verify(workerConnector).removeTest(1);
     }
 
+    @Test
+    public void process_StartTestPhase_unregisterHiccupProbe() throws Exception {
+        HiccupMeter hiccupMeter = new HiccupMeter(1, TimeUnit.MILLISECONDS);
+        when(worker.getHiccupMeter()).thenReturn(hiccupMeter);
+        createTestOperationProcessor();
+        Map<String, Probe> probeMap = testContainer.getProbeMap();
+        hiccupMeter.registerProbe(probeMap);
+
+        runPhase(TestPhase.LOCAL_TEARDOWN);
+
+        hiccupMeter.start();
+        sleepMillis(200);
+        hiccupMeter.shutdown();
+
+        exceptionLogger.assertNoException();
+        assertEquals(0, probeMap.get(HiccupMeter.PROBE_NAME).getIntervalHistogram().getTotalCount());
+    }
+
 
     private void runPhase(TestPhase testPhase) {
         runPhase(testPhase, SUCCESS);
@@ -144,7 +169,7 @@ public class TestOperationProcessorTest {
     }
 
     private void runTest() {
-        StartTestOperation operation = new StartTestOperation(false);
+        StartTestOperation operation = new StartTestOperation(false, 1);
         processor.process(operation, COORDINATOR);
 
         waitForPhaseCompletion(TestPhase.RUN);
@@ -174,7 +199,6 @@ public class TestOperationProcessorTest {
 
     private void createTestOperationProcessor(Class<?> testClass) {
         try {
-            Worker worker = mock(Worker.class);
             when(worker.getWorkerConnector()).thenReturn(workerConnector);
             when(worker.startPerformanceMonitor()).thenReturn(true).thenReturn(false);
 
@@ -185,7 +209,7 @@ public class TestOperationProcessorTest {
             Object testInstance = getClass().getClassLoader().loadClass(testCase.getClassname()).newInstance();
             bindProperties(testInstance, testCase, TestContainer.OPTIONAL_TEST_PROPERTIES);
             TestContextImpl testContext = new TestContextImpl(testId, null);
-            TestContainer testContainer = new TestContainer(testInstance, testContext, testCase);
+            testContainer = new TestContainer(testInstance, testContext, testCase);
             SimulatorAddress testAddress = new SimulatorAddress(AddressLevel.TEST, 1, 1, 1);
 
             TestOperationProcessor.resetPendingTests();
@@ -11,8 +11,10 @@ import com.hazelcast.simulator.protocol.operation.SimulatorOperation;
 import com.hazelcast.simulator.protocol.operation.TerminateWorkerOperation;
 import com.hazelcast.simulator.test.TestCase;
 import com.hazelcast.simulator.tests.SuccessTest;
+import com.hazelcast.simulator.worker.TestContainer;
 import com.hazelcast.simulator.worker.Worker;
 import com.hazelcast.simulator.worker.WorkerType;
+import com.hazelcast.simulator.worker.performance.HiccupMeter;
 import org.apache.log4j.Logger;
 import org.junit.Before;
 import org.junit.Test;
@@ -20,6 +22,7 @@ import org.junit.Test;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
 import static com.hazelcast.simulator.protocol.core.ResponseType.EXCEPTION_DURING_OPERATION_EXECUTION;
 import static com.hazelcast.simulator.protocol.core.ResponseType.SUCCESS;
@@ -28,6 +31,7 @@ import static com.hazelcast.simulator.protocol.core.SimulatorAddress.COORDINATOR
 import static com.hazelcast.simulator.protocol.operation.OperationCodec.toJson;
 import static com.hazelcast.simulator.protocol.operation.OperationType.getOperationType;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
@@ -100,6 +104,19 @@ public class WorkerOperationProcessorTest {
         exceptionLogger.assertNoException();
     }
 
+    @Test
+    public void process_CreateTest_withHiccupMeter() throws Exception {
+        HiccupMeter hiccupMeter = new HiccupMeter(1, TimeUnit.MILLISECONDS);
+        when(worker.getHiccupMeter()).thenReturn(hiccupMeter);
+
+        ResponseType responseType = runCreateTestOperation(defaultTestCase);
+
+        assertEquals(SUCCESS, responseType);
+        TestContainer testContainer = processor.getTests().iterator().next();
+        assertTrue(testContainer.getProbeMap().containsKey(HiccupMeter.PROBE_NAME));
+        exceptionLogger.assertNoException();
+    }
+
     @Test
     public void process_CreateTest_sameTestIndexTwice() throws Exception {
         ResponseType responseType = runCreateTestOperation(defaultTestCase, 1);
@@ -17,11 +17,14 @@ import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 
 import static com.hazelcast.simulator.utils.ExecutorFactory.createScheduledThreadPool;
+import static com.hazelcast.simulator.utils.HazelcastUtils.getNode;
+import static com.hazelcast.simulator.utils.HazelcastUtils.getOperationService;
 import static com.hazelcast.simulator.utils.HazelcastUtils.injectHazelcastInstance;
 import static com.hazelcast.simulator.utils.HazelcastUtils.isMaster;
 import static com.hazelcast.simulator.utils.HazelcastUtils.isOldestMember;
 import static com.hazelcast.simulator.utils.ReflectionUtils.invokePrivateConstructor;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Matchers.anyInt;
 import static org.mockito.Matchers.anyLong;
@@ -114,6 +117,16 @@ public class HazelcastUtilsTest {
         assertTrue(injectMessage.isInstanceSet());
     }
 
+    @Test
+    public void testGetNode_noMemberInstance() {
+        assertNull(getNode(createMockHazelcastInstance(false)));
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testGetOperationService_noMemberInstance() {
+        getOperationService(createMockHazelcastInstance(false));
+    }
+
     private HazelcastInstance createMockHazelcastInstance(boolean returnMember) {
         return createMockHazelcastInstance(returnMember, null);
     }
@@ -5,6 +5,7 @@ import com.hazelcast.simulator.common.SimulatorProperties;
 import com.hazelcast.simulator.protocol.connector.WorkerConnector;
 import com.hazelcast.simulator.protocol.core.SimulatorAddress;
 import com.hazelcast.simulator.protocol.registry.ComponentRegistry;
+import com.hazelcast.simulator.worker.performance.HiccupMeter;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
@@ -19,7 +20,12 @@ import static com.hazelcast.simulator.utils.FileUtils.deleteQuiet;
 import static com.hazelcast.simulator.utils.FileUtils.fileAsText;
 import static com.hazelcast.simulator.worker.WorkerType.CLIENT;
 import static com.hazelcast.simulator.worker.WorkerType.MEMBER;
+import static com.hazelcast.simulator.worker.performance.PerformanceUtils.DEFAULT_PERCENTILES;
+import static com.hazelcast.simulator.worker.performance.WorkerPerformanceMonitor.HAZELCAST_METRICS_FILE_NAME;
+import static com.hazelcast.simulator.worker.performance.WorkerPerformanceMonitor.JVM_METRICS_FILE_NAME;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
@@ -65,7 +71,10 @@ public class MemberWorkerTest {
             deleteLogs();
 
             deleteQuiet(new File("throughput.txt"));
+            deleteQuiet(new File(JVM_METRICS_FILE_NAME));
+            deleteQuiet(new File(HAZELCAST_METRICS_FILE_NAME));
             deleteQuiet(new File("worker.address"));
+            deleteQuiet(new File("worker.pid"));
 
             deleteQuiet(new File(MEMBER_CONFIG_FILE));
             deleteQuiet(new File(CLIENT_CONFIG_FILE));
@@ -74,7 +83,8 @@ public class MemberWorkerTest {
 
     @Test
     public void testConstructor_MemberWorker() throws Exception {
-        worker = new MemberWorker(MEMBER, PUBLIC_ADDRESS, AGENT_INDEX, WORKER_INDEX, WORKER_PORT, true, 10, MEMBER_CONFIG_FILE);
+        worker = new MemberWorker(MEMBER, PUBLIC_ADDRESS, AGENT_INDEX, WORKER_INDEX, WORKER_PORT, true, 10000, DEFAULT_PERCENTILES, 0,
+                MEMBER_CONFIG_FILE);
         assertMemberWorker();
     }
 
@@ -82,19 +92,22 @@ public class MemberWorkerTest {
     public void testConstructor_ClientWorker() throws Exception {
         Hazelcast.newHazelcastInstance();
 
-        worker = new MemberWorker(CLIENT, PUBLIC_ADDRESS, AGENT_INDEX, WORKER_INDEX, WORKER_PORT, true, 10, CLIENT_CONFIG_FILE);
+        worker = new MemberWorker(CLIENT, PUBLIC_ADDRESS, AGENT_INDEX, WORKER_INDEX, WORKER_PORT, true, 10000, DEFAULT_PERCENTILES, 0,
+                CLIENT_CONFIG_FILE);
         assertMemberWorker();
     }
 
     @Test
     public void testConstructor_noAutoCreateHzInstance() throws Exception {
-        worker = new MemberWorker(MEMBER, PUBLIC_ADDRESS, AGENT_INDEX, WORKER_INDEX, WORKER_PORT, false, 10, "");
+        worker = new MemberWorker(MEMBER, PUBLIC_ADDRESS, AGENT_INDEX, WORKER_INDEX, WORKER_PORT, false, 10000, DEFAULT_PERCENTILES, 0,
+                "");
         assertMemberWorker();
     }
 
     @Test
     public void testConstructor_noAutoCreateHzInstance_withPerformanceMonitor() throws Exception {
-        worker = new MemberWorker(MEMBER, PUBLIC_ADDRESS, AGENT_INDEX, WORKER_INDEX, WORKER_PORT, false, 10, "");
+        worker = new MemberWorker(MEMBER, PUBLIC_ADDRESS, AGENT_INDEX, WORKER_INDEX, WORKER_PORT, false, 10000, DEFAULT_PERCENTILES, 0,
+                "");
         assertMemberWorker();
 
         worker.startPerformanceMonitor();
@@ -103,13 +116,24 @@ public class MemberWorkerTest {
 
     @Test
     public void testConstructor_noAutoCreateHzInstance_withPerformanceMonitor_invalidInterval() throws Exception {
-        worker = new MemberWorker(MEMBER, PUBLIC_ADDRESS, AGENT_INDEX, WORKER_INDEX, WORKER_PORT, false, 0, "");
+        worker = new MemberWorker(MEMBER, PUBLIC_ADDRESS, AGENT_INDEX, WORKER_INDEX, WORKER_PORT, false, 0, DEFAULT_PERCENTILES, 0, "");
         assertMemberWorker();
 
         worker.startPerformanceMonitor();
         worker.shutdownPerformanceMonitor();
     }
 
+    @Test
+    public void testConstructor_withHiccupMeter() throws Exception {
+        worker = new MemberWorker(MEMBER, PUBLIC_ADDRESS, AGENT_INDEX, WORKER_INDEX, WORKER_PORT, false, 10000, DEFAULT_PERCENTILES, 1,
+                "");
+        assertMemberWorker();
+
+        HiccupMeter hiccupMeter = worker.getHiccupMeter();
+        assertNotNull(hiccupMeter);
+        assertTrue(hiccupMeter.isAlive());
+    }
+
     @Test
     public void testStartWorker() throws Exception {
         System.setProperty("workerId", "MemberWorkerTest");
@@ -120,7 +144,7 @@ public class MemberWorkerTest {
         System.setProperty("workerPort", String.valueOf(WORKER_PORT));
         System.setProperty("hzConfigFile", MEMBER_CONFIG_FILE);
         System.setProperty("autoCreateHzInstance", "true");
-        System.setProperty("workerPerformanceMonitorIntervalSeconds", "10");
+        System.setProperty("workerPerformanceMonitorIntervalMillis", "10000");
 
         worker = MemberWorker.startWorker();
         assertMemberWorker();
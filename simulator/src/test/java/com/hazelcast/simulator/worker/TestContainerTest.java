@@ -1,6 +1,12 @@
 package com.hazelcast.simulator.worker;
 
+import com.hazelcast.core.ExecutionCallback;
+import com.hazelcast.core.ICompletableFuture;
+import com.hazelcast.simulator.probes.Outlier;
 import com.hazelcast.simulator.probes.Probe;
+import com.hazelcast.simulator.probes.TaggedProbe;
+import com.hazelcast.simulator.probes.impl.ProbeImpl;
+import com.hazelcast.simulator.probes.impl.ThreadLocalProbeImpl;
 import com.hazelcast.simulator.test.TestCase;
 import com.hazelcast.simulator.test.TestContext;
 import com.hazelcast.simulator.test.TestPhase;
@@ -9,15 +15,30 @@ import com.hazelcast.simulator.test.annotations.Run;
 import com.hazelcast.simulator.test.annotations.RunWithWorker;
 import com.hazelcast.simulator.test.annotations.Setup;
 import com.hazelcast.simulator.test.annotations.Teardown;
+import com.hazelcast.simulator.test.annotations.TimeStep;
 import com.hazelcast.simulator.test.annotations.Verify;
 import com.hazelcast.simulator.test.annotations.Warmup;
 import com.hazelcast.simulator.worker.selector.OperationSelectorBuilder;
+import com.hazelcast.simulator.worker.tasks.AbstractAsyncWorker;
+import com.hazelcast.simulator.worker.tasks.AbstractBatchWorker;
 import com.hazelcast.simulator.worker.tasks.AbstractWorker;
 import com.hazelcast.simulator.worker.tasks.IWorker;
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 import static com.hazelcast.simulator.utils.CommonUtils.sleepMillis;
 import static org.junit.Assert.assertEquals;
@@ -25,6 +46,9 @@ import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
 
 public class TestContainerTest {
 
@@ -184,6 +208,254 @@ public class TestContainerTest {
         testStopper.join();
 
         assertTrue(test.runWithWorkerCalled);
+        assertTrue(testContainer.getProbeMap().get("DummyTestContextWorkerProbe") instanceof ThreadLocalProbeImpl);
+        assertTrue(testContainer.getProbeMap().get("DummyTestContextWorkerProbe[operation=NOP]") instanceof ThreadLocalProbeImpl);
+    }
+
+    @Test
+    public void testRunWithWorker_withMetronome() throws Exception {
+        final RunWithWorkerTest test = new RunWithWorkerTest();
+        testCase.setProperty("threadCount", "1");
+        testCase.setProperty("metronomeFrequency", "1000");
+        testContainer = createTestContainer(test);
+        Thread testStopper = new Thread() {
+            @Override
+            public void run() {
+                while (!test.runWithWorkerCalled) {
+                    sleepMillis(50);
+                }
+                testContext.stop();
+            }
+        };
+
+        testStopper.start();
+        testContainer.invoke(TestPhase.RUN);
+        testStopper.join();
+
+        assertTrue(test.runWithWorkerCalled);
+        assertTrue(testContainer.hasProbe("DummyTestContextWorkerProbe"));
+        assertTrue(testContainer.hasProbe("DummyTestContextWorkerProbeCorrected"));
+    }
+
+    @Test
+    public void testRunWithWorker_withTargetThroughput() throws Exception {
+        final RunWithWorkerTest test = new RunWithWorkerTest();
+        testCase.setProperty("threadCount", "2");
+        testCase.setProperty("targetThroughput", "4000");
+        testCase.setProperty("metronomeType", "POISSON");
+        testContainer = createTestContainer(test);
+        testContainer.setActiveWorkerCount(2);
+        Thread testStopper = new Thread() {
+            @Override
+            public void run() {
+                while (!test.runWithWorkerCalled) {
+                    sleepMillis(50);
+                }
+                testContext.stop();
+            }
+        };
+
+        testStopper.start();
+        testContainer.invoke(TestPhase.RUN);
+        testStopper.join();
+
+        assertTrue(test.runWithWorkerCalled);
+        assertEquals(1000, testContainer.getMetronomeFrequency(), 0);
+        assertTrue(testContainer.hasProbe("DummyTestContextWorkerProbeCorrected"));
+    }
+
+    @Test
+    public void testRunWithWorker_withRateSchedule() throws Exception {
+        final RunWithWorkerTest test = new RunWithWorkerTest();
+        testCase.setProperty("threadCount", "2");
+        testCase.setProperty("metronomeRateSchedule", "0:2000,60:4000");
+        testCase.setProperty("metronomeWaitStrategy", "park");
+        testContainer = createTestContainer(test);
+        Thread testStopper = new Thread() {
+            @Override
+            public void run() {
+                while (!test.runWithWorkerCalled) {
+                    sleepMillis(50);
+                }
+                testContext.stop();
+            }
+        };
+
+        testStopper.start();
+        testContainer.invoke(TestPhase.RUN);
+        testStopper.join();
+
+        assertTrue(test.runWithWorkerCalled);
+        assertTrue(testContainer.hasProbe("DummyTestContextWorkerProbeCorrected"));
+        assertTrue(testContainer.hasProbe("DummyTestContextMetronomeWakeUpError"));
+    }
+
+    @Test
+    public void testRunWithWorker_withSeed() throws Exception {
+        List<Integer> firstRun = runSeededWorkers("42");
+        List<Integer> secondRun = runSeededWorkers("42");
+        List<Integer> otherSeedRun = runSeededWorkers("43");
+
+        assertEquals(2, firstRun.size());
+        assertEquals(firstRun, secondRun);
+        assertFalse(firstRun.equals(otherSeedRun));
+        // each worker thread must get its own seed
+        assertFalse(firstRun.get(0).equals(firstRun.get(1)));
+    }
+
+    private List<Integer> runSeededWorkers(String seed) throws Exception {
+        testContext = new DummyTestContext();
+        testCase.setProperty("threadCount", "2");
+        testCase.setProperty("seed", seed);
+        SeededWorkerTest test = new SeededWorkerTest();
+        testContainer = createTestContainer(test);
+        testContainer.invoke(TestPhase.RUN);
+
+        List<Integer> values = new ArrayList<Integer>(test.values);
+        Collections.sort(values);
+        return values;
+    }
+
+    private static class SeededWorkerTest {
+
+        private enum Operation {
+            NOP
+        }
+
+        private static final OperationSelectorBuilder<Operation> BUILDER = new OperationSelectorBuilder<Operation>()
+                .addDefaultOperation(Operation.NOP);
+
+        private final Queue<Integer> values = new ConcurrentLinkedQueue<Integer>();
+
+        @RunWithWorker
+        IWorker createWorker() {
+            return new AbstractWorker<Operation>(BUILDER) {
+
+                @Override
+                protected void timeStep(Operation operation) throws Exception {
+                    values.add(randomInt());
+                    stopWorker();
+                }
+            };
+        }
+    }
+
+    @Test
+    public void testRunWithWorker_withOutlier() throws Exception {
+        testCase.setProperty("threadCount", "1");
+        testCase.setProperty("probeOutlierThreshold", "1000");
+        OutlierWorkerTest test = new OutlierWorkerTest();
+        testContainer = createTestContainer(test);
+        testContainer.invoke(TestPhase.RUN);
+
+        List<Outlier> outliers = testContainer.getOutlierRecorder().drain();
+        assertEquals(1, outliers.size());
+        assertEquals("SLOW", outliers.get(0).getOperation());
+        assertEquals(137, outliers.get(0).getPartitionId());
+        assertEquals("10.0.0.3:5701", outliers.get(0).getTarget());
+    }
+
+    private static class OutlierWorkerTest {
+
+        private enum Operation {
+            SLOW
+        }
+
+        private static final OperationSelectorBuilder<Operation> BUILDER = new OperationSelectorBuilder<Operation>()
+                .addDefaultOperation(Operation.SLOW);
+
+        @RunWithWorker
+        IWorker createWorker() {
+            return new AbstractWorker<Operation>(BUILDER) {
+
+                @Override
+                protected void timeStep(Operation operation) throws Exception {
+                    setOperationTarget(137, "10.0.0.3:5701");
+                    sleepMillis(20);
+                    stopWorker();
+                }
+            };
+        }
+    }
+
+    @Test
+    public void testRunWithWorker_withKeyDistribution() throws Exception {
+        testCase.setProperty("threadCount", "1");
+        testCase.setProperty("keyDistribution", "sequential");
+        KeyDistributionTest test = new KeyDistributionTest();
+        testContainer = createTestContainer(test);
+        testContainer.invoke(TestPhase.RUN);
+
+        assertEquals(3, test.keyIndexes.size());
+        int first = test.keyIndexes.get(0);
+        assertEquals((first + 1) % KeyDistributionTest.KEY_COUNT, (int) test.keyIndexes.get(1));
+        assertEquals((first + 2) % KeyDistributionTest.KEY_COUNT, (int) test.keyIndexes.get(2));
+    }
+
+    @Test(expected = IllegalTestException.class)
+    public void testRun_withKeyDistribution() {
+        testCase.setProperty("keyDistribution", "sequential");
+        createTestContainer(new DummyTest());
+    }
+
+    @Test(expected = IllegalTestException.class)
+    public void testRunWithIWorker_withKeyDistribution() throws Exception {
+        testCase.setProperty("keyDistribution", "sequential");
+        RunWithIWorkerTest test = new RunWithIWorkerTest();
+        testContainer = createTestContainer(test);
+        testContainer.invoke(TestPhase.RUN);
+    }
+
+    private static class KeyDistributionTest {
+
+        private static final int KEY_COUNT = 10;
+
+        private enum Operation {
+            NOP
+        }
+
+        private static final OperationSelectorBuilder<Operation> BUILDER = new OperationSelectorBuilder<Operation>()
+                .addDefaultOperation(Operation.NOP);
+
+        private final List<Integer> keyIndexes = new ArrayList<Integer>();
+
+        @RunWithWorker
+        IWorker createWorker() {
+            return new AbstractWorker<Operation>(BUILDER) {
+
+                @Override
+                protected void timeStep(Operation operation) throws Exception {
+                    keyIndexes.add(nextKeyIndex(KEY_COUNT));
+                    if (keyIndexes.size() == 3) {
+                        stopWorker();
+                    }
+                }
+            };
+        }
+    }
+
+    @Test
+    public void testRunWithWorker_withoutMetronome_noCorrectedProbe() throws Exception {
+        final RunWithWorkerTest test = new RunWithWorkerTest();
+        testCase.setProperty("threadCount", "1");
+        testContainer = createTestContainer(test);
+        Thread testStopper = new Thread() {
+            @Override
+            public void run() {
+                while (!test.runWithWorkerCalled) {
+                    sleepMillis(50);
+                }
+                testContext.stop();
+            }
+        };
+
+        testStopper.start();
+        testContainer.invoke(TestPhase.RUN);
+        testStopper.join();
+
+        assertTrue(testContainer.getProbeMap().get("DummyTestContextWorkerProbe") instanceof ProbeImpl);
+        assertFalse(testContainer.hasProbe("DummyTestContextWorkerProbeCorrected"));
+        assertFalse(testContainer.hasProbe("DummyTestContextMetronomeWakeUpError"));
     }
 
     private static class RunWithWorkerTest {
@@ -209,6 +481,222 @@ public class TestContainerTest {
         }
     }
 
+    @Test
+    public void testRunWithAsyncWorker_maxInFlight() throws Exception {
+        final RunWithAsyncWorkerTest test = new RunWithAsyncWorkerTest();
+        testCase.setProperty("threadCount", "2");
+        testCase.setProperty("maxInFlight", "4");
+        testContainer = createTestContainer(test);
+        Thread testStopper = new Thread() {
+            @Override
+            public void run() {
+                while (test.completedCount.get() < 100) {
+                    sleepMillis(50);
+                }
+                testContext.stop();
+            }
+        };
+
+        testStopper.start();
+        testContainer.invoke(TestPhase.RUN);
+        testStopper.join();
+        test.executor.shutdown();
+
+        assertEquals(0, test.inFlightCount.get());
+        assertTrue("max in-flight was " + test.maxInFlightCount.get(), test.maxInFlightCount.get() <= 8);
+        assertEquals(test.completedCount.get(), testContainer.getProbeMap().get("DummyTestContextWorkerProbe")
+                .getIntervalHistogram().getTotalCount());
+    }
+
+    private static class RunWithAsyncWorkerTest {
+
+        private enum Operation {
+            NOP
+        }
+
+        private static final OperationSelectorBuilder<Operation> BUILDER = new OperationSelectorBuilder<Operation>()
+                .addDefaultOperation(Operation.NOP);
+
+        final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
+        final AtomicInteger inFlightCount = new AtomicInteger();
+        final AtomicInteger maxInFlightCount = new AtomicInteger();
+        final AtomicInteger completedCount = new AtomicInteger();
+
+        @RunWithWorker
+        IWorker createWorker() {
+            return new AbstractAsyncWorker<Operation, String>(BUILDER) {
+
+                @Override
+                @SuppressWarnings("unchecked")
+                protected ICompletableFuture<String> timeStepAsync(Operation operation) throws Exception {
+                    int inFlight = inFlightCount.incrementAndGet();
+                    if (inFlight > maxInFlightCount.get()) {
+                        maxInFlightCount.set(inFlight);
+                    }
+
+                    ICompletableFuture<String> future = mock(ICompletableFuture.class);
+                    doAnswer(new Answer<Void>() {
+                        @Override
+                        public Void answer(InvocationOnMock invocation) throws Throwable {
+                            final ExecutionCallback<String> callback = (ExecutionCallback<String>) invocation.getArguments()[0];
+                            executor.schedule(new Runnable() {
+                                @Override
+                                public void run() {
+                                    callback.onResponse("value");
+                                }
+                            }, 1, TimeUnit.MILLISECONDS);
+                            return null;
+                        }
+                    }).when(future).andThen(any(ExecutionCallback.class));
+                    return future;
+                }
+
+                @Override
+                protected void handleResponse(String response) {
+                    inFlightCount.decrementAndGet();
+                    completedCount.incrementAndGet();
+                }
+            };
+        }
+    }
+
+    @Test
+    public void testRunWithBatchWorker() throws Exception {
+        final RunWithBatchWorkerTest test = new RunWithBatchWorkerTest();
+        testCase.setProperty("threadCount", "2");
+        testCase.setProperty("batchSize", "5");
+        testCase.setProperty("targetThroughput", "10000");
+        testContainer = createTestContainer(test);
+        Thread testStopper = new Thread() {
+            @Override
+            public void run() {
+                while (test.batchCount.get() < 10) {
+                    sleepMillis(50);
+                }
+                testContext.stop();
+            }
+        };
+
+        testStopper.start();
+        testContainer.invoke(TestPhase.RUN);
+        testStopper.join();
+
+        long batchCount = testContainer.getProbeMap().get("DummyTestContextBatchProbe").getIntervalHistogram().getTotalCount();
+        long itemCount = testContainer.getProbeMap().get("DummyTestContextWorkerProbe").getIntervalHistogram().getTotalCount();
+        long correctedItemCount = testContainer.getProbeMap().get("DummyTestContextWorkerProbeCorrected").getIntervalHistogram()
+                .getTotalCount();
+        assertEquals(test.batchCount.get(), batchCount);
+        assertEquals(5 * batchCount, itemCount);
+        assertEquals(itemCount, correctedItemCount);
+        assertFalse(test.invalidBatchSize);
+        assertEquals(1000, testContainer.getMetronomeFrequency(), 0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testRunWithBatchWorker_nonNumericBatchSize() throws Exception {
+        testCase.setProperty("batchSize", "many");
+        testContainer = createTestContainer(new RunWithBatchWorkerTest());
+
+        testContainer.invoke(TestPhase.RUN);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testRunWithBatchWorker_nonPositiveBatchSize() throws Exception {
+        testCase.setProperty("batchSize", "0");
+        testContainer = createTestContainer(new RunWithBatchWorkerTest());
+
+        testContainer.invoke(TestPhase.RUN);
+    }
+
+    private static class RunWithBatchWorkerTest {
+
+        private enum Operation {
+            NOP
+        }
+
+        private static final OperationSelectorBuilder<Operation> BUILDER = new OperationSelectorBuilder<Operation>()
+                .addDefaultOperation(Operation.NOP);
+
+        final AtomicInteger batchCount = new AtomicInteger();
+        volatile boolean invalidBatchSize;
+
+        @RunWithWorker
+        IWorker createWorker() {
+            return new AbstractBatchWorker<Operation, Integer>(BUILDER) {
+
+                @Override
+                protected Integer nextItem(Operation operation) {
+                    return 1;
+                }
+
+                @Override
+                protected void timeStep(Operation operation, List<Integer> batch) {
+                    if (batch.size() != 5) {
+                        invalidBatchSize = true;
+                    }
+                    batchCount.incrementAndGet();
+                }
+            };
+        }
+    }
+
+    @Test
+    public void testRunWithTimeStep() throws Exception {
+        final RunWithTimeStepTest test = new RunWithTimeStepTest();
+        testCase.setProperty("threadCount", "2");
+        testContainer = createTestContainer(test);
+        Thread testStopper = new Thread() {
+            @Override
+            public void run() {
+                while (test.putCount.get() < 10 || test.getCount.get() < 10) {
+                    sleepMillis(50);
+                }
+                testContext.stop();
+            }
+        };
+
+        testStopper.start();
+        testContainer.invoke(TestPhase.RUN);
+        testStopper.join();
+
+        Map<String, Probe> probeMap = testContainer.getProbeMap();
+        long putCount = probeMap.get("DummyTestContextWorkerProbe[operation=put]").getIntervalHistogram().getTotalCount();
+        long getCount = probeMap.get("DummyTestContextWorkerProbe[operation=get]").getIntervalHistogram().getTotalCount();
+        long totalCount = probeMap.get("DummyTestContextWorkerProbe").getIntervalHistogram().getTotalCount();
+        assertEquals(test.putCount.get(), putCount);
+        assertEquals(test.getCount.get(), getCount);
+        assertEquals(putCount + getCount, totalCount);
+    }
+
+    @Test(expected = IllegalTestException.class)
+    public void testRunWithTimeStep_andRunWithWorker() {
+        createTestContainer(new TimeStepAndRunWithWorkerTest());
+    }
+
+    public static class RunWithTimeStepTest {
+
+        final AtomicLong putCount = new AtomicLong();
+        final AtomicLong getCount = new AtomicLong();
+
+        @TimeStep(prob = 0.2)
+        public void put() {
+            putCount.incrementAndGet();
+        }
+
+        @TimeStep(prob = -1)
+        public void get() {
+            getCount.incrementAndGet();
+        }
+    }
+
+    public static class TimeStepAndRunWithWorkerTest extends RunWithTimeStepTest {
+
+        @RunWithWorker
+        public IWorker createWorker() {
+            return null;
+        }
+    }
+
     @Test
     public void testRunWithIWorker() throws Exception {
         final RunWithIWorkerTest test = new RunWithIWorkerTest();
@@ -352,6 +840,17 @@ public class TestContainerTest {
         assertTrue(probeMap.keySet().contains("latencyProbe"));
     }
 
+    @Test
+    public void testRun_resetsProbesBeforeRunPhase() throws Exception {
+        ProbeTest test = new ProbeTest();
+        testContainer = createTestContainer(test);
+        test.nanoProbe.recordValue(TimeUnit.MICROSECONDS.toNanos(5));
+
+        testContainer.invoke(TestPhase.RUN);
+
+        assertEquals(0, test.nanoProbe.getIntervalHistogram().getTotalCount());
+    }
+
     @Test
     public void testProbeInjectExplicitlyNamedProbeToField() {
         ProbeTest test = new ProbeTest();
@@ -361,6 +860,72 @@ public class TestContainerTest {
         assertTrue(testContainer.hasProbe("explicitProbeInjectedToField"));
     }
 
+    @Test
+    public void testProbeInjectConfiguredProbeToField() {
+        ProbeTest test = new ProbeTest();
+        testContainer = createTestContainer(test);
+
+        assertEquals(TimeUnit.MICROSECONDS, test.latencyProbe.getLatencyUnit());
+        assertEquals(TimeUnit.NANOSECONDS, test.nanoProbe.getLatencyUnit());
+        assertEquals(3, test.nanoProbe.getIntervalHistogram().getNumberOfSignificantValueDigits());
+    }
+
+    @Test
+    public void testProbeInjectConfiguredProbeToField_withTestProperties() {
+        testCase.setProperty("probeLatencyUnit", "MILLISECONDS");
+        testCase.setProperty("probeHighestTrackableValue", "300000");
+        testCase.setProperty("probeSignificantDigits", "2");
+        ProbeTest test = new ProbeTest();
+        testContainer = createTestContainer(test);
+
+        assertEquals(TimeUnit.MILLISECONDS, test.latencyProbe.getLatencyUnit());
+        assertEquals(TimeUnit.MILLISECONDS, test.nanoProbe.getLatencyUnit());
+        assertEquals(2, test.nanoProbe.getIntervalHistogram().getNumberOfSignificantValueDigits());
+        assertTrue(test.nanoProbe.getIntervalHistogram().getHighestTrackableValue() >= 300000);
+    }
+
+    @Test
+    public void testProbeInjectProbeWithOutlierThreshold() {
+        ProbeTest test = new ProbeTest();
+        testContainer = createTestContainer(test);
+
+        test.outlierProbe.recordSince(test.outlierProbe.start() - TimeUnit.MILLISECONDS.toNanos(20), 137, "10.0.0.3:5701");
+        test.latencyProbe.recordValue(TimeUnit.SECONDS.toNanos(1));
+
+        List<Outlier> outliers = testContainer.getOutlierRecorder().drain();
+        assertEquals(1, outliers.size());
+        assertEquals("outlierProbe", outliers.get(0).getOperation());
+        assertEquals(137, outliers.get(0).getPartitionId());
+    }
+
+    @Test
+    public void testProbeInjectProbeWithOutlierThreshold_withTestProperties() {
+        testCase.setProperty("probeOutlierThreshold", "500");
+        ProbeTest test = new ProbeTest();
+        testContainer = createTestContainer(test);
+
+        test.latencyProbe.recordValue(TimeUnit.MICROSECONDS.toNanos(400));
+        test.latencyProbe.recordValue(TimeUnit.MICROSECONDS.toNanos(600));
+        test.taggedProbe.getProbe("GET").recordValue(TimeUnit.MICROSECONDS.toNanos(600));
+
+        List<Outlier> outliers = testContainer.getOutlierRecorder().drain();
+        assertEquals(2, outliers.size());
+        assertEquals("latencyProbe", outliers.get(0).getOperation());
+        assertEquals("taggedProbe[operation=GET]", outliers.get(1).getOperation());
+    }
+
+    @Test
+    public void testProbeInjectTaggedProbeToField() {
+        ProbeTest test = new ProbeTest();
+        testContainer = createTestContainer(test);
+
+        assertNotNull(test.taggedProbe);
+        Probe probe = test.taggedProbe.getProbe("PUT");
+
+        assertTrue(testContainer.hasProbe("taggedProbe[operation=PUT]"));
+        assertEquals(TimeUnit.NANOSECONDS, probe.getLatencyUnit());
+    }
+
     @SuppressWarnings("unused")
     private static class ProbeTest extends DummyTest {
 
@@ -372,6 +937,15 @@ public class TestContainerTest {
         @InjectProbe(name = "explicitProbeInjectedToField")
         private Probe namedProbe;
 
+        @InjectProbe(latencyUnit = TimeUnit.NANOSECONDS, highestTrackableValue = 1000000, significantDigits = 3)
+        private Probe nanoProbe;
+
+        @InjectProbe(latencyUnit = TimeUnit.MILLISECONDS, outlierThreshold = 10)
+        private Probe outlierProbe;
+
+        @InjectProbe(tagNames = "operation", maxTagCardinality = 4, latencyUnit = TimeUnit.NANOSECONDS)
+        private TaggedProbe taggedProbe;
+
         @Setup
         public void setUp(TestContext context) {
             this.context = context;
@@ -0,0 +1,177 @@
+package com.hazelcast.simulator.worker;
+
+import com.hazelcast.simulator.test.annotations.TimeStep;
+import org.junit.Test;
+
+import java.lang.reflect.Method;
+import java.util.List;
+
+import static com.hazelcast.simulator.utils.ReflectionUtils.invokePrivateConstructor;
+import static com.hazelcast.simulator.worker.TimeStepRunnerCodeGenerator.generateSource;
+import static com.hazelcast.simulator.worker.TimeStepRunnerCodeGenerator.getRunnerClassName;
+import static com.hazelcast.simulator.worker.TimeStepRunnerCodeGenerator.getRunnerConstructor;
+import static com.hazelcast.simulator.worker.TimeStepRunnerCodeGenerator.getTimeStepMethods;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class TimeStepRunnerCodeGeneratorTest {
+
+    @Test
+    public void testConstructor() throws Exception {
+        invokePrivateConstructor(TimeStepRunnerCodeGenerator.class);
+    }
+
+    @Test
+    public void testGetTimeStepMethods_remainingProbabilityIsLast() {
+        List<Method> methods = getTimeStepMethods(ValidTest.class);
+
+        assertEquals(3, methods.size());
+        assertEquals("put", methods.get(0).getName());
+        assertEquals("remove", methods.get(1).getName());
+        assertEquals("get", methods.get(2).getName());
+    }
+
+    @Test
+    public void testGetTimeStepMethods_overriddenMethods() {
+        List<Method> methods = getTimeStepMethods(OverridingTest.class);
+
+        assertEquals(2, methods.size());
+        assertEquals("put", methods.get(0).getName());
+        assertEquals(OverridingTest.class, methods.get(0).getDeclaringClass());
+        assertEquals("get", methods.get(1).getName());
+        assertEquals(ValidTest.class, methods.get(1).getDeclaringClass());
+    }
+
+    @Test
+    public void testGetTimeStepMethods_noMethods() {
+        assertTrue(getTimeStepMethods(Object.class).isEmpty());
+    }
+
+    @Test
+    public void testGetRunnerClassName() {
+        assertEquals("com.hazelcast.simulator.worker.TimeStepRunnerCodeGeneratorTest_ValidTestTimeStepRunner",
+                getRunnerClassName(ValidTest.class));
+    }
+
+    @Test
+    public void testGenerateSource() {
+        String source = generateSource(ValidTest.class, getRunnerClassName(ValidTest.class), getTimeStepMethods(ValidTest.class));
+
+        assertTrue(source.contains("if (chance < 0.2) {"));
+        assertTrue(source.contains("} else if (chance < 0.3"));
+        assertTrue(source.contains("test.get();"));
+        assertTrue(source.contains("getMethodProbe(\"remove\")"));
+    }
+
+    @Test
+    public void testGetRunnerConstructor_isCached() {
+        List<Method> methods = getTimeStepMethods(ValidTest.class);
+
+        assertSame(getRunnerConstructor(ValidTest.class, methods), getRunnerConstructor(ValidTest.class, methods));
+    }
+
+    @Test(expected = IllegalTestException.class)
+    public void testGetTimeStepMethods_probabilitiesTooLow() {
+        getTimeStepMethods(ProbabilitiesTooLowTest.class);
+    }
+
+    @Test(expected = IllegalTestException.class)
+    public void testGetTimeStepMethods_probabilitiesTooHigh() {
+        getTimeStepMethods(ProbabilitiesTooHighTest.class);
+    }
+
+    @Test(expected = IllegalTestException.class)
+    public void testGetTimeStepMethods_multipleRemainingProbabilities() {
+        getTimeStepMethods(MultipleRemainingProbabilitiesTest.class);
+    }
+
+    @Test(expected = IllegalTestException.class)
+    public void testGetTimeStepMethods_methodWithArguments() {
+        getTimeStepMethods(MethodWithArgumentsTest.class);
+    }
+
+    @Test(expected = IllegalTestException.class)
+    public void testGetTimeStepMethods_privateClass() {
+        getTimeStepMethods(PrivateClassTest.class);
+    }
+
+    public static class ValidTest {
+
+        @TimeStep(prob = -1)
+        public void get() {
+        }
+
+        @TimeStep(prob = 0.2)
+        public void put() {
+        }
+
+        @TimeStep(prob = 0.1)
+        public void remove() {
+        }
+    }
+
+    public static class OverridingTest extends ValidTest {
+
+        @TimeStep(prob = 0.3)
+        @Override
+        public void put() {
+        }
+
+        // an overriding method without annotation is no time step method
+        @Override
+        public void remove() {
+        }
+    }
+
+    public static class ProbabilitiesTooLowTest {
+
+        @TimeStep(prob = 0.2)
+        public void put() {
+        }
+
+        @TimeStep(prob = 0.1)
+        public void remove() {
+        }
+    }
+
+    public static class ProbabilitiesTooHighTest {
+
+        @TimeStep(prob = 0.9)
+        public void put() {
+        }
+
+        @TimeStep(prob = -1)
+        public void get() {
+        }
+
+        @TimeStep(prob = 0.2)
+        public void remove() {
+        }
+    }
+
+    public static class MultipleRemainingProbabilitiesTest {
+
+        @TimeStep(prob = -1)
+        public void put() {
+        }
+
+        @TimeStep(prob = -1)
+        public void get() {
+        }
+    }
+
+    public static class MethodWithArgumentsTest {
+
+        @TimeStep
+        public void put(int key) {
+        }
+    }
+
+    private static class PrivateClassTest {
+
+        @TimeStep
+        public void put() {
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.hazelcast.simulator.worker.distribution;
+
+import com.hazelcast.simulator.utils.SplitMixRandom;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class KeyDistributionSpecTest {
+
+    @Test
+    public void testParse_withDefaults() {
+        assertEquals("uniform", KeyDistributionSpec.parse("uniform").toString());
+        assertEquals("zipfian(0.99)", KeyDistributionSpec.parse("zipfian").toString());
+        assertEquals("hotspot(0.2,0.8)", KeyDistributionSpec.parse("hotspot").toString());
+        assertEquals("latest(0.99)", KeyDistributionSpec.parse("latest").toString());
+        assertEquals("sequential", KeyDistributionSpec.parse("sequential").toString());
+    }
+
+    @Test
+    public void testParse_withParameters() {
+        assertEquals("zipfian(0.5)", KeyDistributionSpec.parse(" Zipfian( 0.5 ) ").toString());
+        assertEquals("hotspot(0.1,0.9)", KeyDistributionSpec.parse("hotspot(0.1, 0.9)").toString());
+        assertEquals("hotspot(0.1,0.8)", KeyDistributionSpec.parse("hotspot(0.1)").toString());
+        assertEquals("latest(0.7)", KeyDistributionSpec.parse("latest(0.7)").toString());
+    }
+
+    @Test
+    public void testNewInstance() {
+        SplitMixRandom random = new SplitMixRandom(42);
+
+        assertTrue(KeyDistributionSpec.parse("uniform").newInstance(10, random) instanceof UniformKeyDistribution);
+        assertTrue(KeyDistributionSpec.parse("zipfian").newInstance(10, random) instanceof ZipfianKeyDistribution);
+        assertTrue(KeyDistributionSpec.parse("hotspot").newInstance(10, random) instanceof HotspotKeyDistribution);
+        assertTrue(KeyDistributionSpec.parse("latest").newInstance(10, random) instanceof LatestKeyDistribution);
+        assertTrue(KeyDistributionSpec.parse("sequential").newInstance(10, random) instanceof SequentialKeyDistribution);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNewInstance_invalidKeyCount() {
+        KeyDistributionSpec.parse("uniform").newInstance(0, new SplitMixRandom());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testParse_unknownDistribution() {
+        KeyDistributionSpec.parse("gaussian");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testParse_missingClosingBracket() {
+        KeyDistributionSpec.parse("zipfian(0.5");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testParse_tooManyParameters() {
+        KeyDistributionSpec.parse("zipfian(0.5,0.6)");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testParse_parametersForUniform() {
+        KeyDistributionSpec.parse("uniform(0.5)");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testParse_invalidParameter() {
+        KeyDistributionSpec.parse("hotspot(0.2,foo)");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testParse_thetaOne() {
+        KeyDistributionSpec.parse("zipfian(1)");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testParse_fractionAboveOne() {
+        KeyDistributionSpec.parse("hotspot(1.5,0.8)");
+    }
+}
@@ -0,0 +1,105 @@
+package com.hazelcast.simulator.worker.distribution;
+
+import com.hazelcast.simulator.utils.SplitMixRandom;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class KeyDistributionTest {
+
+    private static final int KEY_COUNT = 1000;
+    private static final int ITERATIONS = 100000;
+
+    private final SplitMixRandom random = new SplitMixRandom(42);
+
+    @Test
+    public void testUniform() {
+        int[] counts = count(new UniformKeyDistribution(KEY_COUNT, random));
+
+        for (int count : counts) {
+            assertTrue(count > 0);
+        }
+    }
+
+    @Test
+    public void testZipfian() {
+        int[] counts = count(new ZipfianKeyDistribution(KEY_COUNT, KeyDistributionSpec.DEFAULT_THETA, random));
+
+        assertMostPopular(counts, 0);
+        assertTrue(counts[0] > counts[1]);
+        assertTrue(counts[1] > counts[KEY_COUNT / 2]);
+    }
+
+    @Test
+    public void testZipfian_singleKey() {
+        int[] counts = count(new ZipfianKeyDistribution(1, KeyDistributionSpec.DEFAULT_THETA, random));
+
+        assertEquals(ITERATIONS, counts[0]);
+    }
+
+    @Test
+    public void testLatest() {
+        int[] counts = count(new LatestKeyDistribution(KEY_COUNT, KeyDistributionSpec.DEFAULT_THETA, random));
+
+        assertMostPopular(counts, KEY_COUNT - 1);
+        assertTrue(counts[KEY_COUNT - 1] > counts[0]);
+    }
+
+    @Test
+    public void testHotspot() {
+        int[] counts = count(new HotspotKeyDistribution(KEY_COUNT, 0.1, 0.9, random));
+
+        long hotCount = 0;
+        for (int i = 0; i < KEY_COUNT / 10; i++) {
+            hotCount += counts[i];
+        }
+        assertEquals(0.9, hotCount / (double) ITERATIONS, 0.01);
+    }
+
+    @Test
+    public void testHotspot_allKeysHot() {
+        int[] counts = count(new HotspotKeyDistribution(KEY_COUNT, 1.0, 0.5, random));
+
+        for (int count : counts) {
+            assertTrue(count > 0);
+        }
+    }
+
+    @Test
+    public void testSequential() {
+        KeyDistribution distribution = new SequentialKeyDistribution(KEY_COUNT, random);
+
+        int previous = distribution.nextIndex();
+        for (int i = 0; i < 2 * KEY_COUNT; i++) {
+            int index = distribution.nextIndex();
+            assertEquals((previous + 1) % KEY_COUNT, index);
+            previous = index;
+        }
+    }
+
+    @Test
+    public void testSameSeed_sameIndexes() {
+        KeyDistributionSpec spec = KeyDistributionSpec.parse("zipfian");
+        KeyDistribution first = spec.newInstance(KEY_COUNT, new SplitMixRandom(23));
+        KeyDistribution second = spec.newInstance(KEY_COUNT, new SplitMixRandom(23));
+
+        for (int i = 0; i < ITERATIONS; i++) {
+            assertEquals(first.nextIndex(), second.nextIndex());
+        }
+    }
+
+    private static int[] count(KeyDistribution distribution) {
+        int[] counts = new int[KEY_COUNT];
+        for (int i = 0; i < ITERATIONS; i++) {
+            counts[distribution.nextIndex()]++;
+        }
+        return counts;
+    }
+
+    private static void assertMostPopular(int[] counts, int expectedIndex) {
+        for (int i = 0; i < counts.length; i++) {
+            assertTrue(counts[expectedIndex] >= counts[i]);
+        }
+    }
+}
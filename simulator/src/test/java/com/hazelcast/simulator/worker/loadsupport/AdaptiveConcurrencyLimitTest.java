@@ -0,0 +1,116 @@
+package com.hazelcast.simulator.worker.loadsupport;
+
+import org.junit.Test;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class AdaptiveConcurrencyLimitTest {
+
+    private static final long TIMEOUT_NANOS = MILLISECONDS.toNanos(100);
+
+    private final AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(4, 8);
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testConstructor_initialLimitTooSmall() {
+        new AdaptiveConcurrencyLimit(0, 8);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testConstructor_initialLimitTooLarge() {
+        new AdaptiveConcurrencyLimit(9, 8);
+    }
+
+    @Test
+    public void testAcquire_timeoutWhenLimitReached() throws Exception {
+        for (int i = 0; i < 4; i++) {
+            assertEquals(i, limit.acquire(TIMEOUT_NANOS));
+        }
+
+        assertEquals(-1, limit.acquire(TIMEOUT_NANOS));
+        assertEquals(4, limit.getInFlight());
+    }
+
+    @Test
+    public void testOnSuccess_increasesLimitAdditively() throws Exception {
+        // a window of fast batches increases the limit by about one
+        for (int i = 0; i < 5; i++) {
+            long ticket = limit.acquire(TIMEOUT_NANOS);
+            limit.onSuccess(ticket, 1000);
+            limit.release();
+        }
+
+        assertEquals(5, limit.getLimit());
+        assertEquals(0, limit.getInFlight());
+    }
+
+    @Test
+    public void testOnSuccess_doesNotExceedMaxLimit() throws Exception {
+        for (int i = 0; i < 1000; i++) {
+            long ticket = limit.acquire(TIMEOUT_NANOS);
+            limit.onSuccess(ticket, 1000);
+            limit.release();
+        }
+
+        assertEquals(8, limit.getLimit());
+    }
+
+    @Test
+    public void testOnSuccess_slowBatchDecreasesLimit() throws Exception {
+        long ticket = limit.acquire(TIMEOUT_NANOS);
+        limit.onSuccess(ticket, 1000);
+
+        limit.release();
+
+        ticket = limit.acquire(TIMEOUT_NANOS);
+        limit.onSuccess(ticket, 1000 * 10);
+
+        assertEquals(2, limit.getLimit());
+    }
+
+    @Test
+    public void testOnFailure_decreasesLimitOncePerWindow() throws Exception {
+        long ticket1 = limit.acquire(TIMEOUT_NANOS);
+        long ticket2 = limit.acquire(TIMEOUT_NANOS);
+        long ticket3 = limit.acquire(TIMEOUT_NANOS);
+
+        limit.onFailure(ticket1);
+        limit.onFailure(ticket2);
+        assertEquals(2, limit.getLimit());
+        limit.release();
+        limit.release();
+
+        long ticket4 = limit.acquire(TIMEOUT_NANOS);
+        limit.onFailure(ticket3);
+        limit.onFailure(ticket4);
+        assertEquals(1, limit.getLimit());
+        limit.release();
+        limit.release();
+        assertEquals(0, limit.getInFlight());
+    }
+
+    @Test
+    public void testOnFailure_limitNeverBelowOne() throws Exception {
+        for (int i = 0; i < 10; i++) {
+            long ticket = limit.acquire(TIMEOUT_NANOS);
+            limit.onFailure(ticket);
+            limit.release();
+        }
+
+        assertEquals(1, limit.getLimit());
+    }
+
+    @Test
+    public void testAwaitIdle() throws Exception {
+        assertTrue(limit.awaitIdle(TIMEOUT_NANOS));
+
+        long ticket = limit.acquire(TIMEOUT_NANOS);
+        assertFalse(limit.awaitIdle(TIMEOUT_NANOS));
+
+        limit.onSuccess(ticket, 1000);
+        limit.release();
+        assertTrue(limit.awaitIdle(TIMEOUT_NANOS));
+    }
+}
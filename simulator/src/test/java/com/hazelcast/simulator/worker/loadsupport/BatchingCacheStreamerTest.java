@@ -0,0 +1,53 @@
+package com.hazelcast.simulator.worker.loadsupport;
+
+import org.junit.Test;
+
+import javax.cache.Cache;
+import java.util.Map;
+
+import static org.mockito.Matchers.anyMap;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+
+public class BatchingCacheStreamerTest {
+
+    @SuppressWarnings("unchecked")
+    private final Cache<Integer, String> cache = mock(Cache.class);
+
+    private final Streamer<Integer, String> streamer = new BatchingCacheStreamer<Integer, String>(cache, 100, null);
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testAwait() {
+        for (int i = 0; i < 250; i++) {
+            streamer.pushEntry(i, "value");
+        }
+        streamer.await();
+
+        verify(cache, times(3)).putAll(anyMap());
+        verifyNoMoreInteractions(cache);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    @SuppressWarnings("unchecked")
+    public void testAwait_withException() {
+        doThrow(new IllegalArgumentException("expected exception")).when(cache).putAll(anyMap());
+
+        streamer.pushEntry(1, "value");
+        streamer.await();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testPushEntry_afterAwait() {
+        streamer.pushEntry(1, "value");
+        streamer.await();
+        streamer.pushEntry(2, "value");
+        streamer.await();
+
+        verify(cache, times(2)).putAll((Map<Integer, String>) anyMap());
+    }
+}
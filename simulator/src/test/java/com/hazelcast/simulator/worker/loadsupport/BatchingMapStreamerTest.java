@@ -0,0 +1,144 @@
+package com.hazelcast.simulator.worker.loadsupport;
+
+import com.hazelcast.core.IMap;
+import com.hazelcast.simulator.probes.Probe;
+import org.junit.Test;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.hazelcast.simulator.utils.CommonUtils.joinThread;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Matchers.anyMap;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+public class BatchingMapStreamerTest {
+
+    private static final int BATCH_SIZE = 10;
+
+    @SuppressWarnings("unchecked")
+    private final IMap<Integer, String> map = mock(IMap.class);
+
+    private final Probe probe = mock(Probe.class);
+
+    private final Map<Integer, String> storedEntries = new ConcurrentHashMap<Integer, String>();
+
+    private final BatchingMapStreamer<Integer, String> streamer = new BatchingMapStreamer<Integer, String>(map, BATCH_SIZE, probe);
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testConstructor_invalidBatchSize() {
+        new BatchingMapStreamer<Integer, String>(map, 0, null);
+    }
+
+    @Test
+    public void testPushEntry_belowBatchSize() {
+        for (int i = 0; i < BATCH_SIZE - 1; i++) {
+            streamer.pushEntry(i, "value");
+        }
+
+        verifyNoMoreInteractions(map);
+    }
+
+    @Test
+    public void testPushEntry_fullBatch() {
+        storeEntries();
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            streamer.pushEntry(i, "value" + i);
+        }
+        streamer.await();
+
+        Map<Integer, String> expected = new HashMap<Integer, String>();
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            expected.put(i, "value" + i);
+        }
+        verify(map).putAll(expected);
+        verifyNoMoreInteractions(map);
+        verify(probe).recordValues(anyLong(), eq((long) BATCH_SIZE));
+    }
+
+    @Test
+    public void testAwait() {
+        storeEntries();
+        Thread thread = new Thread() {
+            @Override
+            public void run() {
+                for (int i = 0; i < 5005; i++) {
+                    streamer.pushEntry(i, "value");
+                }
+            }
+        };
+        thread.start();
+        joinThread(thread);
+
+        streamer.await();
+
+        assertEquals(5005, storedEntries.size());
+        verify(map, times(501)).putAll(anyMap());
+        assertEquals(0, streamer.getConcurrencyLimit().getInFlight());
+    }
+
+    @Test
+    public void testAwait_withoutEntries() {
+        streamer.await();
+
+        verifyNoMoreInteractions(map);
+        verify(probe, never()).recordValues(anyLong(), anyLong());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testAwait_withTransientException() {
+        doThrow(new IllegalStateException("expected exception")).doAnswer(new StoreAnswer()).when(map).putAll(anyMap());
+
+        streamer.pushEntry(1, "value");
+        long started = System.nanoTime();
+        streamer.await();
+        long elapsedMillis = NANOSECONDS.toMillis(System.nanoTime() - started);
+
+        verify(map, times(2)).putAll(anyMap());
+        assertEquals("value", storedEntries.get(1));
+        assertTrue(elapsedMillis >= AbstractBatchingStreamer.RETRY_BACKOFF_MILLIS);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    @SuppressWarnings("unchecked")
+    public void testAwait_withPersistentException() {
+        doThrow(new IllegalArgumentException("expected exception")).when(map).putAll(anyMap());
+
+        streamer.pushEntry(1, "value");
+        try {
+            streamer.await();
+        } finally {
+            verify(map, times(AbstractBatchingStreamer.MAX_ATTEMPTS)).putAll(anyMap());
+            assertTrue(streamer.getConcurrencyLimit().getLimit() >= 1);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void storeEntries() {
+        doAnswer(new StoreAnswer()).when(map).putAll(anyMap());
+    }
+
+    private final class StoreAnswer implements Answer<Void> {
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public Void answer(InvocationOnMock invocation) throws Throwable {
+            storedEntries.putAll((Map<Integer, String>) invocation.getArguments()[0]);
+            return null;
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.hazelcast.simulator.worker.loadsupport;
 
 import com.hazelcast.cache.ICache;
 import com.hazelcast.core.IMap;
+import com.hazelcast.simulator.probes.Probe;
 import org.junit.Test;
 
 import javax.cache.Cache;
@@ -16,6 +17,7 @@ public class StreamerFactoryTest {
     private final IMap iMap = mock(IMap.class);
     private final ICache iCache = mock(ICache.class);
     private final Cache cache = mock(Cache.class);
+    private final Probe probe = mock(Probe.class);
 
     @Test
     public void testConstructor() throws Exception {
@@ -26,65 +28,34 @@ public class StreamerFactoryTest {
     public void testGetInstance_withMap() {
         Streamer streamer = StreamerFactory.getInstance(iMap);
         assertNotNull(streamer);
+        assertTrue(streamer instanceof BatchingMapStreamer);
     }
 
     @Test
-    public void testGetInstance_withMap_forceAsync() {
-        StreamerFactory.enforceAsync(true);
-        Streamer streamer = StreamerFactory.getInstance(iMap);
-        assertNotNull(streamer);
-        assertTrue(streamer instanceof AsyncMapStreamer);
-    }
-
-    @Test
-    public void testGetInstance_withMap_forceSync() {
-        StreamerFactory.enforceAsync(false);
-        Streamer streamer = StreamerFactory.getInstance(iMap);
+    public void testGetInstance_withMap_withProbe() {
+        Streamer streamer = StreamerFactory.getInstance(iMap, probe);
         assertNotNull(streamer);
-        assertTrue(streamer instanceof SyncMapStreamer);
+        assertTrue(streamer instanceof BatchingMapStreamer);
     }
 
     @Test
     public void testGetInstance_withICache() {
         Streamer streamer = StreamerFactory.getInstance(iCache);
         assertNotNull(streamer);
-    }
-
-    @Test
-    public void testGetInstance_withICache_forceAsync() {
-        StreamerFactory.enforceAsync(true);
-        Streamer streamer = StreamerFactory.getInstance(iCache);
-        assertNotNull(streamer);
-        assertTrue(streamer instanceof AsyncCacheStreamer);
-    }
-
-    @Test
-    public void testGetInstance_withICache_forceSync() {
-        StreamerFactory.enforceAsync(false);
-        Streamer streamer = StreamerFactory.getInstance(iCache);
-        assertNotNull(streamer);
-        assertTrue(streamer instanceof SyncCacheStreamer);
+        assertTrue(streamer instanceof BatchingCacheStreamer);
     }
 
     @Test
     public void testGetInstance_withCache() {
         Streamer streamer = StreamerFactory.getInstance(cache);
         assertNotNull(streamer);
+        assertTrue(streamer instanceof BatchingCacheStreamer);
     }
 
     @Test
-    public void testGetInstance_withCache_forceAsync() {
-        StreamerFactory.enforceAsync(true);
-        Streamer streamer = StreamerFactory.getInstance(cache);
-        assertNotNull(streamer);
-        assertTrue(streamer instanceof SyncCacheStreamer);
-    }
-
-    @Test
-    public void testGetInstance_withCache_forceSync() {
-        StreamerFactory.enforceAsync(false);
-        Streamer streamer = StreamerFactory.getInstance(cache);
+    public void testGetInstance_withCache_withProbe() {
+        Streamer streamer = StreamerFactory.getInstance(cache, probe);
         assertNotNull(streamer);
-        assertTrue(streamer instanceof SyncCacheStreamer);
+        assertTrue(streamer instanceof BatchingCacheStreamer);
     }
 }
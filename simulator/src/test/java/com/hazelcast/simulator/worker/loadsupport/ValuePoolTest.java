@@ -0,0 +1,188 @@
+package com.hazelcast.simulator.worker.loadsupport;
+
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.simulator.utils.SplitMixRandom;
+import org.junit.After;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class ValuePoolTest {
+
+    private ValuePool valuePool;
+
+    @After
+    public void tearDown() {
+        if (valuePool != null) {
+            valuePool.close();
+        }
+    }
+
+    @Test
+    public void testHeapStorage() {
+        valuePool = createValuePool(ValuePoolStorage.HEAP, ValuePool.MAX_SEGMENT_SIZE);
+
+        assertValues(valuePool);
+    }
+
+    @Test
+    public void testDirectStorage() {
+        valuePool = createValuePool(ValuePoolStorage.DIRECT, ValuePool.MAX_SEGMENT_SIZE);
+
+        assertValues(valuePool);
+        assertTrue(valuePool.getBuffer(0).isDirect());
+    }
+
+    @Test
+    public void testMappedStorage() {
+        valuePool = createValuePool(ValuePoolStorage.MAPPED, ValuePool.MAX_SEGMENT_SIZE);
+
+        assertValues(valuePool);
+        assertTrue(valuePool.getBuffer(0).isDirect());
+    }
+
+    @Test
+    public void testMultipleSegments() {
+        valuePool = createValuePool(ValuePoolStorage.HEAP, 250);
+        ValuePool singleSegmentPool = createValuePool(ValuePoolStorage.HEAP, ValuePool.MAX_SEGMENT_SIZE);
+
+        assertValues(valuePool);
+        // the same seed creates the same value sizes, regardless of the segment layout
+        for (int i = 0; i < valuePool.getValueCount(); i++) {
+            assertEquals(singleSegmentPool.getSize(i), valuePool.getSize(i));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testValueLargerThanSegment() {
+        createValuePool(ValuePoolStorage.HEAP, 50);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidValueCount() {
+        new ValuePool(0, ValueSizeDistribution.parse("fixed(10)"), ValuePoolStorage.HEAP, new SplitMixRandom());
+    }
+
+    @Test
+    public void testGetBuffer_isReadOnlyView() {
+        valuePool = createValuePool(ValuePoolStorage.HEAP, ValuePool.MAX_SEGMENT_SIZE);
+
+        ByteBuffer buffer = valuePool.getBuffer(1);
+        buffer.get();
+
+        assertTrue(buffer.isReadOnly());
+        assertEquals(valuePool.getSize(1), valuePool.getBuffer(1).remaining());
+    }
+
+    @Test
+    public void testPooledValue_writeData() throws Exception {
+        valuePool = createValuePool(ValuePoolStorage.DIRECT, ValuePool.MAX_SEGMENT_SIZE);
+        PooledValue value = valuePool.getValue(3);
+        ObjectDataOutput out = mock(ObjectDataOutput.class);
+
+        value.writeData(out);
+        value.writeData(out);
+
+        ArgumentCaptor<byte[]> captor = ArgumentCaptor.forClass(byte[].class);
+        verify(out, times(2)).writeInt(value.getSize());
+        verify(out, times(2)).write(captor.capture(), eq(0), eq(value.getSize()));
+        assertArrayEquals(toArray(valuePool.getBuffer(3)), Arrays.copyOf(captor.getValue(), value.getSize()));
+    }
+
+    @Test
+    public void testPooledValue_writeData_heapStorage_writesFromBackingArray() throws Exception {
+        valuePool = createValuePool(ValuePoolStorage.HEAP, ValuePool.MAX_SEGMENT_SIZE);
+        PooledValue value = valuePool.getValue(3);
+        ObjectDataOutput out = mock(ObjectDataOutput.class);
+
+        value.writeData(out);
+
+        ArgumentCaptor<byte[]> arrayCaptor = ArgumentCaptor.forClass(byte[].class);
+        ArgumentCaptor<Integer> offsetCaptor = ArgumentCaptor.forClass(Integer.class);
+        verify(out).write(arrayCaptor.capture(), offsetCaptor.capture(), eq(value.getSize()));
+        // the whole segment is passed, so the payload was not copied
+        assertEquals(valuePool.getTotalSize(), arrayCaptor.getValue().length);
+        int offset = offsetCaptor.getValue();
+        assertArrayEquals(toArray(valuePool.getBuffer(3)),
+                Arrays.copyOfRange(arrayCaptor.getValue(), offset, offset + value.getSize()));
+        assertEquals(valuePool.getSize(3), value.getSize());
+    }
+
+    @Test
+    public void testPooledValue_identifiedBy_pooledValueFactory() {
+        PooledValue value = new PooledValue();
+
+        assertEquals(PooledValueFactory.FACTORY_ID, value.getFactoryId());
+        assertTrue(new PooledValueFactory().create(value.getId()) instanceof PooledValue);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testPooledValueFactory_unknownTypeId() {
+        new PooledValueFactory().create(-1);
+    }
+
+    @Test
+    public void testPooledValue_readData() throws Exception {
+        ObjectDataInput in = mock(ObjectDataInput.class);
+        when(in.readInt()).thenReturn(3);
+        doAnswer(new Answer<Void>() {
+            @Override
+            public Void answer(InvocationOnMock invocation) throws Throwable {
+                byte[] bytes = (byte[]) invocation.getArguments()[0];
+                bytes[0] = 1;
+                bytes[1] = 2;
+                bytes[2] = 3;
+                return null;
+            }
+        }).when(in).readFully(any(byte[].class));
+
+        PooledValue value = new PooledValue();
+        value.readData(in);
+
+        assertEquals(3, value.getSize());
+        assertArrayEquals(new byte[]{1, 2, 3}, toArray(value.getBuffer()));
+    }
+
+    private static ValuePool createValuePool(ValuePoolStorage storage, int maxSegmentSize) {
+        ValueSizeDistribution sizeDistribution = ValueSizeDistribution.uniform(60, 100);
+        return new ValuePool(20, sizeDistribution, storage, new SplitMixRandom(42), maxSegmentSize);
+    }
+
+    private static void assertValues(ValuePool valuePool) {
+        assertEquals(20, valuePool.getValueCount());
+        long totalSize = 0;
+        for (int i = 0; i < valuePool.getValueCount(); i++) {
+            int size = valuePool.getSize(i);
+            assertTrue(size >= 60 && size <= 100);
+            assertEquals(size, valuePool.getBuffer(i).remaining());
+            assertEquals(size, valuePool.getValue(i).getSize());
+            totalSize += size;
+        }
+        assertEquals(totalSize, valuePool.getTotalSize());
+        assertFalse(valuePool.getBuffer(0).equals(valuePool.getBuffer(1)));
+    }
+
+    private static byte[] toArray(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.get(bytes);
+        return bytes;
+    }
+}
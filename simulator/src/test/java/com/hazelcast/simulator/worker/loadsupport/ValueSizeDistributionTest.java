@@ -0,0 +1,108 @@
+package com.hazelcast.simulator.worker.loadsupport;
+
+import com.hazelcast.simulator.utils.SplitMixRandom;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ValueSizeDistributionTest {
+
+    private static final int ITERATIONS = 100000;
+
+    private final Random random = new SplitMixRandom(42);
+
+    @Test
+    public void testFixed() {
+        ValueSizeDistribution distribution = ValueSizeDistribution.parse("fixed(100)");
+
+        assertEquals(100, distribution.getMaxSize());
+        for (int i = 0; i < ITERATIONS; i++) {
+            assertEquals(100, distribution.nextSize(random));
+        }
+    }
+
+    @Test
+    public void testUniform() {
+        ValueSizeDistribution distribution = ValueSizeDistribution.uniform(10, 12);
+
+        assertEquals("uniform(10,12)", distribution.toString());
+        assertEquals(12, distribution.getMaxSize());
+        boolean[] seen = new boolean[13];
+        for (int i = 0; i < ITERATIONS; i++) {
+            int size = distribution.nextSize(random);
+            assertTrue(size >= 10 && size <= 12);
+            seen[size] = true;
+        }
+        assertTrue(seen[10] && seen[11] && seen[12]);
+    }
+
+    @Test
+    public void testLognormal() {
+        ValueSizeDistribution distribution = ValueSizeDistribution.parse("lognormal(1000, 0.5, 5000)");
+
+        assertEquals(5000, distribution.getMaxSize());
+        int belowMedian = 0;
+        for (int i = 0; i < ITERATIONS; i++) {
+            int size = distribution.nextSize(random);
+            assertTrue(size >= 1 && size <= 5000);
+            if (size < 1000) {
+                belowMedian++;
+            }
+        }
+        assertEquals(0.5, belowMedian / (double) ITERATIONS, 0.01);
+    }
+
+    @Test
+    public void testHistogram() {
+        ValueSizeDistribution distribution = ValueSizeDistribution.parse("histogram(100:1,1000:3)");
+
+        assertEquals(1000, distribution.getMaxSize());
+        int smallCount = 0;
+        for (int i = 0; i < ITERATIONS; i++) {
+            int size = distribution.nextSize(random);
+            assertTrue(size == 100 || size == 1000);
+            if (size == 100) {
+                smallCount++;
+            }
+        }
+        assertEquals(0.25, smallCount / (double) ITERATIONS, 0.01);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testParse_unknownDistribution() {
+        ValueSizeDistribution.parse("pareto(1,2)");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testParse_missingParameters() {
+        ValueSizeDistribution.parse("fixed");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testParse_wrongParameterCount() {
+        ValueSizeDistribution.parse("uniform(10)");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testParse_minSizeLargerThanMaxSize() {
+        ValueSizeDistribution.parse("uniform(10,5)");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testParse_invalidParameter() {
+        ValueSizeDistribution.parse("fixed(foo)");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testParse_invalidBucket() {
+        ValueSizeDistribution.parse("histogram(100)");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testParse_negativeWeight() {
+        ValueSizeDistribution.parse("histogram(100:-1)");
+    }
+}
@@ -0,0 +1,26 @@
+package com.hazelcast.simulator.worker.metronome;
+
+import com.hazelcast.simulator.utils.SplitMixRandom;
+import org.junit.Test;
+
+import static com.hazelcast.simulator.worker.metronome.WaitStrategy.BUSY_SPIN;
+import static com.hazelcast.simulator.worker.metronome.WaitStrategy.PARK;
+import static org.junit.Assert.assertTrue;
+
+public class MetronomeTypeTest {
+
+    @Test
+    public void testNewInstance_constant() {
+        assertTrue(MetronomeType.CONSTANT.newInstance(100, BUSY_SPIN, null, new SplitMixRandom()) instanceof SimpleMetronome);
+    }
+
+    @Test
+    public void testNewInstance_poisson() {
+        assertTrue(MetronomeType.POISSON.newInstance(100, PARK, null, new SplitMixRandom()) instanceof PoissonMetronome);
+    }
+
+    @Test
+    public void testNewInstance_noFrequency() {
+        assertTrue(MetronomeType.POISSON.newInstance(0, PARK, null, new SplitMixRandom()).getMissedSlotCount() == 0);
+    }
+}
@@ -0,0 +1,66 @@
+package com.hazelcast.simulator.worker.metronome;
+
+import com.hazelcast.simulator.utils.SplitMixRandom;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static com.hazelcast.simulator.utils.CommonUtils.sleepMillis;
+import static com.hazelcast.simulator.worker.metronome.PoissonMetronome.withMeanFrequency;
+import static com.hazelcast.simulator.worker.metronome.WaitStrategy.BUSY_SPIN;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class PoissonMetronomeTest {
+
+    @Test
+    public void testEmptyMetronome() {
+        Metronome metronome = withMeanFrequency(0);
+        metronome.waitForNext();
+
+        assertFalse(metronome instanceof PoissonMetronome);
+        assertEquals(0, metronome.getMissedSlotCount());
+    }
+
+    @Test
+    public void testPoissonMetronome_meanInterval() {
+        int calls = 200;
+        Metronome metronome = withMeanFrequency(1000);
+
+        long firstIntendedStart = metronome.waitForNext();
+        long lastIntendedStart = firstIntendedStart;
+        for (int i = 1; i < calls; i++) {
+            long intendedStart = metronome.waitForNext();
+            assertTrue(intendedStart >= lastIntendedStart);
+            lastIntendedStart = intendedStart;
+        }
+
+        // the intended start times are independent of the scheduling of the caller, so their mean is stable
+        double meanIntervalNanos = (lastIntendedStart - firstIntendedStart) / (double) (calls - 1);
+        assertTrue("mean interval was " + meanIntervalNanos, meanIntervalNanos > TimeUnit.MICROSECONDS.toNanos(700));
+        assertTrue("mean interval was " + meanIntervalNanos, meanIntervalNanos < TimeUnit.MICROSECONDS.toNanos(1300));
+    }
+
+    @Test
+    public void testPoissonMetronome_sameSeed_sameIntervals() {
+        PoissonMetronome metronome = (PoissonMetronome) withMeanFrequency(1000, BUSY_SPIN, null, new SplitMixRandom(42));
+        PoissonMetronome other = (PoissonMetronome) withMeanFrequency(1000, BUSY_SPIN, null, new SplitMixRandom(42));
+
+        for (int i = 0; i < 100; i++) {
+            assertEquals(metronome.nextIntervalNanos(0), other.nextIntervalNanos(0));
+        }
+    }
+
+    @Test
+    public void testPoissonMetronome_missedSlots() {
+        Metronome metronome = withMeanFrequency(1000);
+        metronome.waitForNext();
+
+        // simulate a stalled operation, which takes much longer than the mean interval
+        sleepMillis(50);
+        metronome.waitForNext();
+
+        assertTrue(metronome.getMissedSlotCount() > 0);
+    }
+}
@@ -0,0 +1,69 @@
+package com.hazelcast.simulator.worker.metronome;
+
+import com.hazelcast.simulator.probes.Probe;
+import com.hazelcast.simulator.probes.impl.ProbeImpl;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static com.hazelcast.simulator.worker.metronome.WaitStrategy.PARK;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class RateScheduleMetronomeTest {
+
+    @Test
+    public void testRateScheduleMetronome_interval() {
+        Metronome metronome = new RateScheduleMetronome(RateSchedule.parse("0:1000"), PARK, null);
+
+        long lastIntendedStart = metronome.waitForNext();
+        for (int i = 0; i < 10; i++) {
+            long intendedStart = metronome.waitForNext();
+            assertEquals(TimeUnit.MILLISECONDS.toNanos(1), intendedStart - lastIntendedStart);
+            lastIntendedStart = intendedStart;
+        }
+    }
+
+    @Test
+    public void testRateScheduleMetronome_pausedStep() {
+        Metronome metronome = new RateScheduleMetronome(RateSchedule.parse("0:0,1:1000"), PARK, null);
+
+        long started = System.nanoTime();
+        metronome.waitForNext();
+
+        // the paused step delays the first slot until the start of the next step
+        assertTrue(System.nanoTime() - started >= TimeUnit.SECONDS.toNanos(1));
+    }
+
+    @Test
+    public void testFirstSlotNanos_skipsPausedStep() {
+        RateScheduleMetronome metronome = new RateScheduleMetronome(RateSchedule.parse("0:0,1:1000"), PARK, null);
+
+        long firstSlotNanos = metronome.firstSlotNanos(0);
+
+        assertTrue(firstSlotNanos >= TimeUnit.SECONDS.toNanos(1));
+        assertTrue(firstSlotNanos < TimeUnit.SECONDS.toNanos(1) + TimeUnit.MILLISECONDS.toNanos(1));
+    }
+
+    @Test
+    public void testNextIntervalNanos_skipsPausedStep() {
+        RateScheduleMetronome metronome = new RateScheduleMetronome(RateSchedule.parse("0:1000,1:0,2:0,3:1000"), PARK, null);
+
+        // the slot at the start of the paused steps is moved to the start of the next step with a positive rate
+        long lastSlotNanos = TimeUnit.MILLISECONDS.toNanos(999);
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(2001), metronome.nextIntervalNanos(lastSlotNanos));
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(1), metronome.nextIntervalNanos(TimeUnit.SECONDS.toNanos(3)));
+    }
+
+    @Test
+    public void testRateScheduleMetronome_recordsWakeUpError() {
+        Probe probe = new ProbeImpl(false);
+        Metronome metronome = new RateScheduleMetronome(RateSchedule.parse("0:1000"), PARK, probe);
+
+        for (int i = 0; i < 20; i++) {
+            metronome.waitForNext();
+        }
+
+        assertTrue(probe.getIntervalHistogram().getTotalCount() > 0);
+    }
+}
@@ -0,0 +1,71 @@
+package com.hazelcast.simulator.worker.metronome;
+
+import org.junit.Test;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.junit.Assert.assertEquals;
+
+public class RateScheduleTest {
+
+    private final RateSchedule rateSchedule = RateSchedule.parse("0:1000, 60:0, 90:5000");
+
+    @Test
+    public void testGetRate() {
+        assertEquals(1000, rateSchedule.getRate(0), 0);
+        assertEquals(1000, rateSchedule.getRate(SECONDS.toNanos(59)), 0);
+        assertEquals(0, rateSchedule.getRate(SECONDS.toNanos(60)), 0);
+        assertEquals(5000, rateSchedule.getRate(SECONDS.toNanos(90)), 0);
+        assertEquals(5000, rateSchedule.getRate(SECONDS.toNanos(3600)), 0);
+    }
+
+    @Test
+    public void testGetNextStepOffsetNanos() {
+        assertEquals(SECONDS.toNanos(60), rateSchedule.getNextStepOffsetNanos(0));
+        assertEquals(SECONDS.toNanos(90), rateSchedule.getNextStepOffsetNanos(SECONDS.toNanos(60)));
+        assertEquals(-1, rateSchedule.getNextStepOffsetNanos(SECONDS.toNanos(90)));
+    }
+
+    @Test
+    public void testScale() {
+        RateSchedule scaled = rateSchedule.scale(0.5);
+
+        assertEquals(500, scaled.getRate(0), 0);
+        assertEquals(2500, scaled.getRate(SECONDS.toNanos(90)), 0);
+        assertEquals(1000, rateSchedule.getRate(0), 0);
+    }
+
+    @Test
+    public void testToString() {
+        assertEquals("0:1000.0,60:0.0,90:5000.0", rateSchedule.toString());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testParse_invalidStep() {
+        RateSchedule.parse("0:1000,60");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testParse_invalidNumber() {
+        RateSchedule.parse("0:fast");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testParse_negativeRate() {
+        RateSchedule.parse("0:-1");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testParse_offsetsNotAscending() {
+        RateSchedule.parse("0:1000,60:2000,30:3000");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testParse_notStartingAtZero() {
+        RateSchedule.parse("10:1000");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testParse_endingWithZeroRate() {
+        RateSchedule.parse("0:1000,60:0");
+    }
+}
@@ -2,8 +2,12 @@ package com.hazelcast.simulator.worker.metronome;
 
 import org.junit.Test;
 
+import java.util.concurrent.TimeUnit;
+
+import static com.hazelcast.simulator.utils.CommonUtils.sleepMillis;
 import static com.hazelcast.simulator.worker.metronome.SimpleMetronome.withFixedFrequency;
 import static com.hazelcast.simulator.worker.metronome.SimpleMetronome.withFixedIntervalMs;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
@@ -98,4 +102,42 @@ public class SimpleMetronomeTest {
             lastTimestamp = startTimestamp;
         }
     }
+
+    @Test
+    public void testSimpleMetronome_returnsIntendedStartTime() {
+        int intervalMs = 10;
+        long intervalNanos = TimeUnit.MILLISECONDS.toNanos(intervalMs);
+
+        Metronome metronome = withFixedIntervalMs(intervalMs);
+        long firstIntendedStart = metronome.waitForNext();
+        assertTrue(firstIntendedStart <= System.nanoTime());
+
+        // simulate a stalled operation, which takes longer than a few intervals
+        sleepMillis(5 * intervalMs);
+
+        // the schedule is not shifted by the stall, so the intended start times are in the past
+        long before = System.nanoTime();
+        long secondIntendedStart = metronome.waitForNext();
+        long thirdIntendedStart = metronome.waitForNext();
+
+        assertEquals(firstIntendedStart + intervalNanos, secondIntendedStart);
+        assertEquals(secondIntendedStart + intervalNanos, thirdIntendedStart);
+        assertTrue(thirdIntendedStart < before);
+    }
+
+    @Test
+    public void testSimpleMetronome_missedSlots() {
+        int intervalMs = 10;
+
+        Metronome metronome = withFixedIntervalMs(intervalMs);
+        metronome.waitForNext();
+        assertEquals(0, metronome.getMissedSlotCount());
+
+        // simulate a stalled operation, which takes longer than a few intervals
+        sleepMillis(5 * intervalMs);
+        metronome.waitForNext();
+        metronome.waitForNext();
+
+        assertEquals(2, metronome.getMissedSlotCount());
+    }
 }
@@ -0,0 +1,98 @@
+package com.hazelcast.simulator.worker.performance;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.core.Hazelcast;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IMap;
+import com.hazelcast.simulator.worker.performance.HazelcastMetricsSampler.Metric;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.File;
+
+import static com.hazelcast.simulator.utils.FileUtils.deleteQuiet;
+import static com.hazelcast.simulator.utils.FileUtils.fileAsText;
+import static com.hazelcast.simulator.worker.performance.HazelcastMetricsSampler.createHazelcastMetricsSampler;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+
+public class HazelcastMetricsSamplerTest {
+
+    private static HazelcastInstance hazelcastInstance;
+
+    @BeforeClass
+    public static void setUp() {
+        Config config = new Config();
+        config.getNetworkConfig().getJoin().getMulticastConfig().setEnabled(false);
+        hazelcastInstance = Hazelcast.newHazelcastInstance(config);
+    }
+
+    @AfterClass
+    public static void tearDown() {
+        Hazelcast.shutdownAll();
+    }
+
+    @Test
+    public void testCreateHazelcastMetricsSampler_nullInstance() {
+        assertNull(createHazelcastMetricsSampler(null));
+    }
+
+    @Test
+    public void testCreateHazelcastMetricsSampler_noMemberInstance() {
+        assertNull(createHazelcastMetricsSampler(mock(HazelcastInstance.class)));
+    }
+
+    @Test
+    public void testSample() {
+        HazelcastMetricsSampler sampler = createHazelcastMetricsSampler(hazelcastInstance);
+        assertNotNull(sampler);
+
+        IMap<Integer, Integer> map = hazelcastInstance.getMap("HazelcastMetricsSamplerTest");
+        for (int i = 0; i < 100; i++) {
+            map.put(i, i);
+        }
+
+        long[] values = sampler.sample();
+
+        assertEquals(Metric.values().length, values.length);
+        for (Metric metric : Metric.values()) {
+            assertTrue(metric + " should be available", values[metric.ordinal()] >= 0);
+        }
+        assertTrue(values[Metric.EXECUTED_OPERATIONS.ordinal()] >= 100);
+    }
+
+    @Test
+    public void testSample_executedOperationsAreDeltas() {
+        HazelcastMetricsSampler sampler = createHazelcastMetricsSampler(hazelcastInstance);
+        assertNotNull(sampler);
+        sampler.sample();
+
+        long[] values = sampler.sample();
+
+        assertTrue(values[Metric.EXECUTED_OPERATIONS.ordinal()] < 100);
+    }
+
+    @Test
+    public void testWriteHazelcastMetrics() {
+        File file = new File("hazelcast-metrics-test.txt");
+        try {
+            long[] values = new long[Metric.values().length];
+            values[Metric.OPERATION_QUEUE_SIZE.ordinal()] = 1234567;
+            values[Metric.EVENT_QUEUE_SIZE.ordinal()] = HazelcastMetricsSampler.NOT_AVAILABLE;
+            PerformanceUtils.writeHazelcastMetricsHeader(file);
+            PerformanceUtils.writeHazelcastMetrics(file, "18/10/2026 12:00:00", values);
+
+            String[] lines = fileAsText(file).split("\n");
+            assertEquals(3, lines.length);
+            // the values are aligned with the column headers
+            assertEquals(lines[0].length(), lines[2].length());
+            assertTrue(lines[2].contains("1,234,567"));
+        } finally {
+            deleteQuiet(file);
+        }
+    }
+}
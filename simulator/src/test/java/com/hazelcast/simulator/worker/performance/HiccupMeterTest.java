@@ -0,0 +1,91 @@
+package com.hazelcast.simulator.worker.performance;
+
+import com.hazelcast.simulator.probes.Probe;
+import com.hazelcast.simulator.probes.impl.ProbeImpl;
+import org.HdrHistogram.Histogram;
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static com.hazelcast.simulator.utils.CommonUtils.sleepMillis;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class HiccupMeterTest {
+
+    private final HiccupMeter hiccupMeter = new HiccupMeter(1, MILLISECONDS);
+
+    @After
+    public void tearDown() {
+        hiccupMeter.shutdown();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testConstructor_invalidResolution() {
+        new HiccupMeter(0, MILLISECONDS);
+    }
+
+    @Test
+    public void testRegisterProbe() {
+        Map<String, Probe> probeMap = new HashMap<String, Probe>();
+
+        hiccupMeter.registerProbe(probeMap);
+
+        Probe probe = probeMap.get(HiccupMeter.PROBE_NAME);
+        assertFalse(probe.isThroughputProbe());
+    }
+
+    @Test
+    public void testRegisterProbe_nameAlreadyUsed() {
+        Map<String, Probe> probeMap = new HashMap<String, Probe>();
+        Probe testProbe = new ProbeImpl(true);
+        probeMap.put(HiccupMeter.PROBE_NAME, testProbe);
+
+        hiccupMeter.registerProbe(probeMap);
+
+        assertEquals(1, probeMap.size());
+        assertSame(testProbe, probeMap.get(HiccupMeter.PROBE_NAME));
+    }
+
+    @Test
+    public void testUnregisterProbe() {
+        Map<String, Probe> probeMap = new HashMap<String, Probe>();
+        hiccupMeter.registerProbe(probeMap);
+
+        hiccupMeter.unregisterProbe(probeMap);
+
+        hiccupMeter.start();
+        sleepMillis(200);
+        hiccupMeter.shutdown();
+
+        assertEquals(0, probeMap.get(HiccupMeter.PROBE_NAME).getIntervalHistogram().getTotalCount());
+    }
+
+    @Test
+    public void testUnregisterProbe_notRegistered() {
+        hiccupMeter.unregisterProbe(new HashMap<String, Probe>());
+    }
+
+    @Test
+    public void testRun() {
+        Map<String, Probe> probeMap1 = new HashMap<String, Probe>();
+        Map<String, Probe> probeMap2 = new HashMap<String, Probe>();
+        hiccupMeter.registerProbe(probeMap1);
+        hiccupMeter.registerProbe(probeMap2);
+
+        hiccupMeter.start();
+        sleepMillis(200);
+        hiccupMeter.shutdown();
+
+        Histogram histogram1 = probeMap1.get(HiccupMeter.PROBE_NAME).getIntervalHistogram();
+        Histogram histogram2 = probeMap2.get(HiccupMeter.PROBE_NAME).getIntervalHistogram();
+        assertTrue(histogram1.getTotalCount() > 0);
+        assertTrue(histogram2.getTotalCount() > 0);
+        assertFalse(hiccupMeter.isAlive());
+    }
+}
@@ -0,0 +1,88 @@
+package com.hazelcast.simulator.worker.performance;
+
+import org.junit.Test;
+
+import java.io.File;
+
+import static com.hazelcast.simulator.utils.FileUtils.deleteQuiet;
+import static com.hazelcast.simulator.utils.FileUtils.fileAsText;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class JvmMetricsSamplerTest {
+
+    private final JvmMetricsSampler sampler = new JvmMetricsSampler();
+
+    @Test
+    public void testSample() {
+        long timestamp = System.currentTimeMillis() + 1000;
+
+        JvmMetrics jvmMetrics = sampler.sample(timestamp);
+
+        assertEquals(timestamp, jvmMetrics.getTimestamp());
+        assertTrue(jvmMetrics.getIntervalMillis() >= 1000);
+        assertTrue(jvmMetrics.getGcCount() >= 0);
+        assertTrue(jvmMetrics.getGcTimeMillis() >= 0);
+        assertTrue(jvmMetrics.getHeapUsedAfterGcBytes() >= 0);
+    }
+
+    @Test
+    public void testSample_withGc() {
+        System.gc();
+
+        JvmMetrics jvmMetrics = sampler.sample(System.currentTimeMillis());
+
+        assertTrue(jvmMetrics.getGcCount() > 0);
+        assertTrue(jvmMetrics.getHeapUsedAfterGcBytes() > 0);
+    }
+
+    @Test
+    public void testSample_withAllocations() {
+        byte[][] garbage = new byte[100][];
+        for (int i = 0; i < garbage.length; i++) {
+            garbage[i] = new byte[10000];
+        }
+
+        JvmMetrics jvmMetrics = sampler.sample(System.currentTimeMillis() + 1000);
+
+        if (jvmMetrics.getAllocatedBytes() != JvmMetrics.NOT_AVAILABLE) {
+            assertTrue(jvmMetrics.getAllocatedBytes() >= garbage.length * 10000);
+            assertTrue(jvmMetrics.getAllocationRate() > 0);
+        }
+    }
+
+    @Test
+    public void testGetAllocationRate() {
+        JvmMetrics jvmMetrics = new JvmMetrics(5000, 500);
+        jvmMetrics.setAllocatedBytes(1000);
+
+        assertEquals(2000, jvmMetrics.getAllocationRate(), 0.01);
+    }
+
+    @Test
+    public void testGetPauseTimeMillis() {
+        JvmMetrics jvmMetrics = new JvmMetrics(5000, 500);
+        jvmMetrics.setGc(2, 30);
+        assertEquals(30, jvmMetrics.getPauseTimeMillis());
+
+        jvmMetrics.setSafepoints(5, 45);
+        assertEquals(45, jvmMetrics.getPauseTimeMillis());
+    }
+
+    @Test
+    public void testWriteJvmMetrics() {
+        File file = new File("jvm-metrics-test.txt");
+        try {
+            JvmMetrics jvmMetrics = sampler.sample(System.currentTimeMillis());
+            PerformanceUtils.writeJvmMetricsHeader(file);
+            PerformanceUtils.writeJvmMetrics(file, "18/10/2026 12:00:00", jvmMetrics);
+
+            String[] lines = fileAsText(file).split("\n");
+            assertEquals(3, lines.length);
+            // the values are aligned with the column headers
+            assertEquals(lines[0].length(), lines[2].length());
+        } finally {
+            deleteQuiet(file);
+        }
+    }
+}
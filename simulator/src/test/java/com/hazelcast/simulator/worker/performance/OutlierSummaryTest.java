@@ -0,0 +1,92 @@
+package com.hazelcast.simulator.worker.performance;
+
+import com.hazelcast.simulator.probes.Outlier;
+import org.junit.Test;
+
+import java.io.File;
+import java.util.Arrays;
+
+import static com.hazelcast.simulator.probes.Outlier.NO_PARTITION_ID;
+import static com.hazelcast.simulator.utils.FileUtils.deleteQuiet;
+import static com.hazelcast.simulator.utils.FileUtils.fileAsText;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class OutlierSummaryTest {
+
+    private final OutlierSummary outlierSummary = new OutlierSummary();
+
+    @Test
+    public void testAdd() {
+        for (int i = 0; i < 4; i++) {
+            outlierSummary.add(new Outlier(0, "getProbe", 137, "10.0.0.3:5701", 5000));
+        }
+        outlierSummary.add(new Outlier(0, "putProbe", 42, "10.0.0.4:5701", 8000));
+
+        assertEquals(5, outlierSummary.getCount());
+        assertEquals(8000, outlierSummary.getMaxDurationNanos());
+        assertEquals("80% on partition 137, 80% on member 10.0.0.3:5701, 80% in getProbe", outlierSummary.getHotspots());
+    }
+
+    @Test
+    public void testAdd_withoutContext() {
+        outlierSummary.add(new Outlier(0, "getProbe", NO_PARTITION_ID, null, 5000));
+
+        assertEquals(1, outlierSummary.getCount());
+        assertEquals("100% in getProbe", outlierSummary.getHotspots());
+    }
+
+    @Test
+    public void testAdd_outlierSummary() {
+        outlierSummary.add(new Outlier(0, "getProbe", 137, "10.0.0.3:5701", 5000));
+        OutlierSummary other = new OutlierSummary();
+        other.add(new Outlier(0, "getProbe", 137, "10.0.0.4:5701", 9000));
+        other.add(new Outlier(0, "getProbe", 137, "10.0.0.4:5701", 7000));
+        other.add(new Outlier(0, "getProbe", 42, "10.0.0.4:5701", 7000));
+
+        outlierSummary.add(other);
+
+        assertEquals(4, outlierSummary.getCount());
+        assertEquals(9000, outlierSummary.getMaxDurationNanos());
+        assertEquals("75% on partition 137, 75% on member 10.0.0.4:5701, 100% in getProbe", outlierSummary.getHotspots());
+    }
+
+    @Test
+    public void testAdd_cardinalityIsCapped() {
+        for (int i = 0; i < OutlierSummary.MAX_CARDINALITY + 10; i++) {
+            outlierSummary.add(new Outlier(0, "getProbe", i, null, 5000));
+        }
+        outlierSummary.add(new Outlier(0, "getProbe", 0, null, 5000));
+
+        assertEquals(OutlierSummary.MAX_CARDINALITY + 11, outlierSummary.getCount());
+        assertTrue(outlierSummary.getHotspots().startsWith("0% on partition 0,"));
+    }
+
+    @Test
+    public void testGetHotspots_empty() {
+        assertEquals("", outlierSummary.getHotspots());
+    }
+
+    @Test
+    public void testWriteOutliers() {
+        File file = new File("outliers-test.txt");
+        try {
+            PerformanceUtils.writeOutliers(file, Arrays.asList(
+                    new Outlier(System.currentTimeMillis(), "getProbe", 137, "10.0.0.3:5701", 80000000),
+                    new Outlier(System.currentTimeMillis(), "putProbe", NO_PARTITION_ID, null, 5000)));
+            PerformanceUtils.writeOutliers(file, Arrays.asList(
+                    new Outlier(System.currentTimeMillis(), "getProbe", 42, "10.0.0.4:5701", 90000000)));
+
+            String[] lines = fileAsText(file).split("\n");
+            assertEquals(5, lines.length);
+            assertEquals(lines[0].indexOf("Operation"), lines[2].indexOf("getProbe"));
+            assertTrue(lines[2].contains("80,000"));
+            assertTrue(lines[2].contains("137"));
+            assertTrue(lines[2].contains("10.0.0.3:5701"));
+            assertTrue(lines[3].contains(" - "));
+            assertTrue(lines[4].contains("90,000"));
+        } finally {
+            deleteQuiet(file);
+        }
+    }
+}
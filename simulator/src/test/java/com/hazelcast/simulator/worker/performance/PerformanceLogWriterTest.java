@@ -0,0 +1,115 @@
+package com.hazelcast.simulator.worker.performance;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class PerformanceLogWriterTest {
+
+    private final List<Integer> writes = new CopyOnWriteArrayList<Integer>();
+
+    private PerformanceLogWriter logWriter;
+
+    @After
+    public void tearDown() {
+        logWriter.shutdown();
+    }
+
+    @Test
+    public void testWrite() {
+        logWriter = new PerformanceLogWriter(10);
+        logWriter.start();
+
+        for (int i = 0; i < 5; i++) {
+            assertTrue(logWriter.write(new WriteTask(i)));
+        }
+        logWriter.shutdown();
+
+        assertEquals(5, writes.size());
+        for (int i = 0; i < 5; i++) {
+            assertEquals(i, (int) writes.get(i));
+        }
+        assertEquals(0, logWriter.getDroppedWriteCount());
+    }
+
+    @Test
+    public void testWrite_whenQueueIsFull_thenWriteIsDropped() {
+        logWriter = new PerformanceLogWriter(1);
+
+        assertTrue(logWriter.write(new WriteTask(1)));
+        assertFalse(logWriter.write(new WriteTask(2)));
+        assertFalse(logWriter.write(new WriteTask(3)));
+
+        assertEquals(2, logWriter.getDroppedWriteCount());
+    }
+
+    @Test
+    public void testWrite_whenTaskFails_thenWriterContinues() {
+        logWriter = new PerformanceLogWriter(10);
+        logWriter.start();
+
+        logWriter.write(new Runnable() {
+            @Override
+            public void run() {
+                throw new RuntimeException("expected");
+            }
+        });
+        logWriter.write(new WriteTask(1));
+        logWriter.shutdown();
+
+        assertEquals(1, writes.size());
+    }
+
+    @Test
+    public void testShutdown_whenWritesArePending_thenWritesAreExecuted() {
+        final CountDownLatch latch = new CountDownLatch(1);
+        logWriter = new PerformanceLogWriter(10);
+        logWriter.start();
+
+        logWriter.write(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    latch.await();
+                } catch (InterruptedException e) {
+                    throw new RuntimeException(e);
+                }
+            }
+        });
+        logWriter.write(new WriteTask(1));
+        logWriter.write(new WriteTask(2));
+        latch.countDown();
+        logWriter.shutdown();
+
+        assertEquals(2, writes.size());
+        assertFalse(logWriter.isAlive());
+    }
+
+    @Test
+    public void testShutdown_whenNotStarted() {
+        logWriter = new PerformanceLogWriter(10);
+
+        logWriter.shutdown();
+    }
+
+    private final class WriteTask implements Runnable {
+
+        private final int value;
+
+        private WriteTask(int value) {
+            this.value = value;
+        }
+
+        @Override
+        public void run() {
+            writes.add(value);
+        }
+    }
+}
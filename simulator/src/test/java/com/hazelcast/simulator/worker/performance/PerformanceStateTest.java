@@ -1,9 +1,13 @@
 package com.hazelcast.simulator.worker.performance;
 
+import org.HdrHistogram.Histogram;
 import org.junit.Test;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
 public class PerformanceStateTest {
@@ -55,6 +59,92 @@ public class PerformanceStateTest {
         assertEquals(500, addState.getIntervalMaxLatency());
     }
 
+    @Test
+    public void testAdd_withOperationStates() {
+        PerformanceState addState = new PerformanceState(100, 5.0, 10.0, 175.0d, 150, 200);
+        addState.addOperationState("PUT", new PerformanceState(100, 5.0, 10.0, 175.0d, 150, 200));
+
+        PerformanceState otherState = new PerformanceState(150, 6.0, 12.0, 90.0d, 80, 100);
+        otherState.addOperationState("PUT", new PerformanceState(50, 2.0, 4.0, 90.0d, 80, 100));
+        otherState.addOperationState("GET", new PerformanceState(100, 4.0, 8.0, 60.0d, 70, 90));
+
+        addState.add(otherState);
+
+        assertEquals(2, addState.getOperationStates().size());
+        PerformanceState putState = addState.getOperationStates().get("PUT");
+        assertEquals(150, putState.getOperationCount());
+        assertEquals(7.0, putState.getIntervalThroughput(), 0.00001);
+        assertEquals(150, putState.getIntervalPercentileLatency());
+        PerformanceState getState = addState.getOperationStates().get("GET");
+        assertEquals(100, getState.getOperationCount());
+        assertEquals(90, getState.getIntervalMaxLatency());
+    }
+
+    @Test
+    public void testAdd_withPercentileLatencies() {
+        PerformanceState addState = new PerformanceState(100, 5.0, 10.0, 175.0d, 150, 200);
+        addState.setIntervalPercentileLatencies(new long[]{100, 300});
+        PerformanceState otherState = new PerformanceState(150, 6.0, 12.0, 90.0d, 80, 100);
+        otherState.setIntervalPercentileLatencies(new long[]{120, 250});
+
+        addState.add(otherState);
+
+        assertArrayEquals(new long[]{120, 300}, addState.getIntervalPercentileLatencies());
+    }
+
+    @Test
+    public void testAdd_percentileLatenciesToEmptyState() {
+        long[] percentileLatencies = new long[]{100, 300};
+        PerformanceState otherState = new PerformanceState(150, 6.0, 12.0, 90.0d, 80, 100);
+        otherState.setIntervalPercentileLatencies(percentileLatencies);
+        PerformanceState addState = new PerformanceState();
+
+        addState.add(otherState);
+        addState.add(otherState);
+
+        assertArrayEquals(percentileLatencies, addState.getIntervalPercentileLatencies());
+        assertNotSame(percentileLatencies, addState.getIntervalPercentileLatencies());
+    }
+
+    @Test
+    public void testAdd_withProbeStates() {
+        PerformanceState addState = new PerformanceState(100, 5.0, 10.0, 175.0d, 150, 200);
+        addState.addProbeState("probe", new PerformanceState(100, 5.0, 10.0, 175.0d, 150, 200));
+        PerformanceState otherState = new PerformanceState(150, 6.0, 12.0, 90.0d, 80, 100);
+        otherState.addProbeState("probe", new PerformanceState(50, 2.0, 4.0, 90.0d, 80, 100));
+
+        addState.add(otherState);
+
+        assertEquals(1, addState.getProbeStates().size());
+        assertEquals(150, addState.getProbeStates().get("probe").getOperationCount());
+    }
+
+    @Test
+    public void testGetProbeStates_noProbes() {
+        assertTrue(new PerformanceState().getProbeStates().isEmpty());
+    }
+
+    @Test
+    public void testGetOperationStates_noOperations() {
+        assertTrue(new PerformanceState().getOperationStates().isEmpty());
+    }
+
+    @Test
+    public void testIntervalHistogram() {
+        Histogram histogram = new Histogram(3);
+        histogram.recordValue(200);
+        PerformanceState performanceState = new PerformanceState(100, 5.0, 10.0, 175.0d, 150, 200);
+
+        performanceState.setIntervalHistogram(histogram);
+
+        assertEquals(histogram, performanceState.getIntervalHistogram());
+    }
+
+    @Test
+    public void testIntervalHistogram_notSet() {
+        assertNull(new PerformanceState().getIntervalHistogram());
+    }
+
     @Test
     public void testToString() {
         assertNotNull(new PerformanceState().toString());
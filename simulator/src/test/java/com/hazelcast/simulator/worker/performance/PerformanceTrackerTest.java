@@ -0,0 +1,168 @@
+package com.hazelcast.simulator.worker.performance;
+
+import com.hazelcast.simulator.probes.Probe;
+import com.hazelcast.simulator.probes.impl.ProbeImpl;
+import org.HdrHistogram.Histogram;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.PrintStream;
+import java.util.HashMap;
+import java.util.Map;
+
+import static com.hazelcast.simulator.utils.FileUtils.deleteQuiet;
+import static com.hazelcast.simulator.utils.FileUtils.fileAsText;
+import static com.hazelcast.simulator.utils.ReflectionUtils.getFieldValue;
+import static com.hazelcast.simulator.worker.performance.PerformanceUtils.DEFAULT_PERCENTILES;
+import static com.hazelcast.simulator.worker.performance.PerformanceUtils.decodeHistogram;
+import static com.hazelcast.simulator.worker.performance.PerformanceUtils.parsePercentiles;
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class PerformanceTrackerTest {
+
+    private static final String TEST_ID = "PerformanceTrackerTest";
+    private static final String PROBE_NAME = "probe";
+    private static final String LAZY_PROBE_NAME = "lazyProbe";
+
+    private final Map<String, Probe> probeMap = new HashMap<String, Probe>();
+
+    private PerformanceLogWriter logWriter;
+    private Probe probe;
+    private PerformanceTracker tracker;
+    private long timestamp;
+
+    @Before
+    public void setUp() {
+        probe = new ProbeImpl(true);
+        probeMap.put(PROBE_NAME, probe);
+
+        logWriter = new PerformanceLogWriter(100);
+        logWriter.start();
+
+        timestamp = System.currentTimeMillis();
+        tracker = new PerformanceTracker(TEST_ID, probeMap, timestamp, logWriter, parsePercentiles(DEFAULT_PERCENTILES));
+    }
+
+    @After
+    public void tearDown() {
+        logWriter.shutdown();
+        tracker.close();
+
+        deleteQuiet(new File("throughput-" + TEST_ID + ".txt"));
+        deleteQuiet(new File("latency-" + TEST_ID + "-" + PROBE_NAME + ".txt"));
+        deleteQuiet(new File("latency-" + TEST_ID + "-" + LAZY_PROBE_NAME + ".txt"));
+        deleteQuiet(new File("latency-" + TEST_ID + "-aggregated.txt"));
+    }
+
+    @Test
+    public void testAggregateIntervalHistograms() {
+        probe.recordValue(MICROSECONDS.toNanos(100));
+        probe.recordValue(MICROSECONDS.toNanos(200));
+        updateTracker();
+
+        probe.recordValue(MICROSECONDS.toNanos(5000));
+        updateTracker();
+
+        Map<String, String> histograms = tracker.aggregateIntervalHistograms(TEST_ID);
+
+        assertEquals(1, histograms.size());
+        Histogram histogram = decodeHistogram(histograms.get(PROBE_NAME));
+        assertEquals(3, histogram.getTotalCount());
+        assertTrue(histogram.valuesAreEquivalent(5000, histogram.getMaxValue()));
+        assertEquals(MICROSECONDS, tracker.getLatencyUnits().get(PROBE_NAME));
+    }
+
+    @Test
+    public void testAggregateIntervalHistograms_doesNotCreateLatencyFiles() {
+        Probe lazyProbe = new ProbeImpl(false);
+        lazyProbe.recordValue(MICROSECONDS.toNanos(100));
+        Map<String, Histogram> intervalHistograms = new HashMap<String, Histogram>();
+        intervalHistograms.put(LAZY_PROBE_NAME, lazyProbe.getIntervalHistogram());
+        tracker.update(intervalHistograms, null, 0, 0, 0, 0, timestamp + 1000);
+
+        Map<String, String> histograms = tracker.aggregateIntervalHistograms(TEST_ID);
+
+        assertEquals(1, decodeHistogram(histograms.get(LAZY_PROBE_NAME)).getTotalCount());
+        assertEquals(MICROSECONDS, tracker.getLatencyUnits().get(LAZY_PROBE_NAME));
+        assertFalse(new File("latency-" + TEST_ID + "-" + LAZY_PROBE_NAME + ".txt").exists());
+        assertTrue(fileAsText(new File("latency-" + TEST_ID + "-aggregated.txt")).contains("probeName=" + LAZY_PROBE_NAME));
+    }
+
+    @Test
+    public void testClose() {
+        updateTracker();
+        logWriter.shutdown();
+        Map<String, PrintStream> latencyFileStreams = getFieldValue(tracker, "latencyFileStreamMap");
+        PrintStream latencyFileStream = latencyFileStreams.get(PROBE_NAME);
+
+        tracker.close();
+
+        latencyFileStream.println();
+        assertTrue(latencyFileStream.checkError());
+        assertTrue(latencyFileStreams.isEmpty());
+    }
+
+    @Test
+    public void testWriteStatsToFile() {
+        probe.recordValue(MICROSECONDS.toNanos(100));
+        updateTracker();
+        logWriter.shutdown();
+
+        String throughput = fileAsText(new File("throughput-" + TEST_ID + ".txt"));
+        assertTrue(throughput.contains("[timestamp]"));
+        assertTrue(throughput.contains("99.9th"));
+        assertTrue(new File("latency-" + TEST_ID + "-" + PROBE_NAME + ".txt").length() > 0);
+    }
+
+    @Test
+    public void testCreatePerformanceState() {
+        probe.recordValue(MICROSECONDS.toNanos(100));
+        probe.recordValue(MICROSECONDS.toNanos(300));
+        updateTracker();
+
+        PerformanceState performanceState = tracker.createPerformanceState();
+
+        Histogram intervalHistogram = performanceState.getIntervalHistogram();
+        assertEquals(2, intervalHistogram.getTotalCount());
+        assertTrue(intervalHistogram.valuesAreEquivalent(300, intervalHistogram.getMaxValue()));
+        assertEquals(3, performanceState.getIntervalPercentileLatencies().length);
+    }
+
+    @Test
+    public void testCreatePerformanceState_withProbeStates() {
+        probe.recordValue(MICROSECONDS.toNanos(100));
+        probe.recordValue(MICROSECONDS.toNanos(300));
+        updateTracker();
+
+        PerformanceState performanceState = tracker.createPerformanceState();
+
+        PerformanceState probeState = performanceState.getProbeStates().get(PROBE_NAME);
+        assertEquals(2, probeState.getOperationCount());
+        long[] percentileLatencies = probeState.getIntervalPercentileLatencies();
+        assertEquals(3, percentileLatencies.length);
+        assertTrue(percentileLatencies[0] >= 99 && percentileLatencies[0] <= 101);
+        assertTrue(percentileLatencies[2] >= 299 && percentileLatencies[2] <= 301);
+    }
+
+    @Test
+    public void testAggregateIntervalHistograms_noUpdates() {
+        Map<String, String> histograms = tracker.aggregateIntervalHistograms(TEST_ID);
+
+        assertTrue(histograms.isEmpty());
+    }
+
+    private void updateTracker() {
+        Histogram intervalHistogram = probe.getIntervalHistogram();
+        Map<String, Histogram> intervalHistograms = new HashMap<String, Histogram>();
+        intervalHistograms.put(PROBE_NAME, intervalHistogram);
+
+        timestamp += 1000;
+        tracker.update(intervalHistograms, intervalHistogram, 0, 0, 0, intervalHistogram.getTotalCount(), timestamp);
+        tracker.writeStatsToFile("timestamp");
+    }
+}
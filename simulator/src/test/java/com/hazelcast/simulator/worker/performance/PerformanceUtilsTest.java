@@ -1,9 +1,15 @@
 package com.hazelcast.simulator.worker.performance;
 
+import org.HdrHistogram.Histogram;
 import org.junit.Test;
 
+import java.util.concurrent.TimeUnit;
+
 import static com.hazelcast.simulator.utils.ReflectionUtils.invokePrivateConstructor;
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 
 public class PerformanceUtilsTest {
 
@@ -25,4 +31,83 @@ public class PerformanceUtilsTest {
         assertEquals(3, PerformanceUtils.getNumberOfDigits(100));
         assertEquals(3, PerformanceUtils.getNumberOfDigits(500));
     }
+
+    @Test
+    public void testToMicros_histogramInMicros() {
+        Histogram histogram = new Histogram(3);
+
+        assertSame(histogram, PerformanceUtils.toMicros(histogram, TimeUnit.MICROSECONDS));
+    }
+
+    @Test
+    public void testToMicros_histogramInMillis() {
+        Histogram histogram = new Histogram(3);
+        histogram.recordValue(5);
+        histogram.recordValue(20);
+
+        Histogram microsHistogram = PerformanceUtils.toMicros(histogram, TimeUnit.MILLISECONDS);
+
+        assertEquals(2, microsHistogram.getTotalCount());
+        assertTrue(microsHistogram.valuesAreEquivalent(20000, microsHistogram.getMaxValue()));
+        assertTrue(microsHistogram.valuesAreEquivalent(5000, microsHistogram.getMinValue()));
+    }
+
+    @Test
+    public void testEncodeHistogram() {
+        Histogram histogram = new Histogram(3);
+        histogram.recordValue(100);
+        histogram.recordValue(500);
+
+        Histogram decoded = PerformanceUtils.decodeHistogram(PerformanceUtils.encodeHistogram(histogram));
+
+        assertEquals(histogram, decoded);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testDecodeHistogram_invalid() {
+        PerformanceUtils.decodeHistogram("aW52YWxpZA==");
+    }
+
+    @Test
+    public void testParsePercentiles() {
+        double[] percentiles = PerformanceUtils.parsePercentiles("99.99, 50,90 ,99.9");
+
+        assertArrayEquals(new double[]{50, 90, 99.9, 99.99}, percentiles, 0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testParsePercentiles_invalidNumber() {
+        PerformanceUtils.parsePercentiles("50,ninety");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testParsePercentiles_outOfRange() {
+        PerformanceUtils.parsePercentiles("50,101");
+    }
+
+    @Test
+    public void testFormatPercentiles() {
+        String percentiles = PerformanceUtils.formatPercentiles(new double[]{50, 99.9, 99.99});
+
+        assertEquals("50,99.9,99.99", percentiles);
+        assertArrayEquals(new double[]{50, 99.9, 99.99}, PerformanceUtils.parsePercentiles(percentiles), 0);
+    }
+
+    @Test
+    public void testFormatPercentile() {
+        assertEquals("50th", PerformanceUtils.formatPercentile(50));
+        assertEquals("99.9th", PerformanceUtils.formatPercentile(99.9));
+    }
+
+    @Test
+    public void testGetPercentileLatencies() {
+        Histogram histogram = new Histogram(3);
+        for (int i = 1; i <= 100; i++) {
+            histogram.recordValue(i);
+        }
+
+        long[] latencies = PerformanceUtils.getPercentileLatencies(histogram, new double[]{50, 99}, TimeUnit.MILLISECONDS);
+
+        assertArrayEquals(new long[]{50000, 99000}, latencies);
+    }
 }
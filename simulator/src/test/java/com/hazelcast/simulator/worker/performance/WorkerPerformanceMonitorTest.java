@@ -4,10 +4,13 @@ import com.hazelcast.simulator.protocol.connector.ServerConnector;
 import com.hazelcast.simulator.protocol.core.AddressLevel;
 import com.hazelcast.simulator.protocol.core.SimulatorAddress;
 import com.hazelcast.simulator.protocol.operation.LogOperation;
+import com.hazelcast.simulator.protocol.operation.PerformanceStateOperation;
+import com.hazelcast.simulator.protocol.operation.SimulatorOperation;
 import com.hazelcast.simulator.test.TestPhase;
 import com.hazelcast.simulator.tests.PerformanceMonitorProbeTest;
 import com.hazelcast.simulator.tests.PerformanceMonitorTest;
 import com.hazelcast.simulator.tests.SuccessTest;
+import com.hazelcast.simulator.utils.AssertTask;
 import com.hazelcast.simulator.utils.EmptyStatement;
 import com.hazelcast.simulator.worker.DummyTestContext;
 import com.hazelcast.simulator.worker.TestContainer;
@@ -15,6 +18,7 @@ import org.junit.After;
 import org.junit.AfterClass;
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.verification.VerificationWithTimeout;
 
 import java.io.File;
@@ -23,7 +27,15 @@ import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.TimeUnit;
 
 import static com.hazelcast.simulator.utils.FileUtils.deleteQuiet;
+import static com.hazelcast.simulator.utils.FileUtils.fileAsText;
+import static com.hazelcast.simulator.utils.TestUtils.assertTrueEventually;
+import static com.hazelcast.simulator.worker.performance.PerformanceUtils.DEFAULT_PERCENTILES;
+import static com.hazelcast.simulator.worker.performance.PerformanceUtils.parsePercentiles;
+import static com.hazelcast.simulator.worker.performance.WorkerPerformanceMonitor.JVM_METRICS_FILE_NAME;
+import static com.hazelcast.simulator.worker.performance.WorkerPerformanceMonitor.OUTLIERS_FILE_PREFIX;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.eq;
@@ -36,6 +48,8 @@ import static org.mockito.Mockito.when;
 public class WorkerPerformanceMonitorTest {
 
     private static final VerificationWithTimeout VERIFY_TIMEOUT = timeout(TimeUnit.SECONDS.toMillis(1));
+    private static final long ASSERT_EVENTUALLY_TIMEOUT_SECONDS = 3;
+    private static final File OUTLIERS_FILE = new File(OUTLIERS_FILE_PREFIX + "DummyTestContext.txt");
 
     private final ConcurrentMap<String, TestContainer> tests = new ConcurrentHashMap<String, TestContainer>();
     private final DummyTestContext testContext = new DummyTestContext();
@@ -50,7 +64,8 @@ public class WorkerPerformanceMonitorTest {
         serverConnector = mock(ServerConnector.class);
         when(serverConnector.getAddress()).thenReturn(workerAddress);
 
-        performanceMonitor = new WorkerPerformanceMonitor(serverConnector, tests.values(), 1);
+        performanceMonitor = new WorkerPerformanceMonitor(serverConnector, tests.values(), 1, TimeUnit.SECONDS,
+                parsePercentiles(DEFAULT_PERCENTILES));
     }
 
     @After
@@ -61,9 +76,11 @@ public class WorkerPerformanceMonitorTest {
     @AfterClass
     public static void cleanUp() {
         deleteQuiet(new File("throughput.txt"));
+        deleteQuiet(new File(JVM_METRICS_FILE_NAME));
         deleteQuiet(new File("throughput-DummyTestContext.txt"));
         deleteQuiet(new File("latency-DummyTestContext-DummyTestContextWorkerProbe.txt"));
         deleteQuiet(new File("latency-DummyTestContext-aggregated.txt"));
+        deleteQuiet(OUTLIERS_FILE);
     }
 
     @Test
@@ -134,6 +151,55 @@ public class WorkerPerformanceMonitorTest {
         verifyServerConnector();
     }
 
+    @Test
+    public void test_subSecondInterval() {
+        performanceMonitor = new WorkerPerformanceMonitor(serverConnector, tests.values(), 100, TimeUnit.MILLISECONDS,
+                parsePercentiles(DEFAULT_PERCENTILES));
+        addTest(new PerformanceMonitorTest());
+
+        assertTrue(performanceMonitor.start());
+
+        verify(serverConnector, timeout(TimeUnit.SECONDS.toMillis(2)).atLeast(5))
+                .submit(eq(SimulatorAddress.COORDINATOR), any(LogOperation.class));
+        assertEquals(0, performanceMonitor.getDroppedWriteCount());
+    }
+
+    @Test
+    public void test_jvmMetrics() {
+        addTest(new PerformanceMonitorTest());
+
+        assertTrue(performanceMonitor.start());
+
+        ArgumentCaptor<SimulatorOperation> captor = ArgumentCaptor.forClass(SimulatorOperation.class);
+        verify(serverConnector, VERIFY_TIMEOUT.atLeastOnce()).submit(eq(SimulatorAddress.COORDINATOR), captor.capture());
+        PerformanceStateOperation operation = (PerformanceStateOperation) captor.getValue();
+        assertNotNull(operation.getJvmMetrics());
+        assertTrue(new File(JVM_METRICS_FILE_NAME).exists());
+    }
+
+    @Test
+    public void test_outliers() {
+        addTest(new PerformanceMonitorTest());
+        tests.get("test").getOutlierRecorder().record("getProbe", 137, "10.0.0.3:5701", TimeUnit.MILLISECONDS.toNanos(80));
+
+        assertTrue(performanceMonitor.start());
+
+        ArgumentCaptor<SimulatorOperation> captor = ArgumentCaptor.forClass(SimulatorOperation.class);
+        verify(serverConnector, VERIFY_TIMEOUT.atLeastOnce()).submit(eq(SimulatorAddress.COORDINATOR), captor.capture());
+        PerformanceStateOperation operation = (PerformanceStateOperation) captor.getAllValues().get(0);
+        OutlierSummary outlierSummary = operation.getOutlierSummaries().get("DummyTestContext");
+        assertEquals(1, outlierSummary.getCount());
+        assertEquals("100% on partition 137, 100% on member 10.0.0.3:5701, 100% in getProbe", outlierSummary.getHotspots());
+
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                assertTrue(OUTLIERS_FILE.exists());
+                assertTrue(fileAsText(OUTLIERS_FILE).contains("80,000"));
+            }
+        }, ASSERT_EVENTUALLY_TIMEOUT_SECONDS);
+    }
+
     private void addTest(Object test) {
         TestContainer testContainer = new TestContainer(test, testContext, null);
         tests.put("test", testContainer);
@@ -1,5 +1,6 @@
 package com.hazelcast.simulator.worker.selector;
 
+import com.hazelcast.simulator.utils.SplitMixRandom;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -7,6 +8,7 @@ import java.util.HashMap;
 import java.util.Map;
 
 import static java.lang.String.format;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
 public class OperationSelectorTest {
@@ -26,6 +28,19 @@ public class OperationSelectorTest {
         builder = new OperationSelectorBuilder<Operation>();
     }
 
+    @Test
+    public void testBuild_withSeededRandom() {
+        builder.addOperation(Operation.OP1, 0.2)
+               .addOperation(Operation.OP2, 0.3)
+               .addDefaultOperation(Operation.DEFAULT);
+        OperationSelector<Operation> first = builder.build(new SplitMixRandom(42));
+        OperationSelector<Operation> second = builder.build(new SplitMixRandom(42));
+
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(first.select(), second.select());
+        }
+    }
+
     @Test(expected = IllegalStateException.class)
     public void testAddOperations_sumOfProbabilitiesBelowLimit() {
         builder.addOperation(Operation.OP1, 0.80)
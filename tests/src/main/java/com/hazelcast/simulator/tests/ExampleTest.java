@@ -101,7 +101,7 @@ public class ExampleTest {
 
         @Override
         protected void timeStep(Operation operation) throws Exception {
-            int key = randomInt(maxKeys);
+            int key = nextKeyIndex(maxKeys);
             switch (operation) {
                 case PUT:
                     map.put(key, "value" + key);
@@ -128,18 +128,18 @@ public class GenericOperationTest {
 
         private void invokeNormalOperation(Address address) {
             GenericOperation operation = new GenericOperation(delayNs);
-            normalLatency.started();
+            long started = normalLatency.start();
             InternalCompletableFuture future = operationService.invokeOnTarget(null, operation, address);
             future.getSafely();
-            normalLatency.done();
+            normalLatency.recordSince(started);
         }
 
         private void invokePriorityOperation(Address address) {
             GenericPriorityOperation operation = new GenericPriorityOperation(delayNs);
-            priorityLatency.started();
+            long started = priorityLatency.start();
             InternalCompletableFuture future = operationService.invokeOnTarget(null, operation, address);
             future.getSafely();
-            priorityLatency.done();
+            priorityLatency.recordSince(started);
         }
     }
 
@@ -30,22 +30,15 @@ import com.hazelcast.simulator.test.annotations.Teardown;
 import com.hazelcast.simulator.test.annotations.Verify;
 import com.hazelcast.simulator.tests.helpers.KeyLocality;
 import com.hazelcast.simulator.utils.AssertTask;
-import com.hazelcast.simulator.worker.metronome.Metronome;
 import com.hazelcast.simulator.worker.selector.OperationSelectorBuilder;
 import com.hazelcast.simulator.worker.tasks.AbstractAsyncWorker;
 
-import java.util.LinkedList;
-import java.util.List;
-import java.util.concurrent.TimeUnit;
-
 import static com.hazelcast.simulator.tests.helpers.HazelcastTestUtils.getOperationCountInformation;
 import static com.hazelcast.simulator.tests.helpers.HazelcastTestUtils.isClient;
 import static com.hazelcast.simulator.tests.helpers.HazelcastTestUtils.isMemberNode;
-import static com.hazelcast.simulator.tests.helpers.HazelcastTestUtils.rethrow;
 import static com.hazelcast.simulator.tests.helpers.KeyUtils.generateStringKeys;
 import static com.hazelcast.simulator.utils.CommonUtils.sleepSeconds;
 import static com.hazelcast.simulator.utils.TestUtils.assertTrueEventually;
-import static com.hazelcast.simulator.worker.metronome.SimpleMetronome.withFixedIntervalMs;
 import static org.junit.Assert.assertEquals;
 
 public class AsyncAtomicLongTest {
@@ -61,9 +54,7 @@ public class AsyncAtomicLongTest {
     public String basename = AsyncAtomicLongTest.class.getSimpleName();
     public KeyLocality keyLocality = KeyLocality.RANDOM;
     public int countersLength = 1000;
-    public int metronomeIntervalMs = (int) TimeUnit.SECONDS.toMillis(1);
     public int assertEventuallySeconds = 300;
-    public int batchSize = -1;
 
     public double writeProb = 1.0;
 
@@ -138,9 +129,6 @@ public class AsyncAtomicLongTest {
 
     private class Worker extends AbstractAsyncWorker<Operation, Long> {
 
-        private final List<ICompletableFuture> batch = new LinkedList<ICompletableFuture>();
-        private final Metronome metronome = withFixedIntervalMs(metronomeIntervalMs);
-
         private long increments;
 
         public Worker() {
@@ -148,11 +136,14 @@ public class AsyncAtomicLongTest {
         }
 
         @Override
-        protected void timeStep(Operation operation) throws Exception {
+        protected void beforeRun() {
             if (isClient(targetInstance)) {
-                return;
+                stopWorker();
             }
+        }
 
+        @Override
+        protected ICompletableFuture<Long> timeStepAsync(Operation operation) throws Exception {
             AsyncAtomicLong counter = getRandomCounter();
 
             ICompletableFuture<Long> future;
@@ -167,24 +158,7 @@ public class AsyncAtomicLongTest {
                 default:
                     throw new UnsupportedOperationException();
             }
-            future.andThen(this);
-
-            if (batchSize > 0) {
-                batch.add(future);
-
-                if (batch.size() == batchSize) {
-                    for (ICompletableFuture batchFuture : batch) {
-                        try {
-                            batchFuture.get();
-                        } catch (Exception e) {
-                            throw rethrow(e);
-                        }
-                    }
-                    batch.clear();
-                }
-            }
-
-            metronome.waitForNext();
+            return future;
         }
 
         @Override
@@ -193,7 +167,7 @@ public class AsyncAtomicLongTest {
         }
 
         private AsyncAtomicLong getRandomCounter() {
-            int index = randomInt(counters.length);
+            int index = nextKeyIndex(counters.length);
             return counters[index];
         }
     }
@@ -145,7 +145,7 @@ public class AtomicLongTest {
         }
 
         private IAtomicLong getRandomCounter() {
-            int index = randomInt(counters.length);
+            int index = nextKeyIndex(counters.length);
             return counters[index];
         }
     }
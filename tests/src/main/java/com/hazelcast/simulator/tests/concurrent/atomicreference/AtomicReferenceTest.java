@@ -126,7 +126,7 @@ public class AtomicReferenceTest {
         }
 
         private IAtomicReference<Object> getRandomCounter() {
-            return counters[randomInt(counters.length)];
+            return counters[nextKeyIndex(counters.length)];
         }
     }
 
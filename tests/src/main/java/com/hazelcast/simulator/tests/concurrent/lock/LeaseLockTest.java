@@ -73,7 +73,7 @@ public class LeaseLockTest {
     private class Worker extends AbstractMonotonicWorker {
 
         public void timeStep() {
-            int lockIndex = randomInt(lockCount);
+            int lockIndex = nextKeyIndex(lockCount);
             ILock lock = targetInstance.getLock(basename + lockIndex);
 
             int leaseTime = 1 + randomInt(maxLeaseTimeMillis);
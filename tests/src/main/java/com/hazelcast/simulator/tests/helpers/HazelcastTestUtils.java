@@ -24,7 +24,6 @@ import com.hazelcast.core.Partition;
 import com.hazelcast.core.PartitionService;
 import com.hazelcast.instance.BuildInfo;
 import com.hazelcast.instance.BuildInfoProvider;
-import com.hazelcast.instance.HazelcastInstanceImpl;
 import com.hazelcast.instance.HazelcastInstanceProxy;
 import com.hazelcast.instance.Node;
 import com.hazelcast.logging.ILogger;
@@ -33,12 +32,10 @@ import com.hazelcast.map.impl.MapService;
 import com.hazelcast.map.impl.MapServiceContext;
 import com.hazelcast.map.impl.proxy.MapProxyImpl;
 import com.hazelcast.simulator.test.TestException;
+import com.hazelcast.simulator.utils.HazelcastUtils;
 import com.hazelcast.spi.OperationService;
-import com.hazelcast.spi.impl.NodeEngineImpl;
 
 import java.io.Serializable;
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
@@ -47,7 +44,6 @@ import java.util.concurrent.Future;
 
 import static com.hazelcast.simulator.utils.CommonUtils.sleepSeconds;
 import static com.hazelcast.simulator.utils.FormatUtils.NEW_LINE;
-import static com.hazelcast.simulator.utils.ReflectionUtils.getFieldValue;
 import static com.hazelcast.simulator.utils.VersionUtils.isMinVersion;
 import static java.lang.String.format;
 import static org.junit.Assert.fail;
@@ -197,45 +193,11 @@ public final class HazelcastTestUtils {
     }
 
     public static OperationService getOperationService(HazelcastInstance hz) {
-        Node node = getNode(hz);
-        if (node == null) {
-            throw new NullPointerException("node is null in Hazelcast instance " + hz);
-        }
-        NodeEngineImpl nodeEngine = node.getNodeEngine();
-        try {
-            return nodeEngine.getOperationService();
-        } catch (NoSuchMethodError e) {
-            // fallback for a binary incompatible change (see commit http://git.io/vtfKU)
-            return getOperationServiceViaReflection(nodeEngine);
-        }
-    }
-
-    private static OperationService getOperationServiceViaReflection(NodeEngineImpl nodeEngine) {
-        try {
-            Method method = NodeEngineImpl.class.getMethod("getOperationService");
-            return (OperationService) method.invoke(nodeEngine);
-        } catch (NoSuchMethodException e) {
-            throw new IllegalStateException(e);
-        } catch (InvocationTargetException e) {
-            throw new IllegalStateException(e);
-        } catch (IllegalAccessException e) {
-            throw new IllegalStateException(e);
-        }
+        return HazelcastUtils.getOperationService(hz);
     }
 
     public static Node getNode(HazelcastInstance hz) {
-        HazelcastInstanceImpl impl = getHazelcastInstanceImpl(hz);
-        return impl != null ? impl.node : null;
-    }
-
-    private static HazelcastInstanceImpl getHazelcastInstanceImpl(HazelcastInstance hz) {
-        HazelcastInstanceImpl impl = null;
-        if (hz instanceof HazelcastInstanceProxy) {
-            return getFieldValue(hz, "original");
-        } else if (hz instanceof HazelcastInstanceImpl) {
-            impl = (HazelcastInstanceImpl) hz;
-        }
-        return impl;
+        return HazelcastUtils.getNode(hz);
     }
 
     /**
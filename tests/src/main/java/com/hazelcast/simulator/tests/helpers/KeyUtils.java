@@ -20,9 +20,7 @@ import com.hazelcast.core.Member;
 import com.hazelcast.core.Partition;
 import com.hazelcast.core.PartitionService;
 
-import java.util.HashMap;
-import java.util.HashSet;
-import java.util.Map;
+import java.io.File;
 import java.util.Random;
 import java.util.Set;
 
@@ -56,6 +54,58 @@ public final class KeyUtils {
         return owner.equals(instance.getLocalEndpoint());
     }
 
+    /**
+     * Returns the partition ID of each key, so a test can attribute an operation to the partition of its key, without
+     * serializing the key on each operation.
+     *
+     * @param keys     the keys
+     * @param instance the HazelcastInstance to get the partitions from
+     * @return the partition IDs, with the same index as their keys
+     */
+    public static int[] getPartitionIds(int[] keys, HazelcastInstance instance) {
+        Integer[] boxedKeys = new Integer[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            boxedKeys[i] = keys[i];
+        }
+        return getPartitionIds(boxedKeys, instance);
+    }
+
+    /**
+     * Returns the partition ID of each key, so a test can attribute an operation to the partition of its key, without
+     * serializing the key on each operation.
+     *
+     * @param keys     the keys
+     * @param instance the HazelcastInstance to get the partitions from
+     * @return the partition IDs, with the same index as their keys
+     */
+    public static int[] getPartitionIds(Object[] keys, HazelcastInstance instance) {
+        PartitionService partitionService = instance.getPartitionService();
+        int[] partitionIds = new int[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            partitionIds[i] = partitionService.getPartition(keys[i]).getPartitionId();
+        }
+        return partitionIds;
+    }
+
+    /**
+     * Returns an outlier target per partition, which can be passed as target of an operation to a
+     * {@link com.hazelcast.simulator.probes.Probe}.
+     *
+     * The owner of the partition is just looked up when the target is converted to a string, which just happens for captured
+     * outliers, so passing the target doesn't cost a lookup on each operation.
+     *
+     * @param instance the HazelcastInstance to get the partitions from
+     * @return the targets, indexed by the partition ID
+     */
+    public static Object[] getPartitionOwnerTargets(HazelcastInstance instance) {
+        Set<Partition> partitions = instance.getPartitionService().getPartitions();
+        Object[] targets = new Object[partitions.size()];
+        for (Partition partition : partitions) {
+            targets[partition.getPartitionId()] = new PartitionOwnerTarget(partition);
+        }
+        return targets;
+    }
+
     /**
      * Generates an int key with a configurable keyLocality.
      *
@@ -111,6 +161,9 @@ public final class KeyUtils {
      * @return the created array of keys
      */
     public static String[] generateStringKeys(int keyCount, int keyLength, KeyLocality keyLocality, HazelcastInstance instance) {
+        if (instance != null && keyLocality != KeyLocality.SINGLE_PARTITION) {
+            return generateStringKeys("", keyCount, keyLength, keyLocality, instance);
+        }
         String[] keys = new String[keyCount];
         for (int i = 0; i < keys.length; i++) {
             keys[i] = generateStringKey(keyLength, keyLocality, instance);
@@ -148,44 +201,36 @@ public final class KeyUtils {
      */
     public static String[] generateStringKeys(String prefix, int keyCount, int keyLength, KeyLocality keyLocality,
                                               HazelcastInstance instance) {
-        Set<Integer> targetPartitions = getTargetPartitions(keyLocality, instance);
-        PartitionService partitionService = instance.getPartitionService();
-
-        Map<Integer, Set<String>> keysPerPartitionMap = new HashMap<Integer, Set<String>>();
-        for (Integer partitionId : targetPartitions) {
-            keysPerPartitionMap.put(partitionId, new HashSet<String>());
-        }
-
-        int maxKeysPerPartition = (int) Math.ceil(keyCount / (float) targetPartitions.size());
-
-        int generatedKeyCount = 0;
-        for (; ; ) {
-            String key = prefix + generateString(keyLength - prefix.length());
-            Partition partition = partitionService.getPartition(key);
-            Set<String> keysPerPartition = keysPerPartitionMap.get(partition.getPartitionId());
-
-            if (keysPerPartition == null) {
-                // we are not interested in this key.
-                continue;
-            }
-
-            if (keysPerPartition.size() == maxKeysPerPartition) {
-                // we have reached the maximum number of keys for this given partition
-                continue;
-            }
-
-            if (!keysPerPartition.add(key)) {
-                // duplicate key, we can ignore it
-                continue;
-            }
-
-            generatedKeyCount++;
-            if (generatedKeyCount == keyCount) {
-                break;
-            }
-        }
+        return generateStringKeys(prefix, keyCount, keyLength, keyLocality, instance, new Random().nextLong(), null);
+    }
 
-        return toArray(keyCount, keysPerPartitionMap);
+    /**
+     * Generates an array of string keys with a configurable keyLocality.
+     *
+     * The keys are evenly distributed over the partitions of the keyLocality and are generated in parallel on all cores. The
+     * same seed creates the same keys, as long as the partition table is the same.
+     *
+     * If a cache directory is set, the keys are stored in it and repeated calls with the same parameters and partition table
+     * just load the keys from disk.
+     *
+     * If the instance is a client, keyLocality is ignored.
+     *
+     * @param prefix         prefix for the generated keys
+     * @param keyCount       the number of keys in the array
+     * @param keyLength      the length of each string key
+     * @param keyLocality    if the key is local/remote/random
+     * @param instance       the HazelcastInstance that is used for keyLocality
+     * @param seed           the seed for the key generation
+     * @param cacheDirectory the directory to cache the generated keys or <tt>null</tt> if the keys should not be cached
+     * @return the created array of keys
+     */
+    public static String[] generateStringKeys(String prefix, int keyCount, int keyLength, KeyLocality keyLocality,
+                                              HazelcastInstance instance, long seed, File cacheDirectory) {
+        PartitionService partitionService = instance.getPartitionService();
+        boolean[] isTargetPartition = getTargetPartitions(keyLocality, instance);
+        StringKeyGenerator generator = new StringKeyGenerator(prefix, keyCount, keyLength, partitionService, isTargetPartition,
+                seed);
+        return (cacheDirectory == null) ? generator.generate() : generator.generate(cacheDirectory);
     }
 
     private static <T> T generateKey(KeyLocality keyLocality, HazelcastInstance instance, Generator<T> generator) {
@@ -237,9 +282,9 @@ public final class KeyUtils {
         }
     }
 
-    private static Set<Integer> getTargetPartitions(KeyLocality keyLocality, HazelcastInstance hz) {
-        Set<Integer> targetPartitions = new HashSet<Integer>();
+    private static boolean[] getTargetPartitions(KeyLocality keyLocality, HazelcastInstance hz) {
         PartitionService partitionService = hz.getPartitionService();
+        boolean[] targetPartitions = new boolean[partitionService.getPartitions().size()];
         Member localMember = getLocalMember(hz);
         switch (keyLocality) {
             case LOCAL:
@@ -252,7 +297,7 @@ public final class KeyUtils {
                 addAllPartitions(targetPartitions, partitionService);
                 break;
             case SINGLE_PARTITION:
-                targetPartitions.add(0);
+                targetPartitions[0] = true;
                 break;
             default:
                 throw new IllegalArgumentException("Unrecognized keyLocality:" + keyLocality);
@@ -269,38 +314,26 @@ public final class KeyUtils {
         }
     }
 
-    private static void addLocalPartitions(Set<Integer> partitions, PartitionService partitionService, Member localMember) {
+    private static void addLocalPartitions(boolean[] partitions, PartitionService partitionService, Member localMember) {
         for (Partition partition : partitionService.getPartitions()) {
             if (localMember == null || localMember.equals(partition.getOwner())) {
-                partitions.add(partition.getPartitionId());
+                partitions[partition.getPartitionId()] = true;
             }
         }
     }
 
-    private static void addRemotePartitions(Set<Integer> partitions, PartitionService partitionService, Member localMember) {
+    private static void addRemotePartitions(boolean[] partitions, PartitionService partitionService, Member localMember) {
         for (Partition partition : partitionService.getPartitions()) {
             if (localMember == null || !localMember.equals(partition.getOwner())) {
-                partitions.add(partition.getPartitionId());
+                partitions[partition.getPartitionId()] = true;
             }
         }
     }
 
-    private static void addAllPartitions(Set<Integer> partitions, PartitionService partitionService) {
+    private static void addAllPartitions(boolean[] partitions, PartitionService partitionService) {
         for (Partition partition : partitionService.getPartitions()) {
-            partitions.add(partition.getPartitionId());
-        }
-    }
-
-    private static String[] toArray(int keyCount, Map<Integer, Set<String>> keysPerPartitionMap) {
-        String[] result = new String[keyCount];
-        int index = 0;
-        for (Set<String> keysPerPartition : keysPerPartitionMap.values()) {
-            for (String string : keysPerPartition) {
-                result[index] = string;
-                index++;
-            }
+            partitions[partition.getPartitionId()] = true;
         }
-        return result;
     }
 
     private interface Generator<K> {
@@ -310,6 +343,21 @@ public final class KeyUtils {
         K newConstantKey();
     }
 
+    private static final class PartitionOwnerTarget {
+
+        private final Partition partition;
+
+        private PartitionOwnerTarget(Partition partition) {
+            this.partition = partition;
+        }
+
+        @Override
+        public String toString() {
+            Member owner = partition.getOwner();
+            return (owner == null) ? "unknown" : owner.toString();
+        }
+    }
+
     private static final class IntGenerator implements Generator<Integer> {
 
         private static final Random RANDOM = new Random();
@@ -0,0 +1,318 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.simulator.tests.helpers;
+
+import com.hazelcast.core.PartitionService;
+import com.hazelcast.simulator.utils.SplitMixRandom;
+import com.hazelcast.simulator.utils.ThreadSpawner;
+import org.apache.log4j.Logger;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+
+import static com.hazelcast.simulator.utils.CommonUtils.closeQuietly;
+import static com.hazelcast.simulator.utils.FileUtils.deleteQuiet;
+import static com.hazelcast.simulator.utils.FileUtils.ensureExistingDirectory;
+import static com.hazelcast.simulator.utils.SplitMixRandom.mixSeed;
+import static java.lang.String.format;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * Generates unique string keys, which are evenly distributed over a set of target partitions.
+ *
+ * The candidates are generated by a fixed number of seeded streams, which are processed in parallel on all cores. Each stream
+ * resolves the partition of its candidates via the local partition table of the {@link PartitionService}, so there is no remote
+ * call per key and no owner lookup per key. The accepted candidates are merged in the order of the streams, so the same seed and
+ * partition table create the same keys, independent of the number of cores. Duplicates are detected
+ * with an open addressing table of 64-bit hashes instead of sets of strings.
+ *
+ * The keys can be cached on disk, so repeated runs with the same parameters don't have to generate them again.
+ */
+final class StringKeyGenerator {
+
+    private static final Logger LOGGER = Logger.getLogger(StringKeyGenerator.class);
+
+    private static final char[] ALPHABET = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz1234567890".toCharArray();
+    // the number of streams must not depend on the hardware, since it defines the generated keys
+    private static final int STREAM_COUNT = 16;
+    private static final int THREAD_COUNT = Math.min(STREAM_COUNT, Runtime.getRuntime().availableProcessors());
+    // generate some more candidates than needed, since some of them are rejected as duplicates or for full partitions
+    private static final double OVERSAMPLING_FACTOR = 1.1;
+    private static final int MIN_CANDIDATES_PER_STREAM = 16;
+
+    private final String prefix;
+    private final int keyCount;
+    private final int keyLength;
+    private final PartitionService partitionService;
+    private final boolean[] isTargetPartition;
+    private final long seed;
+
+    private final int[] keysPerPartition;
+    private final int maxKeysPerPartition;
+    private final long[] keyHashes;
+    private final CandidateGenerator[] candidateGenerators = new CandidateGenerator[STREAM_COUNT];
+
+    @SuppressWarnings("checkstyle:parameternumber")
+    StringKeyGenerator(String prefix, int keyCount, int keyLength, PartitionService partitionService, boolean[] isTargetPartition,
+                       long seed) {
+        if (keyLength < prefix.length()) {
+            throw new IllegalArgumentException(format("keyLength %d is smaller than the length of prefix '%s'", keyLength,
+                    prefix));
+        }
+        this.prefix = prefix;
+        this.keyCount = keyCount;
+        this.keyLength = keyLength;
+        this.partitionService = partitionService;
+        this.isTargetPartition = isTargetPartition;
+        this.seed = seed;
+
+        int targetPartitionCount = 0;
+        for (boolean isTarget : isTargetPartition) {
+            targetPartitionCount += isTarget ? 1 : 0;
+        }
+        if (targetPartitionCount == 0) {
+            throw new IllegalStateException("There are no partitions for the requested key locality");
+        }
+        this.keysPerPartition = new int[isTargetPartition.length];
+        this.maxKeysPerPartition = (int) Math.ceil(keyCount / (double) targetPartitionCount);
+        // the table has at least 50% more slots than keys, to keep the probe sequences short
+        this.keyHashes = new long[Integer.highestOneBit(Math.max(1, keyCount + keyCount / 2)) << 1];
+    }
+
+    /**
+     * Returns the keys from the cache directory, if they have been generated before with the same parameters. Otherwise the
+     * keys are generated and stored in the cache directory.
+     *
+     * @param cacheDirectory the directory of the cached keys
+     * @return the keys
+     */
+    String[] generate(File cacheDirectory) {
+        String description = getDescription();
+        File cacheFile = new File(cacheDirectory, format("keys-%d-%016x.bin", keyCount, mixSeed(description.hashCode(), seed)));
+        String[] keys = loadKeys(cacheFile, description);
+        if (keys == null) {
+            keys = generate();
+            ensureExistingDirectory(cacheDirectory);
+            storeKeys(cacheFile, description, keys);
+        } else {
+            LOGGER.info(format("Loaded %d keys from %s", keyCount, cacheFile.getAbsolutePath()));
+        }
+        return keys;
+    }
+
+    /**
+     * Generates the keys.
+     *
+     * @return the keys
+     */
+    String[] generate() {
+        for (int i = 0; i < STREAM_COUNT; i++) {
+            candidateGenerators[i] = new CandidateGenerator(new SplitMixRandom(mixSeed(seed, i)));
+        }
+
+        long started = System.nanoTime();
+        String[] keys = new String[keyCount];
+        int generatedKeyCount = 0;
+        int rounds = 0;
+        while (generatedKeyCount < keyCount) {
+            int candidatesPerStream = (int) Math.max(MIN_CANDIDATES_PER_STREAM,
+                    Math.ceil((keyCount - generatedKeyCount) * OVERSAMPLING_FACTOR / STREAM_COUNT));
+            generateCandidates(candidatesPerStream);
+            for (CandidateGenerator candidateGenerator : candidateGenerators) {
+                generatedKeyCount = addCandidates(candidateGenerator, keys, generatedKeyCount);
+            }
+            rounds++;
+        }
+        LOGGER.info(format("Generated %d keys in %d ms with %d threads (%d rounds)", keyCount,
+                NANOSECONDS.toMillis(System.nanoTime() - started), THREAD_COUNT, rounds));
+        return keys;
+    }
+
+    private void generateCandidates(int candidatesPerStream) {
+        for (CandidateGenerator candidateGenerator : candidateGenerators) {
+            candidateGenerator.candidateCount = candidatesPerStream;
+        }
+        ThreadSpawner spawner = new ThreadSpawner("KeyGenerator", true);
+        for (int i = 0; i < THREAD_COUNT; i++) {
+            final int firstStream = i;
+            spawner.spawn("KeyGenerator", new Runnable() {
+                @Override
+                public void run() {
+                    // the streams are independent, so it doesn't matter which thread runs them
+                    for (int stream = firstStream; stream < STREAM_COUNT; stream += THREAD_COUNT) {
+                        candidateGenerators[stream].run();
+                    }
+                }
+            });
+        }
+        spawner.awaitCompletion();
+    }
+
+    private int addCandidates(CandidateGenerator candidateGenerator, String[] keys, int generatedKeyCount) {
+        int keyIndex = generatedKeyCount;
+        for (int i = 0; i < candidateGenerator.candidateCount && keyIndex < keyCount; i++) {
+            int partitionId = candidateGenerator.partitionIds[i];
+            if (keysPerPartition[partitionId] == maxKeysPerPartition) {
+                continue;
+            }
+            String key = candidateGenerator.candidates[i];
+            if (!addKeyHash(key)) {
+                continue;
+            }
+            keysPerPartition[partitionId]++;
+            keys[keyIndex++] = key;
+        }
+        return keyIndex;
+    }
+
+    /**
+     * Adds the hash of a key to the table.
+     *
+     * A hash collision of two different keys just rejects a valid candidate, so it never creates a duplicate key.
+     *
+     * @param key the key to add
+     * @return <tt>true</tt> if the hash was added, <tt>false</tt> if it was already in the table
+     */
+    private boolean addKeyHash(String key) {
+        long hash = hash(key);
+        int mask = keyHashes.length - 1;
+        int index = (int) hash & mask;
+        while (keyHashes[index] != 0) {
+            if (keyHashes[index] == hash) {
+                return false;
+            }
+            index = (index + 1) & mask;
+        }
+        keyHashes[index] = hash;
+        return true;
+    }
+
+    private static long hash(String key) {
+        long hash = 0;
+        for (int i = 0; i < key.length(); i++) {
+            hash = 31 * hash + key.charAt(i);
+        }
+        hash = mixSeed(hash, key.length());
+        // zero marks a free slot in the table
+        return (hash == 0) ? 1 : hash;
+    }
+
+    private String getDescription() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("prefix=").append(prefix)
+                .append(" keyCount=").append(keyCount)
+                .append(" keyLength=").append(keyLength)
+                .append(" seed=").append(seed)
+                .append(" streams=").append(STREAM_COUNT)
+                .append(" partitionCount=").append(isTargetPartition.length)
+                .append(" targetPartitions=");
+        for (int i = 0; i < isTargetPartition.length; i++) {
+            if (isTargetPartition[i]) {
+                sb.append(i).append(',');
+            }
+        }
+        return sb.toString();
+    }
+
+    private String[] loadKeys(File file, String description) {
+        if (!file.exists()) {
+            return null;
+        }
+        DataInputStream in = null;
+        try {
+            in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)));
+            if (!description.equals(in.readUTF()) || in.readInt() != keyCount) {
+                return null;
+            }
+            String[] keys = new String[keyCount];
+            for (int i = 0; i < keyCount; i++) {
+                keys[i] = in.readUTF();
+            }
+            return keys;
+        } catch (IOException e) {
+            LOGGER.warn(format("Could not load keys from %s: %s", file.getAbsolutePath(), e.getMessage()));
+            return null;
+        } finally {
+            closeQuietly(in);
+        }
+    }
+
+    private static void storeKeys(File file, String description, String[] keys) {
+        // we write to a temporary file first, so concurrent readers never see an incomplete file
+        File tmpFile = new File(file.getParentFile(), file.getName() + ".tmp" + System.nanoTime());
+        DataOutputStream out = null;
+        try {
+            out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tmpFile)));
+            out.writeUTF(description);
+            out.writeInt(keys.length);
+            for (String key : keys) {
+                out.writeUTF(key);
+            }
+            out.close();
+            if (!tmpFile.renameTo(file)) {
+                LOGGER.warn("Could not store keys in " + file.getAbsolutePath());
+            }
+        } catch (IOException e) {
+            LOGGER.warn(format("Could not store keys in %s: %s", file.getAbsolutePath(), e.getMessage()));
+        } finally {
+            closeQuietly(out);
+            deleteQuiet(tmpFile);
+        }
+    }
+
+    private final class CandidateGenerator implements Runnable {
+
+        private final SplitMixRandom random;
+        private final char[] chars;
+
+        private String[] candidates = new String[0];
+        private int[] partitionIds = new int[0];
+        private int candidateCount;
+
+        private CandidateGenerator(SplitMixRandom random) {
+            this.random = random;
+            this.chars = new char[keyLength];
+            prefix.getChars(0, prefix.length(), chars, 0);
+        }
+
+        @Override
+        public void run() {
+            if (candidates.length < candidateCount) {
+                candidates = new String[candidateCount];
+                partitionIds = new int[candidateCount];
+            }
+            int index = 0;
+            while (index < candidateCount) {
+                for (int i = prefix.length(); i < keyLength; i++) {
+                    chars[i] = ALPHABET[random.nextInt(ALPHABET.length)];
+                }
+                String candidate = new String(chars);
+                int partitionId = partitionService.getPartition(candidate).getPartitionId();
+                if (isTargetPartition[partitionId]) {
+                    candidates[index] = candidate;
+                    partitionIds[index] = partitionId;
+                    index++;
+                }
+            }
+        }
+    }
+}
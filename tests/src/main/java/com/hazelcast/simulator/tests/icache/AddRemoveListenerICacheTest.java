@@ -136,11 +136,11 @@ public class AddRemoveListenerICacheTest {
                     operationCounter.deRegister++;
                     break;
                 case PUT:
-                    cache.put(randomInt(keyCount), 1L);
+                    cache.put(nextKeyIndex(keyCount), 1L);
                     operationCounter.put++;
                     break;
                 case GET:
-                    cache.get(randomInt(keyCount));
+                    cache.get(nextKeyIndex(keyCount));
                     operationCounter.put++;
                     break;
                 default:
@@ -27,7 +27,7 @@ import com.hazelcast.simulator.test.annotations.Warmup;
 import com.hazelcast.simulator.worker.loadsupport.Streamer;
 import com.hazelcast.simulator.worker.loadsupport.StreamerFactory;
 import com.hazelcast.simulator.worker.selector.OperationSelectorBuilder;
-import com.hazelcast.simulator.worker.tasks.AbstractWorker;
+import com.hazelcast.simulator.worker.tasks.AbstractBatchWorker;
 
 import javax.cache.CacheManager;
 import java.util.ArrayList;
@@ -38,10 +38,11 @@ import static com.hazelcast.simulator.tests.icache.helpers.CacheUtils.createCach
 /**
  * Demonstrates the effect of batching.
  *
- * It uses async methods to invoke operation and wait for future to complete every {@code batchSize} invocations.
- * Hence setting {@link #batchSize} to 1 is effectively the same as using sync operations.
+ * It uses async methods to invoke an operation for each key of a batch and waits for all futures of the batch to complete.
+ * Hence setting the {@code batchSize} property of the {@link AbstractBatchWorker} to 1 is effectively the same as using sync
+ * operations.
  *
- * Setting {@link #batchSize} to values greater than 1 causes the batch-effect to kick-in, pipe-lines are utilized better
+ * Setting the {@code batchSize} to values greater than 1 causes the batch-effect to kick-in, pipe-lines are utilized better
  * and overall throughput goes up.
  */
 public class BatchingICacheTest {
@@ -55,7 +56,6 @@ public class BatchingICacheTest {
     public int keyCount = 1000000;
     public String basename = BatchingICacheTest.class.getSimpleName();
     public double writeProb = 0.1;
-    public int batchSize = 1;
 
     private final OperationSelectorBuilder<Operation> operationSelectorBuilder = new OperationSelectorBuilder<Operation>();
 
@@ -90,43 +90,40 @@ public class BatchingICacheTest {
         return new Worker();
     }
 
-    private class Worker extends AbstractWorker<Operation> {
+    private class Worker extends AbstractBatchWorker<Operation, Integer> {
 
-        private final List<ICompletableFuture<?>> futureList = new ArrayList<ICompletableFuture<?>>(batchSize);
-
-        private long iteration;
+        private final List<ICompletableFuture<?>> futureList = new ArrayList<ICompletableFuture<?>>();
 
         public Worker() {
             super(operationSelectorBuilder);
         }
 
         @Override
-        public void timeStep(Operation operation) throws Exception {
-            Integer key = randomInt(keyCount);
-            ICompletableFuture<?> future;
-            switch (operation) {
-                case PUT:
-                    Integer value = randomInt();
-                    future = cache.putAsync(key, value);
-                    break;
-                case GET:
-                    future = cache.getAsync(key);
-                    break;
-                default:
-                    throw new UnsupportedOperationException("Unknown operation " + operation);
-            }
-            futureList.add(future);
-
-            syncIfNecessary(iteration++);
+        protected Integer nextItem(Operation operation) {
+            return nextKeyIndex(keyCount);
         }
 
-        private void syncIfNecessary(long iteration) throws Exception {
-            if (iteration % batchSize == 0) {
-                for (ICompletableFuture<?> future : futureList) {
-                    future.get();
+        @Override
+        protected void timeStep(Operation operation, List<Integer> keys) throws Exception {
+            for (int i = 0; i < keys.size(); i++) {
+                Integer key = keys.get(i);
+                switch (operation) {
+                    case PUT:
+                        Integer value = randomInt();
+                        futureList.add(cache.putAsync(key, value));
+                        break;
+                    case GET:
+                        futureList.add(cache.getAsync(key));
+                        break;
+                    default:
+                        throw new UnsupportedOperationException("Unknown operation " + operation);
                 }
-                futureList.clear();
             }
+
+            for (int i = 0; i < futureList.size(); i++) {
+                futureList.get(i).get();
+            }
+            futureList.clear();
         }
     }
 
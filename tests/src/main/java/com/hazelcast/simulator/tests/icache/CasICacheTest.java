@@ -105,7 +105,7 @@ public class CasICacheTest {
 
         @Override
         public void timeStep() {
-            int key = randomInt(keyCount);
+            int key = nextKeyIndex(keyCount);
             long increment = randomInt(100);
 
             while (true) {
@@ -114,7 +114,7 @@ public class EntryProcessorICacheTest {
 
         @Override
         public void timeStep() {
-            int key = randomInt(keyCount);
+            int key = nextKeyIndex(keyCount);
             long increment = randomInt(100);
 
             int delayMs = 0;
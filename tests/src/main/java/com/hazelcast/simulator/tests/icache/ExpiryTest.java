@@ -125,7 +125,7 @@ public class ExpiryTest {
 
         @Override
         public void timeStep(Operation operation) throws Exception {
-            int key = randomInt(keyCount);
+            int key = nextKeyIndex(keyCount);
 
             switch (operation) {
                 case PUT:
@@ -161,7 +161,7 @@ public class ListenerICacheTest {
             int expiryDuration = randomInt(maxExpiryDurationMs);
             ExpiryPolicy expiryPolicy = new CreatedExpiryPolicy(new Duration(TimeUnit.MILLISECONDS, expiryDuration));
 
-            int key = randomInt(keyCount);
+            int key = nextKeyIndex(keyCount);
 
             switch (operation) {
                 case PUT:
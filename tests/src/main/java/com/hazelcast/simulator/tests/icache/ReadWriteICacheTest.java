@@ -130,7 +130,7 @@ public class ReadWriteICacheTest {
 
         @Override
         protected void timeStep(Operation operation) throws Exception {
-            int key = randomInt(keyCount);
+            int key = nextKeyIndex(keyCount);
 
             switch (operation) {
                 case PUT:
@@ -37,6 +37,8 @@ import java.util.Random;
 
 import static com.hazelcast.simulator.tests.helpers.HazelcastTestUtils.waitClusterSize;
 import static com.hazelcast.simulator.tests.helpers.KeyUtils.generateStringKeys;
+import static com.hazelcast.simulator.tests.helpers.KeyUtils.getPartitionIds;
+import static com.hazelcast.simulator.tests.helpers.KeyUtils.getPartitionOwnerTargets;
 import static com.hazelcast.simulator.tests.icache.helpers.CacheUtils.createCacheManager;
 import static com.hazelcast.simulator.utils.GeneratorUtils.generateStrings;
 
@@ -62,12 +64,15 @@ public class StringICacheTest {
     public double putProb = 0.1;
     public Probe putProbe;
     public Probe getProbe;
+    public Probe loadProbe;
 
     private final OperationSelectorBuilder<Operation> operationSelectorBuilder = new OperationSelectorBuilder<Operation>();
 
     private HazelcastInstance hazelcastInstance;
     private Cache<String, String> cache;
     private String[] keys;
+    private int[] keyPartitionIds;
+    private Object[] partitionOwners;
     private String[] values;
 
     @Setup
@@ -91,10 +96,12 @@ public class StringICacheTest {
         waitClusterSize(LOGGER, hazelcastInstance, minNumberOfMembers);
 
         keys = generateStringKeys(keyCount, keyLength, keyLocality, hazelcastInstance);
+        keyPartitionIds = getPartitionIds(keys, hazelcastInstance);
+        partitionOwners = getPartitionOwnerTargets(hazelcastInstance);
         values = generateStrings(valueCount, valueLength);
 
         Random random = new Random();
-        Streamer<String, String> streamer = StreamerFactory.getInstance(cache);
+        Streamer<String, String> streamer = StreamerFactory.getInstance(cache, loadProbe);
         for (String key : keys) {
             String value = values[random.nextInt(valueCount)];
             streamer.pushEntry(key, value);
@@ -115,23 +122,27 @@ public class StringICacheTest {
 
         @Override
         public void timeStep(Operation operation) {
-            String key = randomKey();
+            int keyIndex = nextKeyIndex(keys.length);
+            String key = keys[keyIndex];
+            int partitionId = keyPartitionIds[keyIndex];
+            Object owner = partitionOwners[partitionId];
+            setOperationTarget(partitionId, owner);
 
             switch (operation) {
                 case PUT:
                     String value = randomValue();
-                    putProbe.started();
+                    long started = putProbe.start();
                     if (useGetAndPut) {
                         cache.getAndPut(key, value);
                     } else {
                         cache.put(key, value);
                     }
-                    putProbe.done();
+                    putProbe.recordSince(started, partitionId, owner);
                     break;
                 case GET:
-                    getProbe.started();
+                    started = getProbe.start();
                     cache.get(key);
-                    getProbe.done();
+                    getProbe.recordSince(started, partitionId, owner);
                     break;
                 default:
                     throw new UnsupportedOperationException();
@@ -141,11 +152,6 @@ public class StringICacheTest {
         private String randomValue() {
             return values[randomInt(values.length)];
         }
-
-        private String randomKey() {
-            int length = keys.length;
-            return keys[randomInt(length)];
-        }
     }
 
     public static void main(String[] args) throws Exception {
@@ -92,14 +92,14 @@ public class AllEntrySetTest {
 
         @Override
         protected void timeStep() throws Exception {
-            latency.started();
+            long started = latency.start();
             Set<Map.Entry<String, String>> result;
             if (usePredicate) {
                 result = map.entrySet(TruePredicate.INSTANCE);
             } else {
                 result = map.entrySet();
             }
-            latency.done();
+            latency.recordSince(started);
 
             assertEquals(entryCount, result.size());
         }
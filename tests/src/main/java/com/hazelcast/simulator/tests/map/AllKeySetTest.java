@@ -91,14 +91,14 @@ public class AllKeySetTest {
 
         @Override
         protected void timeStep() throws Exception {
-            latency.started();
+            long started = latency.start();
             Set<String> result;
             if (usePredicate) {
                 result = map.keySet(TruePredicate.INSTANCE);
             } else {
                 result = map.keySet();
             }
-            latency.done();
+            latency.recordSince(started);
 
             assertEquals(entryCount, result.size());
         }
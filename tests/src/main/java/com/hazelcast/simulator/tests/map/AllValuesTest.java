@@ -91,14 +91,14 @@ public class AllValuesTest {
 
         @Override
         protected void timeStep() throws Exception {
-            latency.started();
+            long started = latency.start();
             Collection<String> result;
             if (usePredicate) {
                 result = map.values(TruePredicate.INSTANCE);
             } else {
                 result = map.values();
             }
-            latency.done();
+            latency.recordSince(started);
 
             assertEquals(entryCount, result.size());
         }
@@ -41,7 +41,6 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 
-import static java.lang.Math.abs;
 import static java.lang.String.format;
 import static org.junit.Assert.assertEquals;
 
@@ -109,7 +108,7 @@ public class ExtractorMapTest {
         }
 
         private int getRandomKey() {
-            return abs(randomInt(keyCount)) % indexValuesCount;
+            return nextKeyIndex(keyCount) % indexValuesCount;
         }
 
         @Override
@@ -125,12 +124,12 @@ public class ExtractorMapTest {
                     int index = key % nestedValuesCount;
                     String query = format("payloadFromExtractor[%d]", index);
                     Predicate predicate = Predicates.equal(query, key);
-                    queryProbe.started();
+                    long started = queryProbe.start();
                     Collection<SillySequence> result = null;
                     try {
                         result = map.values(predicate);
                     } finally {
-                        queryProbe.done();
+                        queryProbe.recordSince(started);
                     }
                     THROTTLING_LOGGER.info(format("Query 'payloadFromExtractor[%d]= %d' returned %d results.", index, key,
                             result.size()));
@@ -27,6 +27,9 @@ import com.hazelcast.simulator.test.annotations.Warmup;
 import com.hazelcast.simulator.tests.helpers.KeyLocality;
 import com.hazelcast.simulator.worker.loadsupport.Streamer;
 import com.hazelcast.simulator.worker.loadsupport.StreamerFactory;
+import com.hazelcast.simulator.worker.loadsupport.ValuePool;
+import com.hazelcast.simulator.worker.loadsupport.ValuePoolStorage;
+import com.hazelcast.simulator.worker.loadsupport.ValueSizeDistribution;
 import com.hazelcast.simulator.worker.selector.OperationSelectorBuilder;
 import com.hazelcast.simulator.worker.tasks.AbstractWorker;
 
@@ -48,6 +51,11 @@ public class IntByteMapTest {
     public int valueCount = 1000;
     public int minSize = 16;
     public int maxSize = 2000;
+    // stores the values in a ValuePool instead of byte arrays, requires the PooledValueFactory in the Hazelcast configuration
+    public boolean useValuePool = false;
+    // overrides minSize and maxSize of a value pool if set, e.g. lognormal(1000,0.5,100000), see ValueSizeDistribution
+    public String valueSizeDistribution;
+    public ValuePoolStorage valuePoolStorage = ValuePoolStorage.HEAP;
     public KeyLocality keyLocality = KeyLocality.RANDOM;
     public double putProb = 0.3;
 
@@ -59,7 +67,8 @@ public class IntByteMapTest {
 
     private IMap<Integer, Object> map;
     private int[] keys;
-    private byte[][] values;
+    private Object[] values;
+    private ValuePool valuePool;
 
     @Setup
     public void setUp(TestContext testContext) {
@@ -79,16 +88,29 @@ public class IntByteMapTest {
     @Teardown
     public void tearDown() {
         map.destroy();
+        if (valuePool != null) {
+            valuePool.close();
+        }
     }
 
     @Warmup(global = false)
     public void warmup() {
         Random random = new Random();
-        values = new byte[valueCount][];
-        for (int i = 0; i < values.length; i++) {
-            int delta = maxSize - minSize;
-            int length = delta == 0 ? minSize : minSize + random.nextInt(delta);
-            values[i] = generateByteArray(random, length);
+        values = new Object[valueCount];
+        if (useValuePool) {
+            ValueSizeDistribution sizeDistribution = (valueSizeDistribution == null)
+                    ? ValueSizeDistribution.uniform(minSize, maxSize)
+                    : ValueSizeDistribution.parse(valueSizeDistribution);
+            valuePool = new ValuePool(valueCount, sizeDistribution, valuePoolStorage, random);
+            for (int i = 0; i < values.length; i++) {
+                values[i] = valuePool.getValue(i);
+            }
+        } else {
+            for (int i = 0; i < values.length; i++) {
+                int delta = maxSize - minSize;
+                int length = delta == 0 ? minSize : minSize + random.nextInt(delta);
+                values[i] = generateByteArray(random, length);
+            }
         }
 
         Streamer<Integer, Object> streamer = StreamerFactory.getInstance(map);
@@ -111,19 +133,19 @@ public class IntByteMapTest {
 
         @Override
         protected void timeStep(Operation operation) throws Exception {
-            int key = keys[randomInt(keys.length)];
+            int key = keys[nextKeyIndex(keys.length)];
 
             switch (operation) {
                 case PUT:
-                    byte[] value = values[getRandom().nextInt(values.length)];
-                    putProbe.started();
+                    Object value = values[randomInt(values.length)];
+                    long started = putProbe.start();
                     map.put(key, value);
-                    putProbe.done();
+                    putProbe.recordSince(started);
                     break;
                 case GET:
-                    getProbe.started();
+                    started = getProbe.start();
                     map.get(key);
-                    getProbe.done();
+                    getProbe.recordSince(started);
                     break;
                 default:
                     throw new UnsupportedOperationException();
@@ -37,6 +37,8 @@ import java.util.Random;
 import static com.hazelcast.simulator.tests.helpers.HazelcastTestUtils.getOperationCountInformation;
 import static com.hazelcast.simulator.tests.helpers.HazelcastTestUtils.waitClusterSize;
 import static com.hazelcast.simulator.tests.helpers.KeyUtils.generateIntKeys;
+import static com.hazelcast.simulator.tests.helpers.KeyUtils.getPartitionIds;
+import static com.hazelcast.simulator.tests.helpers.KeyUtils.getPartitionOwnerTargets;
 
 public class IntIntMapTest {
 
@@ -62,6 +64,7 @@ public class IntIntMapTest {
     // probes
     public Probe putProbe;
     public Probe getProbe;
+    public Probe loadProbe;
 
     private final OperationSelectorBuilder<Operation> operationSelectorBuilder = new OperationSelectorBuilder<Operation>();
 
@@ -69,6 +72,8 @@ public class IntIntMapTest {
     private IMap<Integer, Integer> map;
 
     private int[] keys;
+    private int[] keyPartitionIds;
+    private Object[] partitionOwners;
 
     @Setup
     public void setUp(TestContext testContext) {
@@ -88,7 +93,9 @@ public class IntIntMapTest {
     public void warmup() {
         waitClusterSize(LOGGER, targetInstance, minNumberOfMembers);
         keys = generateIntKeys(keyCount, Integer.MAX_VALUE, keyLocality, targetInstance);
-        Streamer<Integer, Integer> streamer = StreamerFactory.getInstance(map);
+        keyPartitionIds = getPartitionIds(keys, targetInstance);
+        partitionOwners = getPartitionOwnerTargets(targetInstance);
+        Streamer<Integer, Integer> streamer = StreamerFactory.getInstance(map, loadProbe);
         Random random = new Random();
         for (int key : keys) {
             int value = random.nextInt(Integer.MAX_VALUE);
@@ -110,33 +117,33 @@ public class IntIntMapTest {
 
         @Override
         protected void timeStep(Operation operation) throws Exception {
-            int key = randomKey();
+            int keyIndex = nextKeyIndex(keys.length);
+            int key = keys[keyIndex];
+            int partitionId = keyPartitionIds[keyIndex];
+            Object owner = partitionOwners[partitionId];
+            setOperationTarget(partitionId, owner);
 
             switch (operation) {
                 case PUT:
                     int value = randomValue();
-                    putProbe.started();
+                    long started = putProbe.start();
                     if (useSet) {
                         map.set(key, value);
                     } else {
                         map.put(key, value);
                     }
-                    putProbe.done();
+                    putProbe.recordSince(started, partitionId, owner);
                     break;
                 case GET:
-                    getProbe.started();
+                    started = getProbe.start();
                     map.get(key);
-                    getProbe.done();
+                    getProbe.recordSince(started, partitionId, owner);
                     break;
                 default:
                     throw new UnsupportedOperationException();
             }
         }
 
-        private int randomKey() {
-            return keys[randomInt(keys.length)];
-        }
-
         private int randomValue() {
             return randomInt(Integer.MAX_VALUE);
         }
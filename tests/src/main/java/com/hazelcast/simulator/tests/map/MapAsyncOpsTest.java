@@ -104,7 +104,7 @@ public class MapAsyncOpsTest {
 
         @Override
         protected void timeStep(Operation operation) throws Exception {
-            int key = randomInt(keyCount);
+            int key = nextKeyIndex(keyCount);
             switch (operation) {
                 case PUT_ASYNC:
                     Object value = randomInt();
@@ -112,7 +112,7 @@ public class MapCasTest {
 
         @Override
         protected void timeStep() throws Exception {
-            Integer key = randomInt(keyCount);
+            Integer key = nextKeyIndex(keyCount);
             long incrementValue = randomInt(100);
 
             for (;;) {
@@ -181,7 +181,7 @@ public class MapEntryListenerTest {
             int key;
 
             if (randomDistributionUniform) {
-                key = randomInt(keyCount);
+                key = nextKeyIndex(keyCount);
             } else {
                 key = keysZipfian.nextInt();
             }
@@ -114,9 +114,9 @@ public class MapEntryProcessorTest {
             int key = generateIntKey(keyCount, keyLocality, targetInstance);
             long increment = randomInt(100);
             int delayMs = calculateDelay();
-            probe.started();
+            long started = probe.start();
             map.executeOnKey(key, new IncrementEntryProcessor(increment, delayMs));
-            probe.done();
+            probe.recordSince(started);
             localIncrementsAtKey[key] += increment;
         }
 
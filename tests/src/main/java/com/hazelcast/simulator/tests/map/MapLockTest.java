@@ -95,7 +95,7 @@ public class MapLockTest {
 
         @Override
         public void timeStep() {
-            int key = randomInt(keyCount);
+            int key = nextKeyIndex(keyCount);
             long increment = randomInt(100);
 
             map.lock(key);
@@ -86,23 +86,23 @@ public class MapLongPerformanceTest {
 
         @Override
         public void timeStep(Operation operation) {
-            Integer key = randomInt(keyCount);
+            Integer key = nextKeyIndex(keyCount);
 
             switch (operation) {
                 case PUT:
-                    probe.started();
+                    long started = probe.start();
                     try {
                         map.set(key, System.currentTimeMillis());
                     } finally {
-                        probe.done();
+                        probe.recordSince(started);
                     }
                     break;
                 case GET:
-                    probe.started();
+                    started = probe.start();
                     try {
                         map.get(key);
                     } finally {
-                        probe.done();
+                        probe.recordSince(started);
                     }
                     break;
                 default:
@@ -139,7 +139,7 @@ public class MapMaxSizeTest {
 
         @Override
         public void timeStep(MapOperation operation) {
-            final int key = randomInt(keyCount);
+            final int key = nextKeyIndex(keyCount);
 
             switch (operation) {
                 case PUT:
@@ -261,7 +261,7 @@ public class MapPredicateTest {
         }
 
         private void updateEmployee() {
-            Integer key = randomInt(keyCount);
+            Integer key = nextKeyIndex(keyCount);
             Employee employee = map.get(key);
             if (employee != null) {
                 employee.randomizeProperties();
@@ -27,23 +27,39 @@ import com.hazelcast.simulator.test.annotations.Teardown;
 import com.hazelcast.simulator.test.annotations.Warmup;
 import com.hazelcast.simulator.tests.helpers.KeyLocality;
 import com.hazelcast.simulator.utils.GeneratorUtils;
-import com.hazelcast.simulator.worker.tasks.AbstractMonotonicWorker;
+import com.hazelcast.simulator.worker.selector.OperationSelectorBuilder;
+import com.hazelcast.simulator.worker.tasks.AbstractBatchWorker;
 
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 
 import static com.hazelcast.simulator.tests.helpers.HazelcastTestUtils.getOperationCountInformation;
 import static com.hazelcast.simulator.tests.helpers.HazelcastTestUtils.waitClusterSize;
 import static com.hazelcast.simulator.tests.helpers.KeyUtils.generateStringKey;
+import static java.lang.String.format;
 
+/**
+ * Inserts batches of entries into an {@link IMap}, either with a single putAll() call or with a put() call per entry.
+ *
+ * The number of entries per call is configured by the {@code batchSize} property of the {@link AbstractBatchWorker}, so the
+ * throughput is reported in entries per second. Each worker thread prepares {@code mapCount} batches with distinct keys before
+ * the run, so the creation of the batches is not measured.
+ */
 public class MapPutAllTest {
 
     private static final ILogger LOGGER = Logger.getLogger(MapPutAllTest.class);
 
+    private enum Operation {
+        PUT_ALL,
+        PUT
+    }
+
     // properties
     public String basename = MapPutAllTest.class.getSimpleName();
     public int minNumberOfMembers = 0;
-    // number of items in a single map to insert
+    // number of distinct keys, the keys of a batch are randomly selected from them (has to be at least the batch size)
     public int itemCount = 10000;
     // the number of characters in the key
     public int keySize = 10;
@@ -56,14 +72,18 @@ public class MapPutAllTest {
     // if we want to use putAll or put (this is a nice setting to see what kind of speedup or slowdown to expect)
     public boolean usePutAll = true;
 
+    private final OperationSelectorBuilder<Operation> operationSelectorBuilder = new OperationSelectorBuilder<Operation>();
+
     private IMap<String, String> map;
     private HazelcastInstance targetInstance;
-    private Map<String, String>[] inputMaps;
+    private String[] keys;
 
     @Setup
     public void setUp(TestContext testContext) {
         targetInstance = testContext.getTargetInstance();
         map = targetInstance.getMap(basename);
+
+        operationSelectorBuilder.addDefaultOperation(usePutAll ? Operation.PUT_ALL : Operation.PUT);
     }
 
     @Teardown
@@ -73,24 +93,13 @@ public class MapPutAllTest {
     }
 
     @Warmup(global = false)
-    @SuppressWarnings("unchecked")
     public void warmup() {
         waitClusterSize(LOGGER, targetInstance, minNumberOfMembers);
 
-        String[] keys = new String[itemCount];
+        keys = new String[itemCount];
         for (int i = 0; i < keys.length; i++) {
             keys[i] = generateStringKey(keySize, keyLocality, targetInstance);
         }
-
-        inputMaps = new Map[mapCount];
-        for (int mapIndex = 0; mapIndex < mapCount; mapIndex++) {
-            Map<String, String> inputMap = new HashMap<String, String>();
-            inputMaps[mapIndex] = inputMap;
-            for (int itemIndex = 0; itemIndex < itemCount; itemIndex++) {
-                String value = GeneratorUtils.generateString(valueSize);
-                inputMap.put(keys[mapIndex], value);
-            }
-        }
     }
 
     @RunWithWorker
@@ -98,22 +107,64 @@ public class MapPutAllTest {
         return new Worker();
     }
 
-    private class Worker extends AbstractMonotonicWorker {
+    private class Worker extends AbstractBatchWorker<Operation, Map.Entry<String, String>> {
+
+        private Map<String, String>[] inputMaps;
+        private Iterator<Map.Entry<String, String>> inputMapIterator;
+        private Map<String, String> putAllMap;
+
+        public Worker() {
+            super(operationSelectorBuilder);
+        }
 
         @Override
-        protected void timeStep() throws Exception {
-            Map<String, String> insertMap = randomMap();
-            if (usePutAll) {
-                map.putAll(insertMap);
-            } else {
-                for (Map.Entry<String, String> entry : insertMap.entrySet()) {
-                    map.put(entry.getKey(), entry.getValue());
+        @SuppressWarnings("unchecked")
+        protected void beforeRun() {
+            if (batchSize > keys.length) {
+                throw new IllegalArgumentException(format("batchSize %d exceeds itemCount %d", batchSize, keys.length));
+            }
+            inputMaps = new Map[mapCount];
+            for (int mapIndex = 0; mapIndex < mapCount; mapIndex++) {
+                // the keys of a map are distinct, so each batch inserts batchSize entries
+                Map<String, String> batchMap = new HashMap<String, String>();
+                while (batchMap.size() < batchSize) {
+                    batchMap.put(keys[nextKeyIndex(keys.length)], GeneratorUtils.generateString(valueSize));
                 }
+                inputMaps[mapIndex] = batchMap;
             }
+            putAllMap = new HashMap<String, String>(batchSize * 2);
         }
 
-        private Map<String, String> randomMap() {
-            return inputMaps[randomInt(inputMaps.length)];
+        @Override
+        protected Map.Entry<String, String> nextItem(Operation operation) {
+            // each map has batchSize entries, so a batch consists of all entries of a single map
+            if (inputMapIterator == null || !inputMapIterator.hasNext()) {
+                inputMapIterator = inputMaps[randomInt(inputMaps.length)].entrySet().iterator();
+            }
+            return inputMapIterator.next();
+        }
+
+        @Override
+        protected void timeStep(Operation operation, List<Map.Entry<String, String>> batch) throws Exception {
+            switch (operation) {
+                case PUT_ALL:
+                    // the map is built from the batch, so it contains exactly the items which are counted for the batch
+                    putAllMap.clear();
+                    for (int i = 0; i < batch.size(); i++) {
+                        Map.Entry<String, String> entry = batch.get(i);
+                        putAllMap.put(entry.getKey(), entry.getValue());
+                    }
+                    map.putAll(putAllMap);
+                    break;
+                case PUT:
+                    for (int i = 0; i < batch.size(); i++) {
+                        Map.Entry<String, String> entry = batch.get(i);
+                        map.put(entry.getKey(), entry.getValue());
+                    }
+                    break;
+                default:
+                    throw new UnsupportedOperationException("Unknown operation " + operation);
+            }
         }
     }
 
@@ -105,7 +105,7 @@ public class MapRaceTest {
 
         @Override
         public void timeStep() {
-            Integer key = randomInt(keyCount);
+            Integer key = nextKeyIndex(keyCount);
             long increment = randomInt(100);
 
             incrementMap(map, key, increment);
@@ -156,13 +156,13 @@ public class MapReduceTest {
         }
 
         private void getMapEntry() {
-            map.get(randomInt(keyCount));
+            map.get(nextKeyIndex(keyCount));
 
             operationCounter.getMapEntry++;
         }
 
         private void modifyMapEntry() {
-            Employee employee = map.get(randomInt(keyCount));
+            Employee employee = map.get(nextKeyIndex(keyCount));
             employee.randomizeProperties();
             map.put(employee.getId(), employee);
 
@@ -186,7 +186,7 @@ public class MapStoreTest {
 
         @Override
         public void timeStep(MapOperation mapOperation) {
-            Integer key = randomInt(keyCount);
+            Integer key = nextKeyIndex(keyCount);
 
             switch (mapOperation) {
                 case LOAD_ALL:
@@ -118,7 +118,7 @@ public class MapTimeToLiveTest {
         @Override
         protected void timeStep(Operation operation) throws Exception {
             try {
-                int key = randomInt(keyCount);
+                int key = nextKeyIndex(keyCount);
                 int value;
                 int delayMs;
 
@@ -118,7 +118,7 @@ public class MapTransactionReadWriteTest {
 
             switch (operation) {
                 case PUT:
-                    putProbe.started();
+                    long started = putProbe.start();
                     targetInstance.executeTransaction(new TransactionalTask<Object>() {
                         @Override
                         public Object execute(TransactionalTaskContext transactionalTaskContext) {
@@ -131,10 +131,10 @@ public class MapTransactionReadWriteTest {
                             return null;
                         }
                     });
-                    putProbe.done();
+                    putProbe.recordSince(started);
                     break;
                 case GET:
-                    getProbe.started();
+                    started = getProbe.start();
                     targetInstance.executeTransaction(new TransactionalTask<Object>() {
                         @Override
                         public Object execute(TransactionalTaskContext transactionalTaskContext) {
@@ -143,7 +143,7 @@ public class MapTransactionReadWriteTest {
                             return null;
                         }
                     });
-                    getProbe.done();
+                    getProbe.recordSince(started);
                     break;
                 default:
                     throw new UnsupportedOperationException();
@@ -152,7 +152,7 @@ public class MapTransactionReadWriteTest {
 
         private int randomKey() {
             int length = keys.length;
-            return keys[randomInt(length)];
+            return keys[nextKeyIndex(length)];
         }
 
         private int randomValue() {
@@ -111,7 +111,7 @@ public class MapTransactionTest {
 
         @Override
         protected void timeStep() throws Exception {
-            final int key = randomInt(keyCount);
+            final int key = nextKeyIndex(keyCount);
             final int increment = randomInt(100);
 
             try {
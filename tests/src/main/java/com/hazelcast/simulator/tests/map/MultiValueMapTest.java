@@ -38,7 +38,6 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
 
-import static java.lang.Math.abs;
 import static java.lang.String.format;
 import static org.junit.Assert.assertEquals;
 
@@ -103,7 +102,7 @@ public class MultiValueMapTest {
         }
 
         private int getRandomKey() {
-            return abs(randomInt(keyCount));
+            return nextKeyIndex(keyCount);
         }
 
         @Override
@@ -118,12 +117,12 @@ public class MultiValueMapTest {
                     break;
                 case QUERY:
                     Predicate predicate = Predicates.equal("payloadField[any]", key);
-                    queryProbe.started();
+                    long started = queryProbe.start();
                     Collection<SillySequence> result = null;
                     try {
                         result = map.values(predicate);
                     } finally {
-                        queryProbe.done();
+                        queryProbe.recordSince(started);
                     }
                     THROTTLING_LOGGER.info(format("Query 'payloadField[any]= %d' returned %d results.", key, result.size()));
                     for (SillySequence resultSillySequence : result) {
@@ -32,11 +32,14 @@ import com.hazelcast.simulator.worker.loadsupport.StreamerFactory;
 import com.hazelcast.simulator.worker.selector.OperationSelectorBuilder;
 import com.hazelcast.simulator.worker.tasks.AbstractWorker;
 
+import java.io.File;
 import java.util.Random;
 
 import static com.hazelcast.simulator.tests.helpers.HazelcastTestUtils.getOperationCountInformation;
 import static com.hazelcast.simulator.tests.helpers.HazelcastTestUtils.waitClusterSize;
 import static com.hazelcast.simulator.tests.helpers.KeyUtils.generateStringKeys;
+import static com.hazelcast.simulator.tests.helpers.KeyUtils.getPartitionIds;
+import static com.hazelcast.simulator.tests.helpers.KeyUtils.getPartitionOwnerTargets;
 import static com.hazelcast.simulator.utils.GeneratorUtils.generateStrings;
 
 public class StringStringMapTest {
@@ -56,6 +59,9 @@ public class StringStringMapTest {
     public int keyLength = 10;
     public int valueLength = 10;
     public KeyLocality keyLocality = KeyLocality.RANDOM;
+    // the keys are cached in this directory if set, so repeated runs with the same keySeed don't have to generate them again
+    public String keyCacheDirectory;
+    public Long keySeed;
     public int minNumberOfMembers = 0;
 
     public double putProb = 0.1;
@@ -64,6 +70,7 @@ public class StringStringMapTest {
     // probes
     public Probe putProbe;
     public Probe getProbe;
+    public Probe loadProbe;
 
     private final OperationSelectorBuilder<Operation> operationSelectorBuilder = new OperationSelectorBuilder<Operation>();
 
@@ -71,6 +78,8 @@ public class StringStringMapTest {
     private IMap<String, String> map;
 
     private String[] keys;
+    private int[] keyPartitionIds;
+    private Object[] partitionOwners;
     private String[] values;
 
     @Setup
@@ -92,7 +101,11 @@ public class StringStringMapTest {
     @Warmup(global = false)
     public void warmup() {
         waitClusterSize(LOGGER, targetInstance, minNumberOfMembers);
-        keys = generateStringKeys(keyCount, keyLength, keyLocality, targetInstance);
+        long seed = (keySeed == null) ? new Random().nextLong() : keySeed;
+        File cacheDirectory = (keyCacheDirectory == null) ? null : new File(keyCacheDirectory);
+        keys = generateStringKeys("", keyCount, keyLength, keyLocality, targetInstance, seed, cacheDirectory);
+        keyPartitionIds = getPartitionIds(keys, targetInstance);
+        partitionOwners = getPartitionOwnerTargets(targetInstance);
         values = generateStrings(valueCount, valueLength);
 
         loadInitialData();
@@ -100,7 +113,7 @@ public class StringStringMapTest {
 
     private void loadInitialData() {
         Random random = new Random();
-        Streamer<String, String> streamer = StreamerFactory.getInstance(map);
+        Streamer<String, String> streamer = StreamerFactory.getInstance(map, loadProbe);
         for (String key : keys) {
             String value = values[random.nextInt(valueCount)];
             streamer.pushEntry(key, value);
@@ -121,35 +134,35 @@ public class StringStringMapTest {
 
         @Override
         protected void timeStep(Operation operation) throws Exception {
-            String key = randomKey();
+            int keyIndex = nextKeyIndex(keys.length);
+            String key = keys[keyIndex];
+            int partitionId = keyPartitionIds[keyIndex];
+            Object owner = partitionOwners[partitionId];
+            setOperationTarget(partitionId, owner);
 
             switch (operation) {
                 case PUT:
                     String value = randomValue();
-                    putProbe.started();
+                    long started = putProbe.start();
                     map.put(key, value);
-                    putProbe.done();
+                    putProbe.recordSince(started, partitionId, owner);
                     break;
                 case SET:
                     value = randomValue();
-                    putProbe.started();
+                    started = putProbe.start();
                     map.set(key, value);
-                    putProbe.done();
+                    putProbe.recordSince(started, partitionId, owner);
                     break;
                 case GET:
-                    getProbe.started();
+                    started = getProbe.start();
                     map.get(key);
-                    getProbe.done();
+                    getProbe.recordSince(started, partitionId, owner);
                     break;
                 default:
                     throw new UnsupportedOperationException();
             }
         }
 
-        private String randomKey() {
-            return keys[randomInt(keys.length)];
-        }
-
         private String randomValue() {
             return values[randomInt(values.length)];
         }
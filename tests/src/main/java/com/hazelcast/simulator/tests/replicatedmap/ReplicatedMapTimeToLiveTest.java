@@ -104,7 +104,7 @@ public class ReplicatedMapTimeToLiveTest {
         @Override
         protected void timeStep(Operation operation) throws Exception {
             try {
-                int key = randomInt(keyCount);
+                int key = nextKeyIndex(keyCount);
 
                 switch (operation) {
                     case PUT_TTL:
@@ -107,19 +107,19 @@ public class StringStringReplicatedMapTest {
             switch (operation) {
                 case PUT:
                     String value = randomValue();
-                    putProbe.started();
+                    long started = putProbe.start();
                     map.put(key, value);
-                    putProbe.done();
+                    putProbe.recordSince(started);
                     break;
                 case REMOVE:
-                    removeProbe.started();
+                    started = removeProbe.start();
                     map.remove(key);
-                    removeProbe.done();
+                    removeProbe.recordSince(started);
                     break;
                 case GET:
-                    getProbe.started();
+                    started = getProbe.start();
                     map.get(key);
-                    getProbe.done();
+                    getProbe.recordSince(started);
                     break;
                 default:
                     throw new UnsupportedOperationException();
@@ -127,7 +127,7 @@ public class StringStringReplicatedMapTest {
         }
 
         private String randomKey() {
-            return keys[randomInt(keys.length)];
+            return keys[nextKeyIndex(keys.length)];
         }
 
         private String randomValue() {
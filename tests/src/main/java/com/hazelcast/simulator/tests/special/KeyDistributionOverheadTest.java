@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.simulator.tests.special;
+
+import com.hazelcast.logging.ILogger;
+import com.hazelcast.logging.Logger;
+import com.hazelcast.simulator.test.annotations.Run;
+import com.hazelcast.simulator.utils.SplitMixRandom;
+import com.hazelcast.simulator.worker.distribution.KeyDistribution;
+import com.hazelcast.simulator.worker.distribution.KeyDistributionSpec;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+import static java.lang.String.format;
+
+/**
+ * Measures the cost of {@link KeyDistribution#nextIndex()} for each configured key distribution.
+ *
+ * The results are logged in ns/op and bytes/op, so a distribution which allocates or is too expensive for a latency test can be
+ * spotted before it distorts the measurements of a real test.
+ */
+public class KeyDistributionOverheadTest {
+
+    private static final ILogger LOGGER = Logger.getLogger(KeyDistributionOverheadTest.class);
+
+    // properties
+    // a semicolon separated list, since the parameters of a key distribution are separated by commas
+    public String keyDistributions = "uniform;zipfian;hotspot;latest;sequential";
+    public int keyCount = 1000000;
+    public int warmupIterations = 1000000;
+    public int iterations = 10000000;
+
+    // prevents the JIT from removing the calls to nextIndex()
+    private long blackhole;
+
+    @Run
+    public void run() {
+        for (String keyDistribution : keyDistributions.split(";")) {
+            KeyDistributionSpec spec = KeyDistributionSpec.parse(keyDistribution);
+            KeyDistribution distribution = spec.newInstance(keyCount, new SplitMixRandom());
+            runDistribution(distribution, warmupIterations);
+
+            long allocatedBytes = getAllocatedBytes();
+            long started = System.nanoTime();
+            runDistribution(distribution, iterations);
+            logResult(spec, System.nanoTime() - started, getAllocatedBytes() - allocatedBytes);
+        }
+        LOGGER.info("Blackhole: " + blackhole);
+    }
+
+    private void runDistribution(KeyDistribution distribution, int count) {
+        long sum = 0;
+        for (int i = 0; i < count; i++) {
+            sum += distribution.nextIndex();
+        }
+        blackhole += sum;
+    }
+
+    private void logResult(KeyDistributionSpec spec, long durationNanos, long allocatedBytes) {
+        LOGGER.info(format("%s: %.2f ns/op %.2f bytes/op", spec, durationNanos / (double) iterations,
+                allocatedBytes / (double) iterations));
+    }
+
+    private static long getAllocatedBytes() {
+        ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+        if (threadMXBean instanceof com.sun.management.ThreadMXBean) {
+            long threadId = Thread.currentThread().getId();
+            return ((com.sun.management.ThreadMXBean) threadMXBean).getThreadAllocatedBytes(threadId);
+        }
+        return 0;
+    }
+}
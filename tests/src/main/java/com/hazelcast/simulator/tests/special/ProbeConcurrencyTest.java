@@ -17,16 +17,30 @@ package com.hazelcast.simulator.tests.special;
 
 import com.hazelcast.logging.ILogger;
 import com.hazelcast.logging.Logger;
+import com.hazelcast.simulator.probes.Probe;
+import com.hazelcast.simulator.probes.impl.ProbeImpl;
+import com.hazelcast.simulator.probes.impl.ThreadLocalProbeImpl;
 import com.hazelcast.simulator.test.TestContext;
 import com.hazelcast.simulator.test.annotations.RunWithWorker;
 import com.hazelcast.simulator.test.annotations.Setup;
+import com.hazelcast.simulator.test.annotations.Teardown;
 import com.hazelcast.simulator.worker.tasks.AbstractMonotonicWorker;
 import com.hazelcast.simulator.worker.tasks.IWorker;
 
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.hazelcast.simulator.utils.CommonUtils.rethrow;
+import static java.lang.String.format;
+
 /**
  * This test is to debug and check probe results from a very controlled test case.
  *
  * By adjusting the threadCount and maxOperations the invocation count of probes are absolutely predictable.
+ *
+ * With benchmarkIterations > 0 all worker threads record into a probe with a single shared {@link org.HdrHistogram.Recorder}
+ * and into a probe with a recorder per thread, before they start with their operations. The recording cost is logged in
+ * ns/op, so running the test with an increasing threadCount shows how both probe implementations scale.
  */
 public class ProbeConcurrencyTest {
 
@@ -36,10 +50,37 @@ public class ProbeConcurrencyTest {
     public String basename = ProbeConcurrencyTest.class.getSimpleName();
     public int threadCount = 0;
     public int maxOperations = 0;
+    public int benchmarkIterations = 0;
+
+    private final ProbeImpl sharedRecorderProbe = new ProbeImpl(false);
+    private final ThreadLocalProbeImpl threadLocalRecorderProbe = new ThreadLocalProbeImpl(false);
+    private final AtomicLong sharedRecorderNanos = new AtomicLong();
+    private final AtomicLong threadLocalRecorderNanos = new AtomicLong();
+
+    private CyclicBarrier benchmarkBarrier;
 
     @Setup
     public void setUp(TestContext testContext) {
         LOGGER.info("ThreadCount: " + threadCount + " max operations: " + maxOperations);
+        if (benchmarkIterations > 0) {
+            if (threadCount <= 0) {
+                throw new IllegalArgumentException("threadCount has to be set to run the probe benchmark");
+            }
+            benchmarkBarrier = new CyclicBarrier(threadCount);
+        }
+    }
+
+    @Teardown(global = false)
+    public void tearDown() {
+        if (benchmarkIterations <= 0) {
+            return;
+        }
+        double operations = (double) threadCount * benchmarkIterations;
+        LOGGER.info(format("ThreadCount: %d shared Recorder: %.2f ns/op, Recorder per thread: %.2f ns/op", threadCount,
+                sharedRecorderNanos.get() / operations, threadLocalRecorderNanos.get() / operations));
+        LOGGER.info(format("Recorded values: shared Recorder: %d, Recorder per thread: %d",
+                sharedRecorderProbe.getIntervalHistogram().getTotalCount(),
+                threadLocalRecorderProbe.getIntervalHistogram().getTotalCount()));
     }
 
     @RunWithWorker
@@ -51,11 +92,34 @@ public class ProbeConcurrencyTest {
 
         private int operationCount;
 
+        @Override
+        protected void beforeRun() {
+            if (benchmarkIterations > 0) {
+                sharedRecorderNanos.addAndGet(benchmark(sharedRecorderProbe));
+                threadLocalRecorderNanos.addAndGet(benchmark(threadLocalRecorderProbe));
+            }
+        }
+
         @Override
         protected void timeStep() throws Exception {
             if (++operationCount >= maxOperations) {
                 stopWorker();
             }
         }
+
+        private long benchmark(Probe probe) {
+            try {
+                // all threads have to record at the same time to measure the contention
+                benchmarkBarrier.await();
+            } catch (Exception e) {
+                throw rethrow(e);
+            }
+
+            long started = System.nanoTime();
+            for (int i = 0; i < benchmarkIterations; i++) {
+                probe.recordSince(probe.start());
+            }
+            return System.nanoTime() - started;
+        }
     }
 }
@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.simulator.tests.special;
+
+import com.hazelcast.logging.ILogger;
+import com.hazelcast.logging.Logger;
+import com.hazelcast.simulator.probes.Probe;
+import com.hazelcast.simulator.test.annotations.Run;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+import static java.lang.String.format;
+
+/**
+ * Measures the overhead of the latency measurement APIs of a {@link Probe}.
+ *
+ * Compares the thread local based {@link Probe#started()} and {@link Probe#done()} with {@link Probe#start()} and
+ * {@link Probe#recordSince(long)}, where the caller keeps the start timestamp. The results are logged in ns/op and bytes/op.
+ */
+public class ProbeOverheadTest {
+
+    private static final ILogger LOGGER = Logger.getLogger(ProbeOverheadTest.class);
+
+    // properties
+    public int warmupIterations = 1000000;
+    public int iterations = 10000000;
+
+    // probes
+    public Probe threadLocalProbe;
+    public Probe callerStateProbe;
+
+    @Run
+    public void run() {
+        runThreadLocalApi(warmupIterations);
+        runCallerStateApi(warmupIterations);
+
+        long allocatedBytes = getAllocatedBytes();
+        long started = System.nanoTime();
+        runThreadLocalApi(iterations);
+        logResult("started()/done()", System.nanoTime() - started, getAllocatedBytes() - allocatedBytes);
+
+        allocatedBytes = getAllocatedBytes();
+        started = System.nanoTime();
+        runCallerStateApi(iterations);
+        logResult("start()/recordSince()", System.nanoTime() - started, getAllocatedBytes() - allocatedBytes);
+    }
+
+    private void runThreadLocalApi(int count) {
+        for (int i = 0; i < count; i++) {
+            threadLocalProbe.started();
+            threadLocalProbe.done();
+        }
+    }
+
+    private void runCallerStateApi(int count) {
+        for (int i = 0; i < count; i++) {
+            long started = callerStateProbe.start();
+            callerStateProbe.recordSince(started);
+        }
+    }
+
+    private void logResult(String api, long durationNanos, long allocatedBytes) {
+        LOGGER.info(format("%s: %.2f ns/op %.2f bytes/op", api, durationNanos / (double) iterations,
+                allocatedBytes / (double) iterations));
+    }
+
+    private static long getAllocatedBytes() {
+        ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+        if (threadMXBean instanceof com.sun.management.ThreadMXBean) {
+            long threadId = Thread.currentThread().getId();
+            return ((com.sun.management.ThreadMXBean) threadMXBean).getThreadAllocatedBytes(threadId);
+        }
+        return 0;
+    }
+}
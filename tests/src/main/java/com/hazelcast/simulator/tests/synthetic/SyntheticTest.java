@@ -109,7 +109,7 @@ public class SyntheticTest {
 
     // FIXME get rid of this suppression via a proper @InjectTestContext annotation
     @SuppressFBWarnings({"UWF_UNWRITTEN_PUBLIC_OR_PROTECTED_FIELD", "NP_UNWRITTEN_PUBLIC_OR_PROTECTED_FIELD"})
-    private class Worker implements IWorker, ExecutionCallback<Object> {
+    private class Worker implements IWorker {
 
         // these fields will be injected by the TestContainer
         public TestContext testContext;
@@ -179,7 +179,7 @@ public class SyntheticTest {
         private void timeStep() throws Exception {
             ICompletableFuture<Object> future = invokeOnNextPartition();
             if (syncInvocation) {
-                workerProbe.started();
+                long started = workerProbe.start();
                 if (syncFrequency == 1) {
                     future.get();
                 } else {
@@ -191,9 +191,9 @@ public class SyntheticTest {
                         futureList.clear();
                     }
                 }
-                workerProbe.done();
+                workerProbe.recordSince(started);
             } else {
-                future.andThen(this);
+                future.andThen(new LatencyCallback(workerProbe.start()));
             }
 
             iteration++;
@@ -235,18 +235,30 @@ public class SyntheticTest {
         }
 
         @Override
-        public void onResponse(Object response) {
-            workerProbe.done();
+        public void afterCompletion() {
+            // nothing to do here
         }
 
-        @Override
-        public void onFailure(Throwable t) {
-            ExceptionReporter.report(testContext.getTestId(), t);
-        }
+        /**
+         * Carries the start timestamp of an asynchronous invocation, since the response is received by another thread.
+         */
+        private final class LatencyCallback implements ExecutionCallback<Object> {
 
-        @Override
-        public void afterCompletion() {
-            // nothing to do here
+            private final long started;
+
+            private LatencyCallback(long started) {
+                this.started = started;
+            }
+
+            @Override
+            public void onResponse(Object response) {
+                workerProbe.recordSince(started);
+            }
+
+            @Override
+            public void onFailure(Throwable t) {
+                ExceptionReporter.report(testContext.getTestId(), t);
+            }
         }
     }
 
@@ -116,14 +116,14 @@ public class StringStringSyntheticMapTest {
             switch (operation) {
                 case PUT:
                     String value = randomValue();
-                    putProbe.started();
+                    long started = putProbe.start();
                     map.put(key, value);
-                    putProbe.done();
+                    putProbe.recordSince(started);
                     break;
                 case GET:
-                    getProbe.started();
+                    started = getProbe.start();
                     map.get(key);
-                    getProbe.done();
+                    getProbe.recordSince(started);
                     break;
                 default:
                     throw new UnsupportedOperationException();
@@ -131,7 +131,7 @@ public class StringStringSyntheticMapTest {
         }
 
         private String randomKey() {
-            return keys[randomInt(keys.length)];
+            return keys[nextKeyIndex(keys.length)];
         }
 
         private String randomValue() {
@@ -27,16 +27,23 @@ import org.junit.AfterClass;
 import org.junit.BeforeClass;
 import org.junit.Test;
 
+import java.io.File;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
 
 import static com.hazelcast.simulator.tests.helpers.KeyUtils.generateIntKey;
 import static com.hazelcast.simulator.tests.helpers.KeyUtils.generateIntKeys;
 import static com.hazelcast.simulator.tests.helpers.KeyUtils.generateStringKey;
 import static com.hazelcast.simulator.tests.helpers.KeyUtils.generateStringKeys;
+import static com.hazelcast.simulator.tests.helpers.KeyUtils.getPartitionIds;
 import static com.hazelcast.simulator.tests.helpers.KeyUtils.isLocalKey;
 import static com.hazelcast.simulator.utils.CommonUtils.sleepSeconds;
+import static com.hazelcast.simulator.utils.FileUtils.deleteQuiet;
 import static com.hazelcast.simulator.utils.ReflectionUtils.invokePrivateConstructor;
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotEquals;
@@ -78,6 +85,42 @@ public class KeyUtilsTest {
         invokePrivateConstructor(KeyUtils.class);
     }
 
+    @Test
+    public void getPartitionIds_intKeys() {
+        int[] keys = generateIntKeys(20, Integer.MAX_VALUE, KeyLocality.RANDOM, instance);
+
+        int[] partitionIds = getPartitionIds(keys, instance);
+
+        assertEquals(keys.length, partitionIds.length);
+        PartitionService partitionService = instance.getPartitionService();
+        for (int i = 0; i < keys.length; i++) {
+            assertEquals(partitionService.getPartition(keys[i]).getPartitionId(), partitionIds[i]);
+        }
+    }
+
+    @Test
+    public void getPartitionIds_stringKeys() {
+        String[] keys = generateStringKeys(20, 10, KeyLocality.RANDOM, instance);
+
+        int[] partitionIds = getPartitionIds(keys, instance);
+
+        assertEquals(keys.length, partitionIds.length);
+        PartitionService partitionService = instance.getPartitionService();
+        for (int i = 0; i < keys.length; i++) {
+            assertEquals(partitionService.getPartition(keys[i]).getPartitionId(), partitionIds[i]);
+        }
+    }
+
+    @Test
+    public void getPartitionOwnerTargets() {
+        Object[] targets = KeyUtils.getPartitionOwnerTargets(instance);
+
+        assertEquals(PARTITION_COUNT, targets.length);
+        for (Partition partition : instance.getPartitionService().getPartitions()) {
+            assertEquals(partition.getOwner().toString(), targets[partition.getPartitionId()].toString());
+        }
+    }
+
     @Test
     public void generateIntKey_local_client() {
         int key1 = generateIntKey(100, KeyLocality.LOCAL, client);
@@ -294,6 +337,41 @@ public class KeyUtilsTest {
         }
     }
 
+    @Test
+    public void generateStringKeys_sameSeed_sameUniqueKeys() {
+        String[] keys = generateStringKeys("foo", 1000, 10, KeyLocality.RANDOM, instance, 42, null);
+        String[] sameSeedKeys = generateStringKeys("foo", 1000, 10, KeyLocality.RANDOM, instance, 42, null);
+        String[] otherSeedKeys = generateStringKeys("foo", 1000, 10, KeyLocality.RANDOM, instance, 23, null);
+
+        assertArrayEquals(keys, sameSeedKeys);
+        assertFalse(Arrays.equals(keys, otherSeedKeys));
+        assertEquals(keys.length, new HashSet<String>(asList(keys)).size());
+    }
+
+    @Test
+    public void generateStringKeys_withCacheDirectory() {
+        File cacheDirectory = new File("keyCache");
+        try {
+            String[] keys = generateStringKeys("foo", 100, 10, KeyLocality.LOCAL, instance, 42, cacheDirectory);
+            File[] cacheFiles = cacheDirectory.listFiles();
+            assertNotNull(cacheFiles);
+            assertEquals(1, cacheFiles.length);
+
+            String[] cachedKeys = generateStringKeys("foo", 100, 10, KeyLocality.LOCAL, instance, 42, cacheDirectory);
+            assertArrayEquals(keys, cachedKeys);
+
+            generateStringKeys("foo", 100, 10, KeyLocality.REMOTE, instance, 42, cacheDirectory);
+            assertEquals(2, cacheDirectory.listFiles().length);
+        } finally {
+            deleteQuiet(cacheDirectory);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void generateStringKeys_keyLengthSmallerThanPrefix() {
+        generateStringKeys("prefix", 10, 3, KeyLocality.RANDOM, instance, 42, null);
+    }
+
     private static void warmUpPartitions(HazelcastInstance... instances) {
         for (HazelcastInstance instance : instances) {
             PartitionService partitionService = instance.getPartitionService();
@@ -45,6 +45,11 @@ public final class ReflectionUtils {
         setFieldValueInternal(instance, field, value);
     }
 
+    public static <E> E getFieldValue(Object instance, Field field) {
+        field.setAccessible(true);
+        return getFieldValueInternal(instance, field, instance.getClass().getName(), field.getName());
+    }
+
     public static <E> E getFieldValue(Object instance, String fieldName) {
         if (instance == null) {
             throw new NullPointerException("Object to retrieve field from can't be null");
@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.simulator.utils;
+
+import java.util.Random;
+
+/**
+ * A fast {@link Random} implementation for a single thread, which is based on the SplitMix64 generator.
+ *
+ * {@link Random} updates its seed with a compare-and-set on an {@code AtomicLong} for each generated value, which is a
+ * measurable cost in tight benchmark loops. This implementation keeps its state in a plain field, so an instance must not be
+ * shared between threads. All methods of {@link Random} are supported, since they are based on {@link #next(int)}.
+ *
+ * The sequence of an instance is fully defined by its seed, so {@link #mixSeed(long, long)} can be used to derive reproducible
+ * seeds, e.g. per worker and thread from the seed of a test.
+ */
+public class SplitMixRandom extends Random {
+
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+    private static final long MIX_MULTIPLIER_1 = 0xbf58476d1ce4e5b9L;
+    private static final long MIX_MULTIPLIER_2 = 0x94d049bb133111ebL;
+    private static final int MIX_SHIFT_1 = 30;
+    private static final int MIX_SHIFT_2 = 27;
+    private static final int MIX_SHIFT_3 = 31;
+    private static final int LONG_BITS = 64;
+    private static final int INT_BITS = 32;
+
+    // this field is set by setSeed(), which is already called by the constructor of Random, so it must not have an initializer
+    private long state;
+
+    /**
+     * Creates a new instance with a random seed.
+     */
+    public SplitMixRandom() {
+        super();
+    }
+
+    /**
+     * Creates a new instance with the given seed.
+     *
+     * @param seed the initial seed
+     */
+    public SplitMixRandom(long seed) {
+        super(seed);
+    }
+
+    /**
+     * Derives a new seed from a seed and an index, so each index gets an independent and reproducible seed.
+     *
+     * @param seed  the seed to derive from
+     * @param index the index, e.g. the index of a worker thread
+     * @return the derived seed
+     */
+    public static long mixSeed(long seed, long index) {
+        return mix64(seed + (index + 1) * GOLDEN_GAMMA);
+    }
+
+    @Override
+    public void setSeed(long seed) {
+        // also resets the cached gaussian of Random
+        super.setSeed(seed);
+        state = seed;
+    }
+
+    @Override
+    protected int next(int bits) {
+        return (int) (nextLong() >>> (LONG_BITS - bits));
+    }
+
+    @Override
+    public int nextInt() {
+        return (int) (nextLong() >>> INT_BITS);
+    }
+
+    @Override
+    public long nextLong() {
+        state += GOLDEN_GAMMA;
+        return mix64(state);
+    }
+
+    private static long mix64(long z) {
+        z = (z ^ (z >>> MIX_SHIFT_1)) * MIX_MULTIPLIER_1;
+        z = (z ^ (z >>> MIX_SHIFT_2)) * MIX_MULTIPLIER_2;
+        return z ^ (z >>> MIX_SHIFT_3);
+    }
+}
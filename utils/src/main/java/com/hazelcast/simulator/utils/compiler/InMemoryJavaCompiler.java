@@ -15,12 +15,15 @@
  */
 package com.hazelcast.simulator.utils.compiler;
 
+import javax.tools.DiagnosticCollector;
 import javax.tools.JavaCompiler;
 import javax.tools.JavaFileObject;
 import javax.tools.StandardJavaFileManager;
 import javax.tools.ToolProvider;
 import java.util.Collections;
 
+import static java.lang.String.format;
+
 /**
  * In-memory Java source code compiler.
  *
@@ -34,6 +37,9 @@ public final class InMemoryJavaCompiler {
     }
 
     public static Class<?> compile(String className, String sourceCodeInText) throws Exception {
+        if (COMPILER == null) {
+            throw new IllegalStateException("No Java compiler found, a JDK is needed to compile " + className);
+        }
         SourceCode sourceCode = new SourceCode(className, sourceCodeInText);
         CompiledCode compiledCode = new CompiledCode(className);
         DynamicClassLoader classLoader = DynamicClassLoader.getInstance();
@@ -42,8 +48,11 @@ public final class InMemoryJavaCompiler {
         StandardJavaFileManager standardJavaFileManager = COMPILER.getStandardFileManager(null, null, null);
         ExtendedJavaFileManager fileManager = new ExtendedJavaFileManager(standardJavaFileManager, compiledCode, classLoader);
 
-        JavaCompiler.CompilationTask task = COMPILER.getTask(null, fileManager, null, null, null, compilationUnits);
-        task.call();
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<JavaFileObject>();
+        JavaCompiler.CompilationTask task = COMPILER.getTask(null, fileManager, diagnostics, null, null, compilationUnits);
+        if (!task.call()) {
+            throw new IllegalStateException(format("Could not compile %s: %s", className, diagnostics.getDiagnostics()));
+        }
 
         return classLoader.loadClass(className);
     }
@@ -85,6 +85,16 @@ public class ReflectionUtilsTest {
         assertTrue(bool);
     }
 
+    @Test
+    public void testGetFieldValue_withField() {
+        GetFieldTest getFieldTest = new GetFieldTest();
+        getFieldTest.booleanField = true;
+        Field field = getField(GetFieldTest.class, "booleanField", Boolean.TYPE);
+
+        Boolean bool = getFieldValue(getFieldTest, field);
+        assertTrue(bool);
+    }
+
     @Test(expected = NullPointerException.class)
     public void testGetFieldValue_nullObject() {
         getFieldValue(null, "notEvaluated");
@@ -0,0 +1,69 @@
+package com.hazelcast.simulator.utils;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static com.hazelcast.simulator.utils.SplitMixRandom.mixSeed;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+public class SplitMixRandomTest {
+
+    @Test
+    public void testSameSeed_sameSequence() {
+        Random random1 = new SplitMixRandom(42);
+        Random random2 = new SplitMixRandom(42);
+
+        for (int i = 0; i < 100; i++) {
+            assertEquals(random1.nextLong(), random2.nextLong());
+            assertEquals(random1.nextInt(1000), random2.nextInt(1000));
+            assertEquals(random1.nextDouble(), random2.nextDouble(), 0);
+        }
+    }
+
+    @Test
+    public void testSetSeed_restartsSequence() {
+        Random random = new SplitMixRandom(23);
+        long first = random.nextLong();
+        random.nextLong();
+
+        random.setSeed(23);
+
+        assertEquals(first, random.nextLong());
+    }
+
+    @Test
+    public void testDifferentSeeds_differentSequence() {
+        assertNotEquals(new SplitMixRandom(1).nextLong(), new SplitMixRandom(2).nextLong());
+    }
+
+    @Test
+    public void testNextInt_withBound() {
+        Random random = new SplitMixRandom(7);
+        int[] counts = new int[10];
+        for (int i = 0; i < 100000; i++) {
+            counts[random.nextInt(counts.length)]++;
+        }
+        for (int count : counts) {
+            assertTrue("count was " + count, count > 9000 && count < 11000);
+        }
+    }
+
+    @Test
+    public void testNextDouble_range() {
+        Random random = new SplitMixRandom();
+        for (int i = 0; i < 1000; i++) {
+            double value = random.nextDouble();
+            assertTrue(value >= 0 && value < 1);
+        }
+    }
+
+    @Test
+    public void testMixSeed() {
+        assertEquals(mixSeed(5, 1), mixSeed(5, 1));
+        assertNotEquals(mixSeed(5, 1), mixSeed(5, 2));
+        assertNotEquals(mixSeed(5, 1), mixSeed(6, 1));
+    }
+}
@@ -29,6 +29,14 @@ public class InMemoryJavaCompilerTest {
         assertEquals(1, helloClass.getDeclaredMethods().length);
     }
 
+    @Test(expected = IllegalStateException.class)
+    public void testCompile_invalidSource() throws Exception {
+        String source = "package com.hazelcast.simulator.utils.compiler;" + NEW_LINE + NEW_LINE
+                + "public class InvalidClass {" + NEW_LINE;
+
+        compile("com.hazelcast.simulator.utils.compiler.InvalidClass", source);
+    }
+
     @Test(expected = ClassNotFoundException.class)
     public void testDynamicClassLoader() throws Exception {
         DynamicClassLoader.getInstance().findClass("NotCompiledClass");